@@ -0,0 +1,117 @@
+package br.com.danilors.country.benchmarks;
+
+import br.com.danilors.country.CountryResponse;
+import br.com.danilors.country.client.cache.CountryNearCache;
+import br.com.danilors.country.client.client.CountryGrpcClient;
+import br.com.danilors.country.client.controller.CountryController;
+import br.com.danilors.country.client.dto.Country;
+import br.com.danilors.country.client.dto.CountryFields;
+import br.com.danilors.country.client.service.CountryService;
+import br.com.danilors.country.server.store.CountrySnapshot;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.protobuf.FieldMask;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.reactivex.rxjava3.core.Flowable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The client's {@code CountryResponse -> dto.Country} mapping and the JSON rendering done for
+ * {@link CountryController} responses, for the {@code ?fields=} of {@code fields}. The gRPC client
+ * is replaced by canned responses, cut down to the requested fields as the server does, so only the
+ * client-side work is measured.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ClientMappingBenchmark {
+
+    @Param({"description", "alpha3,currency", "*"})
+    public String fields;
+
+    private CountryService countryService;
+    private CountryNearCache warmNearCache;
+    private CountryController countryController;
+    private ObjectMapper objectMapper;
+    private String[] codes;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        CountrySnapshot snapshot = Fixtures.snapshotStore().current();
+        List<CountryResponse> responses = snapshot.all();
+
+        CountryGrpcClient cannedClient = new CountryGrpcClient() {
+            @Override
+            public CompletableFuture<CountryResponse> getCountryAsync(String countryCode, FieldMask fields) {
+                return CompletableFuture.completedFuture(snapshot.projection(
+                        br.com.danilors.country.server.store.CountryFields.of(fields)).find(countryCode));
+            }
+
+            @Override
+            public Flowable<CountryResponse> listAllCountries(FieldMask fields) {
+                return Flowable.fromIterable(snapshot.projection(
+                        br.com.danilors.country.server.store.CountryFields.of(fields)).all());
+            }
+        };
+        // Near cache off, so every lookup goes through the mapping
+        CountryNearCache nearCache = new CountryNearCache(cannedClient, new SimpleMeterRegistry(),
+                false, 1000, Duration.ofMinutes(10), false);
+        countryService = new CountryService(cannedClient, nearCache);
+        warmNearCache = new CountryNearCache(cannedClient, new SimpleMeterRegistry(),
+                true, 1000, Duration.ofMinutes(10), false);
+        responses.forEach(response -> warmNearCache.get(response.getCode()).join());
+        // Same Jackson defaults Spring MVC uses to render controller responses
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        // Only the JSON listing writes on the executor, and no benchmark here uses it
+        countryController = new CountryController(countryService, objectMapper, new SimpleAsyncTaskExecutor());
+        codes = responses.stream().map(CountryResponse::getCode).toArray(String[]::new);
+    }
+
+    private String nextCode() {
+        String code = codes[next];
+        next = next + 1 == codes.length ? 0 : next + 1;
+        return code;
+    }
+
+    @Benchmark
+    public Country mapCountry() {
+        return countryService.getCountry(nextCode(), CountryFields.parse(fields)).join();
+    }
+
+    @Benchmark
+    public Country getCountryFromNearCache() {
+        return warmNearCache.get(nextCode()).join();
+    }
+
+    @Benchmark
+    public byte[] getCountryAsJson() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(countryController.getContryByCode(nextCode(), fields).join());
+    }
+
+    @Benchmark
+    public byte[] listAllCountriesAsJson() throws JsonProcessingException {
+        // Spring MVC collects a Flowable into a list before rendering it as a JSON array
+        return objectMapper.writeValueAsBytes(countryController.streamAllCountries(fields).toList().blockingGet());
+    }
+}
@@ -0,0 +1,110 @@
+package br.com.danilors.country.benchmarks;
+
+import br.com.danilors.country.CountryResponse;
+import br.com.danilors.country.server.CountryServerApplication;
+import br.com.danilors.country.server.domain.Country;
+import br.com.danilors.country.server.repository.CountryRepository;
+import br.com.danilors.country.server.store.CountryCodeIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Resolving a code from a {@code getCountry} request:
+ * <ul>
+ *     <li>{@code repositoryFindById}: {@link CountryRepository#findById} against JPA/H2, what every
+ *     lookup did before the snapshot</li>
+ *     <li>{@code hashMap}: the snapshot's previous {@code Map<String, CountryResponse>}</li>
+ *     <li>{@code index}: {@link CountryCodeIndex}, with codes in lower case so normalization is
+ *     part of the measurement</li>
+ * </ul>
+ * The codes are reused across calls, so their {@code String} hash is already cached and the
+ * {@code hashMap} figure is a lower bound; codes parsed from a request would have to be hashed.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CodeLookupBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private CountryRepository countryRepository;
+    private Map<String, CountryResponse> byCode;
+    private CountryCodeIndex index;
+    private String[] codes;
+    private String[] lowerCaseCodes;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(CountryServerApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.grpc.server.enabled=false",
+                        "spring.datasource.url=jdbc:h2:mem:benchmark-" + UUID.randomUUID(),
+                        "spring.jpa.show-sql=false")
+                .run();
+        countryRepository = context.getBean(CountryRepository.class);
+
+        List<CountryResponse> responses = Fixtures.seedCountries().stream()
+                .map(country -> CountryResponse.newBuilder()
+                        .setCode(country.getCode())
+                        .setDescription(country.getDescription())
+                        .build())
+                .toList();
+        byCode = responses.stream().collect(Collectors.toUnmodifiableMap(CountryResponse::getCode, Function.identity()));
+        index = CountryCodeIndex.of(responses);
+        codes = Fixtures.seedCodes();
+        lowerCaseCodes = new String[codes.length];
+        for (int i = 0; i < codes.length; i++) {
+            lowerCaseCodes[i] = codes[i].toLowerCase();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<Country> repositoryFindById() {
+        return countryRepository.findById(codes[nextIndex()]);
+    }
+
+    @Benchmark
+    public CountryResponse hashMap() {
+        return byCode.get(codes[nextIndex()]);
+    }
+
+    @Benchmark
+    public CountryResponse index() {
+        return index.find(lowerCaseCodes[nextIndex()]);
+    }
+
+    private int nextIndex() {
+        int current = next;
+        next = current + 1 == codes.length ? 0 : current + 1;
+        return current;
+    }
+}
@@ -0,0 +1,95 @@
+package br.com.danilors.country.benchmarks;
+
+import br.com.danilors.country.AllCountriesRequest;
+import br.com.danilors.country.CountryRequest;
+import br.com.danilors.country.CountryResponse;
+import br.com.danilors.country.CountryServiceGrpc;
+import br.com.danilors.country.server.service.CountryGrpcService;
+import com.google.protobuf.FieldMask;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link CountryGrpcService} end to end over an in-process channel: stub, marshalling, transport
+ * and handler, without the network. {@code fields} is the requests' field mask: the default code
+ * and description, two other fields, or the whole record.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class CountryGrpcServiceBenchmark {
+
+    @Param({"code,description", "alpha3,currency", "*"})
+    public String fields;
+
+    private Server server;
+    private ManagedChannel channel;
+    private CountryServiceGrpc.CountryServiceBlockingStub stub;
+    private CountryRequest[] requests;
+    private AllCountriesRequest listRequest;
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        String serverName = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(serverName)
+                .directExecutor()
+                .addService(new CountryGrpcService(Fixtures.snapshotStore()))
+                .build()
+                .start();
+        channel = InProcessChannelBuilder.forName(serverName).directExecutor().build();
+        stub = CountryServiceGrpc.newBlockingStub(channel);
+
+        FieldMask mask = FieldMask.newBuilder().addAllPaths(List.of(fields.split(","))).build();
+        String[] codes = Fixtures.seedCodes();
+        requests = new CountryRequest[codes.length];
+        for (int i = 0; i < codes.length; i++) {
+            requests[i] = CountryRequest.newBuilder().setCode(codes[i]).setFields(mask).build();
+        }
+        listRequest = AllCountriesRequest.newBuilder().setFields(mask).build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        channel.shutdownNow();
+        server.shutdownNow();
+    }
+
+    @Benchmark
+    public CountryResponse getCountry() {
+        CountryRequest request = requests[next];
+        next = next + 1 == requests.length ? 0 : next + 1;
+        return stub.getCountry(request);
+    }
+
+    @Benchmark
+    public void listAllCountries(Blackhole blackhole) {
+        Iterator<CountryResponse> countries = stub.listAllCountries(listRequest);
+        while (countries.hasNext()) {
+            blackhole.consume(countries.next());
+        }
+    }
+}
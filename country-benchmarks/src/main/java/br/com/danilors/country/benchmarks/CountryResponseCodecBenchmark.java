@@ -0,0 +1,69 @@
+package br.com.danilors.country.benchmarks;
+
+import br.com.danilors.country.CountryResponse;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.InvalidProtocolBufferException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Protobuf encode/decode of a single {@link CountryResponse}.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class CountryResponseCodecBenchmark {
+
+    private CountryResponse response;
+    private byte[] encoded;
+    private byte[] buffer;
+
+    @Setup
+    public void setUp() {
+        response = CountryResponse.newBuilder()
+                .setCode("GS")
+                .setDescription("South Georgia and the South Sandwich Islands")
+                .build();
+        encoded = response.toByteArray();
+        buffer = new byte[encoded.length];
+    }
+
+    @Benchmark
+    public CountryResponse build() {
+        return CountryResponse.newBuilder()
+                .setCode(response.getCode())
+                .setDescription(response.getDescription())
+                .build();
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return response.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] encodeIntoBuffer() throws IOException {
+        CodedOutputStream output = CodedOutputStream.newInstance(buffer);
+        response.writeTo(output);
+        return buffer;
+    }
+
+    @Benchmark
+    public CountryResponse decode() throws InvalidProtocolBufferException {
+        return CountryResponse.parseFrom(encoded);
+    }
+}
@@ -0,0 +1,46 @@
+package br.com.danilors.country.benchmarks;
+
+import br.com.danilors.country.CountryResponse;
+import br.com.danilors.country.server.store.CountrySearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link CountrySearchIndex#search} over the seed data, as served by {@code searchCountries}: a code,
+ * a prefix, a word prefix with an accent, and a misspelling that only trigrams can match.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CountrySearchBenchmark {
+
+    @Param({"br", "bra", "ile", "unted kingdm"})
+    public String query;
+
+    private CountrySearchIndex index;
+
+    @Setup
+    public void setUp() {
+        index = Fixtures.snapshotStore().current().search();
+    }
+
+    @Benchmark
+    public List<CountryResponse> search() {
+        return index.search(query, 10);
+    }
+}
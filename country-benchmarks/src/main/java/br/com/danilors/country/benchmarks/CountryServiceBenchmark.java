@@ -0,0 +1,71 @@
+package br.com.danilors.country.benchmarks;
+
+import br.com.danilors.country.server.CountryServerApplication;
+import br.com.danilors.country.server.domain.Country;
+import br.com.danilors.country.server.service.CountryService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link CountryService#findById} against the real JPA/H2 stack, with the Caffeine-backed
+ * {@code countries} cache enabled and with caching switched off.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CountryServiceBenchmark {
+
+    @Param({"caffeine", "none"})
+    public String cacheType;
+
+    private ConfigurableApplicationContext context;
+    private CountryService countryService;
+    private String[] codes;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(CountryServerApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.grpc.server.enabled=false",
+                        "spring.cache.type=" + cacheType,
+                        "spring.datasource.url=jdbc:h2:mem:benchmark-" + UUID.randomUUID(),
+                        "spring.jpa.show-sql=false")
+                .run();
+        countryService = context.getBean(CountryService.class);
+        codes = Fixtures.seedCodes();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<Country> findById() {
+        String code = codes[next];
+        next = next + 1 == codes.length ? 0 : next + 1;
+        return countryService.findById(code);
+    }
+}
@@ -0,0 +1,152 @@
+package br.com.danilors.country.benchmarks;
+
+import br.com.danilors.country.CountryRequest;
+import br.com.danilors.country.CountryServiceGrpc;
+import br.com.danilors.country.server.service.CountryGrpcService;
+import io.grpc.ForwardingServerCall;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.Server;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.ServerInterceptors;
+import io.grpc.Status;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Platform vs virtual threads for the gateway pattern used by {@code CountryController}: every
+ * request blocks a thread on {@code blockingStub.getCountry} until the server answers. The server
+ * delays each response by a simulated network round trip without holding a thread, so the
+ * request-handling executor is the only bottleneck. The platform pool is sized like Tomcat's
+ * default ({@code server.tomcat.threads.max=200}).
+ * <p>
+ * One operation fires {@code concurrency} simultaneous requests and waits for all of them.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExecutionModeBenchmark {
+
+    private static final int TOMCAT_MAX_THREADS = 200;
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    @Param({"2000"})
+    public int concurrency;
+
+    @Param({"5"})
+    public int roundTripMillis;
+
+    private ScheduledExecutorService network;
+    private ExecutorService requestExecutor;
+    private ExecutorService serverExecutor;
+    private Server server;
+    private ManagedChannel channel;
+    private CountryServiceGrpc.CountryServiceBlockingStub stub;
+    private CountryRequest[] requests;
+
+    @Setup
+    public void setUp() throws IOException {
+        boolean virtual = "virtual".equals(threads);
+        requestExecutor = virtual
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+        serverExecutor = virtual ? Executors.newVirtualThreadPerTaskExecutor() : Executors.newCachedThreadPool();
+        network = Executors.newSingleThreadScheduledExecutor();
+
+        String serverName = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(serverName)
+                .executor(serverExecutor)
+                .addService(ServerInterceptors.intercept(
+                        new CountryGrpcService(Fixtures.snapshotStore()), new RoundTripDelay()))
+                .build()
+                .start();
+        channel = InProcessChannelBuilder.forName(serverName).build();
+        stub = CountryServiceGrpc.newBlockingStub(channel);
+
+        String[] codes = Fixtures.seedCodes();
+        requests = new CountryRequest[codes.length];
+        for (int i = 0; i < codes.length; i++) {
+            requests[i] = CountryRequest.newBuilder().setCode(codes[i]).build();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        channel.shutdownNow();
+        server.shutdownNow();
+        requestExecutor.shutdownNow();
+        serverExecutor.shutdownNow();
+        network.shutdownNow();
+    }
+
+    @Benchmark
+    public void concurrentBlockingLookups() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            CountryRequest request = requests[i % requests.length];
+            requestExecutor.execute(() -> {
+                try {
+                    stub.getCountry(request);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+    }
+
+    /**
+     * Holds each response back for the simulated round trip on a timer, not on a server thread.
+     */
+    private final class RoundTripDelay implements ServerInterceptor {
+
+        @Override
+        public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(
+                ServerCall<ReqT, RespT> call, Metadata headers, ServerCallHandler<ReqT, RespT> next) {
+            return next.startCall(new ForwardingServerCall.SimpleForwardingServerCall<>(call) {
+                private RespT response;
+
+                @Override
+                public void sendMessage(RespT message) {
+                    response = message;
+                }
+
+                @Override
+                public void close(Status status, Metadata trailers) {
+                    network.schedule(() -> {
+                        if (response != null) {
+                            super.sendMessage(response);
+                        }
+                        super.close(status, trailers);
+                    }, roundTripMillis, TimeUnit.MILLISECONDS);
+                }
+            }, headers);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package br.com.danilors.country.benchmarks;
+
+import br.com.danilors.country.CountryResponse;
+import br.com.danilors.country.server.domain.Country;
+import br.com.danilors.country.server.service.CountryService;
+import br.com.danilors.country.server.store.CountrySeed;
+import br.com.danilors.country.server.store.CountrySnapshotStore;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Benchmark fixtures built from the same {@code data.sql} seed the server loads at startup.
+ */
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    static List<Country> seedCountries() {
+        try (InputStream in = Fixtures.class.getResourceAsStream("/data.sql")) {
+            if (in == null) {
+                throw new IllegalStateException("data.sql not found on the classpath");
+            }
+            List<Country> countries = new ArrayList<>();
+            for (CountryResponse seed : CountrySeed.parseSql(new String(in.readAllBytes(), StandardCharsets.UTF_8))) {
+                Country country = new Country(seed.getCode(), seed.getDescription());
+                country.setAlpha3(seed.getAlpha3());
+                country.setNumericCode(seed.getNumericCode());
+                country.setRegion(seed.getRegion());
+                country.setCurrency(seed.getCurrency());
+                country.setCallingCode(seed.getCallingCode());
+                country.setNames(seed.getNamesMap());
+                countries.add(country);
+            }
+            return countries;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static String[] seedCodes() {
+        return seedCountries().stream().map(Country::getCode).toArray(String[]::new);
+    }
+
+    /**
+     * A snapshot store loaded from the seed data, without a database behind it.
+     */
+    static CountrySnapshotStore snapshotStore() {
+        List<Country> countries = seedCountries();
+        CountryService seed = new CountryService(null, null, null, null, null, null) {
+            @Override
+            public void streamAll(Consumer<Country> action) {
+                countries.forEach(action);
+            }
+
+            @Override
+            public long currentVersion() {
+                return 0L;
+            }
+        };
+        CountrySnapshotStore store = new CountrySnapshotStore(seed);
+        store.refresh();
+        return store;
+    }
+}
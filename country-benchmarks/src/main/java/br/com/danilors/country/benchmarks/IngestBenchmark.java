@@ -0,0 +1,176 @@
+package br.com.danilors.country.benchmarks;
+
+import br.com.danilors.country.CountryResponse;
+import br.com.danilors.country.CountryServiceGrpc;
+import br.com.danilors.country.UpsertCountriesRequest;
+import br.com.danilors.country.UpsertCountriesResponse;
+import br.com.danilors.country.server.CountryServerApplication;
+import br.com.danilors.country.server.service.CountryGrpcService;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.Server;
+import io.grpc.netty.NettyServerBuilder;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A bulk load of {@code rows} records through {@code upsertCountries} over a loopback Netty
+ * connection into the real JPA/H2 stack, with the server applying {@code batchSize} records per
+ * transaction and JDBC batch. The client sends {@code recordsPerMessage} records in each stream
+ * message. Each call takes one row per two-letter code in turn with a new description per round,
+ * so every batch changes up to all 676 codes; {@code appliedRows} is the number of rows that
+ * changed, summed over the measured calls. Divide {@code rows} by the time per call for the
+ * ingest rate.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IngestBenchmark {
+
+    private static final String[] CODES = twoLetterCodes();
+
+    @Param({"1000000"})
+    private int rows;
+
+    @Param({"100", "1000", "10000"})
+    private int batchSize;
+
+    @Param({"1", "1000"})
+    private int recordsPerMessage;
+
+    private ConfigurableApplicationContext context;
+    private Server server;
+    private ManagedChannel channel;
+    private CountryServiceGrpc.CountryServiceStub stub;
+    private int round;
+
+    @Setup
+    public void setUp() throws IOException {
+        context = new SpringApplicationBuilder(CountryServerApplication.class)
+                .web(WebApplicationType.NONE)
+                // Arguments rather than default properties, which application.yml overrides
+                .run("--spring.grpc.server.enabled=false",
+                        "--country.ingest.enabled=true",
+                        "--country.ingest.batch-size=" + batchSize,
+                        "--spring.datasource.url=jdbc:h2:mem:benchmark-" + UUID.randomUUID());
+        server = NettyServerBuilder.forAddress(new InetSocketAddress("127.0.0.1", 0))
+                .addService(context.getBean(CountryGrpcService.class))
+                .build()
+                .start();
+        channel = ManagedChannelBuilder.forAddress("127.0.0.1", server.getPort()).usePlaintext().build();
+        stub = CountryServiceGrpc.newStub(channel);
+    }
+
+    /**
+     * Keeps the change log, which grows by up to a row per record, from filling the heap.
+     */
+    @Setup(Level.Iteration)
+    public void clearChangeLog() {
+        context.getBean(JdbcTemplate.class).update("DELETE FROM country_change_log");
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        context.close();
+    }
+
+    @Benchmark
+    public void upsertCountries(AppliedRows appliedRows) {
+        int start = round;
+        round += rows / CODES.length + 1;
+        CompletableFuture<Long> applied = new CompletableFuture<>();
+        stub.upsertCountries(new ClientResponseObserver<UpsertCountriesRequest, UpsertCountriesResponse>() {
+            private long changed;
+            private int next;
+
+            @Override
+            public void beforeStart(ClientCallStreamObserver<UpsertCountriesRequest> records) {
+                // Sends while the transport takes more, so the server's pace sets the client's
+                records.setOnReadyHandler(() -> {
+                    while (records.isReady() && next < rows) {
+                        UpsertCountriesRequest.Builder message = UpsertCountriesRequest.newBuilder();
+                        for (int end = Math.min(next + recordsPerMessage, rows); next < end; next++) {
+                            String code = CODES[next % CODES.length];
+                            message.addCountries(CountryResponse.newBuilder()
+                                    .setCode(code)
+                                    .setDescription("Country " + code + " " + (start + next / CODES.length)));
+                        }
+                        records.onNext(message.build());
+                    }
+                    if (next == rows) {
+                        next++;
+                        records.onCompleted();
+                    }
+                });
+            }
+
+            @Override
+            public void onNext(UpsertCountriesResponse ack) {
+                changed += ack.getApplied();
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                applied.completeExceptionally(t);
+            }
+
+            @Override
+            public void onCompleted() {
+                applied.complete(changed);
+            }
+        });
+        appliedRows.appliedRows = applied.join();
+    }
+
+    /**
+     * Reported next to the timing.
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class AppliedRows {
+
+        public long appliedRows;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            appliedRows = 0;
+        }
+    }
+
+    private static String[] twoLetterCodes() {
+        String[] codes = new String[26 * 26];
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = new String(new char[]{(char) ('A' + i / 26), (char) ('A' + i % 26)});
+        }
+        return codes;
+    }
+}
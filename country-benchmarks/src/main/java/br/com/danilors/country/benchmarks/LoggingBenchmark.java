@@ -0,0 +1,139 @@
+package br.com.danilors.country.benchmarks;
+
+import br.com.danilors.country.common.logging.RateLimitingTurboFilter;
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.encoder.Encoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.logging.logback.StructuredLogEncoder;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The logging pipelines configured in {@code logback-spring.xml}, measured from the request
+ * threads' point of view: eight threads log the per-call {@code getCountry} message into the null
+ * device, which keeps the write syscall and the appender lock without filling a disk.
+ * <ul>
+ *     <li>{@code sync}: the encoder and the write run on the calling thread, under the appender lock</li>
+ *     <li>{@code async}: bounded queue with {@code neverBlock}, events are dropped when it is full</li>
+ *     <li>{@code rateLimited}: {@code async} behind {@link RateLimitingTurboFilter}</li>
+ * </ul>
+ * Events dropped by the async queue or the filter are cheap by design; that is the trade-off being
+ * measured, not an artifact.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class LoggingBenchmark {
+
+    private static final String NULL_DEVICE =
+            System.getProperty("os.name").startsWith("Windows") ? "NUL" : "/dev/null";
+
+    @Param({"sync", "async", "rateLimited"})
+    public String pipeline;
+
+    @Param({"text", "json"})
+    public String format;
+
+    private LoggerContext loggerContext;
+    private Logger logger;
+    private String[] codes;
+
+    @Setup
+    public void setUp() throws FileNotFoundException {
+        loggerContext = new LoggerContext();
+        loggerContext.putObject(Environment.class.getName(), new StandardEnvironment());
+
+        OutputStreamAppender<ILoggingEvent> console = new OutputStreamAppender<>();
+        console.setContext(loggerContext);
+        console.setName("CONSOLE");
+        console.setEncoder(encoder());
+        console.setOutputStream(new FileOutputStream(NULL_DEVICE));
+        console.start();
+
+        Logger root = loggerContext.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.INFO);
+        if ("sync".equals(pipeline)) {
+            root.addAppender(console);
+        } else {
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(loggerContext);
+            async.setName("ASYNC_CONSOLE");
+            async.setQueueSize(8192);
+            async.setNeverBlock(true);
+            async.setIncludeCallerData(false);
+            async.addAppender(console);
+            async.start();
+            root.addAppender(async);
+        }
+        if ("rateLimited".equals(pipeline)) {
+            RateLimitingTurboFilter filter = new RateLimitingTurboFilter();
+            filter.setContext(loggerContext);
+            filter.addLoggerPrefix("br.com.danilors.country.server.service");
+            filter.setEventsPerSecond(100);
+            filter.start();
+            loggerContext.addTurboFilter(filter);
+        }
+
+        logger = loggerContext.getLogger("br.com.danilors.country.server.service.CountryGrpcService");
+        codes = Fixtures.seedCodes();
+    }
+
+    private Encoder<ILoggingEvent> encoder() {
+        if ("json".equals(format)) {
+            StructuredLogEncoder encoder = new StructuredLogEncoder();
+            encoder.setContext(loggerContext);
+            encoder.setFormat("ecs");
+            encoder.setCharset(StandardCharsets.UTF_8);
+            encoder.start();
+            return encoder;
+        }
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(loggerContext);
+        encoder.setPattern("%d{yyyy-MM-dd HH:mm:ss.SSS} %highlight(%-5level) [%15.15t] %cyan(%-40.40logger{39}) : %m%n%ex");
+        encoder.setCharset(StandardCharsets.UTF_8);
+        encoder.start();
+        return encoder;
+    }
+
+    @TearDown
+    public void tearDown() {
+        loggerContext.stop();
+    }
+
+    @Benchmark
+    public void getCountryLog(ThreadState state) {
+        logger.info("Received getCountry request for code: {}", codes[state.next++ % codes.length]);
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+        int next;
+    }
+}
@@ -0,0 +1,170 @@
+package br.com.danilors.country.benchmarks;
+
+import br.com.danilors.country.AllCountriesBatchedRequest;
+import br.com.danilors.country.AllCountriesRequest;
+import br.com.danilors.country.CountryBatch;
+import br.com.danilors.country.CountryResponse;
+import br.com.danilors.country.CountryServiceGrpc;
+import br.com.danilors.country.common.compression.ZstdCodec;
+import br.com.danilors.country.server.compression.ResponseCompressionInterceptor;
+import br.com.danilors.country.server.service.CountryGrpcService;
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptor;
+import io.grpc.ClientStreamTracer;
+import io.grpc.Codec;
+import io.grpc.CompressorRegistry;
+import io.grpc.DecompressorRegistry;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Server;
+import io.grpc.ServerInterceptors;
+import io.grpc.netty.NettyChannelBuilder;
+import io.grpc.netty.NettyServerBuilder;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Listing every country over a loopback Netty connection, one message per country
+ * ({@code batchSize} 0, {@code listAllCountries}) or in {@code listAllCountriesBatched} messages,
+ * with each response encoding. The time per call covers the CPU spent on compression on both
+ * ends; {@code wireBytes} is the compressed payload size of one call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class StreamCompressionBenchmark {
+
+    @Param({"identity", "gzip", "zstd"})
+    private String encoding;
+
+    @Param({"0", "16", "64", "256"})
+    private int batchSize;
+
+    private final AtomicLong inboundWireBytes = new AtomicLong();
+    private Server server;
+    private ManagedChannel channel;
+    private CountryServiceGrpc.CountryServiceBlockingStub stub;
+
+    @Setup
+    public void setUp() throws IOException {
+        ZstdCodec zstd = new ZstdCodec();
+        CompressorRegistry compressors = CompressorRegistry.newEmptyInstance();
+        compressors.register(Codec.Identity.NONE);
+        compressors.register(new Codec.Gzip());
+        compressors.register(zstd);
+        ResponseCompressionInterceptor compression = new ResponseCompressionInterceptor(true, Set.of(
+                CountryServiceGrpc.getListAllCountriesMethod().getFullMethodName(),
+                CountryServiceGrpc.getListAllCountriesBatchedMethod().getFullMethodName()), List.of(encoding));
+        server = NettyServerBuilder.forAddress(new InetSocketAddress("127.0.0.1", 0))
+                .addService(ServerInterceptors.intercept(new CountryGrpcService(Fixtures.snapshotStore()), compression))
+                .compressorRegistry(compressors)
+                .build()
+                .start();
+
+        // The client only advertises the encoding under test, as a client without the others would
+        DecompressorRegistry decompressors = switch (encoding) {
+            case "gzip" -> DecompressorRegistry.emptyInstance().with(new Codec.Gzip(), true);
+            case "zstd" -> DecompressorRegistry.emptyInstance().with(zstd, true);
+            default -> DecompressorRegistry.emptyInstance().with(Codec.Identity.NONE, false);
+        };
+        channel = NettyChannelBuilder.forAddress("127.0.0.1", server.getPort())
+                .usePlaintext()
+                .decompressorRegistry(decompressors)
+                .intercept(new WireSizeInterceptor())
+                .build();
+        stub = CountryServiceGrpc.newBlockingStub(channel);
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @Benchmark
+    public void listAllCountries(WireBytes wireBytes, Blackhole blackhole) {
+        inboundWireBytes.set(0);
+        if (batchSize == 0) {
+            Iterator<CountryResponse> countries = stub.listAllCountries(AllCountriesRequest.getDefaultInstance());
+            while (countries.hasNext()) {
+                blackhole.consume(countries.next());
+            }
+        } else {
+            Iterator<CountryBatch> batches = stub.listAllCountriesBatched(
+                    AllCountriesBatchedRequest.newBuilder().setBatchSize(batchSize).build());
+            while (batches.hasNext()) {
+                for (CountryResponse country : batches.next().getCountriesList()) {
+                    blackhole.consume(country);
+                }
+            }
+        }
+        wireBytes.wireBytes = inboundWireBytes.get();
+    }
+
+    /**
+     * Reported next to the timing. JMH sums the field over an iteration's threads, and holds the
+     * bytes of the latest call, which are the same for every call.
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class WireBytes {
+
+        public long wireBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            wireBytes = 0;
+        }
+    }
+
+    /**
+     * Adds up the size of the response messages as received, after compression and before
+     * decompression, without the 5-byte gRPC frame headers.
+     */
+    private final class WireSizeInterceptor implements ClientInterceptor {
+
+        @Override
+        public <ReqT, RespT> ClientCall<ReqT, RespT> interceptCall(MethodDescriptor<ReqT, RespT> method,
+                                                                   CallOptions callOptions, Channel next) {
+            return next.newCall(method, callOptions.withStreamTracerFactory(new ClientStreamTracer.Factory() {
+                @Override
+                public ClientStreamTracer newClientStreamTracer(ClientStreamTracer.StreamInfo info,
+                                                                Metadata headers) {
+                    return new ClientStreamTracer() {
+                        @Override
+                        public void inboundWireSize(long bytes) {
+                            inboundWireBytes.addAndGet(bytes);
+                        }
+                    };
+                }
+            }));
+        }
+    }
+}
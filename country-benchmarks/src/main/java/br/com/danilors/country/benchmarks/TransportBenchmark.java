@@ -0,0 +1,127 @@
+package br.com.danilors.country.benchmarks;
+
+import br.com.danilors.country.AllCountriesRequest;
+import br.com.danilors.country.CountryRequest;
+import br.com.danilors.country.CountryResponse;
+import br.com.danilors.country.CountryServiceGrpc;
+import br.com.danilors.country.server.service.CountryGrpcService;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.Server;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.netty.NettyServerBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.grpc.server.NettyGrpcServerFactory;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link CountryGrpcService} over the transports a co-located client can use: TCP loopback
+ * ({@code tcp}), a Unix domain socket ({@code unix}) and a direct call within the JVM
+ * ({@code in-process}). Both ends use gRPC's default executors, as the applications do.
+ * <p>
+ * {@code unix} needs the native epoll transport: build with {@code -Puds} on Linux x86_64.
+ */
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class TransportBenchmark {
+
+    @Param({"tcp", "unix", "in-process"})
+    private String transport;
+
+    private Path socketDirectory;
+    private Server server;
+    private ManagedChannel channel;
+    private CountryServiceGrpc.CountryServiceBlockingStub stub;
+    private CountryRequest[] requests;
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        CountryGrpcService service = new CountryGrpcService(Fixtures.snapshotStore());
+        switch (transport) {
+            case "tcp" -> {
+                server = NettyServerBuilder.forAddress(new InetSocketAddress("127.0.0.1", 0))
+                        .addService(service)
+                        .build()
+                        .start();
+                channel = ManagedChannelBuilder.forAddress("127.0.0.1", server.getPort()).usePlaintext().build();
+            }
+            case "unix" -> {
+                socketDirectory = Files.createTempDirectory("country-benchmark");
+                Path socket = socketDirectory.resolve("country.sock");
+                // The factory the server application uses for spring.grpc.server.address=unix:<path>
+                NettyGrpcServerFactory factory = new NettyGrpcServerFactory("unix:" + socket, List.of(), null, null, null);
+                factory.addService(service.bindService());
+                try {
+                    server = factory.createServer();
+                } catch (NoClassDefFoundError e) {
+                    throw new IllegalStateException("Unix domain sockets need the native epoll transport; build with -Puds", e);
+                }
+                server.start();
+                channel = ManagedChannelBuilder.forTarget("unix://" + socket).usePlaintext().build();
+            }
+            case "in-process" -> {
+                String name = InProcessServerBuilder.generateName();
+                server = InProcessServerBuilder.forName(name).addService(service).build().start();
+                channel = InProcessChannelBuilder.forName(name).build();
+            }
+            default -> throw new IllegalArgumentException("Unknown transport " + transport);
+        }
+        stub = CountryServiceGrpc.newBlockingStub(channel);
+
+        String[] codes = Fixtures.seedCodes();
+        requests = new CountryRequest[codes.length];
+        for (int i = 0; i < codes.length; i++) {
+            requests[i] = CountryRequest.newBuilder().setCode(codes[i]).build();
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException, IOException {
+        channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        if (socketDirectory != null) {
+            Files.deleteIfExists(socketDirectory.resolve("country.sock"));
+            Files.deleteIfExists(socketDirectory);
+        }
+    }
+
+    @Benchmark
+    public CountryResponse getCountry() {
+        CountryRequest request = requests[next];
+        next = next + 1 == requests.length ? 0 : next + 1;
+        return stub.getCountry(request);
+    }
+
+    @Benchmark
+    public void listAllCountries(Blackhole blackhole) {
+        Iterator<CountryResponse> countries = stub.listAllCountries(AllCountriesRequest.getDefaultInstance());
+        while (countries.hasNext()) {
+            blackhole.consume(countries.next());
+        }
+    }
+}
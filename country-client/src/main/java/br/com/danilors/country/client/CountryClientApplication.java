@@ -1,7 +1,11 @@
 package br.com.danilors.country.client;
 
+import br.com.danilors.country.client.cache.CountryNearCache;
+import br.com.danilors.country.client.client.CountryGrpcClient;
+import org.springframework.boot.LazyInitializationExcludeFilter;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Bean;
 
 @SpringBootApplication
 public class CountryClientApplication {
@@ -10,4 +14,13 @@ public class CountryClientApplication {
 		SpringApplication.run(CountryClientApplication.class, args);
 	}
 
+	/**
+	 * With {@code spring.main.lazy-initialization} (the {@code fast-startup} profile), still opens the
+	 * channels and the near cache's watch stream at startup rather than on the first request.
+	 */
+	@Bean
+	static LazyInitializationExcludeFilter grpcPathBeans() {
+		return LazyInitializationExcludeFilter.forBeanTypes(CountryGrpcClient.class, CountryNearCache.class);
+	}
+
 }
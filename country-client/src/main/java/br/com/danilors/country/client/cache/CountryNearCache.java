@@ -0,0 +1,160 @@
+package br.com.danilors.country.client.cache;
+
+import br.com.danilors.country.CountryChange;
+import br.com.danilors.country.CountryResponse;
+import br.com.danilors.country.client.client.CountryGrpcClient;
+import br.com.danilors.country.client.dto.Country;
+import br.com.danilors.country.client.dto.CountryFields;
+import br.com.danilors.country.common.code.CountryCodes;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.grpc.Status;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.disposables.Disposable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded, TTL-limited cache of countries in front of the gRPC client, kept coherent by the
+ * server's {@code watchCountries} stream. Every (re)connection starts with a {@code RESET} that
+ * drops what is cached, or reloads the whole table in preload mode; upserts and deletes are then
+ * applied as the server publishes them. While the stream is down entries still expire after
+ * {@code expire-after-write}, which bounds how stale they can get.
+ * <p>
+ * Entries hold every field of a country, so one entry answers lookups for any selection of
+ * fields; callers cut them down with {@link CountryFields#select}.
+ */
+@Component
+public class CountryNearCache implements SmartInitializingSingleton, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(CountryNearCache.class);
+
+    private static final long RECONNECT_DELAY_SECONDS = 5;
+
+    private final CountryGrpcClient countryGrpcClient;
+    private final boolean enabled;
+    private final boolean preload;
+    private final AsyncCache<String, Country> cache;
+    private final SingleFlight<String, CountryResponse> lookups;
+    private final MeterRegistry meterRegistry;
+
+    // Version announced by the last RESET; the cache reflects at least this version.
+    private volatile long resetVersion = -1;
+    private Disposable watch;
+
+    public CountryNearCache(CountryGrpcClient countryGrpcClient,
+                            MeterRegistry meterRegistry,
+                            @Value("${country.near-cache.enabled:true}") boolean enabled,
+                            @Value("${country.near-cache.maximum-size:1000}") long maximumSize,
+                            @Value("${country.near-cache.expire-after-write:10m}") Duration expireAfterWrite,
+                            @Value("${country.near-cache.preload:false}") boolean preload) {
+        this.countryGrpcClient = countryGrpcClient;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.preload = preload;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .buildAsync();
+        // cache.gets{result=hit|miss}, cache.evictions, cache.size, ...
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "countries");
+        this.lookups = new SingleFlight<>("getCountry", meterRegistry);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!enabled) {
+            return;
+        }
+        watch = countryGrpcClient.watchCountries(CountryFields.ALL)
+                .doOnTerminate(this::disconnected)
+                .retryWhen(errors -> errors.flatMap(error -> Flowable.timer(RECONNECT_DELAY_SECONDS, TimeUnit.SECONDS)))
+                .repeatWhen(completions -> completions.flatMap(done -> Flowable.timer(RECONNECT_DELAY_SECONDS, TimeUnit.SECONDS)))
+                .subscribe(this::apply);
+    }
+
+    @Override
+    public void destroy() {
+        if (watch != null) {
+            watch.dispose();
+        }
+    }
+
+    /**
+     * Returns the cached country with all its fields, loading it through the gRPC client on a miss. Concurrent lookups
+     * of the same code share one call, with or without the cache; failed lookups (such as
+     * {@code NOT_FOUND}) are not cached.
+     * <p>
+     * Codes are looked up in canonical upper case, as the server's watch events name them, so
+     * {@code br} and {@code BR} share an entry and both see its upserts and deletes.
+     *
+     * @throws IllegalArgumentException if the code is not two letters
+     */
+    public CompletableFuture<Country> get(String code) {
+        String normalized = CountryCodes.requireNormalized(code);
+        if (!enabled) {
+            return load(normalized);
+        }
+        return cache.get(normalized, (key, executor) -> load(key));
+    }
+
+    private CompletableFuture<Country> load(String code) {
+        return lookups.execute(code, key -> countryGrpcClient.getCountryAsync(key, CountryFields.ALL)).thenApply(Country::from);
+    }
+
+    void apply(CountryChange change) {
+        meterRegistry.counter("country.near-cache.changes", "type", change.getType().name()).increment();
+        if (change.getType() == CountryChange.Type.RESET) {
+            reset(change.getVersion());
+            return;
+        }
+        if (change.getVersion() <= resetVersion) {
+            // Already reflected in whatever was loaded after the last RESET
+            return;
+        }
+        // A lookup still in flight may have read the country before this change; later lookups must not join it
+        lookups.forget(change.getCode());
+        switch (change.getType()) {
+            case UPSERT -> {
+                // Replace entries we hold (or are loading); don't grow the cache with unrequested ones
+                if (preload || cache.getIfPresent(change.getCode()) != null) {
+                    cache.put(change.getCode(), CompletableFuture.completedFuture(Country.from(change.getCountry())));
+                }
+            }
+            case DELETE -> cache.synchronous().invalidate(change.getCode());
+            default -> log.debug("Ignoring country change of unknown type {}", change.getType());
+        }
+    }
+
+    private void reset(long snapshotVersion) {
+        log.info("Country watch stream at version {}; resetting near cache", snapshotVersion);
+        resetVersion = snapshotVersion;
+        lookups.forgetAll();
+        cache.synchronous().invalidateAll();
+        if (preload) {
+            countryGrpcClient.listAllCountries(CountryFields.ALL)
+                    .map(Country::from)
+                    .subscribe(
+                            country -> cache.put(country.code(), CompletableFuture.completedFuture(country)),
+                            error -> log.warn("Failed to preload the near cache: {}", Status.fromThrowable(error)),
+                            () -> log.info("Preloaded {} countries into the near cache", cache.synchronous().estimatedSize()));
+        }
+    }
+
+    private void disconnected() {
+        log.warn("Country watch stream ended; invalidating near cache and reconnecting in {}s", RECONNECT_DELAY_SECONDS);
+        lookups.forgetAll();
+        cache.synchronous().invalidateAll();
+    }
+}
@@ -0,0 +1,117 @@
+package br.com.danilors.country.client.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Merges concurrent asynchronous loads of the same key: the first caller starts the load and every
+ * caller arriving while it is in flight gets the same result. Each caller receives its own future;
+ * the load itself is only cancelled once every waiter has cancelled.
+ * <p>
+ * Leaders and followers are counted as {@code country.single-flight.calls{name,role}}, so the
+ * coalescing ratio is {@code follower / (leader + follower)}.
+ */
+public final class SingleFlight<K, V> {
+
+    private final Map<K, Flight<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter leaders;
+    private final Counter followers;
+
+    public SingleFlight(String name, MeterRegistry meterRegistry) {
+        this.leaders = meterRegistry.counter("country.single-flight.calls", "name", name, "role", "leader");
+        this.followers = meterRegistry.counter("country.single-flight.calls", "name", name, "role", "follower");
+        Gauge.builder("country.single-flight.in-flight", inFlight, Map::size)
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    public CompletableFuture<V> execute(K key, Function<K, CompletableFuture<V>> loader) {
+        boolean[] leader = new boolean[1];
+        Flight<V> flight = inFlight.compute(key, (k, existing) -> {
+            if (existing != null && existing.join()) {
+                return existing;
+            }
+            leader[0] = true;
+            return new Flight<>();
+        });
+
+        if (!leader[0]) {
+            followers.increment();
+            return flight.waiter();
+        }
+        leaders.increment();
+        flight.result.whenComplete((value, error) -> inFlight.remove(key, flight));
+        try {
+            flight.start(loader.apply(key));
+        } catch (RuntimeException e) {
+            flight.result.completeExceptionally(e);
+        }
+        return flight.waiter();
+    }
+
+    /**
+     * Detaches the load in flight for {@code key}, if any: its waiters still get its result, but
+     * later calls start a new load. Used when the result it will produce is known to be stale.
+     */
+    public void forget(K key) {
+        inFlight.remove(key);
+    }
+
+    /**
+     * Like {@link #forget}, for every key.
+     */
+    public void forgetAll() {
+        inFlight.clear();
+    }
+
+    private static final class Flight<V> {
+
+        private final CompletableFuture<V> result = new CompletableFuture<>();
+        // Starts at 1 for the leader; once it drops to 0 the flight is cancelled and cannot be joined.
+        private final AtomicInteger waiters = new AtomicInteger(1);
+        private volatile CompletableFuture<V> call;
+
+        boolean join() {
+            return waiters.getAndUpdate(n -> n == 0 ? 0 : n + 1) != 0;
+        }
+
+        void start(CompletableFuture<V> call) {
+            this.call = call;
+            call.whenComplete((value, error) -> {
+                if (error != null) {
+                    result.completeExceptionally(error);
+                } else {
+                    result.complete(value);
+                }
+            });
+        }
+
+        CompletableFuture<V> waiter() {
+            CompletableFuture<V> waiter = new CompletableFuture<>() {
+                @Override
+                public boolean cancel(boolean mayInterruptIfRunning) {
+                    boolean cancelled = super.cancel(mayInterruptIfRunning);
+                    if (cancelled && waiters.decrementAndGet() == 0 && call != null) {
+                        call.cancel(mayInterruptIfRunning);
+                    }
+                    return cancelled;
+                }
+            };
+            result.whenComplete((value, error) -> {
+                if (error != null) {
+                    waiter.completeExceptionally(error);
+                } else {
+                    waiter.complete(value);
+                }
+            });
+            return waiter;
+        }
+    }
+}
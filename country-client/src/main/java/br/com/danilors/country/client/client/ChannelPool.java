@@ -0,0 +1,106 @@
+package br.com.danilors.country.client.client;
+
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ForwardingClientCall;
+import io.grpc.ForwardingClientCallListener;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * A fixed set of channels to the same target, used as one {@link Channel}. Every call goes to the
+ * channel with the fewest calls in flight, with ties broken round-robin. Each channel keeps its own
+ * connections, so load is spread over several HTTP/2 connections per server and a connection that
+ * has reached the server's concurrent stream limit does not hold calls back.
+ */
+public final class ChannelPool extends Channel {
+
+    private final List<ManagedChannel> channels;
+    private final AtomicIntegerArray outstanding;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ChannelPool(List<ManagedChannel> channels) {
+        if (channels.isEmpty()) {
+            throw new IllegalArgumentException("A channel pool needs at least one channel");
+        }
+        this.channels = List.copyOf(channels);
+        this.outstanding = new AtomicIntegerArray(channels.size());
+    }
+
+    @Override
+    public <ReqT, RespT> ClientCall<ReqT, RespT> newCall(MethodDescriptor<ReqT, RespT> method, CallOptions callOptions) {
+        int index = pick();
+        return new ForwardingClientCall.SimpleForwardingClientCall<>(channels.get(index).newCall(method, callOptions)) {
+            @Override
+            public void start(Listener<RespT> responseListener, Metadata headers) {
+                outstanding.incrementAndGet(index);
+                super.start(new ForwardingClientCallListener.SimpleForwardingClientCallListener<>(responseListener) {
+                    @Override
+                    public void onClose(Status status, Metadata trailers) {
+                        outstanding.decrementAndGet(index);
+                        super.onClose(status, trailers);
+                    }
+                }, headers);
+            }
+        };
+    }
+
+    private int pick() {
+        int size = channels.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        int best = start;
+        int fewest = outstanding.get(start);
+        for (int i = 1; i < size && fewest > 0; i++) {
+            int candidate = (start + i) % size;
+            int calls = outstanding.get(candidate);
+            if (calls < fewest) {
+                best = candidate;
+                fewest = calls;
+            }
+        }
+        return best;
+    }
+
+    @Override
+    public String authority() {
+        return channels.get(0).authority();
+    }
+
+    public int size() {
+        return channels.size();
+    }
+
+    /**
+     * Calls in flight across all channels.
+     */
+    public int outstandingCalls() {
+        int total = 0;
+        for (int i = 0; i < outstanding.length(); i++) {
+            total += outstanding.get(i);
+        }
+        return total;
+    }
+
+    /**
+     * Shuts every channel down and waits up to {@code timeout} for calls in flight to finish
+     * before cancelling them.
+     */
+    public void shutdown(long timeout, TimeUnit unit) throws InterruptedException {
+        channels.forEach(ManagedChannel::shutdown);
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (ManagedChannel channel : channels) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0 || !channel.awaitTermination(remaining, TimeUnit.NANOSECONDS)) {
+                channel.shutdownNow();
+            }
+        }
+    }
+}
@@ -1,73 +1,378 @@
 package br.com.danilors.country.client.client;
 
+import br.com.danilors.country.AllCountriesBatchedRequest;
 import br.com.danilors.country.AllCountriesRequest;
+import br.com.danilors.country.CountriesRequest;
+import br.com.danilors.country.CountriesResponse;
+import br.com.danilors.country.CountriesSinceRequest;
+import br.com.danilors.country.CountryBatch;
+import br.com.danilors.country.CountryChange;
 import br.com.danilors.country.CountryRequest;
 import br.com.danilors.country.CountryResponse;
 import br.com.danilors.country.CountryServiceGrpc;
+import br.com.danilors.country.SearchCountriesRequest;
+import br.com.danilors.country.SearchCountriesResponse;
+import br.com.danilors.country.WatchCountriesRequest;
+import br.com.danilors.country.client.client.CountryServiceConfig.GetCountryPolicy;
+import br.com.danilors.country.common.compression.ZstdCodec;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.protobuf.FieldMask;
+import io.grpc.Channel;
+import io.grpc.ClientInterceptor;
+import io.grpc.ClientInterceptors;
+import io.grpc.Codec;
+import io.grpc.CompressorRegistry;
+import io.grpc.DecompressorRegistry;
 import io.grpc.ManagedChannel;
 import io.grpc.ManagedChannelBuilder;
-import io.grpc.stub.StreamObserver;
-import io.reactivex.rxjava3.core.BackpressureStrategy;
+import io.grpc.inprocess.InProcessChannelBuilder;
 import io.reactivex.rxjava3.core.Flowable;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
 @Service
 public class CountryGrpcClient {
 
     private static final Logger log = LoggerFactory.getLogger(CountryGrpcClient.class);
 
+    static final String IN_PROCESS_SCHEME = "in-process:";
+    static final String UNIX_SCHEME = "unix:";
+
     @Value("${grpc.server.host}")
     private String host;
 
     @Value("${grpc.server.port}")
     private int port;
 
-    private ManagedChannel channel;
+    // Overrides host and port: dns:///name:port for every address of a name, static:///a:port,b:port for a fixed list,
+    // unix:///path for a Unix domain socket, in-process:name for a server in the same JVM
+    @Value("${grpc.server.target:}")
+    private String target;
+
+    @Value("${grpc.client.channels:2}")
+    private int channels;
+
+    @Value("${grpc.client.load-balancing-policy:round_robin}")
+    private String loadBalancingPolicy;
+
+    @Value("${grpc.client.outlier-detection.enabled:true}")
+    private boolean outlierDetection;
+
+    @Value("${grpc.client.keep-alive.time:30s}")
+    private Duration keepAliveTime;
+
+    @Value("${grpc.client.keep-alive.timeout:10s}")
+    private Duration keepAliveTimeout;
+
+    @Value("${grpc.client.idle-timeout:5m}")
+    private Duration idleTimeout;
+
+    @Value("${grpc.client.deadline:2s}")
+    private Duration deadline;
+
+    @Value("${grpc.client.get-country.policy:hedging}")
+    private GetCountryPolicy getCountryPolicy;
+
+    @Value("${grpc.client.get-country.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${grpc.client.get-country.hedging-delay:50ms}")
+    private Duration hedgingDelay;
+
+    // Advertises zstd and gzip in grpc-accept-encoding, so the server may compress bulk responses
+    @Value("${grpc.client.accept-compression:true}")
+    private boolean acceptCompression;
+
+    @Autowired(required = false)
+    private List<ClientInterceptor> interceptors = List.of();
+
+    private ChannelPool channelPool;
     private CountryServiceGrpc.CountryServiceBlockingStub blockingStub;
     private CountryServiceGrpc.CountryServiceStub asyncStub;
+    private CountryServiceGrpc.CountryServiceFutureStub futureStub;
 
+    /**
+     * Opens {@code grpc.client.channels} channels to the server target. Each one resolves every
+     * replica behind the target and balances over them with the configured policy. Calls go to
+     * the channel with the fewest calls in flight (see {@link ChannelPool}).
+     */
     @PostConstruct
     public void init() {
-        log.info("Initializing gRPC client for server at {}:{}", host, port);
-        channel = ManagedChannelBuilder.forAddress(host, port)
+        if (channels < 1) {
+            throw new IllegalArgumentException("grpc.client.channels must be at least 1, but was " + channels);
+        }
+        String resolvedTarget = target == null || target.isBlank() ? "dns:///" + host + ":" + port : target;
+        log.info("Initializing {} gRPC channels to {} ({}, get-country policy {})",
+                channels, resolvedTarget, loadBalancingPolicy, getCountryPolicy);
+        Map<String, Object> serviceConfig = CountryServiceConfig.of(deadline, getCountryPolicy, maxAttempts, hedgingDelay,
+                loadBalancingPolicy, outlierDetection);
+        DecompressorRegistry decompressors = acceptCompression
+                ? DecompressorRegistry.getDefaultInstance().with(new ZstdCodec(), true)
+                : DecompressorRegistry.emptyInstance().with(Codec.Identity.NONE, false);
+        CompressorRegistry compressors = CompressorRegistry.newEmptyInstance();
+        compressors.register(Codec.Identity.NONE);
+        compressors.register(new Codec.Gzip());
+        compressors.register(new ZstdCodec());
+        List<ManagedChannel> pooled = new ArrayList<>(channels);
+        for (int i = 0; i < channels; i++) {
+            ManagedChannelBuilder<?> builder = transport(resolvedTarget)
+                    .disableServiceConfigLookUp()
+                    .defaultServiceConfig(serviceConfig)
+                    .enableRetry()
+                    .maxRetryAttempts(maxAttempts)
+                    .maxHedgedAttempts(maxAttempts)
+                    .idleTimeout(idleTimeout.toNanos(), TimeUnit.NANOSECONDS)
+                    .compressorRegistry(compressors)
+                    .decompressorRegistry(decompressors);
+            try {
+                pooled.add(builder.build());
+            } catch (IllegalArgumentException e) {
+                if (resolvedTarget.startsWith(UNIX_SCHEME)) {
+                    // Only the native epoll transport can connect to a domain socket
+                    throw new IllegalStateException("No gRPC transport for " + resolvedTarget
+                            + "; unix: targets need netty-transport-native-epoll (build with -Puds)", e);
+                }
+                throw e;
+            }
+        }
+        channelPool = new ChannelPool(pooled);
+        Channel intercepted = ClientInterceptors.intercept(channelPool, interceptors);
+        blockingStub = CountryServiceGrpc.newBlockingStub(intercepted);
+        asyncStub = CountryServiceGrpc.newStub(intercepted);
+        futureStub = CountryServiceGrpc.newFutureStub(intercepted);
+    }
+
+    /**
+     * A channel builder for the target's transport:
+     * <ul>
+     *     <li>{@code in-process:name} calls a server in the same JVM directly, without sockets or
+     *     serialization to bytes on a wire</li>
+     *     <li>{@code unix:///path} goes through a Unix domain socket, which needs the native epoll
+     *     transport on the classpath (the {@code uds} build profile)</li>
+     *     <li>any other target ({@code dns:///}, {@code static:///}) goes over TCP</li>
+     * </ul>
+     */
+    private ManagedChannelBuilder<?> transport(String resolvedTarget) {
+        if (resolvedTarget.startsWith(IN_PROCESS_SCHEME)) {
+            // Nothing to encrypt or keep alive within one JVM
+            return InProcessChannelBuilder.forName(resolvedTarget.substring(IN_PROCESS_SCHEME.length()));
+        }
+        return ManagedChannelBuilder.forTarget(resolvedTarget)
                 .usePlaintext()
-                .build();
-        blockingStub = CountryServiceGrpc.newBlockingStub(channel);
-        asyncStub = CountryServiceGrpc.newStub(channel);
+                // Pings detect dead connections while calls are open; the server must permit this rate
+                .keepAliveTime(keepAliveTime.toNanos(), TimeUnit.NANOSECONDS)
+                .keepAliveTimeout(keepAliveTimeout.toNanos(), TimeUnit.NANOSECONDS)
+                .keepAliveWithoutCalls(false);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (channelPool != null) {
+            log.info("Shutting down gRPC channels with {} calls in flight", channelPool.outstandingCalls());
+            channelPool.shutdown(5, TimeUnit.SECONDS);
+        }
     }
 
     public CountryResponse getCountry(String countryCode) {
         CountryRequest request = CountryRequest.newBuilder()
                 .setCode(countryCode)
                 .build();
-        log.info("Sending gRPC request: {}", request);
+        log.debug("Sending gRPC request: {}", request);
         return blockingStub.getCountry(request);
     }
 
+    /**
+     * Non-blocking variant of {@link #getCountry(String)}: no thread waits for the response, and
+     * cancelling the returned future cancels the call.
+     */
+    public CompletableFuture<CountryResponse> getCountryAsync(String countryCode) {
+        return getCountryAsync(countryCode, FieldMask.getDefaultInstance());
+    }
+
+    /**
+     * Like {@link #getCountryAsync(String)}, with the fields named by {@code fields}.
+     */
+    public CompletableFuture<CountryResponse> getCountryAsync(String countryCode, FieldMask fields) {
+        CountryRequest request = CountryRequest.newBuilder()
+                .setCode(countryCode)
+                .setFields(fields)
+                .build();
+        log.debug("Sending async gRPC request: {}", request);
+        return toCompletableFuture(futureStub.getCountry(request));
+    }
+
+    /**
+     * Streams all countries with end-to-end flow control: the server only sends as many messages as
+     * the subscriber has requested, and disposing the subscription cancels the call.
+     */
     public Flowable<CountryResponse> listAllCountries() {
-        AllCountriesRequest request = AllCountriesRequest.newBuilder().build();
-        log.info("Sending gRPC request to list all countries");
-        return Flowable.create(emitter -> {
-            asyncStub.listAllCountries(request, new StreamObserver<>() {
-                @Override
-                public void onNext(CountryResponse value) {
-                    emitter.onNext(value);
-                }
+        return listAllCountries(FieldMask.getDefaultInstance());
+    }
 
-                @Override
-                public void onError(Throwable t) {
-                    emitter.onError(t);
-                }
+    /**
+     * Like {@link #listAllCountries()}, with the fields named by {@code fields}.
+     */
+    public Flowable<CountryResponse> listAllCountries(FieldMask fields) {
+        AllCountriesRequest request = AllCountriesRequest.newBuilder().setFields(fields).build();
+        log.debug("Sending gRPC request to list all countries");
+        return Flowable.fromPublisher(new ServerStreamPublisher<>(asyncStub::listAllCountries, request));
+    }
 
-                @Override
-                public void onCompleted() {
-                    emitter.onComplete();
-                }
-            });
-        }, BackpressureStrategy.BUFFER);
+    /**
+     * Like {@link #listAllCountries()}, with up to {@code batchSize} countries per message, which
+     * saves per-message work on both ends and lets the server compress the stream. A size of 0
+     * lets the server pick. Flow control counts batches, not countries.
+     */
+    public Flowable<CountryBatch> listAllCountriesBatched(int batchSize) {
+        return listAllCountriesBatched(batchSize, FieldMask.getDefaultInstance());
+    }
+
+    /**
+     * Like {@link #listAllCountriesBatched(int)}, with the fields named by {@code fields}.
+     */
+    public Flowable<CountryBatch> listAllCountriesBatched(int batchSize, FieldMask fields) {
+        return listAllCountriesBatched(batchSize, fields, OptionalLong.empty());
+    }
+
+    /**
+     * Like {@link #listAllCountriesBatched(int, FieldMask)}, but empty when the server's data
+     * version is still {@code unlessVersion}. Every batch carries the version, and a changed table
+     * has at least one batch, so the first one tells which case it is.
+     */
+    public Flowable<CountryBatch> listAllCountriesBatched(int batchSize, FieldMask fields, OptionalLong unlessVersion) {
+        AllCountriesBatchedRequest.Builder request = AllCountriesBatchedRequest.newBuilder()
+                .setBatchSize(batchSize)
+                .setFields(fields);
+        unlessVersion.ifPresent(request::setUnlessVersion);
+        log.debug("Sending gRPC request to list all countries in batches of {} unless at version {}", batchSize, unlessVersion);
+        return Flowable.fromPublisher(new ServerStreamPublisher<>(asyncStub::listAllCountriesBatched, request.build()));
+    }
+
+    /**
+     * Streams the server's country changes, starting with a {@code RESET} event, with upserted
+     * countries cut down to the fields named by {@code fields}. The stream never completes on its
+     * own; it ends with an error when the connection is lost.
+     */
+    public Flowable<CountryChange> watchCountries(FieldMask fields) {
+        log.info("Opening gRPC stream to watch country changes");
+        return Flowable.fromPublisher(new ServerStreamPublisher<>(asyncStub::watchCountries,
+                WatchCountriesRequest.newBuilder().setFields(fields).build()));
+    }
+
+    /**
+     * Streams the changes since the given data version: nothing when it is current, otherwise
+     * upserts and deletes. Without a version, or with one the server does not know, the stream is
+     * a {@code RESET} carrying the current version followed by every country.
+     */
+    public Flowable<CountryChange> listCountriesSince(OptionalLong version) {
+        return listCountriesSince(version, FieldMask.getDefaultInstance());
+    }
+
+    /**
+     * Like {@link #listCountriesSince(OptionalLong)}, with the fields named by {@code fields}.
+     */
+    public Flowable<CountryChange> listCountriesSince(OptionalLong version, FieldMask fields) {
+        CountriesSinceRequest.Builder request = CountriesSinceRequest.newBuilder().setFields(fields);
+        version.ifPresent(request::setVersion);
+        log.debug("Sending gRPC request to list countries since version {}", version);
+        return Flowable.fromPublisher(new ServerStreamPublisher<>(asyncStub::listCountriesSince, request.build()));
+    }
+
+    public CountriesResponse getCountries(List<String> countryCodes) {
+        CountriesRequest request = CountriesRequest.newBuilder()
+                .addAllCodes(countryCodes)
+                .build();
+        log.debug("Sending gRPC batch request for {} codes", countryCodes.size());
+        return blockingStub.getCountries(request);
+    }
+
+    /**
+     * Non-blocking variant of {@link #getCountries(List)}.
+     */
+    public CompletableFuture<CountriesResponse> getCountriesAsync(List<String> countryCodes) {
+        return getCountriesAsync(countryCodes, FieldMask.getDefaultInstance());
+    }
+
+    /**
+     * Like {@link #getCountriesAsync(List)}, with the fields named by {@code fields}.
+     */
+    public CompletableFuture<CountriesResponse> getCountriesAsync(List<String> countryCodes, FieldMask fields) {
+        CountriesRequest request = CountriesRequest.newBuilder()
+                .addAllCodes(countryCodes)
+                .setFields(fields)
+                .build();
+        log.debug("Sending async gRPC batch request for {} codes", countryCodes.size());
+        return toCompletableFuture(futureStub.getCountries(request));
+    }
+
+    /**
+     * Type-ahead search on the server's index; a {@code limit} of 0 lets the server pick.
+     */
+    public CompletableFuture<SearchCountriesResponse> searchCountriesAsync(String query, int limit) {
+        return searchCountriesAsync(query, limit, FieldMask.getDefaultInstance());
+    }
+
+    /**
+     * Like {@link #searchCountriesAsync(String, int)}, with the fields named by {@code fields}.
+     */
+    public CompletableFuture<SearchCountriesResponse> searchCountriesAsync(String query, int limit, FieldMask fields) {
+        SearchCountriesRequest request = SearchCountriesRequest.newBuilder()
+                .setQuery(query)
+                .setLimit(limit)
+                .setFields(fields)
+                .build();
+        log.debug("Sending async gRPC search request for query: {}", query);
+        return toCompletableFuture(futureStub.searchCountries(request));
+    }
+
+    /**
+     * Resolves batches of codes over a single long-lived bidirectional stream: every list emitted
+     * by {@code codeBatches} is sent as one request and answered by one response, in order. Flow
+     * control holds both ways: a batch is only taken from {@code codeBatches} when the call can
+     * send it, and the server only sends the responses the subscriber has requested.
+     */
+    public Flowable<CountriesResponse> streamCountries(Flowable<List<String>> codeBatches) {
+        log.info("Opening gRPC stream for batched country lookups");
+        return Flowable.fromPublisher(ServerStreamPublisher.bidi(asyncStub::streamCountries,
+                codeBatches.map(codes -> CountriesRequest.newBuilder().addAllCodes(codes).build())));
+    }
+
+    private static <T> CompletableFuture<T> toCompletableFuture(ListenableFuture<T> call) {
+        CompletableFuture<T> result = new CompletableFuture<>() {
+            @Override
+            public boolean cancel(boolean mayInterruptIfRunning) {
+                call.cancel(mayInterruptIfRunning);
+                return super.cancel(mayInterruptIfRunning);
+            }
+        };
+        // Completed on the gRPC callback thread; the mapping done downstream is cheap
+        Futures.addCallback(call, new FutureCallback<>() {
+            @Override
+            public void onSuccess(T value) {
+                result.complete(value);
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                result.completeExceptionally(t);
+            }
+        }, MoreExecutors.directExecutor());
+        return result;
     }
 }
@@ -0,0 +1,115 @@
+package br.com.danilors.country.client.client;
+
+import br.com.danilors.country.CountryServiceGrpc;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Builds the gRPC service config the client channels start with. It sets:
+ * <ul>
+ *     <li>a deadline for every unary method. Streams have none, since {@code watchCountries}
+ *     stays open for good.</li>
+ *     <li>for {@code getCountry}, either hedging or retries. Hedging sends another attempt to the
+ *     next replica when no answer has arrived within {@code hedgingDelay}, so one slow replica
+ *     costs at most that delay. Retries only react to {@code UNAVAILABLE} and
+ *     {@code RESOURCE_EXHAUSTED}.</li>
+ *     <li>retries on the same codes for the other unary methods, with retry throttling so that a
+ *     failing or overloaded server is not hit with extra attempts.</li>
+ *     <li>the load balancing policy across resolved addresses. Optionally it is wrapped in
+ *     outlier detection, which ejects a replica whose calls mostly fail.</li>
+ * </ul>
+ * The JSON form is documented in gRPC's {@code service_config.proto}. Numbers have to be
+ * {@code Double}s and durations strings like {@code "0.05s"}.
+ */
+public final class CountryServiceConfig {
+
+    public enum GetCountryPolicy {
+        HEDGING,
+        RETRY,
+        NONE
+    }
+
+    private static final String SERVICE = CountryServiceGrpc.SERVICE_NAME;
+    // RESOURCE_EXHAUSTED is the server shedding load; its retry pushback sets when to try again
+    private static final List<String> RETRYABLE = List.of("UNAVAILABLE", "RESOURCE_EXHAUSTED");
+
+    private CountryServiceConfig() {
+    }
+
+    /**
+     * @throws IllegalArgumentException if {@code maxAttempts} is below 2, which gRPC rejects
+     */
+    public static Map<String, Object> of(Duration deadline,
+                                         GetCountryPolicy getCountryPolicy,
+                                         int maxAttempts,
+                                         Duration hedgingDelay,
+                                         String loadBalancingPolicy,
+                                         boolean outlierDetection) {
+        if (maxAttempts < 2) {
+            throw new IllegalArgumentException("maxAttempts must be at least 2, but was " + maxAttempts);
+        }
+        Map<String, Object> getCountry = switch (getCountryPolicy) {
+            case HEDGING -> Map.of(
+                    "name", List.of(method("getCountry")),
+                    "timeout", duration(deadline),
+                    "hedgingPolicy", Map.of(
+                            "maxAttempts", (double) maxAttempts,
+                            "hedgingDelay", duration(hedgingDelay),
+                            "nonFatalStatusCodes", RETRYABLE));
+            case RETRY -> Map.of(
+                    "name", List.of(method("getCountry")),
+                    "timeout", duration(deadline),
+                    "retryPolicy", retryPolicy(maxAttempts));
+            case NONE -> Map.of(
+                    "name", List.of(method("getCountry")),
+                    "timeout", duration(deadline));
+        };
+        Map<String, Object> otherUnary = Map.of(
+                "name", List.of(method("getCountries"), method("searchCountries")),
+                "timeout", duration(deadline),
+                "retryPolicy", retryPolicy(maxAttempts));
+
+        Map<String, Object> childPolicy = Map.of(loadBalancingPolicy.toLowerCase(Locale.ROOT), Map.of());
+        Map<String, Object> balancing = outlierDetection
+                ? Map.of("outlier_detection_experimental", Map.of(
+                        "interval", "10s",
+                        "baseEjectionTime", "30s",
+                        "maxEjectionTime", "300s",
+                        "maxEjectionPercent", 50.0,
+                        // Eject a replica when half of its last 20+ calls in an interval failed
+                        "failurePercentageEjection", Map.of(
+                                "threshold", 50.0,
+                                "enforcementPercentage", 100.0,
+                                "minimumHosts", 2.0,
+                                "requestVolume", 20.0),
+                        "childPolicy", List.of(childPolicy)))
+                : childPolicy;
+
+        return Map.of(
+                "methodConfig", List.of(getCountry, otherUnary),
+                "loadBalancingConfig", List.of(balancing),
+                // Retries and hedges stop while more than half of the token budget is spent on failures
+                "retryThrottling", Map.of("maxTokens", 10.0, "tokenRatio", 0.1));
+    }
+
+    private static Map<String, Object> method(String name) {
+        return Map.of("service", SERVICE, "method", name);
+    }
+
+    private static Map<String, Object> retryPolicy(int maxAttempts) {
+        return Map.of(
+                "maxAttempts", (double) maxAttempts,
+                "initialBackoff", "0.05s",
+                "maxBackoff", "0.5s",
+                "backoffMultiplier", 2.0,
+                "retryableStatusCodes", RETRYABLE);
+    }
+
+    private static String duration(Duration duration) {
+        return BigDecimal.valueOf(duration.toNanos(), 9).stripTrailingZeros().toPlainString() + "s";
+    }
+}
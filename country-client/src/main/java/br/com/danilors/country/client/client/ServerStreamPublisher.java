@@ -0,0 +1,239 @@
+package br.com.danilors.country.client.client;
+
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
+import io.grpc.stub.StreamObserver;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Reactive Streams view of a server-streaming call with end-to-end flow control. Automatic inbound
+ * flow control is disabled and subscriber demand is forwarded as gRPC message requests, so the
+ * server only sends what the subscriber asked for. Cancelling the subscription cancels the call.
+ * Every subscription starts a new call.
+ * <p>
+ * {@link #bidi} does the same for a bidirectional call, whose request messages come from a
+ * publisher: one is requested at a time, and only while the call can send it without buffering.
+ */
+final class ServerStreamPublisher<ReqT, RespT> implements Publisher<RespT> {
+
+    private final Function<StreamObserver<RespT>, StreamObserver<ReqT>> call;
+    private final Publisher<ReqT> requests;
+
+    ServerStreamPublisher(BiConsumer<ReqT, StreamObserver<RespT>> call, ReqT request) {
+        this(responses -> {
+            call.accept(request, responses);
+            return null;
+        }, null);
+    }
+
+    private ServerStreamPublisher(Function<StreamObserver<RespT>, StreamObserver<ReqT>> call, Publisher<ReqT> requests) {
+        this.call = call;
+        this.requests = requests;
+    }
+
+    /**
+     * A bidirectional call that sends the messages of {@code requests}. Their completion half-closes
+     * the call and their failure cancels it; the call ending, or the subscription being cancelled,
+     * cancels them.
+     */
+    static <ReqT, RespT> ServerStreamPublisher<ReqT, RespT> bidi(Function<StreamObserver<RespT>, StreamObserver<ReqT>> call,
+                                                                 Publisher<ReqT> requests) {
+        return new ServerStreamPublisher<>(call, requests);
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super RespT> subscriber) {
+        ResponseSubscription<ReqT, RespT> subscription = new ResponseSubscription<>(subscriber);
+        subscriber.onSubscribe(subscription);
+        if (subscription.done) {
+            return;
+        }
+        try {
+            call.apply(subscription);
+        } catch (RuntimeException e) {
+            subscription.onError(e);
+            return;
+        }
+        subscription.started();
+        if (requests != null) {
+            requests.subscribe(subscription.new RequestSender());
+        }
+    }
+
+    private static final class ResponseSubscription<ReqT, RespT> implements ClientResponseObserver<ReqT, RespT>, Subscription {
+
+        private final Subscriber<? super RespT> downstream;
+        // Demand not yet forwarded: ClientCall.request is only legal once the call has started.
+        private final AtomicLong pendingDemand = new AtomicLong();
+
+        private ClientCallStreamObserver<ReqT> requestStream;
+        private volatile boolean started;
+        private volatile boolean done;
+        private boolean unbounded;
+        private volatile RequestSender sender;
+
+        ResponseSubscription(Subscriber<? super RespT> downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void beforeStart(ClientCallStreamObserver<ReqT> requestStream) {
+            this.requestStream = requestStream;
+            requestStream.disableAutoRequestWithInitial(0);
+            requestStream.setOnReadyHandler(() -> {
+                RequestSender current = sender;
+                if (current != null) {
+                    current.requestNext();
+                }
+            });
+        }
+
+        void started() {
+            started = true;
+            if (done) {
+                requestStream.cancel("Subscriber cancelled", null);
+            } else {
+                forwardDemand();
+            }
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                cancel();
+                downstream.onError(new IllegalArgumentException("Rule 3.9: request must be positive, was " + n));
+                return;
+            }
+            pendingDemand.getAndAccumulate(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            if (started) {
+                forwardDemand();
+            }
+        }
+
+        private synchronized void forwardDemand() {
+            long demand = pendingDemand.getAndSet(0);
+            if (demand == 0 || done || unbounded) {
+                return;
+            }
+            if (demand >= Integer.MAX_VALUE) {
+                // Effectively unbounded; gRPC tracks outstanding requests as an int.
+                unbounded = true;
+                requestStream.request(Integer.MAX_VALUE);
+            } else {
+                requestStream.request((int) demand);
+            }
+        }
+
+        @Override
+        public void cancel() {
+            if (done) {
+                return;
+            }
+            done = true;
+            stopSending();
+            if (started) {
+                requestStream.cancel("Subscriber cancelled", null);
+            }
+        }
+
+        @Override
+        public void onNext(RespT value) {
+            if (!done) {
+                downstream.onNext(value);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (!done) {
+                done = true;
+                stopSending();
+                downstream.onError(t);
+            }
+        }
+
+        @Override
+        public void onCompleted() {
+            if (!done) {
+                done = true;
+                stopSending();
+                downstream.onComplete();
+            }
+        }
+
+        private void stopSending() {
+            RequestSender current = sender;
+            if (current != null) {
+                current.cancel();
+            }
+        }
+
+        /**
+         * Sends request messages with flow control: the next one is requested once the previous
+         * one is sent and the call is ready for more.
+         */
+        private final class RequestSender implements Subscriber<ReqT> {
+
+            private final AtomicBoolean awaiting = new AtomicBoolean();
+            private volatile Subscription upstream;
+            private volatile boolean cancelled;
+
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                upstream = subscription;
+                sender = this;
+                if (done) {
+                    cancel();
+                } else {
+                    requestNext();
+                }
+            }
+
+            void requestNext() {
+                if (!cancelled && requestStream.isReady() && awaiting.compareAndSet(false, true)) {
+                    upstream.request(1);
+                }
+            }
+
+            @Override
+            public void onNext(ReqT request) {
+                if (cancelled) {
+                    return;
+                }
+                requestStream.onNext(request);
+                awaiting.set(false);
+                requestNext();
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                if (!cancelled) {
+                    cancelled = true;
+                    requestStream.onError(t);
+                }
+            }
+
+            @Override
+            public void onComplete() {
+                if (!cancelled) {
+                    cancelled = true;
+                    requestStream.onCompleted();
+                }
+            }
+
+            void cancel() {
+                if (!cancelled) {
+                    cancelled = true;
+                    upstream.cancel();
+                }
+            }
+        }
+    }
+}
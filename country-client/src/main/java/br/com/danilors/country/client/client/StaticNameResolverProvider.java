@@ -0,0 +1,143 @@
+package br.com.danilors.country.client.client;
+
+import io.grpc.EquivalentAddressGroup;
+import io.grpc.NameResolver;
+import io.grpc.NameResolverProvider;
+import io.grpc.Status;
+import io.grpc.StatusOr;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * Resolves {@code static:///host1:9090,host2:9090} to a fixed list of server addresses, one
+ * address group per entry, so the load balancer treats every entry as its own replica. Host
+ * names are resolved once, when the channel starts; use a {@code dns:///} target when the set of
+ * replicas changes at runtime.
+ */
+public class StaticNameResolverProvider extends NameResolverProvider {
+
+    public static final String SCHEME = "static";
+
+    @Override
+    public NameResolver newNameResolver(URI targetUri, NameResolver.Args args) {
+        if (!SCHEME.equals(targetUri.getScheme())) {
+            return null;
+        }
+        String path = targetUri.getPath();
+        List<InetSocketAddress> addresses = parse(path.startsWith("/") ? path.substring(1) : path);
+        String authority = targetUri.getAuthority() != null
+                ? targetUri.getAuthority()
+                : addresses.get(0).getHostString() + ":" + addresses.get(0).getPort();
+        return new StaticNameResolver(authority, addresses, args);
+    }
+
+    @Override
+    public String getDefaultScheme() {
+        return SCHEME;
+    }
+
+    @Override
+    protected boolean isAvailable() {
+        return true;
+    }
+
+    @Override
+    protected int priority() {
+        return 5;
+    }
+
+    @Override
+    public Collection<Class<? extends SocketAddress>> getProducedSocketAddressTypes() {
+        return List.of(InetSocketAddress.class);
+    }
+
+    /**
+     * Parses a comma-separated list of {@code host:port} entries.
+     *
+     * @throws IllegalArgumentException if the list is empty or an entry has no valid port
+     */
+    static List<InetSocketAddress> parse(String hostPorts) {
+        List<InetSocketAddress> addresses = new ArrayList<>();
+        for (String entry : hostPorts.split(",")) {
+            String hostPort = entry.strip();
+            if (hostPort.isEmpty()) {
+                continue;
+            }
+            int colon = hostPort.lastIndexOf(':');
+            if (colon <= 0 || colon == hostPort.length() - 1) {
+                throw new IllegalArgumentException("Expected host:port but got '" + hostPort + "'");
+            }
+            String host = hostPort.substring(0, colon);
+            if (host.startsWith("[") && host.endsWith("]")) {
+                host = host.substring(1, host.length() - 1);
+            }
+            addresses.add(InetSocketAddress.createUnresolved(host, Integer.parseInt(hostPort.substring(colon + 1))));
+        }
+        if (addresses.isEmpty()) {
+            throw new IllegalArgumentException("No server addresses in '" + hostPorts + "'");
+        }
+        return List.copyOf(addresses);
+    }
+
+    private static final class StaticNameResolver extends NameResolver {
+
+        private final String authority;
+        private final List<InetSocketAddress> addresses;
+        private final Args args;
+        private Listener2 listener;
+
+        StaticNameResolver(String authority, List<InetSocketAddress> addresses, Args args) {
+            this.authority = authority;
+            this.addresses = addresses;
+            this.args = args;
+        }
+
+        @Override
+        public String getServiceAuthority() {
+            return authority;
+        }
+
+        @Override
+        public void start(Listener2 listener) {
+            this.listener = listener;
+            resolve();
+        }
+
+        @Override
+        public void refresh() {
+            resolve();
+        }
+
+        private void resolve() {
+            // Host lookups block, so they run off the channel's synchronization context when possible
+            Executor executor = args.getOffloadExecutor() != null ? args.getOffloadExecutor() : Runnable::run;
+            executor.execute(() -> {
+                List<EquivalentAddressGroup> groups = new ArrayList<>(addresses.size());
+                for (InetSocketAddress address : addresses) {
+                    InetSocketAddress resolved = new InetSocketAddress(address.getHostString(), address.getPort());
+                    if (!resolved.isUnresolved()) {
+                        groups.add(new EquivalentAddressGroup(resolved));
+                    }
+                }
+                ResolutionResult.Builder result = ResolutionResult.newBuilder();
+                if (groups.isEmpty()) {
+                    result.setAddressesOrError(StatusOr.fromStatus(Status.UNAVAILABLE
+                            .withDescription("None of " + addresses + " could be resolved")));
+                } else {
+                    result.setAddressesOrError(StatusOr.fromValue(groups));
+                }
+                args.getSynchronizationContext().execute(() -> listener.onResult2(result.build()));
+            });
+        }
+
+        @Override
+        public void shutdown() {
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package br.com.danilors.country.client.client;
+
+import io.reactivex.rxjava3.core.Flowable;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The first element of a stream, with the whole stream still to be consumed. {@link #of} requests
+ * a single element, so what is decided from it (a response status, a header) is known before the
+ * rest is requested; {@link #stream()} then replays it ahead of the remaining elements, on the same
+ * subscription and with downstream demand forwarded upstream.
+ */
+public final class StreamHead<T> {
+
+    private final T first;
+    private final Flowable<T> stream;
+
+    private StreamHead(T first, Flowable<T> stream) {
+        this.first = first;
+        this.stream = stream;
+    }
+
+    /**
+     * Subscribes to {@code source} and completes with its first element, or empty when it ends
+     * without one. Cancelling the returned future cancels the subscription.
+     */
+    public static <T> CompletableFuture<Optional<StreamHead<T>>> of(Publisher<T> source) {
+        Splitter<T> splitter = new Splitter<>();
+        source.subscribe(splitter);
+        return splitter.result;
+    }
+
+    public T first() {
+        return first;
+    }
+
+    /**
+     * The first element followed by the rest of the stream. It can be subscribed once; cancelling
+     * it, even before the first element is taken, cancels the source.
+     */
+    public Flowable<T> stream() {
+        return stream;
+    }
+
+    private static final class Splitter<T> implements Subscriber<T>, Publisher<T>, Subscription {
+
+        private final CompletableFuture<Optional<StreamHead<T>>> result = new CompletableFuture<>();
+        private final AtomicBoolean attached = new AtomicBoolean();
+
+        private volatile Subscription upstream;
+        private volatile Subscriber<? super T> downstream;
+        // A terminal signal may arrive before the rest is subscribed, or while it is subscribing
+        private boolean subscribed;
+        private boolean terminated;
+        private boolean terminalDelivered;
+        private Throwable error;
+
+        Splitter() {
+            result.whenComplete((head, e) -> {
+                if (result.isCancelled()) {
+                    cancel();
+                }
+            });
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            upstream = subscription;
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(T value) {
+            if (!result.isDone()) {
+                result.complete(Optional.of(new StreamHead<>(value,
+                        Flowable.just(value).concatWith(this).doOnCancel(this::cancel))));
+                return;
+            }
+            // Past the first element, nothing is requested until the rest is subscribed
+            Subscriber<? super T> subscriber = downstream;
+            if (subscriber != null) {
+                subscriber.onNext(value);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (!result.completeExceptionally(t)) {
+                terminate(t);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!result.complete(Optional.empty())) {
+                terminate(null);
+            }
+        }
+
+        @Override
+        public void subscribe(Subscriber<? super T> subscriber) {
+            if (!attached.compareAndSet(false, true)) {
+                Flowable.<T>error(new IllegalStateException("The stream can only be subscribed once")).subscribe(subscriber);
+                return;
+            }
+            downstream = subscriber;
+            subscriber.onSubscribe(this);
+            synchronized (this) {
+                subscribed = true;
+            }
+            deliverTerminal();
+        }
+
+        @Override
+        public void request(long n) {
+            upstream.request(n);
+        }
+
+        @Override
+        public void cancel() {
+            Subscription subscription = upstream;
+            if (subscription != null) {
+                subscription.cancel();
+            }
+        }
+
+        private void terminate(Throwable t) {
+            synchronized (this) {
+                terminated = true;
+                error = t;
+            }
+            deliverTerminal();
+        }
+
+        private void deliverTerminal() {
+            Throwable t;
+            synchronized (this) {
+                if (!terminated || !subscribed || terminalDelivered) {
+                    return;
+                }
+                terminalDelivered = true;
+                t = error;
+            }
+            if (t == null) {
+                downstream.onComplete();
+            } else {
+                downstream.onError(t);
+            }
+        }
+    }
+}
@@ -1,15 +1,51 @@
 package br.com.danilors.country.client.controller;
 
 import br.com.danilors.country.client.dto.Country;
+import br.com.danilors.country.client.dto.CountryBatchResult;
+import br.com.danilors.country.client.dto.CountryFields;
 import br.com.danilors.country.client.service.CountryService;
+import br.com.danilors.country.common.code.CountryCodes;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.protobuf.FieldMask;
 import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import io.reactivex.rxjava3.subscribers.DisposableSubscriber;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
+import java.io.IOException;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking gateway over the gRPC service. Every endpoint returns an async type, so the servlet
+ * thread is released as soon as the gRPC call is issued and the response is written when it
+ * arrives. The number of open connections is bounded by Tomcat's {@code max-connections}, not by
+ * its thread pool.
+ * <p>
+ * Every endpoint takes {@code ?fields=}, the comma-separated {@link Country} properties to return,
+ * such as {@code alpha3,currency}, or {@code *} for all of them; see {@link CountryFields}. An
+ * unknown property is a {@code 400 Bad Request}.
+ */
 @RestController
 @RequestMapping("/countries")
 public class CountryController {
@@ -17,20 +53,182 @@ public class CountryController {
     private static final Logger log = LoggerFactory.getLogger(CountryController.class);
 
     private final CountryService countryService;
+    private final ObjectMapper objectMapper;
+    // Writes the JSON listing, so that a slow reader never blocks a gRPC callback thread
+    private final Scheduler writeScheduler;
 
-    public CountryController(CountryService countryService) {
+    public CountryController(CountryService countryService,
+                             ObjectMapper objectMapper,
+                             @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+                             AsyncTaskExecutor taskExecutor) {
         this.countryService = countryService;
+        this.objectMapper = objectMapper;
+        this.writeScheduler = Schedulers.from(taskExecutor);
     }
 
     @GetMapping("/{code}")
-    public Country getContryByCode(@PathVariable("code") String code) {
-        log.info("Request received for country with code: {}", code);
-        return countryService.getCountry(code);
+    public CompletableFuture<Country> getContryByCode(@PathVariable("code") String code,
+                                                      @RequestParam(value = "fields", required = false) String fields) {
+        log.debug("Request received for country with code: {}", code);
+        return countryService.getCountry(countryCode(code), fieldMask(fields));
+    }
+
+    /**
+     * Type-ahead search over country codes and names, ignoring case and accents, best match first.
+     * {@code limit} defaults to the server's (10) and is capped at 50.
+     */
+    @GetMapping("/search")
+    public CompletableFuture<List<Country>> searchCountries(@RequestParam("q") String query,
+                                                            @RequestParam(value = "limit", defaultValue = "0") int limit,
+                                                            @RequestParam(value = "fields", required = false) String fields) {
+        log.debug("Request received to search countries for: {}", query);
+        return countryService.searchCountries(query, limit, fieldMask(fields));
     }
 
+    /**
+     * Streams a JSON array tagged with the server's data version as a weak {@code ETag}, since the
+     * same version may be sent plain or gzip-compressed. A request whose {@code If-None-Match} still
+     * names that version gets {@code 304 Not Modified}, which the server answers within the same
+     * call, without listing anything.
+     */
     @GetMapping
-    public Flowable<Country> listAllCountries() {
-        log.info("Request received to list all countries");
-        return countryService.listAllCountries();
+    public CompletableFuture<ResponseEntity<ResponseBodyEmitter>> listAllCountries(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestParam(value = "fields", required = false) String fields) {
+        log.debug("Request received to list all countries");
+        FieldMask mask = fieldMask(fields);
+        OptionalLong knownVersion = parseETag(ifNoneMatch);
+        return countryService.listAllCountriesVersioned(knownVersion, mask)
+                .thenApply(listing -> listing
+                        .map(changed -> ResponseEntity.ok()
+                                .eTag(eTag(changed.version()))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .body(jsonArray(changed.countries())))
+                        .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                                .eTag(eTag(knownVersion.getAsLong()))
+                                .<ResponseBodyEmitter>build()));
+    }
+
+    /**
+     * With {@code Accept: application/x-ndjson} or {@code text/event-stream} each country is written
+     * as soon as it arrives, and subscriber demand drives the gRPC stream.
+     */
+    @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flowable<Country> streamAllCountries(@RequestParam(value = "fields", required = false) String fields) {
+        log.debug("Request received to stream all countries");
+        return countryService.listAllCountries(fieldMask(fields));
+    }
+
+    @PostMapping("/batch")
+    public CompletableFuture<CountryBatchResult> getCountries(@RequestBody List<String> codes,
+                                                              @RequestParam(value = "fields", required = false) String fields) {
+        log.debug("Request received for {} country codes", codes.size());
+        return countryService.getCountries(codes, fieldMask(fields));
+    }
+
+    /**
+     * Writes the listing as a JSON array, one chunk per batch. {@code emitter.send} blocks while
+     * the reader is slow, so batches are handed over to the application task executor, the one
+     * Spring MVC runs async requests on, one at a time. The next batch is only requested once the
+     * previous one has been written, so a slow reader holds back the gRPC stream instead of the
+     * whole table piling up in memory.
+     */
+    private ResponseBodyEmitter jsonArray(Flowable<List<Country>> batches) {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter();
+        DisposableSubscriber<List<Country>> writer = new DisposableSubscriber<>() {
+            private boolean opened;
+            private boolean empty = true;
+
+            @Override
+            protected void onStart() {
+                request(1);
+            }
+
+            @Override
+            public void onNext(List<Country> batch) {
+                StringBuilder chunk = new StringBuilder();
+                if (!opened) {
+                    chunk.append('[');
+                    opened = true;
+                }
+                try {
+                    for (Country country : batch) {
+                        if (!empty) {
+                            chunk.append(',');
+                        }
+                        chunk.append(objectMapper.writeValueAsString(country));
+                        empty = false;
+                    }
+                    emitter.send(chunk.toString(), MediaType.APPLICATION_JSON);
+                } catch (IOException e) {
+                    cancel();
+                    emitter.completeWithError(e);
+                    return;
+                }
+                request(1);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                emitter.completeWithError(t);
+            }
+
+            @Override
+            public void onComplete() {
+                try {
+                    emitter.send(opened ? "]" : "[]", MediaType.APPLICATION_JSON);
+                    emitter.complete();
+                } catch (IOException e) {
+                    emitter.completeWithError(e);
+                }
+            }
+        };
+        // A reader that goes away, or a request that times out, cancels the gRPC call
+        emitter.onTimeout(writer::dispose);
+        emitter.onError(e -> writer.dispose());
+        batches.observeOn(writeScheduler, false, 1).subscribe(writer);
+        return emitter;
+    }
+
+    private static String countryCode(String code) {
+        try {
+            return CountryCodes.requireNormalized(code);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    private static FieldMask fieldMask(String fields) {
+        try {
+            return CountryFields.parse(fields);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    private static String eTag(long version) {
+        return "W/\"" + version + "\"";
+    }
+
+    /**
+     * The version named by an {@code If-None-Match} header written by {@link #eTag}, or empty when
+     * there is none or the header holds anything else (a list, {@code *}, a foreign tag).
+     */
+    static OptionalLong parseETag(String ifNoneMatch) {
+        if (ifNoneMatch == null) {
+            return OptionalLong.empty();
+        }
+        String tag = ifNoneMatch.strip();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        if (tag.length() < 3 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') {
+            return OptionalLong.empty();
+        }
+        try {
+            return OptionalLong.of(Long.parseUnsignedLong(tag.substring(1, tag.length() - 1)));
+        } catch (NumberFormatException e) {
+            return OptionalLong.empty();
+        }
     }
 }
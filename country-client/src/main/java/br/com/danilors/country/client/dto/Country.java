@@ -1,4 +1,31 @@
 package br.com.danilors.country.client.dto;
 
-public record Country (String code, String description){
-}
\ No newline at end of file
+import br.com.danilors.country.CountryResponse;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Map;
+
+/**
+ * A country as served over REST. Fields the caller did not select through {@code ?fields=} are
+ * empty and left out of the JSON.
+ */
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public record Country(String code,
+                      String description,
+                      String alpha3,
+                      String numericCode,
+                      String region,
+                      String currency,
+                      String callingCode,
+                      Map<String, String> names) {
+
+    public Country(String code, String description) {
+        this(code, description, "", "", "", "", "", Map.of());
+    }
+
+    public static Country from(CountryResponse countryResponse) {
+        return new Country(countryResponse.getCode(), countryResponse.getDescription(), countryResponse.getAlpha3(),
+                countryResponse.getNumericCode(), countryResponse.getRegion(), countryResponse.getCurrency(),
+                countryResponse.getCallingCode(), countryResponse.getNamesMap());
+    }
+}
@@ -0,0 +1,6 @@
+package br.com.danilors.country.client.dto;
+
+import java.util.List;
+
+public record CountryBatchResult(List<Country> countries, List<String> missingCodes) {
+}
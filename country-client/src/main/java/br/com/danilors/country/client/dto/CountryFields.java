@@ -0,0 +1,72 @@
+package br.com.danilors.country.client.dto;
+
+import com.google.protobuf.FieldMask;
+
+import java.util.Map;
+
+/**
+ * Maps the {@code ?fields=} parameter of the REST API to the field mask of the gRPC requests. The
+ * parameter lists {@link Country} properties, comma-separated, or {@code *} for all of them; the
+ * code is always included, and without the parameter so is the description only, as the server
+ * does for a request without a mask.
+ */
+public final class CountryFields {
+
+    public static final FieldMask DEFAULT = FieldMask.getDefaultInstance();
+    public static final FieldMask ALL = FieldMask.newBuilder().addPaths("*").build();
+
+    // REST property -> proto field
+    private static final Map<String, String> PATHS = Map.of(
+            "code", "code",
+            "description", "description",
+            "alpha3", "alpha3",
+            "numericCode", "numeric_code",
+            "region", "region",
+            "currency", "currency",
+            "callingCode", "calling_code",
+            "names", "names",
+            "*", "*");
+
+    private CountryFields() {
+    }
+
+    /**
+     * @param fields the {@code ?fields=} parameter, or {@code null} when there is none
+     * @throws IllegalArgumentException if a name is not a {@link Country} property
+     */
+    public static FieldMask parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return DEFAULT;
+        }
+        FieldMask.Builder mask = FieldMask.newBuilder();
+        for (String field : fields.split(",")) {
+            String path = PATHS.get(field.strip());
+            if (path == null) {
+                throw new IllegalArgumentException("Unknown country field: '" + field.strip() + "'");
+            }
+            mask.addPaths(path);
+        }
+        return mask.build();
+    }
+
+    /**
+     * Cuts a country down to the fields of a mask, for countries held with all of them (such as
+     * those of the near cache).
+     */
+    public static Country select(Country country, FieldMask mask) {
+        if (mask.getPathsList().contains("*")) {
+            return country;
+        }
+        if (mask.getPathsCount() == 0) {
+            return new Country(country.code(), country.description());
+        }
+        return new Country(country.code(),
+                mask.getPathsList().contains("description") ? country.description() : "",
+                mask.getPathsList().contains("alpha3") ? country.alpha3() : "",
+                mask.getPathsList().contains("numeric_code") ? country.numericCode() : "",
+                mask.getPathsList().contains("region") ? country.region() : "",
+                mask.getPathsList().contains("currency") ? country.currency() : "",
+                mask.getPathsList().contains("calling_code") ? country.callingCode() : "",
+                mask.getPathsList().contains("names") ? country.names() : Map.of());
+    }
+}
@@ -0,0 +1,12 @@
+package br.com.danilors.country.client.dto;
+
+import io.reactivex.rxjava3.core.Flowable;
+
+import java.util.List;
+
+/**
+ * Every country, as of the server's data version {@code version}, in the batches the server sent
+ * them in. {@code countries} streams from a call already in progress and can be subscribed once.
+ */
+public record CountryListing(long version, Flowable<List<Country>> countries) {
+}
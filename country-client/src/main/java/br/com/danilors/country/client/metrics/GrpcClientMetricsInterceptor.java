@@ -0,0 +1,144 @@
+package br.com.danilors.country.client.metrics;
+
+import com.google.protobuf.MessageLite;
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptor;
+import io.grpc.ForwardingClientCall;
+import io.grpc.ForwardingClientCallListener;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Records per-method metrics for every call the client makes:
+ * <ul>
+ *     <li>{@code grpc.client.calls}: latency histogram, tagged with the final status code</li>
+ *     <li>{@code grpc.client.calls.active}: calls in flight</li>
+ *     <li>{@code grpc.client.stream.messages} and {@code grpc.client.stream.bytes}: messages and
+ *     payload bytes per call, by direction</li>
+ * </ul>
+ * Meters are resolved once per method and status and then reused, so a call only costs a few
+ * counter updates.
+ */
+@Component
+public class GrpcClientMetricsInterceptor implements ClientInterceptor {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, MethodMeters> meters = new ConcurrentHashMap<>();
+
+    public GrpcClientMetricsInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public <ReqT, RespT> ClientCall<ReqT, RespT> interceptCall(MethodDescriptor<ReqT, RespT> method,
+                                                               CallOptions callOptions, Channel next) {
+        String methodName = method.getFullMethodName();
+        MethodMeters methodMeters = meters.get(methodName);
+        if (methodMeters == null) {
+            methodMeters = meters.computeIfAbsent(methodName, MethodMeters::new);
+        }
+        MethodMeters callMeters = methodMeters;
+
+        return new ForwardingClientCall.SimpleForwardingClientCall<>(next.newCall(method, callOptions)) {
+            private long startNanos;
+            // Each direction has a single writer; onClose runs after both are done
+            private volatile long messagesSent;
+            private volatile long messagesReceived;
+            private volatile long bytesSent;
+            private volatile long bytesReceived;
+
+            @Override
+            public void start(Listener<RespT> responseListener, Metadata headers) {
+                startNanos = System.nanoTime();
+                callMeters.active.incrementAndGet();
+                super.start(new ForwardingClientCallListener.SimpleForwardingClientCallListener<>(responseListener) {
+                    @Override
+                    public void onMessage(RespT message) {
+                        messagesReceived++;
+                        bytesReceived += sizeOf(message);
+                        super.onMessage(message);
+                    }
+
+                    @Override
+                    public void onClose(Status status, Metadata trailers) {
+                        callMeters.active.decrementAndGet();
+                        callMeters.calls(status.getCode()).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+                        callMeters.messagesSent.record(messagesSent);
+                        callMeters.messagesReceived.record(messagesReceived);
+                        callMeters.bytesSent.record(bytesSent);
+                        callMeters.bytesReceived.record(bytesReceived);
+                        super.onClose(status, trailers);
+                    }
+                }, headers);
+            }
+
+            @Override
+            public void sendMessage(ReqT message) {
+                messagesSent++;
+                bytesSent += sizeOf(message);
+                super.sendMessage(message);
+            }
+        };
+    }
+
+    static long sizeOf(Object message) {
+        return message instanceof MessageLite protobuf ? protobuf.getSerializedSize() : 0;
+    }
+
+    private final class MethodMeters {
+
+        private final String method;
+        private final Timer[] calls = new Timer[Status.Code.values().length];
+        private final AtomicInteger active = new AtomicInteger();
+        private final DistributionSummary messagesSent;
+        private final DistributionSummary messagesReceived;
+        private final DistributionSummary bytesSent;
+        private final DistributionSummary bytesReceived;
+
+        MethodMeters(String method) {
+            this.method = method;
+            Gauge.builder("grpc.client.calls.active", active, AtomicInteger::get)
+                    .tag("method", method)
+                    .register(meterRegistry);
+            messagesSent = stream("grpc.client.stream.messages", "sent", null);
+            messagesReceived = stream("grpc.client.stream.messages", "received", null);
+            bytesSent = stream("grpc.client.stream.bytes", "sent", "bytes");
+            bytesReceived = stream("grpc.client.stream.bytes", "received", "bytes");
+        }
+
+        private DistributionSummary stream(String name, String direction, String baseUnit) {
+            return DistributionSummary.builder(name)
+                    .tag("method", method)
+                    .tag("direction", direction)
+                    .baseUnit(baseUnit)
+                    .register(meterRegistry);
+        }
+
+        Timer calls(Status.Code code) {
+            Timer timer = calls[code.ordinal()];
+            if (timer == null) {
+                // Racing threads get the same meter back from the registry
+                timer = Timer.builder("grpc.client.calls")
+                        .tag("method", method)
+                        .tag("status", code.name())
+                        .publishPercentileHistogram()
+                        .register(meterRegistry);
+                calls[code.ordinal()] = timer;
+            }
+            return timer;
+        }
+    }
+}
@@ -1,35 +1,101 @@
 package br.com.danilors.country.client.service;
 
+import br.com.danilors.country.CountriesResponse;
+import br.com.danilors.country.CountryBatch;
+import br.com.danilors.country.client.cache.CountryNearCache;
 import br.com.danilors.country.client.client.CountryGrpcClient;
+import br.com.danilors.country.client.client.StreamHead;
 import br.com.danilors.country.client.dto.Country;
+import br.com.danilors.country.client.dto.CountryBatchResult;
+import br.com.danilors.country.client.dto.CountryFields;
+import br.com.danilors.country.client.dto.CountryListing;
+import com.google.protobuf.FieldMask;
 import io.reactivex.rxjava3.core.Flowable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+
 @Service
 public class CountryService {
 
     private static final Logger log = LoggerFactory.getLogger(CountryService.class);
 
     private final CountryGrpcClient countryGrpcClient;
+    private final CountryNearCache countryNearCache;
+
+    // Countries per message when listing all of them; 0 streams one message per country, or lets the server
+    // pick for the versioned listing, which is always batched. Defaults to the same 64 as application.yml
+    @Value("${grpc.client.list-batch-size:64}")
+    private int listBatchSize;
 
-    public CountryService(CountryGrpcClient countryGrpcClient) {
+    public CountryService(CountryGrpcClient countryGrpcClient, CountryNearCache countryNearCache) {
         this.countryGrpcClient = countryGrpcClient;
+        this.countryNearCache = countryNearCache;
+    }
+
+    /**
+     * Looks the country up in the near cache, which holds every field, and cuts it down to
+     * {@code fields}.
+     */
+    public CompletableFuture<Country> getCountry(String countryCode, FieldMask fields) {
+        log.debug("Looking up country with code: {}", countryCode);
+        return countryNearCache.get(countryCode).thenApply(country -> CountryFields.select(country, fields));
+    }
+
+    public Flowable<Country> listAllCountries(FieldMask fields) {
+        log.debug("Calling gRPC client to list all countries");
+        if (listBatchSize > 0) {
+            // One batch is prefetched while the previous one is mapped
+            return countryGrpcClient.listAllCountriesBatched(listBatchSize, fields)
+                    .concatMapIterable(CountryBatch::getCountriesList, 2)
+                    .map(Country::from);
+        }
+        return countryGrpcClient.listAllCountries(fields)
+                .map(Country::from);
     }
 
+    /**
+     * Every country with the data version it was read at, or empty when the server is still at
+     * {@code unlessVersion}. Either way it is one batched call: the future completes with its first
+     * batch, which carries the version, and the listing streams the rest with flow control.
+     */
+    public CompletableFuture<Optional<CountryListing>> listAllCountriesVersioned(OptionalLong unlessVersion, FieldMask fields) {
+        log.debug("Calling gRPC client to list all countries unless at version {}", unlessVersion);
+        return StreamHead.of(countryGrpcClient.listAllCountriesBatched(listBatchSize, fields, unlessVersion))
+                .thenApply(head -> head.map(batches -> new CountryListing(batches.first().getDataVersion(),
+                        batches.stream().map(batch -> batch.getCountriesList().stream()
+                                .map(Country::from)
+                                .toList()))));
+    }
 
+    public CompletableFuture<CountryBatchResult> getCountries(List<String> countryCodes, FieldMask fields) {
+        log.debug("Calling gRPC client for {} country codes", countryCodes.size());
+        return countryGrpcClient.getCountriesAsync(countryCodes, fields).thenApply(this::toBatchResult);
+    }
+
+    public CompletableFuture<List<Country>> searchCountries(String query, int limit, FieldMask fields) {
+        log.debug("Calling gRPC client to search countries for: {}", query);
+        return countryGrpcClient.searchCountriesAsync(query, limit, fields)
+                .thenApply(response -> response.getCountriesList().stream()
+                        .map(Country::from)
+                        .toList());
+    }
 
-    public Country getCountry(String countryCode) {
-        log.info("Calling gRPC client for country with code: {}", countryCode);
-        var countryResponse = countryGrpcClient.getCountry(countryCode);
-        log.info("gRPC client returned country: {}", countryResponse);
-        return new Country(countryResponse.getCode(), countryResponse.getDescription());
+    public Flowable<CountryBatchResult> streamCountries(Flowable<List<String>> codeBatches) {
+        log.debug("Calling gRPC client to stream batched country lookups");
+        return countryGrpcClient.streamCountries(codeBatches).map(this::toBatchResult);
     }
 
-    public Flowable<Country> listAllCountries() {
-        log.info("Calling gRPC client to list all countries");
-        return countryGrpcClient.listAllCountries()
-                .map(countryResponse -> new Country(countryResponse.getCode(), countryResponse.getDescription()));
+    private CountryBatchResult toBatchResult(CountriesResponse response) {
+        List<Country> countries = response.getCountriesList().stream()
+                .map(Country::from)
+                .toList();
+        return new CountryBatchResult(countries, List.copyOf(response.getMissingCodesList()));
     }
 }
@@ -0,0 +1,42 @@
+package br.com.danilors.country.client;
+
+import br.com.danilors.country.client.dto.Country;
+import br.com.danilors.country.client.dto.CountryFields;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.protobuf.FieldMask;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CountryFieldsTest {
+
+    private static final Country BRAZIL = new Country("BR", "Brazil", "BRA", "076", "Americas", "BRL", "+55",
+            Map.of("pt", "Brasil"));
+
+    @Test
+    @DisplayName("parse: Should map REST properties to proto paths, and no parameter to the default mask")
+    void parse_shouldMapPropertiesToPaths() {
+        assertEquals(CountryFields.DEFAULT, CountryFields.parse(null));
+        assertEquals(CountryFields.DEFAULT, CountryFields.parse(" "));
+        assertEquals(FieldMask.newBuilder().addPaths("numeric_code").addPaths("calling_code").build(),
+                CountryFields.parse("numericCode, callingCode"));
+        assertThrows(IllegalArgumentException.class, () -> CountryFields.parse("alpha3,capital"));
+    }
+
+    @Test
+    @DisplayName("select: Should keep the code and the selected fields, and render only those as JSON")
+    void select_shouldKeepSelectedFields() throws Exception {
+        assertSame(BRAZIL, CountryFields.select(BRAZIL, CountryFields.ALL));
+        assertEquals(new Country("BR", "Brazil"), CountryFields.select(BRAZIL, CountryFields.DEFAULT));
+        Country selected = CountryFields.select(BRAZIL, CountryFields.parse("currency,names"));
+
+        assertEquals(new Country("BR", "", "", "", "", "BRL", "", Map.of("pt", "Brasil")), selected);
+        assertEquals("{\"code\":\"BR\",\"currency\":\"BRL\",\"names\":{\"pt\":\"Brasil\"}}",
+                new ObjectMapper().writeValueAsString(selected));
+    }
+}
@@ -0,0 +1,125 @@
+package br.com.danilors.country.client;
+
+import br.com.danilors.country.AllCountriesRequest;
+import br.com.danilors.country.CountryResponse;
+import br.com.danilors.country.CountryServiceGrpc;
+import br.com.danilors.country.client.client.CountryGrpcClient;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import io.reactivex.rxjava3.subscribers.TestSubscriber;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs {@link CountryGrpcClient#listAllCountries()} against an in-process server that honors
+ * flow control, to check that subscriber demand, not the server, decides how much is in flight.
+ */
+class CountryGrpcClientFlowControlTest {
+
+    private static final int TOTAL_MESSAGES = 50_000;
+    private static final String PAYLOAD = "x".repeat(16 * 1024);
+
+    private final AtomicInteger sent = new AtomicInteger();
+    private final CountDownLatch cancelled = new CountDownLatch(1);
+
+    private Server server;
+    private ManagedChannel channel;
+    private CountryGrpcClient countryGrpcClient;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String serverName = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(serverName)
+                .addService(new LargeListingService())
+                .build()
+                .start();
+        channel = InProcessChannelBuilder.forName(serverName).build();
+
+        countryGrpcClient = new CountryGrpcClient();
+        ReflectionTestUtils.setField(countryGrpcClient, "asyncStub", CountryServiceGrpc.newStub(channel));
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.shutdownNow();
+        server.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("listAllCountries: A slow subscriber keeps the server and the client heap bounded")
+    void listAllCountries_withSlowSubscriber_shouldKeepHeapBounded() throws Exception {
+        long heapBefore = usedHeapAfterGc();
+
+        TestSubscriber<CountryResponse> subscriber = countryGrpcClient.listAllCountries().test(0);
+        for (int i = 1; i <= 10; i++) {
+            subscriber.request(1);
+            subscriber.awaitCount(i);
+        }
+        // Give an unthrottled server plenty of time to run ahead of the subscriber
+        Thread.sleep(500);
+
+        long heapGrowth = usedHeapAfterGc() - heapBefore;
+        subscriber.assertValueCount(10).assertNotComplete();
+        // The full stream is ~800 MB; only what was requested may have been produced
+        assertTrue(sent.get() <= 10, "server sent " + sent.get() + " messages for 10 requested");
+        assertTrue(heapGrowth < 64L * 1024 * 1024, "heap grew by " + heapGrowth + " bytes");
+
+        subscriber.cancel();
+        assertTrue(cancelled.await(5, TimeUnit.SECONDS), "cancellation did not reach the server");
+    }
+
+    @Test
+    @DisplayName("listAllCountries: Taking a prefix of the stream cancels the call on the server")
+    void listAllCountries_whenDownstreamTakesPrefix_shouldCancelServerStream() throws Exception {
+        TestSubscriber<CountryResponse> subscriber = countryGrpcClient.listAllCountries().take(5).test();
+
+        subscriber.awaitDone(5, TimeUnit.SECONDS).assertValueCount(5).assertComplete();
+        assertTrue(cancelled.await(5, TimeUnit.SECONDS), "cancellation did not reach the server");
+        assertTrue(sent.get() < TOTAL_MESSAGES);
+    }
+
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Streams a very large listing, writing only while the transport is ready.
+     */
+    private class LargeListingService extends CountryServiceGrpc.CountryServiceImplBase {
+
+        @Override
+        public void listAllCountries(AllCountriesRequest request, StreamObserver<CountryResponse> responseObserver) {
+            ServerCallStreamObserver<CountryResponse> observer = (ServerCallStreamObserver<CountryResponse>) responseObserver;
+            AtomicInteger next = new AtomicInteger();
+            observer.setOnCancelHandler(cancelled::countDown);
+            observer.setOnReadyHandler(() -> {
+                while (observer.isReady() && !observer.isCancelled() && next.get() < TOTAL_MESSAGES) {
+                    observer.onNext(CountryResponse.newBuilder()
+                            .setCode(Integer.toString(next.getAndIncrement()))
+                            .setDescription(PAYLOAD)
+                            .build());
+                    sent.incrementAndGet();
+                }
+                if (next.get() == TOTAL_MESSAGES && !observer.isCancelled()) {
+                    next.incrementAndGet(); // complete only once, even if onReady fires again
+                    observer.onCompleted();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package br.com.danilors.country.client;
+
+import br.com.danilors.country.CountryRequest;
+import br.com.danilors.country.CountryResponse;
+import br.com.danilors.country.CountryServiceGrpc;
+import br.com.danilors.country.client.client.ChannelPool;
+import br.com.danilors.country.client.client.CountryGrpcClient;
+import br.com.danilors.country.client.client.CountryServiceConfig;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.netty.NettyServerBuilder;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the client's channel subsystem against several servers: a fast replica and one that is
+ * slow or stuck, to check that one bad replica does not set the client's tail latency.
+ */
+class CountryGrpcClientReplicasTest {
+
+    private final List<Server> servers = new ArrayList<>();
+    private final List<ManagedChannel> channels = new ArrayList<>();
+    private final ScheduledExecutorService delays = Executors.newSingleThreadScheduledExecutor();
+    private CountryGrpcClient countryGrpcClient;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (countryGrpcClient != null) {
+            countryGrpcClient.shutdown();
+        }
+        channels.forEach(ManagedChannel::shutdownNow);
+        servers.forEach(Server::shutdownNow);
+        delays.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("getCountry: Hedging keeps latency bounded when one of two replicas is slow")
+    void getCountry_withSlowReplica_shouldBeAnsweredByTheOther() throws Exception {
+        Replica fast = new Replica(Duration.ZERO);
+        Replica slow = new Replica(Duration.ofSeconds(1));
+        countryGrpcClient = client("static:///127.0.0.1:" + start(fast) + ",127.0.0.1:" + start(slow),
+                CountryServiceConfig.GetCountryPolicy.HEDGING, Duration.ofSeconds(2));
+        // Until both connections are up, round-robin can only pick the replica that is ready
+        for (int i = 0; i < 4; i++) {
+            countryGrpcClient.getCountryAsync("BR").get(5, TimeUnit.SECONDS);
+        }
+        slow.calls.set(0);
+
+        long worst = 0;
+        for (int i = 0; i < 20; i++) {
+            long startNanos = System.nanoTime();
+            assertEquals("Brazil", countryGrpcClient.getCountryAsync("BR").get(5, TimeUnit.SECONDS).getDescription());
+            worst = Math.max(worst, System.nanoTime() - startNanos);
+        }
+
+        // Round-robin sent about half of the first attempts to the slow replica; hedges answered them
+        assertTrue(slow.calls.get() >= 5, "slow replica calls: " + slow.calls.get());
+        assertTrue(worst < TimeUnit.MILLISECONDS.toNanos(500), "worst latency ms: " + TimeUnit.NANOSECONDS.toMillis(worst));
+    }
+
+    @Test
+    @DisplayName("getCountry: Without hedging a stuck replica only costs the deadline")
+    void getCountry_withStuckReplica_shouldFailAtTheDeadline() throws Exception {
+        Replica stuck = new Replica(Duration.ofMinutes(1));
+        countryGrpcClient = client("static:///127.0.0.1:" + start(stuck), CountryServiceConfig.GetCountryPolicy.NONE,
+                Duration.ofMillis(300));
+
+        long startNanos = System.nanoTime();
+        CompletableFuture<CountryResponse> call = countryGrpcClient.getCountryAsync("BR");
+        Exception failure = assertThrows(Exception.class, () -> call.get(5, TimeUnit.SECONDS));
+
+        StatusRuntimeException status = assertInstanceOf(StatusRuntimeException.class, failure.getCause());
+        assertEquals(Status.Code.DEADLINE_EXCEEDED, status.getStatus().getCode());
+        assertTrue(System.nanoTime() - startNanos < TimeUnit.SECONDS.toNanos(2));
+    }
+
+    @Test
+    @DisplayName("ChannelPool: Should send calls to the channel with the fewest calls in flight")
+    void channelPool_shouldPickLeastOutstandingChannel() throws Exception {
+        Replica stuck = new Replica(Duration.ofMinutes(1));
+        Replica fast = new Replica(Duration.ZERO);
+        ChannelPool pool = new ChannelPool(List.of(inProcess(stuck), inProcess(fast)));
+        CountryServiceGrpc.CountryServiceFutureStub stub = CountryServiceGrpc.newFutureStub(pool);
+
+        // The first call goes to the first channel and never completes
+        stub.getCountry(CountryRequest.newBuilder().setCode("BR").build());
+        for (int i = 0; i < 10; i++) {
+            stub.getCountry(CountryRequest.newBuilder().setCode("BR").build()).get(5, TimeUnit.SECONDS);
+        }
+
+        assertEquals(1, stuck.calls.get());
+        assertEquals(10, fast.calls.get());
+        assertEquals(1, pool.outstandingCalls());
+    }
+
+    private CountryGrpcClient client(String target, CountryServiceConfig.GetCountryPolicy policy, Duration deadline) {
+        CountryGrpcClient client = new CountryGrpcClient();
+        ReflectionTestUtils.setField(client, "target", target);
+        ReflectionTestUtils.setField(client, "channels", 1);
+        ReflectionTestUtils.setField(client, "loadBalancingPolicy", "round_robin");
+        ReflectionTestUtils.setField(client, "outlierDetection", true);
+        ReflectionTestUtils.setField(client, "keepAliveTime", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(client, "keepAliveTimeout", Duration.ofSeconds(10));
+        ReflectionTestUtils.setField(client, "idleTimeout", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(client, "deadline", deadline);
+        ReflectionTestUtils.setField(client, "getCountryPolicy", policy);
+        ReflectionTestUtils.setField(client, "maxAttempts", 3);
+        ReflectionTestUtils.setField(client, "hedgingDelay", Duration.ofMillis(50));
+        client.init();
+        return client;
+    }
+
+    private int start(Replica replica) throws Exception {
+        Server server = NettyServerBuilder.forAddress(new InetSocketAddress("127.0.0.1", 0))
+                .addService(replica)
+                .build()
+                .start();
+        servers.add(server);
+        return server.getPort();
+    }
+
+    private ManagedChannel inProcess(Replica replica) throws Exception {
+        String name = InProcessServerBuilder.generateName();
+        servers.add(InProcessServerBuilder.forName(name).addService(replica).build().start());
+        ManagedChannel channel = InProcessChannelBuilder.forName(name).build();
+        channels.add(channel);
+        return channel;
+    }
+
+    /**
+     * Answers {@code getCountry} after a fixed delay.
+     */
+    private class Replica extends CountryServiceGrpc.CountryServiceImplBase {
+
+        private final Duration delay;
+        private final AtomicInteger calls = new AtomicInteger();
+
+        Replica(Duration delay) {
+            this.delay = delay;
+        }
+
+        @Override
+        public void getCountry(CountryRequest request, StreamObserver<CountryResponse> responseObserver) {
+            calls.incrementAndGet();
+            Runnable answer = () -> {
+                responseObserver.onNext(CountryResponse.newBuilder().setCode(request.getCode()).setDescription("Brazil").build());
+                responseObserver.onCompleted();
+            };
+            if (delay.isZero()) {
+                answer.run();
+            } else {
+                delays.schedule(answer, delay.toMillis(), TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+}
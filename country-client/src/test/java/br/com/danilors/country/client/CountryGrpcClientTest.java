@@ -1,13 +1,28 @@
 package br.com.danilors.country.client;
 
+import br.com.danilors.country.AllCountriesBatchedRequest;
 import br.com.danilors.country.AllCountriesRequest;
+import br.com.danilors.country.CountriesRequest;
+import br.com.danilors.country.CountriesResponse;
+import br.com.danilors.country.CountriesSinceRequest;
+import br.com.danilors.country.CountryBatch;
+import br.com.danilors.country.CountryChange;
 import br.com.danilors.country.CountryRequest;
 import br.com.danilors.country.CountryResponse;
 import br.com.danilors.country.CountryServiceGrpc;
+import br.com.danilors.country.SearchCountriesRequest;
+import br.com.danilors.country.SearchCountriesResponse;
 import br.com.danilors.country.client.client.CountryGrpcClient;
+import br.com.danilors.country.client.client.CountryServiceConfig;
+import com.google.common.util.concurrent.SettableFuture;
 import io.grpc.ManagedChannel;
 import io.grpc.ManagedChannelBuilder;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
 import io.grpc.stub.StreamObserver;
+import io.reactivex.rxjava3.core.Flowable;
 import io.reactivex.rxjava3.subscribers.TestSubscriber; // Added this import
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -21,8 +36,21 @@ import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -39,6 +67,9 @@ class CountryGrpcClientTest {
     @Mock
     private CountryServiceGrpc.CountryServiceStub asyncStub;
 
+    @Mock
+    private CountryServiceGrpc.CountryServiceFutureStub futureStub;
+
     @Mock
     private ManagedChannel managedChannel;
 
@@ -50,22 +81,35 @@ class CountryGrpcClientTest {
         // Inject @Value fields using ReflectionTestUtils
         ReflectionTestUtils.setField(countryGrpcClient, "host", "localhost");
         ReflectionTestUtils.setField(countryGrpcClient, "port", 9090);
+        ReflectionTestUtils.setField(countryGrpcClient, "channels", 2);
+        ReflectionTestUtils.setField(countryGrpcClient, "loadBalancingPolicy", "round_robin");
+        ReflectionTestUtils.setField(countryGrpcClient, "keepAliveTime", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(countryGrpcClient, "keepAliveTimeout", Duration.ofSeconds(10));
+        ReflectionTestUtils.setField(countryGrpcClient, "idleTimeout", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(countryGrpcClient, "deadline", Duration.ofSeconds(2));
+        ReflectionTestUtils.setField(countryGrpcClient, "getCountryPolicy", CountryServiceConfig.GetCountryPolicy.HEDGING);
+        ReflectionTestUtils.setField(countryGrpcClient, "maxAttempts", 3);
+        ReflectionTestUtils.setField(countryGrpcClient, "hedgingDelay", Duration.ofMillis(50));
 
         // Mock the ManagedChannelBuilder and newBlockingStub/newStub calls
         try (MockedStatic<ManagedChannelBuilder> mockedBuilder = Mockito.mockStatic(ManagedChannelBuilder.class)) {
-            ManagedChannelBuilder builder = Mockito.mock(ManagedChannelBuilder.class);
-            mockedBuilder.when(() -> ManagedChannelBuilder.forAddress(any(String.class), any(Integer.class)))
+            ManagedChannelBuilder builder = Mockito.mock(ManagedChannelBuilder.class, Mockito.RETURNS_SELF);
+            mockedBuilder.when(() -> ManagedChannelBuilder.forTarget(any(String.class)))
                     .thenReturn(builder);
-            when(builder.usePlaintext()).thenReturn(builder);
             when(builder.build()).thenReturn(managedChannel);
 
             // Call the @PostConstruct method manually
             countryGrpcClient.init();
+
+            // Without a target, host and port are resolved through DNS, once per pooled channel
+            mockedBuilder.verify(() -> ManagedChannelBuilder.forTarget("dns:///localhost:9090"), Mockito.times(2));
+            verify(builder, Mockito.times(2)).enableRetry();
         }
 
         // IMPORTANT: Inject our mocked stubs into the client instance after init()
         ReflectionTestUtils.setField(countryGrpcClient, "blockingStub", blockingStub);
         ReflectionTestUtils.setField(countryGrpcClient, "asyncStub", asyncStub);
+        ReflectionTestUtils.setField(countryGrpcClient, "futureStub", futureStub);
     }
 
     @Test
@@ -92,14 +136,56 @@ class CountryGrpcClientTest {
     }
 
     @Test
+    void getCountryAsync_shouldCompleteWhenTheResponseArrives() throws Exception {
+        // Given
+        SettableFuture<CountryResponse> call = SettableFuture.create();
+        when(futureStub.getCountry(any(CountryRequest.class))).thenReturn(call);
+        CountryResponse expectedResponse = CountryResponse.newBuilder().setCode("BR").setDescription("Brazil").build();
+
+        // When
+        CompletableFuture<CountryResponse> result = countryGrpcClient.getCountryAsync("BR");
+
+        // Then
+        assertFalse(result.isDone());
+        call.set(expectedResponse);
+        assertEquals(expectedResponse, result.get());
+    }
+
+    @Test
+    void getCountryAsync_shouldPropagateFailuresAndCancellation() {
+        // Given
+        SettableFuture<CountryResponse> failedCall = SettableFuture.create();
+        SettableFuture<CountryResponse> cancelledCall = SettableFuture.create();
+        when(futureStub.getCountry(any(CountryRequest.class))).thenReturn(failedCall, cancelledCall);
+
+        // When
+        CompletableFuture<CountryResponse> failed = countryGrpcClient.getCountryAsync("XX");
+        failedCall.setException(Status.NOT_FOUND.asRuntimeException());
+        CompletableFuture<CountryResponse> cancelled = countryGrpcClient.getCountryAsync("BR");
+        cancelled.cancel(false);
+
+        // Then
+        ExecutionException error = assertThrows(ExecutionException.class, failed::get);
+        assertInstanceOf(StatusRuntimeException.class, error.getCause());
+        assertTrue(cancelledCall.isCancelled());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
     void listAllCountries_shouldReturnFlowableOfCountryResponses() {
         // Given
         CountryResponse country1 = CountryResponse.newBuilder().setDescription("USA").setCode("USA").build();
         CountryResponse country2 = CountryResponse.newBuilder().setDescription("Canada").setCode("CAN").build();
+        ClientCallStreamObserver<AllCountriesRequest> call = Mockito.mock(ClientCallStreamObserver.class);
+        Mockito.doAnswer(invocation -> {
+            // Real stubs hand the call to the observer before starting it
+            invocation.<ClientResponseObserver<AllCountriesRequest, CountryResponse>>getArgument(1).beforeStart(call);
+            return null;
+        }).when(asyncStub).listAllCountries(any(AllCountriesRequest.class), any());
 
         // When
-        // Capture the TestSubscriber from the first call
-        TestSubscriber<CountryResponse> testSubscriber = countryGrpcClient.listAllCountries().test();
+        // Capture the TestSubscriber from the first call, without requesting anything yet
+        TestSubscriber<CountryResponse> testSubscriber = countryGrpcClient.listAllCountries().test(0);
 
         testSubscriber
                 .assertNoErrors()
@@ -109,6 +195,12 @@ class CountryGrpcClientTest {
         // Verify that listAllCountries was called and capture the StreamObserver
         verify(asyncStub).listAllCountries(any(AllCountriesRequest.class), streamObserverCaptor.capture());
         StreamObserver<CountryResponse> actualObserver = streamObserverCaptor.getValue();
+        verify(call).disableAutoRequestWithInitial(0);
+        verify(call, Mockito.never()).request(Mockito.anyInt());
+
+        // Subscriber demand is forwarded to the call as gRPC message requests
+        testSubscriber.request(2);
+        verify(call).request(2);
 
         // Simulate server sending responses
         actualObserver.onNext(country1);
@@ -121,4 +213,161 @@ class CountryGrpcClientTest {
                 .assertValues(country1, country2)
                 .assertComplete();
     }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void listAllCountries_whenSubscriberCancels_shouldCancelTheCall() {
+        // Given
+        ClientCallStreamObserver<AllCountriesRequest> call = Mockito.mock(ClientCallStreamObserver.class);
+        Mockito.doAnswer(invocation -> {
+            invocation.<ClientResponseObserver<AllCountriesRequest, CountryResponse>>getArgument(1).beforeStart(call);
+            return null;
+        }).when(asyncStub).listAllCountries(any(AllCountriesRequest.class), any());
+
+        // When
+        TestSubscriber<CountryResponse> testSubscriber = countryGrpcClient.listAllCountries().test(1);
+        testSubscriber.cancel();
+
+        // Then
+        verify(call).request(1);
+        verify(call).cancel(any(), Mockito.isNull());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void listAllCountriesBatched_shouldSendTheBatchSizeAndEmitBatches() {
+        // Given
+        ClientCallStreamObserver<AllCountriesBatchedRequest> call = Mockito.mock(ClientCallStreamObserver.class);
+        CountryBatch batch = CountryBatch.newBuilder()
+                .addCountries(CountryResponse.newBuilder().setCode("BR").setDescription("Brazil"))
+                .addCountries(CountryResponse.newBuilder().setCode("US").setDescription("United States"))
+                .build();
+        Mockito.doAnswer(invocation -> {
+            ClientResponseObserver<AllCountriesBatchedRequest, CountryBatch> observer = invocation.getArgument(1);
+            observer.beforeStart(call);
+            observer.onNext(batch);
+            observer.onCompleted();
+            return null;
+        }).when(asyncStub).listAllCountriesBatched(any(AllCountriesBatchedRequest.class), any());
+
+        // When
+        TestSubscriber<CountryBatch> testSubscriber = countryGrpcClient.listAllCountriesBatched(64).test();
+
+        // Then
+        ArgumentCaptor<AllCountriesBatchedRequest> requestCaptor = ArgumentCaptor.forClass(AllCountriesBatchedRequest.class);
+        verify(asyncStub).listAllCountriesBatched(requestCaptor.capture(), any());
+        assertEquals(64, requestCaptor.getValue().getBatchSize());
+        testSubscriber.assertValues(batch).assertComplete();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void listCountriesSince_shouldOnlySendAKnownVersion() {
+        // Given
+        ClientCallStreamObserver<CountriesSinceRequest> call = Mockito.mock(ClientCallStreamObserver.class);
+        CountryChange reset = CountryChange.newBuilder().setType(CountryChange.Type.RESET).setVersion(3).build();
+        Mockito.doAnswer(invocation -> {
+            ClientResponseObserver<CountriesSinceRequest, CountryChange> observer = invocation.getArgument(1);
+            observer.beforeStart(call);
+            if (!invocation.<CountriesSinceRequest>getArgument(0).hasVersion()) {
+                observer.onNext(reset);
+            }
+            observer.onCompleted();
+            return null;
+        }).when(asyncStub).listCountriesSince(any(CountriesSinceRequest.class), any());
+
+        // When
+        TestSubscriber<CountryChange> everything = countryGrpcClient.listCountriesSince(OptionalLong.empty()).test();
+        TestSubscriber<CountryChange> upToDate = countryGrpcClient.listCountriesSince(OptionalLong.of(3)).test();
+
+        // Then
+        everything.assertValues(reset).assertComplete();
+        upToDate.assertNoValues().assertComplete();
+        ArgumentCaptor<CountriesSinceRequest> requestCaptor = ArgumentCaptor.forClass(CountriesSinceRequest.class);
+        verify(asyncStub, Mockito.times(2)).listCountriesSince(requestCaptor.capture(), any());
+        assertFalse(requestCaptor.getAllValues().get(0).hasVersion());
+        assertEquals(3, requestCaptor.getAllValues().get(1).getVersion());
+    }
+
+    @Test
+    void getCountries_shouldSendAllCodesInOneRequest() {
+        // Given
+        CountriesResponse expectedResponse = CountriesResponse.newBuilder()
+                .addCountries(CountryResponse.newBuilder().setCode("BR").setDescription("Brazil").build())
+                .addMissingCodes("XX")
+                .build();
+        when(blockingStub.getCountries(any(CountriesRequest.class))).thenReturn(expectedResponse);
+
+        // When
+        CountriesResponse actualResponse = countryGrpcClient.getCountries(List.of("BR", "XX"));
+
+        // Then
+        assertEquals(expectedResponse, actualResponse);
+        ArgumentCaptor<CountriesRequest> requestCaptor = ArgumentCaptor.forClass(CountriesRequest.class);
+        verify(blockingStub).getCountries(requestCaptor.capture());
+        assertEquals(List.of("BR", "XX"), requestCaptor.getValue().getCodesList());
+    }
+
+    @Test
+    void searchCountriesAsync_shouldSendQueryAndLimit() throws Exception {
+        // Given
+        SearchCountriesResponse expectedResponse = SearchCountriesResponse.newBuilder()
+                .addCountries(CountryResponse.newBuilder().setCode("BR").setDescription("Brazil").build())
+                .build();
+        SettableFuture<SearchCountriesResponse> call = SettableFuture.create();
+        when(futureStub.searchCountries(any(SearchCountriesRequest.class))).thenReturn(call);
+
+        // When
+        CompletableFuture<SearchCountriesResponse> result = countryGrpcClient.searchCountriesAsync("bra", 5);
+        call.set(expectedResponse);
+
+        // Then
+        assertEquals(expectedResponse, result.get());
+        ArgumentCaptor<SearchCountriesRequest> requestCaptor = ArgumentCaptor.forClass(SearchCountriesRequest.class);
+        verify(futureStub).searchCountries(requestCaptor.capture());
+        assertEquals("bra", requestCaptor.getValue().getQuery());
+        assertEquals(5, requestCaptor.getValue().getLimit());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void streamCountries_shouldSendEachBatchOnOneStreamWithFlowControl() {
+        // Given
+        ClientCallStreamObserver<CountriesRequest> call = Mockito.mock(ClientCallStreamObserver.class);
+        AtomicBoolean ready = new AtomicBoolean();
+        when(call.isReady()).thenAnswer(invocation -> ready.get());
+        AtomicReference<ClientResponseObserver<CountriesRequest, CountriesResponse>> responses = new AtomicReference<>();
+        when(asyncStub.streamCountries(any())).thenAnswer(invocation -> {
+            responses.set(invocation.getArgument(0));
+            responses.get().beforeStart(call);
+            return call;
+        });
+        List<Long> batchRequests = new ArrayList<>();
+        Flowable<List<String>> batches = Flowable.just(List.of("BR", "US"), List.of("XX")).doOnRequest(batchRequests::add);
+        CountriesResponse response = CountriesResponse.newBuilder().addMissingCodes("XX").build();
+
+        // When
+        TestSubscriber<CountriesResponse> testSubscriber = countryGrpcClient.streamCountries(batches).test(0);
+        // Nothing is taken from the batches, nor asked from the server, before there is room and demand
+        assertEquals(List.of(), batchRequests);
+        verify(call, Mockito.never()).request(Mockito.anyInt());
+        ready.set(true);
+        ArgumentCaptor<Runnable> onReady = ArgumentCaptor.forClass(Runnable.class);
+        verify(call).setOnReadyHandler(onReady.capture());
+        onReady.getValue().run();
+        testSubscriber.request(1);
+        responses.get().onNext(response);
+        responses.get().onCompleted();
+
+        // Then
+        verify(call).disableAutoRequestWithInitial(0);
+        verify(call).request(1);
+        ArgumentCaptor<CountriesRequest> requestCaptor = ArgumentCaptor.forClass(CountriesRequest.class);
+        verify(call, Mockito.times(2)).onNext(requestCaptor.capture());
+        verify(call).onCompleted();
+        assertEquals(List.of("BR", "US"), requestCaptor.getAllValues().get(0).getCodesList());
+        assertEquals(List.of("XX"), requestCaptor.getAllValues().get(1).getCodesList());
+        assertTrue(batchRequests.stream().allMatch(n -> n == 1), "requested " + batchRequests);
+        testSubscriber.assertValues(response).assertComplete();
+    }
 }
@@ -0,0 +1,125 @@
+package br.com.danilors.country.client;
+
+import br.com.danilors.country.CountryRequest;
+import br.com.danilors.country.CountryResponse;
+import br.com.danilors.country.CountryServiceGrpc;
+import br.com.danilors.country.client.client.CountryGrpcClient;
+import br.com.danilors.country.client.client.CountryServiceConfig;
+import io.grpc.Server;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.grpc.server.NettyGrpcServerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Runs the client over the transports for a co-located server: in-process and Unix domain sockets.
+ */
+class CountryGrpcClientTransportTest {
+
+    private Server server;
+    private CountryGrpcClient countryGrpcClient;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (countryGrpcClient != null) {
+            countryGrpcClient.shutdown();
+        }
+        if (server != null) {
+            server.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("in-process: Should call a server in the same JVM")
+    void inProcessTarget_shouldCallTheServerDirectly() throws Exception {
+        String name = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(name).addService(new Brazil()).build().start();
+        countryGrpcClient = client("in-process:" + name);
+
+        assertEquals("Brazil", countryGrpcClient.getCountryAsync("BR").get(5, TimeUnit.SECONDS).getDescription());
+        assertEquals("Brazil", countryGrpcClient.getCountry("BR").getDescription());
+    }
+
+    @Test
+    @DisplayName("unix: Should call a server through a Unix domain socket")
+    void unixTarget_shouldCallTheServerOverADomainSocket(@TempDir Path directory) throws Exception {
+        assumeTrue(epollAvailable(), "native epoll transport not on the classpath (-Puds)");
+        Path socket = directory.resolve("country.sock");
+        NettyGrpcServerFactory factory = new NettyGrpcServerFactory("unix:" + socket, List.of(), null, null, null);
+        factory.addService(new Brazil().bindService());
+        server = factory.createServer().start();
+        countryGrpcClient = client("unix://" + socket);
+
+        assertEquals("Brazil", countryGrpcClient.getCountryAsync("BR").get(5, TimeUnit.SECONDS).getDescription());
+    }
+
+    @Test
+    @DisplayName("unix: Without the native transport the client should fail at startup with a hint")
+    void unixTarget_withoutEpoll_shouldFailAtStartup(@TempDir Path directory) {
+        assumeFalse(epollAvailable(), "native epoll transport is on the classpath");
+
+        IllegalStateException failure = assertThrows(IllegalStateException.class,
+                () -> client("unix://" + directory.resolve("country.sock")));
+        assertTrue(failure.getMessage().contains("-Puds"), failure.getMessage());
+    }
+
+    @Test
+    @DisplayName("init: Should reject a channel count below 1 before opening any channel")
+    void init_withoutChannels_shouldFailAtStartup() {
+        IllegalArgumentException failure = assertThrows(IllegalArgumentException.class,
+                () -> client("in-process:country-test", -1));
+        assertEquals("grpc.client.channels must be at least 1, but was -1", failure.getMessage());
+    }
+
+    private CountryGrpcClient client(String target) {
+        return client(target, 1);
+    }
+
+    private CountryGrpcClient client(String target, int channels) {
+        CountryGrpcClient client = new CountryGrpcClient();
+        ReflectionTestUtils.setField(client, "target", target);
+        ReflectionTestUtils.setField(client, "channels", channels);
+        ReflectionTestUtils.setField(client, "loadBalancingPolicy", "pick_first");
+        ReflectionTestUtils.setField(client, "keepAliveTime", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(client, "keepAliveTimeout", Duration.ofSeconds(10));
+        ReflectionTestUtils.setField(client, "idleTimeout", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(client, "deadline", Duration.ofSeconds(2));
+        ReflectionTestUtils.setField(client, "getCountryPolicy", CountryServiceConfig.GetCountryPolicy.NONE);
+        ReflectionTestUtils.setField(client, "maxAttempts", 3);
+        ReflectionTestUtils.setField(client, "hedgingDelay", Duration.ofMillis(50));
+        client.init();
+        return client;
+    }
+
+    private static boolean epollAvailable() {
+        try {
+            return (boolean) Class.forName("io.netty.channel.epoll.Epoll").getMethod("isAvailable").invoke(null);
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return false;
+        }
+    }
+
+    private static class Brazil extends CountryServiceGrpc.CountryServiceImplBase {
+
+        @Override
+        public void getCountry(CountryRequest request, StreamObserver<CountryResponse> responseObserver) {
+            responseObserver.onNext(CountryResponse.newBuilder().setCode(request.getCode()).setDescription("Brazil").build());
+            responseObserver.onCompleted();
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package br.com.danilors.country.client;
+
+import br.com.danilors.country.CountryChange;
+import br.com.danilors.country.CountryResponse;
+import br.com.danilors.country.client.cache.CountryNearCache;
+import br.com.danilors.country.client.client.CountryGrpcClient;
+import br.com.danilors.country.client.dto.Country;
+import br.com.danilors.country.client.dto.CountryFields;
+import io.grpc.Status;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.processors.PublishProcessor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CountryNearCacheTest {
+
+    @Mock
+    private CountryGrpcClient countryGrpcClient;
+
+    private final PublishProcessor<CountryChange> changes = PublishProcessor.create();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private CountryNearCache nearCache;
+
+    @BeforeEach
+    void setUp() {
+        when(countryGrpcClient.watchCountries(CountryFields.ALL)).thenReturn(changes);
+    }
+
+    @AfterEach
+    void tearDown() {
+        nearCache.destroy();
+    }
+
+    @Test
+    @DisplayName("get: Should answer repeated lookups from the cache and record hits and misses")
+    void get_shouldServeRepeatedLookupsFromCache() {
+        startNearCache(false);
+        stubLookup("BR", "Brazil");
+
+        assertEquals(new Country("BR", "Brazil"), nearCache.get("BR").join());
+        assertEquals(new Country("BR", "Brazil"), nearCache.get("BR").join());
+
+        verify(countryGrpcClient, times(1)).getCountryAsync("BR", CountryFields.ALL);
+        assertEquals(1, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+        assertEquals(1, meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("get: Should not cache failed lookups")
+    void get_whenLookupFails_shouldNotCache() {
+        startNearCache(false);
+        when(countryGrpcClient.getCountryAsync("XX", CountryFields.ALL))
+                .thenReturn(CompletableFuture.failedFuture(Status.NOT_FOUND.asRuntimeException()));
+
+        assertThrows(Exception.class, () -> nearCache.get("XX").join());
+        assertThrows(Exception.class, () -> nearCache.get("XX").join());
+
+        verify(countryGrpcClient, times(2)).getCountryAsync("XX", CountryFields.ALL);
+    }
+
+    @Test
+    @DisplayName("apply: Should replace cached entries on UPSERT and drop them on DELETE and RESET")
+    void apply_shouldKeepCacheCoherentWithPushedChanges() {
+        startNearCache(false);
+        stubLookup("BR", "Brazil");
+        stubLookup("PT", "Portugal");
+        changes.onNext(reset(1));
+        nearCache.get("BR").join();
+        nearCache.get("PT").join();
+
+        changes.onNext(upsert(2, "BR", "Brasil"));
+        changes.onNext(upsert(2, "UY", "Uruguay"));
+        changes.onNext(CountryChange.newBuilder().setType(CountryChange.Type.DELETE).setVersion(2).setCode("PT").build());
+
+        assertEquals(new Country("BR", "Brasil"), nearCache.get("BR").join());
+        nearCache.get("PT").join();
+        verify(countryGrpcClient, times(1)).getCountryAsync("BR", CountryFields.ALL);
+        verify(countryGrpcClient, times(2)).getCountryAsync("PT", CountryFields.ALL);
+        verify(countryGrpcClient, never()).getCountryAsync("UY", CountryFields.ALL);
+
+        changes.onNext(reset(3));
+        assertEquals(new Country("BR", "Brazil"), nearCache.get("BR").join());
+        verify(countryGrpcClient, times(2)).getCountryAsync("BR", CountryFields.ALL);
+    }
+
+    @Test
+    @DisplayName("apply: Lookups after a DELETE should not join a load that started before it")
+    void apply_withLoadInFlight_shouldNotCacheItsResultAfterDelete() {
+        startNearCache(false);
+        changes.onNext(reset(1));
+        CompletableFuture<CountryResponse> staleCall = new CompletableFuture<>();
+        when(countryGrpcClient.getCountryAsync("BR", CountryFields.ALL))
+                .thenReturn(staleCall)
+                .thenReturn(CompletableFuture.failedFuture(Status.NOT_FOUND.asRuntimeException()));
+
+        CompletableFuture<Country> before = nearCache.get("BR");
+        changes.onNext(CountryChange.newBuilder().setType(CountryChange.Type.DELETE).setVersion(2).setCode("BR").build());
+        CompletableFuture<Country> after = nearCache.get("BR");
+        staleCall.complete(CountryResponse.newBuilder().setCode("BR").setDescription("Brazil").build());
+
+        assertEquals(new Country("BR", "Brazil"), before.join());
+        assertThrows(Exception.class, after::join);
+        assertThrows(Exception.class, () -> nearCache.get("BR").join());
+        verify(countryGrpcClient, times(3)).getCountryAsync("BR", CountryFields.ALL);
+    }
+
+    @Test
+    @DisplayName("get: Should share one entry across code casings and apply the server's changes to it")
+    void get_withLowerCaseCode_shouldShareEntryWithCanonicalCode() {
+        startNearCache(false);
+        stubLookup("BR", "Brazil");
+        changes.onNext(reset(1));
+
+        assertEquals(new Country("BR", "Brazil"), nearCache.get("br").join());
+        assertEquals(new Country("BR", "Brazil"), nearCache.get("Br").join());
+        changes.onNext(upsert(2, "BR", "Brasil"));
+        assertEquals(new Country("BR", "Brasil"), nearCache.get("br").join());
+        changes.onNext(CountryChange.newBuilder().setType(CountryChange.Type.DELETE).setVersion(3).setCode("BR").build());
+        nearCache.get("bR").join();
+
+        verify(countryGrpcClient, times(2)).getCountryAsync("BR", CountryFields.ALL);
+        verify(countryGrpcClient, never()).getCountryAsync("br", CountryFields.ALL);
+        assertThrows(IllegalArgumentException.class, () -> nearCache.get("BRA"));
+        assertThrows(IllegalArgumentException.class, () -> nearCache.get("B1"));
+    }
+
+    @Test
+    @DisplayName("apply: Should load the whole table on RESET in preload mode")
+    void apply_inPreloadMode_shouldLoadEverythingOnReset() {
+        startNearCache(true);
+        when(countryGrpcClient.listAllCountries(CountryFields.ALL)).thenReturn(Flowable.just(
+                CountryResponse.newBuilder().setCode("BR").setDescription("Brazil").build(),
+                CountryResponse.newBuilder().setCode("PT").setDescription("Portugal").build()));
+
+        changes.onNext(reset(1));
+
+        assertEquals(new Country("PT", "Portugal"), nearCache.get("PT").join());
+        verify(countryGrpcClient, never()).getCountryAsync(anyString(), any());
+    }
+
+    private void startNearCache(boolean preload) {
+        nearCache = new CountryNearCache(countryGrpcClient, meterRegistry, true, 100, Duration.ofMinutes(10), preload);
+        nearCache.afterSingletonsInstantiated();
+    }
+
+    private void stubLookup(String code, String description) {
+        when(countryGrpcClient.getCountryAsync(code, CountryFields.ALL)).thenAnswer(invocation -> CompletableFuture.completedFuture(
+                CountryResponse.newBuilder().setCode(code).setDescription(description).build()));
+    }
+
+    private static CountryChange reset(long version) {
+        return CountryChange.newBuilder().setType(CountryChange.Type.RESET).setVersion(version).build();
+    }
+
+    private static CountryChange upsert(long version, String code, String description) {
+        return CountryChange.newBuilder()
+                .setType(CountryChange.Type.UPSERT)
+                .setVersion(version)
+                .setCode(code)
+                .setCountry(CountryResponse.newBuilder().setCode(code).setDescription(description))
+                .build();
+    }
+}
@@ -0,0 +1,92 @@
+package br.com.danilors.country.client;
+
+import br.com.danilors.country.CountriesRequest;
+import br.com.danilors.country.CountriesResponse;
+import br.com.danilors.country.CountryRequest;
+import br.com.danilors.country.CountryResponse;
+import br.com.danilors.country.CountryServiceGrpc;
+import br.com.danilors.country.client.metrics.GrpcClientMetricsInterceptor;
+import io.grpc.Channel;
+import io.grpc.ClientInterceptors;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GrpcClientMetricsInterceptorTest {
+
+    private static final String GET_COUNTRY = "country.CountryService/getCountry";
+    private static final String GET_COUNTRIES = "country.CountryService/getCountries";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private Server server;
+    private ManagedChannel channel;
+    private CountryServiceGrpc.CountryServiceBlockingStub stub;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String serverName = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(serverName).directExecutor()
+                .addService(new FakeCountryService())
+                .build()
+                .start();
+        channel = InProcessChannelBuilder.forName(serverName).directExecutor().build();
+        Channel intercepted = ClientInterceptors.intercept(channel, new GrpcClientMetricsInterceptor(meterRegistry));
+        stub = CountryServiceGrpc.newBlockingStub(intercepted);
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.shutdownNow();
+        server.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("interceptCall: Should record latency by status and per-call message counts and bytes")
+    void interceptCall_shouldRecordCallMetrics() {
+        CountriesRequest batch = CountriesRequest.newBuilder().addCodes("BR").addCodes("US").build();
+
+        stub.getCountry(CountryRequest.newBuilder().setCode("BR").build());
+        assertThrows(StatusRuntimeException.class, () -> stub.getCountry(CountryRequest.newBuilder().setCode("XX").build()));
+        stub.getCountries(batch);
+
+        assertEquals(1, meterRegistry.get("grpc.client.calls").tag("method", GET_COUNTRY).tag("status", "OK").timer().count());
+        assertEquals(1, meterRegistry.get("grpc.client.calls").tag("method", GET_COUNTRY).tag("status", "NOT_FOUND").timer().count());
+        assertEquals(0, meterRegistry.get("grpc.client.calls.active").tag("method", GET_COUNTRY).gauge().value());
+        assertEquals(batch.getSerializedSize(), (long) meterRegistry.get("grpc.client.stream.bytes")
+                .tag("method", GET_COUNTRIES).tag("direction", "sent").summary().totalAmount());
+        assertEquals(1, meterRegistry.get("grpc.client.stream.messages")
+                .tag("method", GET_COUNTRIES).tag("direction", "received").summary().totalAmount());
+    }
+
+    private static class FakeCountryService extends CountryServiceGrpc.CountryServiceImplBase {
+
+        @Override
+        public void getCountry(CountryRequest request, StreamObserver<CountryResponse> responseObserver) {
+            if (!request.getCode().equals("BR")) {
+                responseObserver.onError(Status.NOT_FOUND.asRuntimeException());
+                return;
+            }
+            responseObserver.onNext(CountryResponse.newBuilder().setCode("BR").setDescription("Brazil").build());
+            responseObserver.onCompleted();
+        }
+
+        @Override
+        public void getCountries(CountriesRequest request, StreamObserver<CountriesResponse> responseObserver) {
+            responseObserver.onNext(CountriesResponse.newBuilder().addAllMissingCodes(request.getCodesList()).build());
+            responseObserver.onCompleted();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package br.com.danilors.country.client;
+
+import br.com.danilors.country.client.cache.SingleFlight;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SingleFlightTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>("test", meterRegistry);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    @DisplayName("execute: Concurrent calls for the same key should share one load and fan out its result")
+    void execute_shouldShareInFlightLoad() {
+        CompletableFuture<String> call = new CompletableFuture<>();
+
+        CompletableFuture<String> first = singleFlight.execute("BR", key -> load(call));
+        CompletableFuture<String> second = singleFlight.execute("BR", key -> load(call));
+        CompletableFuture<String> other = singleFlight.execute("US", key -> load(CompletableFuture.completedFuture("United States")));
+        call.complete("Brazil");
+
+        assertEquals("Brazil", first.join());
+        assertEquals("Brazil", second.join());
+        assertEquals("United States", other.join());
+        assertEquals(2, loads.get());
+        assertEquals(2, meterRegistry.get("country.single-flight.calls").tag("role", "leader").counter().count());
+        assertEquals(1, meterRegistry.get("country.single-flight.calls").tag("role", "follower").counter().count());
+        assertEquals(0, meterRegistry.get("country.single-flight.in-flight").gauge().value());
+    }
+
+    @Test
+    @DisplayName("execute: Completed or failed loads should not be reused")
+    void execute_afterCompletion_shouldStartNewLoad() {
+        singleFlight.execute("XX", key -> load(CompletableFuture.failedFuture(new IllegalStateException("boom"))));
+        CompletableFuture<String> retry = singleFlight.execute("XX", key -> load(CompletableFuture.completedFuture("ok")));
+
+        assertEquals("ok", retry.join());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("execute: The load should only be cancelled once every waiter has cancelled")
+    void execute_shouldCancelLoadWhenAllWaitersCancel() {
+        CompletableFuture<String> call = new CompletableFuture<>();
+        CompletableFuture<String> first = singleFlight.execute("BR", key -> load(call));
+        CompletableFuture<String> second = singleFlight.execute("BR", key -> load(call));
+
+        first.cancel(false);
+        assertFalse(call.isCancelled());
+        second.cancel(false);
+        assertTrue(call.isCancelled());
+
+        // A cancelled flight is not joined again
+        CompletableFuture<String> next = singleFlight.execute("BR", key -> load(CompletableFuture.completedFuture("Brazil")));
+        assertEquals("Brazil", next.join());
+        assertThrows(Exception.class, first::join);
+    }
+
+    @Test
+    @DisplayName("forget: Later calls should start a new load while earlier waiters keep the forgotten one")
+    void forget_shouldDetachInFlightLoad() {
+        CompletableFuture<String> stale = new CompletableFuture<>();
+        CompletableFuture<String> first = singleFlight.execute("BR", key -> load(stale));
+
+        singleFlight.forget("BR");
+        CompletableFuture<String> second = singleFlight.execute("BR", key -> load(CompletableFuture.completedFuture("Brasil")));
+        stale.complete("Brazil");
+
+        assertEquals("Brazil", first.join());
+        assertEquals("Brasil", second.join());
+        assertEquals(2, loads.get());
+        assertEquals(0, meterRegistry.get("country.single-flight.in-flight").gauge().value());
+    }
+
+    private CompletableFuture<String> load(CompletableFuture<String> call) {
+        loads.incrementAndGet();
+        return call;
+    }
+}
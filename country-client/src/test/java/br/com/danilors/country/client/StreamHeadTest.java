@@ -0,0 +1,77 @@
+package br.com.danilors.country.client;
+
+import br.com.danilors.country.client.client.StreamHead;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.processors.PublishProcessor;
+import io.reactivex.rxjava3.subscribers.TestSubscriber;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StreamHeadTest {
+
+    @Test
+    @DisplayName("of: Should take only the first element, then stream the rest on the same subscription as requested")
+    void of_shouldForwardDemandAfterTheFirstElement() {
+        List<Long> requests = new ArrayList<>();
+        Flowable<Integer> source = Flowable.range(1, 5).doOnRequest(requests::add);
+
+        StreamHead<Integer> head = StreamHead.of(source).join().orElseThrow();
+        assertEquals(1, head.first());
+        assertEquals(List.of(1L), requests);
+
+        TestSubscriber<Integer> subscriber = head.stream().test(0);
+        subscriber.request(2);
+        subscriber.assertValues(1, 2).assertNotComplete();
+        subscriber.request(10);
+        subscriber.assertValues(1, 2, 3, 4, 5).assertComplete();
+        head.stream().test().assertError(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("of: Should complete empty for an empty stream and exceptionally for a failed one")
+    void of_withoutFirstElement_shouldCompleteEmptyOrFail() {
+        assertEquals(Optional.empty(), StreamHead.of(Flowable.empty()).join());
+
+        CompletableFuture<Optional<StreamHead<Object>>> failed = StreamHead.of(Flowable.error(new IllegalStateException("down")));
+        CompletionException e = assertThrows(CompletionException.class, failed::join);
+        assertEquals("down", e.getCause().getMessage());
+    }
+
+    @Test
+    @DisplayName("stream: Should deliver an end of stream that arrived before it was subscribed")
+    void stream_whenSourceEndedEarly_shouldComplete() {
+        PublishProcessor<Integer> source = PublishProcessor.create();
+        CompletableFuture<Optional<StreamHead<Integer>>> future = StreamHead.of(source);
+        source.onNext(1);
+        source.onComplete();
+
+        future.join().orElseThrow().stream().test().assertValues(1).assertComplete();
+    }
+
+    @Test
+    @DisplayName("stream: Should cancel the source when cancelled, or when the future is")
+    void stream_whenCancelled_shouldCancelTheSource() {
+        PublishProcessor<Integer> source = PublishProcessor.create();
+        CompletableFuture<Optional<StreamHead<Integer>>> future = StreamHead.of(source);
+        source.onNext(1);
+        TestSubscriber<Integer> subscriber = future.join().orElseThrow().stream().test(0);
+        assertTrue(source.hasSubscribers());
+        subscriber.cancel();
+        assertFalse(source.hasSubscribers());
+
+        PublishProcessor<Integer> abandoned = PublishProcessor.create();
+        StreamHead.of(abandoned).cancel(true);
+        assertFalse(abandoned.hasSubscribers());
+    }
+}
@@ -0,0 +1,64 @@
+package br.com.danilors.country.common.code;
+
+/**
+ * 2-letter ISO country codes as both sides resolve them: two ASCII letters in any case, canonically
+ * upper case. A code packs into {@code (first - 'A') * 26 + (second - 'A')}, a perfect hash over the
+ * 676 possible codes, which the server's lookup table indexes by.
+ */
+public final class CountryCodes {
+
+    public static final int LETTERS = 26;
+    public static final int SLOTS = LETTERS * LETTERS;
+
+    private CountryCodes() {
+    }
+
+    /**
+     * Returns the packed form of a code, or {@code -1} when it is not exactly two ASCII letters.
+     */
+    public static int slot(CharSequence code) {
+        if (code == null || code.length() != 2) {
+            return -1;
+        }
+        int first = letter(code.charAt(0));
+        int second = letter(code.charAt(1));
+        return (first | second) < 0 ? -1 : first * LETTERS + second;
+    }
+
+    public static boolean isValid(CharSequence code) {
+        return slot(code) >= 0;
+    }
+
+    /**
+     * Returns the canonical upper-case form of a code, the code itself when it already is, or
+     * {@code null} when it is malformed.
+     */
+    public static String normalize(String code) {
+        int slot = slot(code);
+        if (slot < 0) {
+            return null;
+        }
+        char first = (char) ('A' + slot / LETTERS);
+        char second = (char) ('A' + slot % LETTERS);
+        return code.charAt(0) == first && code.charAt(1) == second ? code : new String(new char[]{first, second});
+    }
+
+    /**
+     * Like {@link #normalize(String)}, for codes that must be valid.
+     *
+     * @throws IllegalArgumentException if the code is not two letters
+     */
+    public static String requireNormalized(String code) {
+        String normalized = normalize(code);
+        if (normalized == null) {
+            throw new IllegalArgumentException("Country code must be two letters: '" + code + "'");
+        }
+        return normalized;
+    }
+
+    // 'A'..'Z' and 'a'..'z' map to 0..25, anything else to -1
+    private static int letter(char c) {
+        int index = (c | 0x20) - 'a';
+        return index >= 0 && index < LETTERS ? index : -1;
+    }
+}
@@ -0,0 +1,44 @@
+package br.com.danilors.country.common.compression;
+
+import com.github.luben.zstd.ZstdInputStreamNoFinalizer;
+import com.github.luben.zstd.ZstdOutputStreamNoFinalizer;
+import io.grpc.Codec;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * The {@code zstd} message encoding. gRPC compresses every message on its own, so each one is a
+ * complete zstd frame. Level 3, zstd's default, compresses about as well as gzip at a fraction of
+ * its CPU cost.
+ */
+public final class ZstdCodec implements Codec {
+
+    public static final String ENCODING = "zstd";
+
+    private final int level;
+
+    public ZstdCodec() {
+        this(3);
+    }
+
+    public ZstdCodec(int level) {
+        this.level = level;
+    }
+
+    @Override
+    public String getMessageEncoding() {
+        return ENCODING;
+    }
+
+    @Override
+    public OutputStream compress(OutputStream os) throws IOException {
+        return new ZstdOutputStreamNoFinalizer(os, level);
+    }
+
+    @Override
+    public InputStream decompress(InputStream is) throws IOException {
+        return new ZstdInputStreamNoFinalizer(is);
+    }
+}
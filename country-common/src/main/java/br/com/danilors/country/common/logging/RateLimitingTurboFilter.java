@@ -0,0 +1,94 @@
+package br.com.danilors.country.common.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caps how many events each logger under the configured prefixes may emit per second. Events over
+ * the budget are denied before a logging event is even created, so a request-path logger firing
+ * on every call costs one counter update once its budget is spent. {@code ERROR} events and events
+ * above {@code maxLevel} are never limited.
+ * <pre>{@code
+ * <turboFilter class="br.com.danilors.country.common.logging.RateLimitingTurboFilter">
+ *     <loggerPrefix>br.com.danilors.country.server.service</loggerPrefix>
+ *     <eventsPerSecond>50</eventsPerSecond>
+ * </turboFilter>
+ * }</pre>
+ */
+public class RateLimitingTurboFilter extends TurboFilter {
+
+    private final List<String> loggerPrefixes = new ArrayList<>();
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+    private final AtomicLong denied = new AtomicLong();
+    private int eventsPerSecond = 100;
+    private Level maxLevel = Level.WARN;
+
+    public void addLoggerPrefix(String loggerPrefix) {
+        loggerPrefixes.add(loggerPrefix);
+    }
+
+    public void setEventsPerSecond(int eventsPerSecond) {
+        this.eventsPerSecond = eventsPerSecond;
+    }
+
+    public void setMaxLevel(String maxLevel) {
+        this.maxLevel = Level.toLevel(maxLevel, Level.WARN);
+    }
+
+    /**
+     * Number of events denied since start.
+     */
+    public long getDenied() {
+        return denied.get();
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (!isStarted() || level == null || level.isGreaterOrEqual(Level.ERROR) || !maxLevel.isGreaterOrEqual(level)
+                || !level.isGreaterOrEqual(logger.getEffectiveLevel()) || !isLimited(logger.getName())) {
+            // Disabled events are left to the regular level check so they don't use up the budget
+            return FilterReply.NEUTRAL;
+        }
+        Window window = windows.computeIfAbsent(logger.getName(), name -> new Window());
+        if (window.tryAcquire(System.nanoTime() / 1_000_000_000L, eventsPerSecond)) {
+            return FilterReply.NEUTRAL;
+        }
+        denied.incrementAndGet();
+        return FilterReply.DENY;
+    }
+
+    private boolean isLimited(String loggerName) {
+        for (String prefix : loggerPrefixes) {
+            if (loggerName.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Fixed one-second window; a racing reset may let a few extra events through, which is fine here.
+     */
+    private static final class Window {
+
+        private final AtomicLong second = new AtomicLong();
+        private final AtomicLong events = new AtomicLong();
+
+        boolean tryAcquire(long now, int limit) {
+            long current = second.get();
+            if (current != now && second.compareAndSet(current, now)) {
+                events.set(0);
+            }
+            return events.incrementAndGet() <= limit;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package br.com.danilors.country.common.code;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CountryCodesTest {
+
+    @Test
+    @DisplayName("slot: Should reject anything that is not exactly two ASCII letters")
+    void slot_shouldRejectMalformedCodes() {
+        for (String code : new String[]{null, "", "B", "BRA", "B1", "@A", "[A", "`A", "{A", "B ", "ÁB", "BŔ"}) {
+            assertEquals(-1, CountryCodes.slot(code), "code: " + code);
+            assertFalse(CountryCodes.isValid(code), "code: " + code);
+        }
+        assertEquals(0, CountryCodes.slot("AA"));
+        assertEquals(CountryCodes.SLOTS - 1, CountryCodes.slot("zz"));
+        assertEquals(CountryCodes.slot("BR"), CountryCodes.slot("bR"));
+    }
+
+    @Test
+    @DisplayName("normalize: Should upper-case valid codes and return null for malformed ones")
+    void normalize_shouldCanonicalizeCodes() {
+        String upper = "BR";
+        assertSame(upper, CountryCodes.normalize(upper));
+        assertEquals("BR", CountryCodes.normalize("bR"));
+        assertEquals("ZZ", CountryCodes.normalize("zz"));
+        assertNull(CountryCodes.normalize("B1"));
+        assertNull(CountryCodes.normalize(null));
+    }
+
+    @Test
+    @DisplayName("requireNormalized: Should reject malformed codes")
+    void requireNormalized_shouldRejectMalformedCodes() {
+        assertEquals("BR", CountryCodes.requireNormalized("br"));
+        assertThrows(IllegalArgumentException.class, () -> CountryCodes.requireNormalized("BRA"));
+        assertThrows(IllegalArgumentException.class, () -> CountryCodes.requireNormalized(null));
+    }
+}
@@ -0,0 +1,70 @@
+package br.com.danilors.country.common.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RateLimitingTurboFilterTest {
+
+    private final LoggerContext loggerContext = new LoggerContext();
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    private final RateLimitingTurboFilter filter = new RateLimitingTurboFilter();
+
+    @BeforeEach
+    void setUp() {
+        appender.setContext(loggerContext);
+        appender.start();
+        Logger root = loggerContext.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.INFO);
+        root.addAppender(appender);
+
+        filter.setContext(loggerContext);
+        filter.addLoggerPrefix("br.com.danilors.country.server.service");
+        filter.setEventsPerSecond(5);
+        filter.start();
+        loggerContext.addTurboFilter(filter);
+    }
+
+    @Test
+    @DisplayName("decide: Should deny events over the per-logger budget but never ERROR or other loggers")
+    void decide_shouldLimitMatchingLoggers() {
+        Logger limited = loggerContext.getLogger("br.com.danilors.country.server.service.CountryGrpcService");
+        Logger other = loggerContext.getLogger("br.com.danilors.country.server.config.AppConfig");
+
+        for (int i = 0; i < 50; i++) {
+            limited.info("call {}", i);
+            other.info("call {}", i);
+        }
+        limited.error("failure");
+
+        long limitedEvents = appender.list.stream()
+                .filter(event -> event.getLoggerName().equals(limited.getName()))
+                .count();
+        long otherEvents = appender.list.size() - limitedEvents;
+        // The window may roll over mid-loop, letting through at most one more budget
+        assertEquals(true, limitedEvents >= 6 && limitedEvents <= 11, "limited events: " + limitedEvents);
+        assertEquals(50, otherEvents);
+        assertEquals(51 - limitedEvents, filter.getDenied());
+    }
+
+    @Test
+    @DisplayName("decide: Should not spend the budget on events below the logger level")
+    void decide_shouldIgnoreDisabledEvents() {
+        Logger limited = loggerContext.getLogger("br.com.danilors.country.server.service.CountryGrpcService");
+
+        for (int i = 0; i < 50; i++) {
+            limited.debug("call {}", i);
+        }
+        limited.info("after debug");
+
+        assertEquals(1, appender.list.size());
+        assertEquals(0, filter.getDenied());
+    }
+}
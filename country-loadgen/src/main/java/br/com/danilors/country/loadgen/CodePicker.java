@@ -0,0 +1,71 @@
+package br.com.danilors.country.loadgen;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.random.RandomGenerator;
+
+/**
+ * Draws country codes with a uniform or a Zipf popularity. Under Zipf with exponent {@code s} the
+ * code of rank {@code k} is drawn in proportion to {@code 1 / k^s}: with {@code s = 1} and 250
+ * codes, the first one gets about 16% of the requests and the first 25 over half. Ranks are a
+ * seeded shuffle of the codes, so the hot codes are not simply the first ones alphabetically.
+ */
+final class CodePicker {
+
+    private final String[] codes;
+    // Cumulative probability of each rank, or null for uniform draws
+    private final double[] cumulative;
+
+    private CodePicker(String[] codes, double[] cumulative) {
+        this.codes = codes;
+        this.cumulative = cumulative;
+    }
+
+    /**
+     * @param zipfExponent {@code 0} for a uniform distribution
+     * @throws IllegalArgumentException if there are no codes
+     */
+    static CodePicker of(List<String> codes, double zipfExponent, long seed) {
+        if (codes.isEmpty()) {
+            throw new IllegalArgumentException("No country codes to draw from");
+        }
+        List<String> ranked = new ArrayList<>(codes);
+        Collections.shuffle(ranked, new Random(seed));
+        if (zipfExponent == 0) {
+            return new CodePicker(ranked.toArray(String[]::new), null);
+        }
+        double[] cumulative = new double[ranked.size()];
+        double sum = 0;
+        for (int rank = 0; rank < cumulative.length; rank++) {
+            sum += 1 / Math.pow(rank + 1, zipfExponent);
+            cumulative[rank] = sum;
+        }
+        for (int rank = 0; rank < cumulative.length; rank++) {
+            cumulative[rank] /= sum;
+        }
+        return new CodePicker(ranked.toArray(String[]::new), cumulative);
+    }
+
+    String next(RandomGenerator random) {
+        if (cumulative == null) {
+            return codes[random.nextInt(codes.length)];
+        }
+        int rank = Arrays.binarySearch(cumulative, random.nextDouble());
+        // Not found: -(insertion point) - 1, the first rank whose cumulative probability is higher
+        return codes[Math.min(rank >= 0 ? rank : -rank - 1, codes.length - 1)];
+    }
+
+    /**
+     * Code of the given popularity rank, 0 being the most popular.
+     */
+    String ranked(int rank) {
+        return codes[rank];
+    }
+
+    int size() {
+        return codes.length;
+    }
+}
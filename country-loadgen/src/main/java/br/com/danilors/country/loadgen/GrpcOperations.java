@@ -0,0 +1,148 @@
+package br.com.danilors.country.loadgen;
+
+import br.com.danilors.country.AllCountriesRequest;
+import br.com.danilors.country.CountryRequest;
+import br.com.danilors.country.CountryResponse;
+import br.com.danilors.country.CountryServiceGrpc;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.health.v1.HealthCheckRequest;
+import io.grpc.health.v1.HealthCheckResponse;
+import io.grpc.health.v1.HealthGrpc;
+import io.grpc.stub.StreamObserver;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * {@code getCountry} and {@code listAllCountries} against {@code country-server}, over one
+ * plaintext channel with gRPC's default executor.
+ */
+final class GrpcOperations implements AutoCloseable {
+
+    private final ManagedChannel channel;
+    private final CountryServiceGrpc.CountryServiceStub stub;
+    private final Duration timeout;
+
+    GrpcOperations(String target, Duration timeout) {
+        this.channel = ManagedChannelBuilder.forTarget(target).usePlaintext().build();
+        this.stub = CountryServiceGrpc.newStub(channel);
+        this.timeout = timeout;
+    }
+
+    Operation getCountry() {
+        return new Operation() {
+            @Override
+            public String name() {
+                return "getCountry";
+            }
+
+            @Override
+            public CompletableFuture<?> call(Supplier<String> codes) {
+                Response<CountryResponse> response = new Response<>();
+                deadlined().getCountry(CountryRequest.newBuilder().setCode(codes.get()).build(), response);
+                return response;
+            }
+        };
+    }
+
+    Operation listAllCountries() {
+        return new Operation() {
+            @Override
+            public String name() {
+                return "listAllCountries";
+            }
+
+            @Override
+            public CompletableFuture<?> call(Supplier<String> codes) {
+                Response<CountryResponse> response = new Response<>();
+                deadlined().listAllCountries(AllCountriesRequest.getDefaultInstance(), response);
+                return response;
+            }
+        };
+    }
+
+    /**
+     * Codes of every country the server lists, in its order.
+     */
+    List<String> listCodes() {
+        List<String> codes = new ArrayList<>();
+        Iterator<CountryResponse> countries = CountryServiceGrpc.newBlockingStub(channel)
+                .withDeadlineAfter(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .listAllCountries(AllCountriesRequest.getDefaultInstance());
+        countries.forEachRemaining(country -> codes.add(country.getCode()));
+        return codes;
+    }
+
+    /**
+     * Polls the server's health service until it reports {@code country.CountryService} as
+     * {@code SERVING}: a server that is still starting is unreachable, and one still warming up
+     * reports {@code NOT_SERVING}.
+     *
+     * @return how long it took
+     * @throws IllegalStateException if the server does not report {@code SERVING} within {@code max}
+     */
+    Duration awaitServing(Duration max) throws InterruptedException {
+        HealthGrpc.HealthBlockingStub health = HealthGrpc.newBlockingStub(channel);
+        HealthCheckRequest request = HealthCheckRequest.newBuilder().setService(CountryServiceGrpc.SERVICE_NAME).build();
+        long start = System.nanoTime();
+        while (true) {
+            try {
+                if (health.withDeadlineAfter(1, TimeUnit.SECONDS).check(request).getStatus()
+                        == HealthCheckResponse.ServingStatus.SERVING) {
+                    return Duration.ofNanos(System.nanoTime() - start);
+                }
+            } catch (StatusRuntimeException e) {
+                if (e.getStatus().getCode() != Status.Code.UNAVAILABLE
+                        && e.getStatus().getCode() != Status.Code.DEADLINE_EXCEEDED) {
+                    throw e;
+                }
+                // Retry right away once the server listens, rather than after the reconnect backoff
+                channel.resetConnectBackoff();
+            }
+            if (System.nanoTime() - start > max.toNanos()) {
+                throw new IllegalStateException("The server did not report SERVING within " + max.toMillis() + " ms");
+            }
+            Thread.sleep(50);
+        }
+    }
+
+    private CountryServiceGrpc.CountryServiceStub deadlined() {
+        return stub.withDeadlineAfter(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Completes with the number of messages once the call ends, reading the whole stream.
+     */
+    private static final class Response<T> extends CompletableFuture<Integer> implements StreamObserver<T> {
+
+        private int messages;
+
+        @Override
+        public void onNext(T message) {
+            messages++;
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            completeExceptionally(t);
+        }
+
+        @Override
+        public void onCompleted() {
+            complete(messages);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package br.com.danilors.country.loadgen;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Load generator for {@code country-server} (gRPC) and {@code country-client} (REST). Fetches the
+ * seeded country codes from whichever app the mix targets, runs the mix and prints latency
+ * percentiles and error rates per operation. See {@link LoadOptions#USAGE} for the options.
+ */
+public final class LoadGenerator {
+
+    private static final Set<String> GRPC = Set.of("getCountry", "listAllCountries");
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9, 99.99};
+
+    private LoadGenerator() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (List.of(args).contains("--help")) {
+            System.out.print(LoadOptions.USAGE);
+            return;
+        }
+        LoadOptions options;
+        try {
+            options = LoadOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println();
+            System.err.print(LoadOptions.USAGE);
+            System.exit(2);
+            return;
+        }
+
+        GrpcOperations grpc = new GrpcOperations(options.grpcTarget(), options.timeout());
+        RestOperations rest = new RestOperations(options.restUrl(), options.timeout(), options.batchSize());
+        try {
+            if (options.waitForServing().isPositive()) {
+                Duration waited = grpc.awaitServing(options.waitForServing());
+                System.out.printf("Server reported SERVING after %d ms%n", waited.toMillis());
+            }
+            Map<Operation, Integer> mix = new LinkedHashMap<>();
+            options.mix().forEach((name, weight) -> mix.put(switch (name) {
+                case "getCountry" -> grpc.getCountry();
+                case "listAllCountries" -> grpc.listAllCountries();
+                case "rest-get" -> rest.get();
+                case "rest-list" -> rest.list();
+                case "rest-search" -> rest.search();
+                case "rest-batch" -> rest.batch();
+                default -> throw new IllegalStateException(name);
+            }, weight));
+
+            List<String> codes = options.mix().keySet().stream().anyMatch(GRPC::contains)
+                    ? grpc.listCodes()
+                    : rest.listCodes();
+            CodePicker picker = CodePicker.of(codes, options.zipfExponent(), options.seed());
+            System.out.printf("%d country codes, %s popularity%n", picker.size(),
+                    options.zipfExponent() == 0 ? "uniform" : "Zipf (s=" + options.zipfExponent() + ")");
+
+            List<OperationStats> stats = new LoadRunner(mix, picker, options, System.out).run();
+            summarize(stats, options, System.out);
+        } finally {
+            grpc.close();
+        }
+    }
+
+    static void summarize(List<OperationStats> stats, LoadOptions options, PrintStream out) {
+        double seconds = options.duration().toNanos() / 1e9;
+        out.println();
+        out.printf("%-18s %10s %8s %10s %9s %9s %9s %9s %9s %9s%n", "operation", "requests", "errors",
+                "rps", "p50", "p90", "p99", "p99.9", "p99.99", "max");
+        for (OperationStats operation : stats) {
+            print(out, operation.name(), operation.totalLatency(), operation.errorCount(), seconds);
+        }
+        if (options.openLoop()) {
+            out.println();
+            out.println("Service time, from when each request was actually sent:");
+            for (OperationStats operation : stats) {
+                print(out, operation.name(), operation.totalService(), operation.errorCount(), seconds);
+            }
+        }
+        out.println("(milliseconds)");
+        for (OperationStats operation : stats) {
+            Map<String, Long> errors = operation.errors();
+            if (!errors.isEmpty()) {
+                out.printf("%nErrors of %s:%n", operation.name());
+                errors.forEach((kind, count) -> out.printf("  %-30s %d%n", kind, count));
+            }
+        }
+    }
+
+    private static void print(PrintStream out, String name, Histogram latency, long errors, double seconds) {
+        long count = latency.getTotalCount();
+        out.printf("%-18s %10d %7.2f%% %10.1f", name, count, count == 0 ? 0.0 : 100.0 * errors / count,
+                count / seconds);
+        for (double percentile : PERCENTILES) {
+            out.printf(" %9.3f", LoadRunner.millis(latency.getValueAtPercentile(percentile)));
+        }
+        out.printf(" %9.3f%n", LoadRunner.millis(latency.getMaxValue()));
+    }
+}
@@ -0,0 +1,163 @@
+package br.com.danilors.country.loadgen;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Command-line options, given as {@code --name=value}.
+ *
+ * @param mix             operation names and their relative weights
+ * @param rate            requests per second for an open loop, or {@code 0} for a closed loop
+ * @param concurrency     callers in a closed loop, each sending its next request when the last one
+ *                        completes
+ * @param maxInFlight     requests an open loop may have outstanding; beyond that it waits, and the
+ *                        wait counts towards latency
+ * @param zipfExponent    {@code 0} for uniform code popularity, otherwise the Zipf exponent
+ * @param batchSize       codes per {@code rest-batch} request
+ * @param hdrLog          file for HdrHistogram interval logs, or {@code null}
+ * @param waitForServing  how long to wait for the server's health service to report
+ *                        {@code SERVING} before starting, or zero to start right away
+ */
+record LoadOptions(Map<String, Integer> mix,
+                   String grpcTarget,
+                   String restUrl,
+                   double rate,
+                   int concurrency,
+                   int maxInFlight,
+                   Duration warmup,
+                   Duration duration,
+                   Duration timeout,
+                   Duration reportInterval,
+                   double zipfExponent,
+                   long seed,
+                   int batchSize,
+                   Path hdrLog,
+                   Duration waitForServing) {
+
+    static final String USAGE = """
+            Usage: java -jar loadgen.jar [--name=value ...]
+
+              --mix=getCountry:9,listAllCountries:1  Operations and weights. gRPC: getCountry,
+                                                     listAllCountries. REST: rest-get, rest-list,
+                                                     rest-search, rest-batch
+              --rate=500                             Open loop: requests per second, on schedule
+                                                     whatever the response times
+              --concurrency=16                       Closed loop: callers that each wait for their
+                                                     response (default when --rate is not set)
+              --max-in-flight=10000                  Open loop: outstanding requests before waiting
+              --duration=60s --warmup=10s            Measured time, after an unmeasured warm-up
+              --distribution=zipf --zipf-exponent=1  Code popularity: uniform or zipf
+              --seed=42                              Seed for the code ranking and the draws
+              --grpc-target=localhost:9090           country-server gRPC target
+              --rest-url=http://localhost:8080       country-client base URL
+              --timeout=5s                           Deadline of every request
+              --report-interval=5s                   Period of the progress lines
+              --batch-size=10                        Codes per rest-batch request
+              --hdr-log=results.hlog                 HdrHistogram interval log, one tag per operation
+              --wait-for-serving=2m                  Wait for the country-server health service to
+                                                     report SERVING, then start (after a deploy)
+            """;
+
+    static final Set<String> OPERATIONS = Set.of("getCountry", "listAllCountries", "rest-get", "rest-list",
+            "rest-search", "rest-batch");
+
+    private static final Set<String> NAMES = Set.of("mix", "rate", "concurrency", "max-in-flight", "duration",
+            "warmup", "distribution", "zipf-exponent", "seed", "grpc-target", "rest-url", "timeout",
+            "report-interval", "batch-size", "hdr-log", "wait-for-serving");
+
+    /**
+     * @throws IllegalArgumentException for an unknown option or an invalid value
+     */
+    static LoadOptions parse(String... args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value, but was '" + arg + "'");
+            }
+            String name = arg.substring(2, separator);
+            if (!NAMES.contains(name)) {
+                throw new IllegalArgumentException("Unknown option --" + name);
+            }
+            values.put(name, arg.substring(separator + 1));
+        }
+
+        double rate = Double.parseDouble(values.getOrDefault("rate", "0"));
+        if (rate < 0 || (rate > 0 && values.containsKey("concurrency"))) {
+            throw new IllegalArgumentException("Set either a positive --rate or --concurrency");
+        }
+        String distribution = values.getOrDefault("distribution", "zipf").toLowerCase(Locale.ROOT);
+        double zipfExponent = switch (distribution) {
+            case "uniform" -> 0;
+            case "zipf" -> Double.parseDouble(values.getOrDefault("zipf-exponent", "1"));
+            default -> throw new IllegalArgumentException("Unknown distribution '" + distribution + "'");
+        };
+        LoadOptions options = new LoadOptions(
+                mix(values.getOrDefault("mix", "getCountry")),
+                values.getOrDefault("grpc-target", "localhost:9090"),
+                values.getOrDefault("rest-url", "http://localhost:8080"),
+                rate,
+                Integer.parseInt(values.getOrDefault("concurrency", "16")),
+                Integer.parseInt(values.getOrDefault("max-in-flight", "10000")),
+                duration(values.getOrDefault("warmup", "10s")),
+                duration(values.getOrDefault("duration", "60s")),
+                duration(values.getOrDefault("timeout", "5s")),
+                duration(values.getOrDefault("report-interval", "5s")),
+                zipfExponent,
+                Long.parseLong(values.getOrDefault("seed", "42")),
+                Integer.parseInt(values.getOrDefault("batch-size", "10")),
+                values.containsKey("hdr-log") ? Path.of(values.get("hdr-log")) : null,
+                duration(values.getOrDefault("wait-for-serving", "0s")));
+        if (options.concurrency() < 1 || options.maxInFlight() < 1 || options.batchSize() < 1
+                || options.zipfExponent() < 0 || options.duration().isZero() || options.reportInterval().isZero()
+                || options.waitForServing().isNegative()) {
+            throw new IllegalArgumentException("Counts, durations and the Zipf exponent must be positive");
+        }
+        return options;
+    }
+
+    boolean openLoop() {
+        return rate > 0;
+    }
+
+    private static Map<String, Integer> mix(String value) {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (String entry : value.split(",")) {
+            String[] parts = entry.strip().split(":");
+            int weight = parts.length > 1 ? Integer.parseInt(parts[1].strip()) : 1;
+            if (weight < 1) {
+                throw new IllegalArgumentException("Weights must be positive: '" + entry + "'");
+            }
+            if (!OPERATIONS.contains(parts[0].strip())) {
+                throw new IllegalArgumentException("Unknown operation '" + parts[0].strip() + "'");
+            }
+            mix.put(parts[0].strip(), weight);
+        }
+        return mix;
+    }
+
+    /**
+     * Parses {@code 500ms}, {@code 30s}, {@code 2m} or ISO-8601 ({@code PT30S}).
+     */
+    static Duration duration(String value) {
+        String text = value.strip().toLowerCase(Locale.ROOT);
+        if (text.startsWith("pt")) {
+            return Duration.parse(text);
+        }
+        if (text.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(text.substring(0, text.length() - 2)));
+        }
+        long amount = Long.parseLong(text.substring(0, text.length() - 1));
+        return switch (text.charAt(text.length() - 1)) {
+            case 's' -> Duration.ofSeconds(amount);
+            case 'm' -> Duration.ofMinutes(amount);
+            case 'h' -> Duration.ofHours(amount);
+            default -> throw new IllegalArgumentException("Unknown duration '" + value + "'");
+        };
+    }
+}
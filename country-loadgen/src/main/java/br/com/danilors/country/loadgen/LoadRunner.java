@@ -0,0 +1,198 @@
+package br.com.danilors.country.loadgen;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Sends a weighted mix of operations for a warm-up and then a measured period.
+ *
+ * <p>With a {@code --rate}, an <em>open loop</em>: a single thread sends requests on a fixed schedule
+ * and never waits for responses, and each latency counts from when the request was due. A stall
+ * therefore shows up in every request scheduled during it, as it would for independent users.
+ * Without one, a <em>closed loop</em> of {@code --concurrency} virtual threads each send a request
+ * and wait for its response; a stall then only delays one request per thread and the rest of its
+ * backlog is never sent, which is what the open loop exists to avoid.
+ *
+ * <p>Requests due during the warm-up are sent but not recorded.
+ */
+final class LoadRunner {
+
+    private final Map<Operation, Integer> mix;
+    private final CodePicker codes;
+    private final LoadOptions options;
+    private final PrintStream out;
+    private final Operation[] picks;
+    private final OperationStats[] stats;
+    private final Map<Operation, OperationStats> byOperation = new IdentityHashMap<>();
+
+    LoadRunner(Map<Operation, Integer> mix, CodePicker codes, LoadOptions options, PrintStream out) {
+        this.mix = mix;
+        this.codes = codes;
+        this.options = options;
+        this.out = out;
+        // One slot per unit of weight, so that picking an operation is a single draw
+        List<Operation> picks = new ArrayList<>();
+        mix.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                picks.add(operation);
+            }
+        });
+        this.picks = picks.toArray(Operation[]::new);
+        this.stats = new OperationStats[this.picks.length];
+        for (int i = 0; i < this.picks.length; i++) {
+            stats[i] = byOperation.computeIfAbsent(this.picks[i], operation -> new OperationStats(operation.name()));
+        }
+    }
+
+    /**
+     * Runs the warm-up and the measured period, printing a progress line per operation every
+     * {@code --report-interval}, and returns the statistics of the measured period.
+     */
+    List<OperationStats> run() throws InterruptedException, FileNotFoundException {
+        List<OperationStats> operations = mix.keySet().stream()
+                .map(byOperation::get)
+                .toList();
+        long start = System.nanoTime();
+        long measureFrom = start + options.warmup().toNanos();
+        long end = measureFrom + options.duration().toNanos();
+
+        long startMillis = System.currentTimeMillis();
+        // Starts the first interval now rather than when the statistics were created
+        operations.forEach(OperationStats::interval);
+        HistogramLogWriter log = null;
+        if (options.hdrLog() != null) {
+            log = new HistogramLogWriter(options.hdrLog().toFile());
+            log.outputLogFormatVersion();
+            log.outputStartTime(startMillis);
+            log.setBaseTime(startMillis);
+            log.outputLegend();
+        }
+        HistogramLogWriter intervals = log;
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("loadgen-report").daemon().factory());
+        long period = options.reportInterval().toNanos();
+        reporter.scheduleAtFixedRate(() -> report(operations, measureFrom, intervals), period, period,
+                TimeUnit.NANOSECONDS);
+        out.printf("%s for %ds after a %ds warm-up%n",
+                options.openLoop() ? "Open loop at " + options.rate() + " requests/s"
+                        : "Closed loop with " + options.concurrency() + " callers",
+                options.duration().toSeconds(), options.warmup().toSeconds());
+        try {
+            if (options.openLoop()) {
+                openLoop(start, measureFrom, end);
+            } else {
+                closedLoop(measureFrom, end);
+            }
+        } finally {
+            reporter.shutdownNow();
+            reporter.awaitTermination(5, TimeUnit.SECONDS);
+        }
+        report(operations, measureFrom, intervals);
+        if (log != null) {
+            log.close();
+        }
+        return operations;
+    }
+
+    private void openLoop(long start, long measureFrom, long end) throws InterruptedException {
+        SplittableRandom random = new SplittableRandom(options.seed());
+        Supplier<String> draw = () -> codes.next(random);
+        Semaphore inFlight = new Semaphore(options.maxInFlight());
+        double interval = 1e9 / options.rate();
+        for (long request = 0; ; request++) {
+            // From the start rather than the previous request, so that lateness never accumulates
+            long due = start + (long) (request * interval);
+            if (due - end >= 0) {
+                break;
+            }
+            long wait;
+            while ((wait = due - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            inFlight.acquire();
+            int pick = random.nextInt(picks.length);
+            send(pick, draw, due, due - measureFrom >= 0).whenComplete((response, failure) -> inFlight.release());
+        }
+        // Let the last requests complete or time out before the final report
+        inFlight.tryAcquire(options.maxInFlight(), options.timeout().toNanos() + TimeUnit.SECONDS.toNanos(1),
+                TimeUnit.NANOSECONDS);
+    }
+
+    private void closedLoop(long measureFrom, long end) throws InterruptedException {
+        List<Thread> callers = new ArrayList<>();
+        for (int i = 0; i < options.concurrency(); i++) {
+            SplittableRandom random = new SplittableRandom(options.seed() + i);
+            callers.add(Thread.ofVirtual().name("loadgen-caller-" + i).start(() -> {
+                Supplier<String> draw = () -> codes.next(random);
+                long due;
+                while ((due = System.nanoTime()) - end < 0) {
+                    send(random.nextInt(picks.length), draw, due, due - measureFrom >= 0)
+                            .exceptionally(failure -> null)
+                            .join();
+                }
+            }));
+        }
+        for (Thread caller : callers) {
+            caller.join();
+        }
+    }
+
+    private CompletableFuture<?> send(int pick, Supplier<String> draw, long due, boolean measured) {
+        long sent = System.nanoTime();
+        CompletableFuture<?> response;
+        try {
+            response = picks[pick].call(draw);
+        } catch (RuntimeException e) {
+            response = CompletableFuture.failedFuture(e);
+        }
+        if (!measured) {
+            return response;
+        }
+        OperationStats operation = stats[pick];
+        return response.whenComplete((value, failure) -> operation.record(due, sent, System.nanoTime(), failure));
+    }
+
+    private void report(List<OperationStats> operations, long measureFrom, HistogramLogWriter log) {
+        long elapsed = System.nanoTime() - measureFrom;
+        for (OperationStats operation : operations) {
+            OperationStats.Interval interval = operation.interval();
+            Histogram latency = interval.latency();
+            if (elapsed < 0) {
+                continue;
+            }
+            double seconds = (latency.getEndTimeStamp() - latency.getStartTimeStamp()) / 1000.0;
+            out.printf("[%5ds] %-18s %9.1f/s  p50 %8.3f  p99 %8.3f  max %9.3f ms  errors %d%n",
+                    TimeUnit.NANOSECONDS.toSeconds(elapsed), operation.name(),
+                    seconds > 0 ? latency.getTotalCount() / seconds : 0,
+                    millis(latency.getValueAtPercentile(50)), millis(latency.getValueAtPercentile(99)),
+                    millis(latency.getMaxValue()), operation.errorCount());
+            if (log != null) {
+                latency.setTag(operation.name());
+                log.outputIntervalHistogram(latency);
+                if (options.openLoop()) {
+                    interval.service().setTag(operation.name() + ".service");
+                    log.outputIntervalHistogram(interval.service());
+                }
+            }
+        }
+    }
+
+    static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+}
@@ -0,0 +1,18 @@
+package br.com.danilors.country.loadgen;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * One kind of request. {@link #call} sends it without blocking; the future completes once the
+ * whole response has been read, or fails with the reason the request failed.
+ */
+interface Operation {
+
+    String name();
+
+    /**
+     * @param codes draws the codes the request asks for, if it needs any
+     */
+    CompletableFuture<?> call(Supplier<String> codes);
+}
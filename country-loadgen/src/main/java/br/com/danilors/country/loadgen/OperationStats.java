@@ -0,0 +1,111 @@
+package br.com.danilors.country.loadgen;
+
+import io.grpc.Status;
+import io.grpc.StatusException;
+import io.grpc.StatusRuntimeException;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies and errors of one operation. Latency runs from when a request was due to when its
+ * response was read: in an open loop that includes any time spent waiting to be sent, which a
+ * closed loop cannot see (coordinated omission). Service time runs from when it was actually sent.
+ * Both are recorded in nanoseconds, failed requests included.
+ */
+final class OperationStats {
+
+    private final String name;
+    private final Recorder latency = new Recorder(3);
+    private final Recorder service = new Recorder(3);
+    private final Histogram totalLatency = new Histogram(3);
+    private final Histogram totalService = new Histogram(3);
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    OperationStats(String name) {
+        this.name = name;
+    }
+
+    String name() {
+        return name;
+    }
+
+    /**
+     * @param due     when the request should have been sent
+     * @param sent    when it was
+     * @param failure why it failed, or {@code null}
+     */
+    void record(long due, long sent, long done, Throwable failure) {
+        latency.recordValue(Math.max(done - due, 0));
+        service.recordValue(Math.max(done - sent, 0));
+        if (failure != null) {
+            errors.computeIfAbsent(kind(failure), kind -> new LongAdder()).increment();
+        }
+    }
+
+    /**
+     * Latencies and service times since the previous interval, also added to the totals.
+     */
+    synchronized Interval interval() {
+        Interval interval = new Interval(latency.getIntervalHistogram(), service.getIntervalHistogram());
+        totalLatency.add(interval.latency());
+        totalService.add(interval.service());
+        return interval;
+    }
+
+    /**
+     * Latencies of every interval so far.
+     */
+    synchronized Histogram totalLatency() {
+        return totalLatency.copy();
+    }
+
+    synchronized Histogram totalService() {
+        return totalService.copy();
+    }
+
+    /**
+     * Failed requests so far by {@link #kind}, sorted by kind.
+     */
+    Map<String, Long> errors() {
+        Map<String, Long> counts = new TreeMap<>();
+        errors.forEach((kind, count) -> counts.put(kind, count.sum()));
+        return counts;
+    }
+
+    long errorCount() {
+        return errors.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    /**
+     * The gRPC status code ({@code UNAVAILABLE}), the HTTP status ({@code HTTP 503}) or otherwise
+     * the exception's class ({@code HttpTimeoutException}).
+     */
+    static String kind(Throwable failure) {
+        Throwable cause = failure;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof RestOperations.HttpStatusException http) {
+            return "HTTP " + http.status();
+        }
+        if (cause instanceof CancellationException) {
+            return "CANCELLED";
+        }
+        if (cause instanceof StatusRuntimeException || cause instanceof StatusException) {
+            return Status.fromThrowable(cause).getCode().name();
+        }
+        return cause.getClass().getSimpleName();
+    }
+
+    record Interval(Histogram latency, Histogram service) {
+    }
+}
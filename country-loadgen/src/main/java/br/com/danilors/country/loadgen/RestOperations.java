@@ -0,0 +1,144 @@
+package br.com.danilors.country.loadgen;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The {@code /countries} routes of {@code country-client}, over the JDK HTTP client with HTTP/1.1
+ * keep-alive connections. Bodies are read to the end and discarded; any status other than 2xx
+ * fails the request.
+ */
+final class RestOperations {
+
+    private static final Pattern CODE = Pattern.compile("\"code\"\\s*:\\s*\"([^\"]*)\"");
+
+    private final HttpClient client;
+    private final URI countries;
+    private final Duration timeout;
+    private final int batchSize;
+
+    RestOperations(String baseUrl, Duration timeout, int batchSize) {
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .build();
+        this.countries = URI.create(baseUrl.replaceAll("/+$", "") + "/countries");
+        this.timeout = timeout;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * {@code GET /countries/{code}}
+     */
+    Operation get() {
+        return operation("rest-get", codes -> get(countries + "/" + codes.get()));
+    }
+
+    /**
+     * {@code GET /countries}, the JSON array of every country
+     */
+    Operation list() {
+        return operation("rest-list", codes -> get(countries.toString()));
+    }
+
+    /**
+     * {@code GET /countries/search?q={code}}
+     */
+    Operation search() {
+        return operation("rest-search",
+                codes -> get(countries + "/search?q=" + URLEncoder.encode(codes.get(), StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * {@code POST /countries/batch} with {@code --batch-size} codes
+     */
+    Operation batch() {
+        return operation("rest-batch", codes -> {
+            StringJoiner body = new StringJoiner("\",\"", "[\"", "\"]");
+            for (int i = 0; i < batchSize; i++) {
+                body.add(codes.get());
+            }
+            return request(countries + "/batch")
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                    .build();
+        });
+    }
+
+    /**
+     * Codes of every country {@code GET /countries} lists, in its order.
+     */
+    List<String> listCodes() throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(get(countries.toString()), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IOException("GET " + countries + " answered " + response.statusCode());
+        }
+        List<String> codes = new ArrayList<>();
+        Matcher code = CODE.matcher(response.body());
+        while (code.find()) {
+            codes.add(code.group(1));
+        }
+        return codes;
+    }
+
+    private Operation operation(String name, Function<Supplier<String>, HttpRequest> request) {
+        return new Operation() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public CompletableFuture<?> call(Supplier<String> codes) {
+                return client.sendAsync(request.apply(codes), HttpResponse.BodyHandlers.discarding())
+                        .thenApply(response -> {
+                            if (response.statusCode() / 100 != 2) {
+                                throw new HttpStatusException(response.statusCode());
+                            }
+                            return response;
+                        });
+            }
+        };
+    }
+
+    private HttpRequest get(String uri) {
+        return request(uri).GET().build();
+    }
+
+    private HttpRequest.Builder request(String uri) {
+        return HttpRequest.newBuilder(URI.create(uri))
+                .timeout(timeout)
+                .header("Accept", "application/json");
+    }
+
+    /**
+     * A response with a status other than 2xx.
+     */
+    static final class HttpStatusException extends RuntimeException {
+
+        private final int status;
+
+        HttpStatusException(int status) {
+            super("HTTP " + status, null, false, false);
+            this.status = status;
+        }
+
+        int status() {
+            return status;
+        }
+    }
+}
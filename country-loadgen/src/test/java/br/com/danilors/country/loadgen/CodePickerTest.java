@@ -0,0 +1,71 @@
+package br.com.danilors.country.loadgen;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CodePickerTest {
+
+    private static final List<String> CODES = IntStream.range(0, 250)
+            .mapToObj(i -> String.valueOf((char) ('A' + i / 26)) + (char) ('A' + i % 26))
+            .toList();
+    private static final int DRAWS = 100_000;
+
+    @Test
+    void zipfFavoursTheTopRanks() {
+        CodePicker picker = CodePicker.of(CODES, 1, 42);
+        Map<String, Integer> counts = draw(picker, new SplittableRandom(1));
+
+        // 1 / H(250) of the draws for rank 0, about 16.3%, and half of that for rank 1
+        double top = counts.getOrDefault(picker.ranked(0), 0) / (double) DRAWS;
+        double second = counts.getOrDefault(picker.ranked(1), 0) / (double) DRAWS;
+        assertTrue(top > 0.15 && top < 0.18, "Share of rank 0: " + top);
+        assertTrue(second > 0.07 && second < 0.095, "Share of rank 1: " + second);
+        int topQuarter = IntStream.range(0, 25).map(rank -> counts.getOrDefault(picker.ranked(rank), 0)).sum();
+        assertTrue(topQuarter > DRAWS / 2, "Draws of the 25 most popular codes: " + topQuarter);
+    }
+
+    @Test
+    void uniformDrawsEveryCodeAlike() {
+        CodePicker picker = CodePicker.of(CODES, 0, 42);
+        Map<String, Integer> counts = draw(picker, new SplittableRandom(1));
+
+        assertEquals(CODES.size(), counts.size());
+        // 400 draws expected per code, with a standard deviation of 20
+        counts.forEach((code, count) -> assertTrue(count > 300 && count < 500, code + " drawn " + count + " times"));
+    }
+
+    @Test
+    void sameSeedSameRankingAndDraws() {
+        CodePicker first = CodePicker.of(CODES, 1.2, 7);
+        CodePicker second = CodePicker.of(CODES, 1.2, 7);
+
+        assertEquals(first.ranked(0), second.ranked(0));
+        SplittableRandom a = new SplittableRandom(3);
+        SplittableRandom b = new SplittableRandom(3);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(first.next(a), second.next(b));
+        }
+    }
+
+    @Test
+    void noCodes() {
+        assertThrows(IllegalArgumentException.class, () -> CodePicker.of(List.of(), 1, 42));
+    }
+
+    private static Map<String, Integer> draw(CodePicker picker, SplittableRandom random) {
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < DRAWS; i++) {
+            counts.merge(picker.next(random), 1, Integer::sum);
+        }
+        return counts;
+    }
+}
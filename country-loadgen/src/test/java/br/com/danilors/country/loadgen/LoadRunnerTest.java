@@ -0,0 +1,116 @@
+package br.com.danilors.country.loadgen;
+
+import io.grpc.Status;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoadRunnerTest {
+
+    private static final PrintStream QUIET = new PrintStream(OutputStream.nullOutputStream());
+
+    private final ScheduledExecutorService server = Executors.newSingleThreadScheduledExecutor();
+
+    @AfterEach
+    void stopServer() {
+        server.shutdownNow();
+    }
+
+    @Test
+    void openLoopCountsTheWaitBehindAStall() throws Exception {
+        Histogram latency = run(LoadOptions.parse("--rate=1000", "--warmup=0s", "--duration=1s",
+                "--report-interval=1m"));
+
+        // A fifth of the requests are due during the 200 ms stall and wait for up to all of it
+        assertTrue(latency.getTotalCount() > 900, "Requests: " + latency.getTotalCount());
+        assertTrue(LoadRunner.millis(latency.getValueAtPercentile(99)) > 150, latency::toString);
+        assertTrue(LoadRunner.millis(latency.getValueAtPercentile(90)) > 50, latency::toString);
+    }
+
+    @Test
+    void closedLoopHidesTheStall() throws Exception {
+        Histogram latency = run(LoadOptions.parse("--concurrency=1", "--warmup=0s", "--duration=1s",
+                "--report-interval=1m"));
+
+        // The one caller waits out the stall once and sends nothing meanwhile
+        assertTrue(LoadRunner.millis(latency.getMaxValue()) > 150, latency::toString);
+        assertTrue(LoadRunner.millis(latency.getValueAtPercentile(99)) < 50, latency::toString);
+    }
+
+    @Test
+    void countsErrorsByKind() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        Operation failing = operation("failing", codes -> switch (calls.getAndIncrement() % 3) {
+            case 0 -> CompletableFuture.completedFuture(codes.get());
+            case 1 -> CompletableFuture.failedFuture(Status.UNAVAILABLE.asRuntimeException());
+            default -> CompletableFuture.failedFuture(new RestOperations.HttpStatusException(503));
+        });
+        LoadOptions options = LoadOptions.parse("--rate=300", "--warmup=0s", "--duration=1s", "--report-interval=1m");
+
+        OperationStats stats = new LoadRunner(Map.of(failing, 1), CodePicker.of(List.of("BR"), 0, 42), options,
+                QUIET).run().getFirst();
+
+        long total = stats.totalLatency().getTotalCount();
+        Map<String, Long> errors = stats.errors();
+        assertEquals(300, total, 3);
+        assertEquals(Set.of("UNAVAILABLE", "HTTP 503"), errors.keySet());
+        assertEquals(total / 3.0, errors.get("UNAVAILABLE"), 1);
+        assertEquals(total / 3.0, errors.get("HTTP 503"), 1);
+        assertEquals(errors.get("UNAVAILABLE") + errors.get("HTTP 503"), stats.errorCount());
+    }
+
+    /**
+     * Runs a server that answers in 1 ms but stalls for 200 ms starting 300 ms after the first request,
+     * answering everything it received meanwhile when the stall ends.
+     */
+    private Histogram run(LoadOptions options) throws Exception {
+        AtomicLong stallFrom = new AtomicLong();
+        Operation stalling = operation("stalling", codes -> {
+            long now = System.nanoTime();
+            stallFrom.compareAndSet(0, now + TimeUnit.MILLISECONDS.toNanos(300));
+            long stallUntil = stallFrom.get() + TimeUnit.MILLISECONDS.toNanos(200);
+            long delay = now - stallFrom.get() >= 0 && now - stallUntil < 0
+                    ? stallUntil - now
+                    : TimeUnit.MILLISECONDS.toNanos(1);
+            CompletableFuture<String> response = new CompletableFuture<>();
+            String code = codes.get();
+            server.schedule(() -> response.complete(code), delay, TimeUnit.NANOSECONDS);
+            return response;
+        });
+        return new LoadRunner(Map.of(stalling, 1), CodePicker.of(List.of("BR", "PT"), 1, 42), options, QUIET)
+                .run()
+                .getFirst()
+                .totalLatency();
+    }
+
+    private static Operation operation(String name, Function<Supplier<String>, CompletableFuture<?>> call) {
+        return new Operation() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public CompletableFuture<?> call(Supplier<String> codes) {
+                return call.apply(codes);
+            }
+        };
+    }
+}
@@ -1,13 +1,33 @@
 package br.com.danilors.country.server;
 
+import br.com.danilors.country.server.config.VirtualThreadPinningMonitor;
+import br.com.danilors.country.server.store.CountrySnapshotStore;
+import io.grpc.BindableService;
+import io.grpc.ServerInterceptor;
+import org.springframework.boot.LazyInitializationExcludeFilter;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableCaching
+@EnableScheduling
 public class CountryServerApplication {
 
 	public static void main(String[] args) {
 		SpringApplication.run(CountryServerApplication.class, args);
 	}
 
+	/**
+	 * With {@code spring.main.lazy-initialization} (the {@code fast-startup} profile), still creates
+	 * what the first call needs at startup: the loaded snapshot, the services and their interceptors.
+	 */
+	@Bean
+	static LazyInitializationExcludeFilter servingPathBeans() {
+		return LazyInitializationExcludeFilter.forBeanTypes(CountrySnapshotStore.class, BindableService.class,
+				ServerInterceptor.class, VirtualThreadPinningMonitor.class);
+	}
+
 }
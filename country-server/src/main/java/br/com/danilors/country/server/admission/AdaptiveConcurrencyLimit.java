@@ -0,0 +1,113 @@
+package br.com.danilors.country.server.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit that follows the latency of the calls it admits, after the gradient algorithm
+ * of Netflix's concurrency-limits library:
+ * <ul>
+ *     <li>a long-term average of the round-trip time stands for the latency without queueing</li>
+ *     <li>every sample compares it with the latest latency: {@code gradient = tolerance * longRtt / rtt},
+ *     capped to {@code [0.5, 1]}</li>
+ *     <li>the limit moves, smoothed, towards {@code limit * gradient + queueSize}. It shrinks while
+ *     calls get slower than usual and grows by {@code queueSize} while they do not</li>
+ * </ul>
+ * The limit does not grow while less than half of it is in use, since latency then says nothing
+ * about capacity. A call that ends in a timeout or cancellation counts as a drop and shrinks the
+ * limit by 10% at once. When latency stays well above the long-term average for good, the average
+ * drifts up towards it, so a permanently slower backend does not pin the limit at its minimum.
+ */
+public final class AdaptiveConcurrencyLimit {
+
+    private static final double TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    private static final double DROP_BACKOFF = 0.9;
+    private static final int LONG_WINDOW = 600;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inflight = new AtomicInteger();
+
+    // Guarded by this; limit is volatile so that tryAcquire reads it without locking
+    private volatile double limit;
+    private double longRttNanos;
+    private long samples;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit) {
+        if (minLimit < 1 || minLimit > initialLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= initial <= max, but were "
+                    + minLimit + ", " + initialLimit + ", " + maxLimit);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = initialLimit;
+    }
+
+    /**
+     * Takes a slot, or returns {@code false} when the limit is reached.
+     */
+    public boolean tryAcquire() {
+        int current;
+        do {
+            current = inflight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+        } while (!inflight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    /**
+     * Frees a slot taken by {@link #tryAcquire()} and feeds the call's latency into the limit.
+     *
+     * @param rttNanos time from admission to completion
+     * @param dropped  whether the call timed out or was cancelled, rather than answered
+     */
+    public void release(long rttNanos, boolean dropped) {
+        int inflightBefore = inflight.getAndDecrement();
+        synchronized (this) {
+            if (dropped) {
+                limit = Math.max(minLimit, limit * DROP_BACKOFF);
+                return;
+            }
+            samples++;
+            double rtt = Math.max(1, rttNanos);
+            // Exponential average over about LONG_WINDOW samples, a plain average until then
+            double weight = 1.0 / Math.min(samples, LONG_WINDOW);
+            longRttNanos += (rtt - longRttNanos) * weight;
+            if (longRttNanos / rtt > 2) {
+                // Latency recovered from a long slow period: let the average come back down faster
+                longRttNanos *= 0.95;
+            }
+            if (inflightBefore < limit / 2) {
+                return;
+            }
+            double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRttNanos / rtt));
+            double target = limit * gradient + queueSize();
+            double next = limit * (1 - SMOOTHING) + target * SMOOTHING;
+            limit = Math.max(minLimit, Math.min(maxLimit, next));
+        }
+    }
+
+    private double queueSize() {
+        // Headroom grows with the limit, so large limits probe for capacity proportionally
+        return Math.max(1, Math.sqrt(limit));
+    }
+
+    public int limit() {
+        return (int) limit;
+    }
+
+    public int inflight() {
+        return inflight.get();
+    }
+
+    /**
+     * Long-term average latency, the time a rejected caller should wait before trying again.
+     */
+    public long averageRttNanos() {
+        synchronized (this) {
+            return (long) longRttNanos;
+        }
+    }
+}
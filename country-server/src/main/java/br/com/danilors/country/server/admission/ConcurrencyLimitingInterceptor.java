@@ -0,0 +1,175 @@
+package br.com.danilors.country.server.admission;
+
+import io.grpc.ForwardingServerCall;
+import io.grpc.ForwardingServerCallListener;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.grpc.server.GlobalServerInterceptor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Admission control for the gRPC server. Every method gets its own
+ * {@link AdaptiveConcurrencyLimit}, so a burst of bulk streams uses up the streaming budget and
+ * not the one of {@code getCountry}. Unary and server-streaming methods start from separate
+ * settings. A call over its method's limit is closed at once with {@code RESOURCE_EXHAUSTED} and
+ * a {@code grpc-retry-pushback-ms} trailer, which gRPC clients with a retry policy honour, set to
+ * the method's average latency.
+ * <p>
+ * Long-lived streams ({@code country.admission.excluded-methods}: watches, bidirectional lookups
+ * and health checks by default) are not limited: they would hold a slot for good and their
+ * duration says nothing about load.
+ * <p>
+ * Runs inside {@code GrpcServerMetricsInterceptor}, so rejected calls show up in
+ * {@code grpc.server.calls} with their status. The interceptor also publishes
+ * {@code country.admission.limit}, {@code country.admission.inflight} and
+ * {@code country.admission.rejections} per method.
+ */
+@Component
+@GlobalServerInterceptor
+@Order(ConcurrencyLimitingInterceptor.ORDER)
+public class ConcurrencyLimitingInterceptor implements ServerInterceptor {
+
+    public static final int ORDER = 100;
+
+    static final Metadata.Key<String> RETRY_PUSHBACK_MS =
+            Metadata.Key.of("grpc-retry-pushback-ms", Metadata.ASCII_STRING_MARSHALLER);
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final Set<String> excludedMethods;
+    private final Budget unary;
+    private final Budget streaming;
+    private final Map<String, MethodLimit> limits = new ConcurrentHashMap<>();
+
+    public ConcurrencyLimitingInterceptor(
+            MeterRegistry meterRegistry,
+            @Value("${country.admission.enabled:true}") boolean enabled,
+            @Value("${country.admission.excluded-methods:}") Set<String> excludedMethods,
+            @Value("${country.admission.unary.initial-limit:200}") int unaryInitialLimit,
+            @Value("${country.admission.unary.min-limit:20}") int unaryMinLimit,
+            @Value("${country.admission.unary.max-limit:2000}") int unaryMaxLimit,
+            @Value("${country.admission.streaming.initial-limit:8}") int streamingInitialLimit,
+            @Value("${country.admission.streaming.min-limit:2}") int streamingMinLimit,
+            @Value("${country.admission.streaming.max-limit:64}") int streamingMaxLimit) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.excludedMethods = Set.copyOf(excludedMethods);
+        this.unary = new Budget(unaryInitialLimit, unaryMinLimit, unaryMaxLimit);
+        this.streaming = new Budget(streamingInitialLimit, streamingMinLimit, streamingMaxLimit);
+        // Fail at startup rather than on the first call
+        unary.newLimit();
+        streaming.newLimit();
+    }
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(ServerCall<ReqT, RespT> call, Metadata headers,
+                                                                 ServerCallHandler<ReqT, RespT> next) {
+        MethodDescriptor<ReqT, RespT> method = call.getMethodDescriptor();
+        if (!enabled || excludedMethods.contains(method.getFullMethodName())) {
+            return next.startCall(call, headers);
+        }
+        MethodLimit methodLimit = limits.get(method.getFullMethodName());
+        if (methodLimit == null) {
+            methodLimit = limits.computeIfAbsent(method.getFullMethodName(), name ->
+                    new MethodLimit(name, method.getType() == MethodDescriptor.MethodType.UNARY ? unary : streaming));
+        }
+        AdaptiveConcurrencyLimit limit = methodLimit.limit;
+        if (!limit.tryAcquire()) {
+            methodLimit.rejections.increment();
+            long pushbackMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(limit.averageRttNanos()));
+            Metadata trailers = new Metadata();
+            trailers.put(RETRY_PUSHBACK_MS, Long.toString(pushbackMillis));
+            call.close(Status.RESOURCE_EXHAUSTED.withDescription("Concurrency limit of " + limit.limit()
+                    + " reached for " + method.getBareMethodName() + ", retry after " + pushbackMillis + " ms"), trailers);
+            return new ServerCall.Listener<>() {
+            };
+        }
+
+        long start = System.nanoTime();
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable answered = () -> {
+            if (released.compareAndSet(false, true)) {
+                limit.release(System.nanoTime() - start, false);
+            }
+        };
+        Runnable dropped = () -> {
+            if (released.compareAndSet(false, true)) {
+                limit.release(System.nanoTime() - start, true);
+            }
+        };
+
+        ServerCall<ReqT, RespT> limitedCall = new ForwardingServerCall.SimpleForwardingServerCall<>(call) {
+            @Override
+            public void close(Status status, Metadata trailers) {
+                if (status.getCode() == Status.Code.DEADLINE_EXCEEDED || status.getCode() == Status.Code.CANCELLED) {
+                    dropped.run();
+                } else {
+                    answered.run();
+                }
+                super.close(status, trailers);
+            }
+        };
+        ServerCall.Listener<ReqT> listener;
+        try {
+            listener = next.startCall(limitedCall, headers);
+        } catch (RuntimeException e) {
+            answered.run();
+            throw e;
+        }
+        return new ForwardingServerCallListener.SimpleForwardingServerCallListener<>(listener) {
+            @Override
+            public void onCancel() {
+                // Client cancellation or deadline: close() is not called
+                dropped.run();
+                super.onCancel();
+            }
+
+            @Override
+            public void onComplete() {
+                answered.run();
+                super.onComplete();
+            }
+        };
+    }
+
+    private record Budget(int initialLimit, int minLimit, int maxLimit) {
+
+        AdaptiveConcurrencyLimit newLimit() {
+            return new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit);
+        }
+    }
+
+    private final class MethodLimit {
+
+        private final AdaptiveConcurrencyLimit limit;
+        private final Counter rejections;
+
+        MethodLimit(String method, Budget budget) {
+            this.limit = budget.newLimit();
+            Gauge.builder("country.admission.limit", limit, AdaptiveConcurrencyLimit::limit)
+                    .tag("method", method)
+                    .register(meterRegistry);
+            Gauge.builder("country.admission.inflight", limit, AdaptiveConcurrencyLimit::inflight)
+                    .tag("method", method)
+                    .register(meterRegistry);
+            this.rejections = Counter.builder("country.admission.rejections")
+                    .tag("method", method)
+                    .register(meterRegistry);
+        }
+    }
+}
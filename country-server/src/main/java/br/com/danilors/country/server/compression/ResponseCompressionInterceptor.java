@@ -0,0 +1,74 @@
+package br.com.danilors.country.server.compression;
+
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.grpc.server.GlobalServerInterceptor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Compresses the responses of the bulk methods in {@code country.compression.methods}. The
+ * encoding is the first of {@code country.compression.encodings} that the client lists in
+ * {@code grpc-accept-encoding}; a client that accepts none of them gets plain messages.
+ * <p>
+ * gRPC compresses message by message, and a single {@code CountryResponse} is smaller than a gzip
+ * header, so compression only pays for methods whose messages are large, such as
+ * {@code listAllCountriesBatched}, and not for {@code getCountry} or the one-country-per-message
+ * streams.
+ */
+@Component
+@GlobalServerInterceptor
+@Order(ResponseCompressionInterceptor.ORDER)
+public class ResponseCompressionInterceptor implements ServerInterceptor {
+
+    // Inside admission control: calls it rejects have nothing to compress
+    public static final int ORDER = 200;
+
+    static final Metadata.Key<String> ACCEPT_ENCODING =
+            Metadata.Key.of("grpc-accept-encoding", Metadata.ASCII_STRING_MARSHALLER);
+
+    private final boolean enabled;
+    private final Set<String> methods;
+    private final List<String> encodings;
+
+    public ResponseCompressionInterceptor(
+            @Value("${country.compression.enabled:true}") boolean enabled,
+            @Value("${country.compression.methods:}") Set<String> methods,
+            @Value("${country.compression.encodings:zstd,gzip}") List<String> encodings) {
+        this.enabled = enabled;
+        this.methods = Set.copyOf(methods);
+        this.encodings = encodings.stream().map(encoding -> encoding.trim().toLowerCase(Locale.ROOT)).toList();
+    }
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(ServerCall<ReqT, RespT> call, Metadata headers,
+                                                                 ServerCallHandler<ReqT, RespT> next) {
+        if (enabled && methods.contains(call.getMethodDescriptor().getFullMethodName())) {
+            String encoding = negotiate(headers.get(ACCEPT_ENCODING));
+            if (encoding != null) {
+                call.setCompression(encoding);
+            }
+        }
+        return next.startCall(call, headers);
+    }
+
+    String negotiate(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isEmpty()) {
+            return null;
+        }
+        List<String> accepted = List.of(acceptEncoding.toLowerCase(Locale.ROOT).trim().split("\\s*,\\s*"));
+        for (String encoding : encodings) {
+            if (accepted.contains(encoding)) {
+                return encoding;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,21 @@
+package br.com.danilors.country.server.config;
+
+import br.com.danilors.country.common.compression.ZstdCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Makes {@code zstd} available to the gRPC server next to the built-in {@code gzip}: Spring gRPC
+ * adds every {@link io.grpc.Compressor} bean to the compressor registry it configures the server
+ * with. Whether a response is compressed at all is decided per call by
+ * {@link br.com.danilors.country.server.compression.ResponseCompressionInterceptor}.
+ */
+@Configuration(proxyBeanMethods = false)
+public class CompressionConfiguration {
+
+    @Bean
+    ZstdCodec zstdCodec(@Value("${country.compression.zstd-level:3}") int level) {
+        return new ZstdCodec(level);
+    }
+}
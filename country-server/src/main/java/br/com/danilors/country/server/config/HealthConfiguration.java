@@ -0,0 +1,37 @@
+package br.com.danilors.country.server.config;
+
+import br.com.danilors.country.CountryServiceGrpc;
+import br.com.danilors.country.server.health.GracefulDrain;
+import br.com.danilors.country.server.health.WarmUpRunner;
+import io.grpc.health.v1.HealthCheckResponse.ServingStatus;
+import io.grpc.protobuf.services.HealthStatusManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Replaces Spring gRPC's {@link HealthStatusManager}, which reports {@code SERVING} from the
+ * start, with one that reports {@code NOT_SERVING} for the server as a whole ({@code ""}) and for
+ * {@code country.CountryService} until {@link WarmUpRunner} is done. {@link GracefulDrain} turns
+ * both back to {@code NOT_SERVING} on shutdown.
+ * <p>
+ * With {@code spring.grpc.server.health.actuator.health-indicator-paths} set, Spring gRPC also
+ * copies the Actuator health into the overall status every few seconds, overriding this one.
+ */
+@Configuration(proxyBeanMethods = false)
+public class HealthConfiguration {
+
+    /**
+     * Services whose status the health service reports.
+     */
+    public static final List<String> SERVICES =
+            List.of(HealthStatusManager.SERVICE_NAME_ALL_SERVICES, CountryServiceGrpc.SERVICE_NAME);
+
+    @Bean
+    public HealthStatusManager healthStatusManager() {
+        HealthStatusManager health = new HealthStatusManager();
+        SERVICES.forEach(service -> health.setStatus(service, ServingStatus.NOT_SERVING));
+        return health;
+    }
+}
@@ -0,0 +1,41 @@
+package br.com.danilors.country.server.config;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.grpc.autoconfigure.server.GrpcServerExecutorProvider;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs gRPC handlers on virtual threads when {@code spring.threads.virtual.enabled} is set, the
+ * same switch Spring Boot uses for its own executors.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfiguration {
+
+    @Bean
+    VirtualThreadExecutorProvider grpcServerExecutorProvider() {
+        return new VirtualThreadExecutorProvider();
+    }
+
+    static final class VirtualThreadExecutorProvider implements GrpcServerExecutorProvider, DisposableBean {
+
+        private final ExecutorService executor =
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("grpc-vt-", 0).factory());
+
+        @Override
+        public ExecutorService getExecutor() {
+            return executor;
+        }
+
+        @Override
+        public void destroy() {
+            executor.close();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package br.com.danilors.country.server.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Reports virtual threads that stay pinned to their carrier longer than a threshold, using the JFR
+ * {@code jdk.VirtualThreadPinned} event. Pins raised while in the JDBC path (the repository, the
+ * connection pool or the driver) are called out, since they block a carrier for a whole query.
+ * Both are counted as {@code country.virtual-threads.pinned}, tagged {@code path=jdbc} or
+ * {@code path=other}.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@ConditionalOnProperty(name = "country.virtual-threads.pinning-detection.enabled", havingValue = "true", matchIfMissing = true)
+public class VirtualThreadPinningMonitor implements InitializingBean, DisposableBean, MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final List<String> JDBC_FRAMES = List.of(
+            "br.com.danilors.country.server.repository.", "com.zaxxer.hikari.", "org.h2.", "java.sql.", "org.hibernate.");
+
+    private final Duration threshold;
+    private final AtomicLong jdbcPinnedEvents = new AtomicLong();
+    private final AtomicLong otherPinnedEvents = new AtomicLong();
+
+    private RecordingStream recording;
+
+    public VirtualThreadPinningMonitor(
+            @Value("${country.virtual-threads.pinning-detection.threshold:20ms}") Duration threshold) {
+        this.threshold = threshold;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        recording = new RecordingStream();
+        recording.enable("jdk.VirtualThreadPinned").withThreshold(threshold).withStackTrace();
+        recording.onEvent("jdk.VirtualThreadPinned", this::onPinned);
+        recording.startAsync();
+        log.info("Virtual thread pinning detection enabled (threshold {} ms)", threshold.toMillis());
+    }
+
+    private void onPinned(RecordedEvent event) {
+        List<RecordedFrame> frames = event.getStackTrace() == null ? List.of() : event.getStackTrace().getFrames();
+        boolean jdbc = frames.stream().anyMatch(frame -> isJdbcFrame(frame.getMethod().getType().getName()));
+        (jdbc ? jdbcPinnedEvents : otherPinnedEvents).incrementAndGet();
+        log.warn("Virtual thread pinned for {} ms{}:\n\t{}",
+                event.getDuration().toMillis(),
+                jdbc ? " in the JDBC path" : "",
+                frames.stream().limit(12)
+                        .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                                + ":" + frame.getLineNumber())
+                        .collect(Collectors.joining("\n\t")));
+    }
+
+    private static boolean isJdbcFrame(String className) {
+        for (String prefix : JDBC_FRAMES) {
+            if (className.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public long getPinnedEvents() {
+        return jdbcPinnedEvents.get() + otherPinnedEvents.get();
+    }
+
+    public long getJdbcPinnedEvents() {
+        return jdbcPinnedEvents.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("country.virtual-threads.pinned", jdbcPinnedEvents, AtomicLong::get)
+                .description("Virtual threads pinned longer than the threshold")
+                .tags("path", "jdbc")
+                .register(registry);
+        FunctionCounter.builder("country.virtual-threads.pinned", otherPinnedEvents, AtomicLong::get)
+                .description("Virtual threads pinned longer than the threshold")
+                .tags("path", "other")
+                .register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        recording.close();
+    }
+}
@@ -1,16 +1,43 @@
 package br.com.danilors.country.server.domain;
 
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.util.Map;
 
 @Entity
-@Table(name = "country")
+// Bulk upserts find the rows they versioned through the index on version
+@Table(name = "country", indexes = @Index(name = "country_version_idx", columnList = "version"))
 public class Country {
 
     @Id
     private String code;
     private String description;
+    private String alpha3;
+    private String numericCode;
+    private String region;
+    private String currency;
+    private String callingCode;
+
+    /**
+     * Short names by language tag, stored as one JSON object so a row is still read in one go.
+     */
+    @Convert(converter = CountryNamesConverter.class)
+    @Column(length = 4000)
+    private Map<String, String> names;
+
+    /**
+     * Change-log version of the last write to this row; {@code 0} for rows that were never written
+     * through {@code CountryService} (the seed data).
+     */
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
 
     public Country() {
     }
@@ -35,4 +62,60 @@ public class Country {
     public void setDescription(String description) {
         this.description = description;
     }
+
+    public String getAlpha3() {
+        return alpha3;
+    }
+
+    public void setAlpha3(String alpha3) {
+        this.alpha3 = alpha3;
+    }
+
+    public String getNumericCode() {
+        return numericCode;
+    }
+
+    public void setNumericCode(String numericCode) {
+        this.numericCode = numericCode;
+    }
+
+    public String getRegion() {
+        return region;
+    }
+
+    public void setRegion(String region) {
+        this.region = region;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+
+    public String getCallingCode() {
+        return callingCode;
+    }
+
+    public void setCallingCode(String callingCode) {
+        this.callingCode = callingCode;
+    }
+
+    public Map<String, String> getNames() {
+        return names;
+    }
+
+    public void setNames(Map<String, String> names) {
+        this.names = names;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,67 @@
+package br.com.danilors.country.server.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+
+/**
+ * One write to the country table. {@code version} comes from a sequence shared by every write, so
+ * it orders all changes and doubles as the version of the data set as a whole.
+ */
+@Entity
+@Table(name = "country_change_log")
+public class CountryChangeLog {
+
+    public enum Type {
+        UPSERT,
+        DELETE
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "country_version")
+    @SequenceGenerator(name = "country_version", sequenceName = "country_version_seq", allocationSize = 1)
+    private Long version;
+
+    @Column(nullable = false)
+    private String code;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Type type;
+
+    @Column(nullable = false)
+    private Instant changedAt;
+
+    public CountryChangeLog() {
+    }
+
+    public CountryChangeLog(String code, Type type, Instant changedAt) {
+        this.code = code;
+        this.type = type;
+        this.changedAt = changedAt;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Instant getChangedAt() {
+        return changedAt;
+    }
+}
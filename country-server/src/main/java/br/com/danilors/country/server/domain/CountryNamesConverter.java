@@ -0,0 +1,57 @@
+package br.com.danilors.country.server.domain;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Stores {@link Country#getNames()} as a JSON object with sorted keys, so equal maps are stored as
+ * equal strings and a bulk merge can compare the column as it is.
+ */
+@Converter
+public class CountryNamesConverter implements AttributeConverter<Map<String, String>, String> {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final TypeReference<TreeMap<String, String>> NAMES = new TypeReference<>() {
+    };
+
+    @Override
+    public String convertToDatabaseColumn(Map<String, String> names) {
+        return toJson(names);
+    }
+
+    @Override
+    public Map<String, String> convertToEntityAttribute(String json) {
+        return fromJson(json);
+    }
+
+    public static String toJson(Map<String, String> names) {
+        if (names == null || names.isEmpty()) {
+            return null;
+        }
+        try {
+            return MAPPER.writeValueAsString(new TreeMap<>(names));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Could not write country names", e);
+        }
+    }
+
+    /**
+     * @return the names, empty for a {@code null} column
+     */
+    public static Map<String, String> fromJson(String json) {
+        if (json == null || json.isBlank()) {
+            return Map.of();
+        }
+        try {
+            return MAPPER.readValue(json, NAMES);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Could not read country names: " + json, e);
+        }
+    }
+}
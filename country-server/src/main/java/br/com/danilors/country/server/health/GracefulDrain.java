@@ -0,0 +1,60 @@
+package br.com.danilors.country.server.health;
+
+import io.grpc.protobuf.services.HealthStatusManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.grpc.server.lifecycle.GrpcServerShutdownEvent;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Stops advertising {@code SERVING} as soon as the gRPC server starts shutting down, before it
+ * stops accepting calls. Health checks and {@code Health/Watch} streams see {@code NOT_SERVING}
+ * at once, and later status changes, such as a warm-up that ends during shutdown, are ignored.
+ * <p>
+ * The server then keeps accepting calls for {@code country.drain.delay}, long enough for load
+ * balancers polling the health service to route new calls elsewhere. After that Spring gRPC shuts
+ * the server down: in-flight calls and streams get {@code spring.grpc.server.shutdown-grace-period}
+ * to finish before the rest are cancelled.
+ */
+@Component
+public class GracefulDrain {
+
+    private static final Logger log = LoggerFactory.getLogger(GracefulDrain.class);
+
+    private final HealthStatusManager health;
+    private final Duration delay;
+    private final AtomicBoolean draining = new AtomicBoolean();
+
+    public GracefulDrain(HealthStatusManager health, @Value("${country.drain.delay:0s}") Duration delay) {
+        this.health = health;
+        this.delay = delay;
+    }
+
+    /**
+     * Runs on the thread stopping the server, right before it stops accepting calls.
+     */
+    @EventListener
+    public void onShutdown(GrpcServerShutdownEvent event) {
+        if (!draining.compareAndSet(false, true)) {
+            return;
+        }
+        health.enterTerminalState();
+        log.info("Reporting NOT_SERVING, draining for {} ms before the gRPC server stops", delay.toMillis());
+        if (delay.isPositive()) {
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    public boolean isDraining() {
+        return draining.get();
+    }
+}
@@ -0,0 +1,173 @@
+package br.com.danilors.country.server.health;
+
+import br.com.danilors.country.AllCountriesRequest;
+import br.com.danilors.country.CountryRequest;
+import br.com.danilors.country.CountryResponse;
+import br.com.danilors.country.CountryServiceGrpc;
+import br.com.danilors.country.server.config.HealthConfiguration;
+import br.com.danilors.country.server.service.CountryGrpcService;
+import br.com.danilors.country.server.service.CountryService;
+import br.com.danilors.country.server.store.CountrySnapshotStore;
+import com.google.protobuf.FieldMask;
+import io.grpc.Deadline;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.health.v1.HealthCheckResponse.ServingStatus;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.protobuf.services.HealthStatusManager;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Warms the serving path up before the health service reports {@code SERVING}, so that a load
+ * balancer does not route the first few thousand calls to interpreted code and cold caches.
+ * <p>
+ * Calls {@code getCountry} for every code in turn and, every {@value #LIST_EVERY} calls,
+ * {@code listAllCountries}, alternating the default and the full field mask. The calls reach
+ * {@link CountryGrpcService} over a private in-process channel, so they run its handlers and
+ * pre-encoded marshallers and the protobuf parsing of the responses, but not the Netty transport
+ * nor the global interceptors: they stay out of {@code grpc.server.calls} and do not teach the
+ * admission limits cold latencies. Each listing also queries the data version, which opens
+ * database connections and compiles the query path of snapshot refreshes.
+ * <p>
+ * Runs once the context has started and the server is accepting calls. It stops after
+ * {@code country.warm-up.iterations} calls or when {@code country.warm-up.budget} runs out,
+ * whichever comes first, and a failed call ends it early; the health service then reports
+ * {@code SERVING} in every case. With {@code country.warm-up.enabled=false}, it reports
+ * {@code SERVING} right away. Publishes {@code country.warm-up.duration} and
+ * {@code country.warm-up.calls}.
+ */
+@Component
+public class WarmUpRunner implements ApplicationRunner, MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(WarmUpRunner.class);
+
+    static final int LIST_EVERY = 50;
+
+    private static final List<FieldMask> MASKS =
+            List.of(FieldMask.getDefaultInstance(), FieldMask.newBuilder().addPaths("*").build());
+
+    private final CountryGrpcService countryGrpcService;
+    private final CountrySnapshotStore countrySnapshotStore;
+    private final CountryService countryService;
+    private final HealthStatusManager health;
+    private final boolean enabled;
+    private final int iterations;
+    private final Duration budget;
+
+    private volatile long calls;
+    private volatile long durationNanos;
+
+    public WarmUpRunner(CountryGrpcService countryGrpcService,
+                        CountrySnapshotStore countrySnapshotStore,
+                        CountryService countryService,
+                        HealthStatusManager health,
+                        @Value("${country.warm-up.enabled:true}") boolean enabled,
+                        @Value("${country.warm-up.iterations:10000}") int iterations,
+                        @Value("${country.warm-up.budget:30s}") Duration budget) {
+        this.countryGrpcService = countryGrpcService;
+        this.countrySnapshotStore = countrySnapshotStore;
+        this.countryService = countryService;
+        this.health = health;
+        this.enabled = enabled;
+        this.iterations = iterations;
+        this.budget = budget;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (enabled) {
+            warmUp();
+        }
+        HealthConfiguration.SERVICES.forEach(service -> health.setStatus(service, ServingStatus.SERVING));
+    }
+
+    void warmUp() {
+        List<String> codes = countrySnapshotStore.current().all().stream().map(CountryResponse::getCode).toList();
+        if (codes.isEmpty()) {
+            log.warn("No countries loaded, skipping warm-up");
+            return;
+        }
+        long start = System.nanoTime();
+        Deadline deadline = Deadline.after(budget.toNanos(), TimeUnit.NANOSECONDS);
+        String name = InProcessServerBuilder.generateName();
+        Server server;
+        try {
+            server = InProcessServerBuilder.forName(name).addService(countryGrpcService).build().start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start the warm-up server", e);
+        }
+        ManagedChannel channel = InProcessChannelBuilder.forName(name).build();
+        int call = 0;
+        try {
+            CountryServiceGrpc.CountryServiceBlockingStub stub =
+                    CountryServiceGrpc.newBlockingStub(channel).withDeadline(deadline);
+            for (; call < iterations && !deadline.isExpired(); call++) {
+                stub.getCountry(CountryRequest.newBuilder()
+                        .setCode(codes.get(call % codes.size()))
+                        .setFields(MASKS.get(call % MASKS.size()))
+                        .build());
+                if (call % LIST_EVERY == 0) {
+                    stub.listAllCountries(AllCountriesRequest.newBuilder()
+                                    .setFields(MASKS.get(call / LIST_EVERY % MASKS.size()))
+                                    .build())
+                            .forEachRemaining(country -> {
+                            });
+                    countryService.currentVersion();
+                }
+            }
+        } catch (StatusRuntimeException e) {
+            // The budget ran out in the middle of a call
+            if (e.getStatus().getCode() != Status.Code.DEADLINE_EXCEEDED) {
+                log.warn("Warm-up call failed, ending warm-up", e);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Warm-up failed, ending it", e);
+        } finally {
+            channel.shutdownNow();
+            server.shutdownNow();
+        }
+        calls = call;
+        durationNanos = System.nanoTime() - start;
+        log.info("Warmed up with {} getCountry calls in {} ms{}", call, durationNanos / 1_000_000,
+                deadline.isExpired() ? " (budget of " + budget.toMillis() + " ms ran out)" : "");
+    }
+
+    /**
+     * Number of {@code getCountry} calls made by the warm-up.
+     */
+    public long getCalls() {
+        return calls;
+    }
+
+    public Duration getDuration() {
+        return Duration.ofNanos(durationNanos);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        TimeGauge.builder("country.warm-up.duration", this, TimeUnit.NANOSECONDS, runner -> runner.durationNanos)
+                .description("Time spent warming up before reporting SERVING")
+                .register(registry);
+        FunctionCounter.builder("country.warm-up.calls", this, WarmUpRunner::getCalls)
+                .description("getCountry calls made by the warm-up")
+                .register(registry);
+    }
+}
@@ -0,0 +1,192 @@
+package br.com.danilors.country.server.metrics;
+
+import com.google.protobuf.MessageLite;
+import io.grpc.ForwardingServerCall;
+import io.grpc.ForwardingServerCallListener;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.core.annotation.Order;
+import org.springframework.grpc.server.GlobalServerInterceptor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Records per-method metrics for every call served:
+ * <ul>
+ *     <li>{@code grpc.server.calls}: latency histogram, tagged with the final status code</li>
+ *     <li>{@code grpc.server.calls.active}: calls in flight</li>
+ *     <li>{@code grpc.server.stream.messages} and {@code grpc.server.stream.bytes}: messages and
+ *     payload bytes per call, by direction</li>
+ * </ul>
+ * Meters are resolved once per method and status and then reused, so a call only costs a few
+ * counter updates. Payload sizes come from the protobuf messages (or pre-encoded frames) and do
+ * not include gRPC framing or compression.
+ * <p>
+ * Runs before every other interceptor, so calls they reject are recorded as well.
+ */
+@Component
+@GlobalServerInterceptor
+@Order(GrpcServerMetricsInterceptor.ORDER)
+public class GrpcServerMetricsInterceptor implements ServerInterceptor {
+
+    public static final int ORDER = 0;
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, MethodMeters> meters = new ConcurrentHashMap<>();
+
+    public GrpcServerMetricsInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(ServerCall<ReqT, RespT> call, Metadata headers,
+                                                                 ServerCallHandler<ReqT, RespT> next) {
+        String method = call.getMethodDescriptor().getFullMethodName();
+        MethodMeters methodMeters = meters.get(method);
+        if (methodMeters == null) {
+            methodMeters = meters.computeIfAbsent(method, MethodMeters::new);
+        }
+        CallMetrics metrics = new CallMetrics(methodMeters);
+
+        ServerCall<ReqT, RespT> monitoredCall = new ForwardingServerCall.SimpleForwardingServerCall<>(call) {
+            @Override
+            public void sendMessage(RespT message) {
+                metrics.sent(message);
+                super.sendMessage(message);
+            }
+
+            @Override
+            public void close(Status status, Metadata trailers) {
+                metrics.finish(status.getCode());
+                super.close(status, trailers);
+            }
+        };
+
+        ServerCall.Listener<ReqT> listener;
+        try {
+            listener = next.startCall(monitoredCall, headers);
+        } catch (RuntimeException e) {
+            metrics.finish(Status.fromThrowable(e).getCode());
+            throw e;
+        }
+        return new ForwardingServerCallListener.SimpleForwardingServerCallListener<>(listener) {
+            @Override
+            public void onMessage(ReqT message) {
+                metrics.received(message);
+                super.onMessage(message);
+            }
+
+            @Override
+            public void onCancel() {
+                // Client cancellation or deadline: close() is not called
+                metrics.finish(Status.Code.CANCELLED);
+                super.onCancel();
+            }
+        };
+    }
+
+    static long sizeOf(Object message) {
+        if (message instanceof MessageLite protobuf) {
+            return protobuf.getSerializedSize();
+        }
+        if (message instanceof byte[] frame) {
+            return frame.length;
+        }
+        return 0;
+    }
+
+    private final class MethodMeters {
+
+        private final String method;
+        private final Timer[] calls = new Timer[Status.Code.values().length];
+        private final AtomicInteger active = new AtomicInteger();
+        private final DistributionSummary messagesSent;
+        private final DistributionSummary messagesReceived;
+        private final DistributionSummary bytesSent;
+        private final DistributionSummary bytesReceived;
+
+        MethodMeters(String method) {
+            this.method = method;
+            Gauge.builder("grpc.server.calls.active", active, AtomicInteger::get)
+                    .tag("method", method)
+                    .register(meterRegistry);
+            messagesSent = stream("grpc.server.stream.messages", "sent", null);
+            messagesReceived = stream("grpc.server.stream.messages", "received", null);
+            bytesSent = stream("grpc.server.stream.bytes", "sent", "bytes");
+            bytesReceived = stream("grpc.server.stream.bytes", "received", "bytes");
+        }
+
+        private DistributionSummary stream(String name, String direction, String baseUnit) {
+            return DistributionSummary.builder(name)
+                    .tag("method", method)
+                    .tag("direction", direction)
+                    .baseUnit(baseUnit)
+                    .register(meterRegistry);
+        }
+
+        Timer calls(Status.Code code) {
+            Timer timer = calls[code.ordinal()];
+            if (timer == null) {
+                // Racing threads get the same meter back from the registry
+                timer = Timer.builder("grpc.server.calls")
+                        .tag("method", method)
+                        .tag("status", code.name())
+                        .publishPercentileHistogram()
+                        .register(meterRegistry);
+                calls[code.ordinal()] = timer;
+            }
+            return timer;
+        }
+    }
+
+    private static final class CallMetrics {
+
+        private final MethodMeters meters;
+        private final long startNanos = System.nanoTime();
+        private final AtomicBoolean finished = new AtomicBoolean();
+        // Each direction has a single writer; finish() runs after both are done
+        private volatile long messagesSent;
+        private volatile long messagesReceived;
+        private volatile long bytesSent;
+        private volatile long bytesReceived;
+
+        CallMetrics(MethodMeters meters) {
+            this.meters = meters;
+            meters.active.incrementAndGet();
+        }
+
+        void sent(Object message) {
+            messagesSent++;
+            bytesSent += sizeOf(message);
+        }
+
+        void received(Object message) {
+            messagesReceived++;
+            bytesReceived += sizeOf(message);
+        }
+
+        void finish(Status.Code code) {
+            if (!finished.compareAndSet(false, true)) {
+                return;
+            }
+            meters.active.decrementAndGet();
+            meters.calls(code).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+            meters.messagesSent.record(messagesSent);
+            meters.messagesReceived.record(messagesReceived);
+            meters.bytesSent.record(bytesSent);
+            meters.bytesReceived.record(bytesReceived);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package br.com.danilors.country.server.repository;
+
+import br.com.danilors.country.server.domain.CountryChangeLog;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CountryChangeLogRepository extends CrudRepository<CountryChangeLog, Long> {
+
+    @Query("SELECT COALESCE(MAX(c.version), 0) FROM CountryChangeLog c")
+    long findLatestVersion();
+
+    @Query("SELECT c FROM CountryChangeLog c WHERE c.version > :after AND c.version <= :upTo ORDER BY c.version")
+    List<CountryChangeLog> findChanges(@Param("after") long after, @Param("upTo") long upTo);
+}
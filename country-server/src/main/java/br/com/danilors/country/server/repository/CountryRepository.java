@@ -1,8 +1,11 @@
 package br.com.danilors.country.server.repository;
 
 import br.com.danilors.country.server.domain.Country;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 
@@ -11,5 +14,9 @@ import java.util.stream.Stream;
 @Repository
 public interface CountryRepository extends CrudRepository<Country, String> {
     @Query("SELECT c FROM Country c")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "256"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
     Stream<Country> streamAll();
 }
@@ -0,0 +1,9 @@
+package br.com.danilors.country.server.service;
+
+/**
+ * Published after a write through {@link CountryService} has been committed.
+ *
+ * @param version change-log version of the write
+ */
+public record CountriesChangedEvent(long version) {
+}
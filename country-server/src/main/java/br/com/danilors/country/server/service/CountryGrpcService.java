@@ -1,66 +1,468 @@
 package br.com.danilors.country.server.service;
 
+import br.com.danilors.country.AllCountriesBatchedRequest;
 import br.com.danilors.country.AllCountriesRequest;
+import br.com.danilors.country.CountriesRequest;
+import br.com.danilors.country.CountriesResponse;
+import br.com.danilors.country.CountriesSinceRequest;
+import br.com.danilors.country.CountryBatch;
+import br.com.danilors.country.CountryChange;
 import br.com.danilors.country.CountryRequest;
 import br.com.danilors.country.CountryResponse;
 import br.com.danilors.country.CountryServiceGrpc;
+import br.com.danilors.country.SearchCountriesRequest;
+import br.com.danilors.country.SearchCountriesResponse;
+import br.com.danilors.country.UpsertCountriesRequest;
+import br.com.danilors.country.UpsertCountriesResponse;
+import br.com.danilors.country.WatchCountriesRequest;
+import br.com.danilors.country.common.code.CountryCodes;
+import br.com.danilors.country.server.store.CountryFields;
+import br.com.danilors.country.server.store.CountryProjection;
+import br.com.danilors.country.server.store.CountrySnapshot;
+import br.com.danilors.country.server.store.CountrySnapshotStore;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.FieldMask;
+import io.grpc.BindableService;
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerMethodDefinition;
+import io.grpc.ServerServiceDefinition;
+import io.grpc.ServiceDescriptor;
 import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.ServerCalls;
 import io.grpc.stub.StreamObserver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.grpc.server.service.GrpcService;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
 
 @GrpcService
-public class CountryGrpcService extends CountryServiceGrpc.CountryServiceImplBase {
+public class CountryGrpcService implements CountryServiceGrpc.AsyncService, BindableService {
 
     private static final Logger log = LoggerFactory.getLogger(CountryGrpcService.class);
 
-    private final CountryService countryService;
+    /**
+     * Wire variant of {@code listAllCountries} that writes the snapshot's pre-encoded frames as-is.
+     */
+    static final MethodDescriptor<AllCountriesRequest, byte[]> LIST_ALL_COUNTRIES_ENCODED =
+            CountryServiceGrpc.getListAllCountriesMethod()
+                    .toBuilder(CountryServiceGrpc.getListAllCountriesMethod().getRequestMarshaller(),
+                            PreEncodedMarshaller.INSTANCE)
+                    .build();
+
+    /**
+     * Wire variant of {@code listAllCountriesBatched} that assembles each batch from the snapshot's
+     * pre-encoded frames.
+     */
+    static final MethodDescriptor<AllCountriesBatchedRequest, byte[]> LIST_ALL_COUNTRIES_BATCHED_ENCODED =
+            CountryServiceGrpc.getListAllCountriesBatchedMethod()
+                    .toBuilder(CountryServiceGrpc.getListAllCountriesBatchedMethod().getRequestMarshaller(),
+                            PreEncodedMarshaller.INSTANCE)
+                    .build();
+
+    static final int DEFAULT_BATCH_SIZE = 64;
+    static final int MAX_BATCH_SIZE = 1000;
+    static final int DEFAULT_SEARCH_LIMIT = 10;
+    static final int MAX_SEARCH_LIMIT = 50;
+    static final int MAX_QUERY_LENGTH = 100;
+    static final int MAX_WATCH_BACKLOG = 1024;
+
+    private final CountrySnapshotStore countrySnapshotStore;
+    private final CountryIngest countryIngest;
+    private final LogSampler notFoundSampler = new LogSampler(100);
+
+    /**
+     * A read-only service: {@code upsertCountries} fails with {@code UNIMPLEMENTED}.
+     */
+    public CountryGrpcService(CountrySnapshotStore countrySnapshotStore) {
+        this(countrySnapshotStore, null);
+    }
 
-    public CountryGrpcService(CountryService countryService) {
-        this.countryService = countryService;
+    /**
+     * @param countryIngest {@code null} unless {@code country.ingest.enabled} is set
+     */
+    @Autowired
+    public CountryGrpcService(CountrySnapshotStore countrySnapshotStore, @Nullable CountryIngest countryIngest) {
+        this.countrySnapshotStore = countrySnapshotStore;
+        this.countryIngest = countryIngest;
+    }
+
+    /**
+     * Binds the generated service, replacing the {@code listAllCountries} and
+     * {@code listAllCountriesBatched} handlers with {@link #listAllCountriesEncoded} and
+     * {@link #listAllCountriesBatchedEncoded} so each call streams cached bytes instead of
+     * re-serializing.
+     */
+    @Override
+    public ServerServiceDefinition bindService() {
+        Map<String, ServerMethodDefinition<?, ?>> encoded = Map.of(
+                LIST_ALL_COUNTRIES_ENCODED.getFullMethodName(), ServerMethodDefinition.create(LIST_ALL_COUNTRIES_ENCODED,
+                        ServerCalls.asyncServerStreamingCall(this::listAllCountriesEncoded)),
+                LIST_ALL_COUNTRIES_BATCHED_ENCODED.getFullMethodName(), ServerMethodDefinition.create(LIST_ALL_COUNTRIES_BATCHED_ENCODED,
+                        ServerCalls.asyncServerStreamingCall(this::listAllCountriesBatchedEncoded)));
+        ServerServiceDefinition generated = CountryServiceGrpc.bindService(this);
+        ServiceDescriptor generatedDescriptor = generated.getServiceDescriptor();
+
+        ServiceDescriptor.Builder descriptor = ServiceDescriptor.newBuilder(generatedDescriptor.getName())
+                .setSchemaDescriptor(generatedDescriptor.getSchemaDescriptor());
+        for (MethodDescriptor<?, ?> method : generatedDescriptor.getMethods()) {
+            ServerMethodDefinition<?, ?> replacement = encoded.get(method.getFullMethodName());
+            descriptor.addMethod(replacement != null ? replacement.getMethodDescriptor() : method);
+        }
+
+        ServerServiceDefinition.Builder definition = ServerServiceDefinition.builder(descriptor.build());
+        for (ServerMethodDefinition<?, ?> method : generated.getMethods()) {
+            definition.addMethod(encoded.getOrDefault(method.getMethodDescriptor().getFullMethodName(), method));
+        }
+        return definition.build();
     }
 
     @Override
     public void getCountry(CountryRequest request, StreamObserver<CountryResponse> responseObserver) {
         log.debug("Received getCountry request for code: {}", request.getCode());
 
-        countryService.findById(request.getCode())
-                .ifPresentOrElse(country -> {
-                    log.info("Found country: {}", country.getDescription());
-                    CountryResponse response = CountryResponse.newBuilder()
-                            .setCode(country.getCode())
-                            .setDescription(country.getDescription())
-                            .build();
-                    responseObserver.onNext(response);
-                    responseObserver.onCompleted();
-                }, () -> {
-                    log.error("Country with code {} not found.", request.getCode());
-                    responseObserver.onError(Status.NOT_FOUND
-                            .withDescription("Country with code " + request.getCode() + " not found.")
-                            .asRuntimeException());
-                });
+        if (!CountryCodes.isValid(request.getCode())) {
+            responseObserver.onError(Status.INVALID_ARGUMENT
+                    .withDescription("Country code must be two letters: '" + request.getCode() + "'.")
+                    .asRuntimeException());
+            return;
+        }
+        int fields = fields(request.getFields(), responseObserver);
+        if (fields < 0) {
+            return;
+        }
+        CountryResponse response = countrySnapshotStore.findByCode(request.getCode(), fields);
+        if (response == null) {
+            long notFound = notFoundSampler.sample();
+            if (notFound > 0) {
+                log.warn("Country with code {} not found ({} unknown codes requested so far, logging 1 in 100).",
+                        request.getCode(), notFound);
+            }
+            responseObserver.onError(Status.NOT_FOUND
+                    .withDescription("Country with code " + request.getCode() + " not found.")
+                    .asRuntimeException());
+            return;
+        }
+
+        log.debug("Found country: {}", response.getDescription());
+        responseObserver.onNext(response);
+        responseObserver.onCompleted();
     }
 
     @Override
     public void listAllCountries(AllCountriesRequest request, StreamObserver<CountryResponse> responseObserver) {
-        log.info("Received request to list all countries");
+        log.debug("Received request to list all countries");
+        int fields = fields(request.getFields(), responseObserver);
+        if (fields < 0) {
+            return;
+        }
+        stream(() -> countrySnapshotStore.current().projection(fields).all(), responseObserver);
+    }
+
+    /**
+     * Serves {@code listAllCountries} on the wire from the pre-encoded frames of the snapshot's
+     * projection for the requested fields.
+     */
+    void listAllCountriesEncoded(AllCountriesRequest request, StreamObserver<byte[]> responseObserver) {
+        log.debug("Received request to list all countries");
+        int fields = fields(request.getFields(), responseObserver);
+        if (fields < 0) {
+            return;
+        }
+        stream(() -> countrySnapshotStore.current().projection(fields).encoded(), responseObserver);
+    }
+
+    /**
+     * Streams every country in messages of {@code batch_size} countries, so framing and per-message
+     * costs are paid once per batch. A size of 0 means {@value #DEFAULT_BATCH_SIZE}; larger sizes
+     * are capped at {@value #MAX_BATCH_SIZE}. Every batch carries the snapshot's data version, and
+     * nothing is sent when that is still the request's {@code unless_version}.
+     */
+    @Override
+    public void listAllCountriesBatched(AllCountriesBatchedRequest request, StreamObserver<CountryBatch> responseObserver) {
+        log.debug("Received request to list all countries in batches of {}", request.getBatchSize());
+        int fields = fields(request.getFields(), responseObserver);
+        if (fields < 0 || !validBatchSize(request, responseObserver)) {
+            return;
+        }
+        int batchSize = batchSize(request);
+        stream(() -> {
+            CountrySnapshot snapshot = countrySnapshotStore.current();
+            if (unchanged(request, snapshot)) {
+                return List.<CountryBatch>of();
+            }
+            List<CountryResponse> all = snapshot.projection(fields).all();
+            List<CountryBatch> batches = new ArrayList<>(all.size() / batchSize + 1);
+            // An empty table is still one batch, which carries the version
+            for (int from = 0; from == 0 || from < all.size(); from += batchSize) {
+                batches.add(CountryBatch.newBuilder()
+                        .addAllCountries(all.subList(from, Math.min(from + batchSize, all.size())))
+                        .setDataVersion(snapshot.dataVersion())
+                        .build());
+            }
+            return batches;
+        }, responseObserver);
+    }
+
+    /**
+     * Serves {@code listAllCountriesBatched} on the wire. A {@code CountryBatch} is its entries'
+     * encodings, each behind a field tag and length, so batches are concatenated from the frames of
+     * the snapshot's projection without building messages.
+     */
+    void listAllCountriesBatchedEncoded(AllCountriesBatchedRequest request, StreamObserver<byte[]> responseObserver) {
+        log.debug("Received request to list all countries in batches of {}", request.getBatchSize());
+        int fields = fields(request.getFields(), responseObserver);
+        if (fields < 0 || !validBatchSize(request, responseObserver)) {
+            return;
+        }
+        int batchSize = batchSize(request);
+        stream(() -> {
+            CountrySnapshot snapshot = countrySnapshotStore.current();
+            if (unchanged(request, snapshot)) {
+                return List.<byte[]>of();
+            }
+            List<byte[]> frames = snapshot.projection(fields).encoded();
+            List<byte[]> batches = new ArrayList<>(frames.size() / batchSize + 1);
+            for (int from = 0; from == 0 || from < frames.size(); from += batchSize) {
+                batches.add(encodeBatch(frames.subList(from, Math.min(from + batchSize, frames.size())),
+                        snapshot.dataVersion()));
+            }
+            return batches;
+        }, responseObserver);
+    }
+
+    private static boolean validBatchSize(AllCountriesBatchedRequest request, StreamObserver<?> responseObserver) {
+        if (request.getBatchSize() < 0) {
+            responseObserver.onError(Status.INVALID_ARGUMENT
+                    .withDescription("Batch size must not be negative.")
+                    .asRuntimeException());
+            return false;
+        }
+        return true;
+    }
+
+    private static int batchSize(AllCountriesBatchedRequest request) {
+        return request.getBatchSize() == 0 ? DEFAULT_BATCH_SIZE : Math.min(request.getBatchSize(), MAX_BATCH_SIZE);
+    }
+
+    private static boolean unchanged(AllCountriesBatchedRequest request, CountrySnapshot snapshot) {
+        return request.hasUnlessVersion() && request.getUnlessVersion() == snapshot.dataVersion();
+    }
+
+    /**
+     * Encodes a {@code CountryBatch} as the message builder would: the countries in order, then the
+     * data version unless it is 0.
+     */
+    static byte[] encodeBatch(List<byte[]> frames, long dataVersion) {
+        int size = 0;
+        for (byte[] frame : frames) {
+            size += CodedOutputStream.computeByteArraySize(CountryBatch.COUNTRIES_FIELD_NUMBER, frame);
+        }
+        if (dataVersion != 0) {
+            size += CodedOutputStream.computeInt64Size(CountryBatch.DATA_VERSION_FIELD_NUMBER, dataVersion);
+        }
+        byte[] batch = new byte[size];
+        CodedOutputStream output = CodedOutputStream.newInstance(batch);
+        try {
+            for (byte[] frame : frames) {
+                output.writeByteArray(CountryBatch.COUNTRIES_FIELD_NUMBER, frame);
+            }
+            if (dataVersion != 0) {
+                output.writeInt64(CountryBatch.DATA_VERSION_FIELD_NUMBER, dataVersion);
+            }
+            output.checkNoSpaceLeft();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return batch;
+    }
+
+    @Override
+    public void getCountries(CountriesRequest request, StreamObserver<CountriesResponse> responseObserver) {
+        log.debug("Received getCountries request for {} codes", request.getCodesCount());
+        int fields = fields(request.getFields(), responseObserver);
+        if (fields < 0) {
+            return;
+        }
+        responseObserver.onNext(resolve(countrySnapshotStore.current().projection(fields), request));
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public StreamObserver<CountriesRequest> streamCountries(StreamObserver<CountriesResponse> responseObserver) {
+        log.debug("Opened streamCountries call");
+        return new StreamObserver<>() {
+            // Set once a request was rejected; the client's later requests are ignored
+            private boolean failed;
+
+            @Override
+            public void onNext(CountriesRequest request) {
+                if (failed) {
+                    return;
+                }
+                int fields = fields(request.getFields(), responseObserver);
+                if (fields < 0) {
+                    failed = true;
+                    return;
+                }
+                responseObserver.onNext(resolve(countrySnapshotStore.current().projection(fields), request));
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                log.debug("streamCountries call terminated by client: {}", Status.fromThrowable(t));
+            }
+
+            @Override
+            public void onCompleted() {
+                if (!failed) {
+                    responseObserver.onCompleted();
+                }
+            }
+        };
+    }
+
+    /**
+     * Opens an endless stream of snapshot changes. The first event is a {@code RESET} carrying the
+     * current version; every later refresh that changes the table is pushed as upserts and deletes,
+     * with the requested fields. Each call queues up to {@value #MAX_WATCH_BACKLOG} changes and is
+     * sent a {@code RESET} instead when it falls further behind; see {@link WatchStreamer}.
+     */
+    @Override
+    public void watchCountries(WatchCountriesRequest request, StreamObserver<CountryChange> responseObserver) {
+        log.info("Received request to watch country changes");
+        int fields = fields(request.getFields(), responseObserver);
+        if (fields < 0) {
+            return;
+        }
+        new WatchStreamer((ServerCallStreamObserver<CountryChange>) responseObserver, fields, MAX_WATCH_BACKLOG,
+                () -> countrySnapshotStore.current().version())
+                .start(streamer -> countrySnapshotStore.watch(streamer::publish));
+    }
+
+    /**
+     * Delta sync against the change log. A caller that is up to date gets an empty stream, served
+     * from memory; see {@link CountrySnapshotStore#changesSince(long, int)}.
+     */
+    @Override
+    public void listCountriesSince(CountriesSinceRequest request, StreamObserver<CountryChange> responseObserver) {
+        log.debug("Received listCountriesSince request for version: {}", request.hasVersion() ? request.getVersion() : "none");
+        int fields = fields(request.getFields(), responseObserver);
+        if (fields < 0) {
+            return;
+        }
+        long version = request.hasVersion() ? request.getVersion() : -1L;
+        stream(() -> countrySnapshotStore.changesSince(version, fields), responseObserver);
+    }
+
+    /**
+     * Type-ahead search over the current snapshot's index. A limit of 0 means
+     * {@value #DEFAULT_SEARCH_LIMIT}; larger limits are capped at {@value #MAX_SEARCH_LIMIT}.
+     */
+    @Override
+    public void searchCountries(SearchCountriesRequest request, StreamObserver<SearchCountriesResponse> responseObserver) {
+        log.debug("Received searchCountries request for query: {}", request.getQuery());
+
+        if (request.getQuery().length() > MAX_QUERY_LENGTH || request.getLimit() < 0) {
+            responseObserver.onError(Status.INVALID_ARGUMENT
+                    .withDescription("Query must be at most " + MAX_QUERY_LENGTH + " characters and limit must not be negative.")
+                    .asRuntimeException());
+            return;
+        }
+        int fields = fields(request.getFields(), responseObserver);
+        if (fields < 0) {
+            return;
+        }
+        int limit = request.getLimit() == 0 ? DEFAULT_SEARCH_LIMIT : Math.min(request.getLimit(), MAX_SEARCH_LIMIT);
+        CountrySnapshot snapshot = countrySnapshotStore.current();
+        CountryProjection projection = snapshot.projection(fields);
+        SearchCountriesResponse.Builder response = SearchCountriesResponse.newBuilder();
+        for (CountryResponse match : snapshot.search().search(request.getQuery(), limit)) {
+            response.addCountries(projection.find(match.getCode()));
+        }
+        responseObserver.onNext(response.build());
+        responseObserver.onCompleted();
+    }
+
+    /**
+     * Bulk load, acknowledged batch by batch; see {@link CountryIngest}.
+     */
+    @Override
+    public StreamObserver<UpsertCountriesRequest> upsertCountries(StreamObserver<UpsertCountriesResponse> responseObserver) {
+        if (countryIngest == null) {
+            responseObserver.onError(Status.UNIMPLEMENTED
+                    .withDescription("Ingest is disabled on this server.")
+                    .asRuntimeException());
+            // Discards whatever the client still sends
+            return new StreamObserver<>() {
+                @Override
+                public void onNext(UpsertCountriesRequest request) {
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                }
+
+                @Override
+                public void onCompleted() {
+                }
+            };
+        }
+        log.info("Opened upsertCountries call");
+        return countryIngest.open(responseObserver);
+    }
+
+    /**
+     * Returns the selection of {@link CountryFields} named by a request's mask, or {@code -1} after
+     * failing the call with {@code INVALID_ARGUMENT} when the mask names an unknown field.
+     */
+    private static int fields(FieldMask mask, StreamObserver<?> responseObserver) {
+        try {
+            return CountryFields.of(mask);
+        } catch (IllegalArgumentException e) {
+            responseObserver.onError(Status.INVALID_ARGUMENT
+                    .withDescription(e.getMessage() + ".")
+                    .asRuntimeException());
+            return -1;
+        }
+    }
+
+    /**
+     * Splits a batch of codes into found entries and missing codes, preserving request order.
+     */
+    private static CountriesResponse resolve(CountryProjection projection, CountriesRequest request) {
+        CountriesResponse.Builder response = CountriesResponse.newBuilder();
+        for (String code : request.getCodesList()) {
+            CountryResponse country = projection.find(code);
+            if (country != null) {
+                response.addCountries(country);
+            } else {
+                response.addMissingCodes(code);
+            }
+        }
+        return response.build();
+    }
+
+    private <T> void stream(Supplier<List<T>> messages, StreamObserver<T> responseObserver) {
+        List<T> frames;
         try {
-            countryService.streamAll().forEach(country -> {
-                CountryResponse response = CountryResponse.newBuilder()
-                        .setCode(country.getCode())
-                        .setDescription(country.getDescription())
-                        .build();
-                responseObserver.onNext(response);
-            });
-            responseObserver.onCompleted();
-            log.info("Successfully streamed all countries");
+            frames = messages.get();
         } catch (Exception e) {
             log.error("Error streaming countries", e);
             responseObserver.onError(Status.INTERNAL
                     .withDescription("An error occurred while fetching countries.")
                     .withCause(e)
                     .asRuntimeException());
+            return;
         }
+        FlowControlledStreamer.start(frames, (ServerCallStreamObserver<T>) responseObserver);
     }
 }
@@ -0,0 +1,203 @@
+package br.com.danilors.country.server.service;
+
+import br.com.danilors.country.CountryResponse;
+import br.com.danilors.country.UpsertCountriesRequest;
+import br.com.danilors.country.UpsertCountriesResponse;
+import br.com.danilors.country.common.code.CountryCodes;
+import br.com.danilors.country.server.store.CountrySnapshotStore;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk load behind {@code upsertCountries}. Records are collected into batches of
+ * {@code country.ingest.batch-size}; each batch goes to {@link CountryService#upsertAll} and is
+ * acknowledged once committed. From the first batch until the stream ends the call holds snapshot
+ * refreshes (see {@link CountrySnapshotStore#holdRefreshes()}), and the snapshot is refreshed once
+ * at the end, so readers and watchers move from the old data to the new in one step instead of
+ * seeing every batch. Other writes made meanwhile only become visible then as well.
+ * <p>
+ * A stalled or forgotten call must not freeze the snapshot, so the hold lasts at most
+ * {@code country.ingest.hold-timeout}: a call still open by then fails with
+ * {@code DEADLINE_EXCEEDED}, like one that errs or is cancelled, and the batches committed so far
+ * are published.
+ * <p>
+ * A batch is written on the call's thread before the next message is requested, so a database
+ * slower than the client pushes back through gRPC flow control rather than buffering records.
+ * Every message costs a hand-off between threads, so clients should send many records per message.
+ * <p>
+ * The service has no authentication, so the bean only exists with
+ * {@code country.ingest.enabled=true}.
+ */
+@Component
+@ConditionalOnProperty(name = "country.ingest.enabled", havingValue = "true")
+public class CountryIngest {
+
+    private static final Logger log = LoggerFactory.getLogger(CountryIngest.class);
+
+    private final CountryService countryService;
+    private final CountrySnapshotStore countrySnapshotStore;
+    private final TaskScheduler taskScheduler;
+    private final int batchSize;
+    private final Duration holdTimeout;
+
+    public CountryIngest(CountryService countryService, CountrySnapshotStore countrySnapshotStore,
+                         TaskScheduler taskScheduler,
+                         @Value("${country.ingest.batch-size:1000}") int batchSize,
+                         @Value("${country.ingest.hold-timeout:1m}") Duration holdTimeout) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("country.ingest.batch-size must be positive, but was " + batchSize);
+        }
+        if (holdTimeout.isNegative() || holdTimeout.isZero()) {
+            throw new IllegalArgumentException("country.ingest.hold-timeout must be positive, but was " + holdTimeout);
+        }
+        this.countryService = countryService;
+        this.countrySnapshotStore = countrySnapshotStore;
+        this.taskScheduler = taskScheduler;
+        this.batchSize = batchSize;
+        this.holdTimeout = holdTimeout;
+    }
+
+    /**
+     * Opens one ingest call. Batches acknowledged before a failure, a cancellation or the hold
+     * timeout stay committed and are published; the records after them are dropped.
+     * <p>
+     * The hold timeout fires on a scheduler thread, so the observer's methods synchronize on it.
+     */
+    StreamObserver<UpsertCountriesRequest> open(StreamObserver<UpsertCountriesResponse> responseObserver) {
+        StreamObserver<UpsertCountriesRequest> records = new StreamObserver<>() {
+
+            private final long startNanos = System.nanoTime();
+            private List<CountryService.Upsert> pending = new ArrayList<>(batchSize);
+            private long records;
+            private long batches;
+            private long applied;
+            private long version = -1;
+            private boolean closed;
+            private Runnable refreshHold;
+            private ScheduledFuture<?> holdDeadline;
+
+            @Override
+            public synchronized void onNext(UpsertCountriesRequest request) {
+                for (CountryResponse country : request.getCountriesList()) {
+                    if (closed) {
+                        return;
+                    }
+                    records++;
+                    if (!CountryCodes.isValid(country.getCode())) {
+                        fail(Status.INVALID_ARGUMENT.withDescription(
+                                "Record " + records + ": country code must be two letters: '" + country.getCode() + "'."));
+                        return;
+                    }
+                    pending.add(CountryService.Upsert.from(country));
+                    if (pending.size() == batchSize) {
+                        flush();
+                    }
+                }
+            }
+
+            @Override
+            public synchronized void onError(Throwable t) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                log.info("upsertCountries call terminated by client after {} batches: {}", batches, Status.fromThrowable(t));
+                publish();
+            }
+
+            @Override
+            public synchronized void onCompleted() {
+                if (closed) {
+                    return;
+                }
+                if (!pending.isEmpty()) {
+                    flush();
+                    if (closed) {
+                        return;
+                    }
+                }
+                closed = true;
+                publish();
+                responseObserver.onCompleted();
+                long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+                log.info("Ingested {} records in {} batches ({} rows changed) in {} ms",
+                        records, batches, applied, millis);
+            }
+
+            private void flush() {
+                if (refreshHold == null) {
+                    refreshHold = countrySnapshotStore.holdRefreshes();
+                    holdDeadline = taskScheduler.schedule(this::holdExpired, Instant.now().plus(holdTimeout));
+                }
+                CountryService.BatchResult result;
+                try {
+                    result = countryService.upsertAll(pending);
+                } catch (RuntimeException e) {
+                    log.error("Error applying country batch {}", batches + 1, e);
+                    fail(Status.INTERNAL.withDescription("An error occurred while applying batch " + (batches + 1) + ".")
+                            .withCause(e));
+                    return;
+                }
+                pending = new ArrayList<>(batchSize);
+                batches++;
+                applied += result.applied();
+                if (result.applied() > 0) {
+                    version = result.version();
+                }
+                responseObserver.onNext(UpsertCountriesResponse.newBuilder()
+                        .setBatch(batches)
+                        .setReceived(result.received())
+                        .setApplied(result.applied())
+                        .setVersion(result.version())
+                        .build());
+            }
+
+            private synchronized void holdExpired() {
+                if (closed) {
+                    return;
+                }
+                log.warn("upsertCountries call held snapshot refreshes for {} after {} batches, failing it",
+                        holdTimeout, batches);
+                fail(Status.DEADLINE_EXCEEDED.withDescription("The load held snapshot refreshes for longer than "
+                        + holdTimeout + "; the " + batches + " batches acknowledged so far are kept."));
+            }
+
+            private void fail(Status status) {
+                closed = true;
+                publish();
+                responseObserver.onError(status.asRuntimeException());
+            }
+
+            private void publish() {
+                if (holdDeadline != null) {
+                    holdDeadline.cancel(false);
+                }
+                if (refreshHold != null) {
+                    refreshHold.run();
+                }
+                if (version >= 0) {
+                    countryService.publish(version);
+                }
+            }
+        };
+        if (responseObserver instanceof ServerCallStreamObserver<UpsertCountriesResponse> call) {
+            // Releases the hold as soon as the call is cancelled; the onError gRPC reports next is a no-op then
+            call.setOnCancelHandler(() -> records.onError(Status.CANCELLED.asRuntimeException()));
+        }
+        return records;
+    }
+}
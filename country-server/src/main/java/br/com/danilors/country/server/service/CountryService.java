@@ -1,23 +1,91 @@
 package br.com.danilors.country.server.service;
 
+import br.com.danilors.country.CountryResponse;
+import br.com.danilors.country.common.code.CountryCodes;
 import br.com.danilors.country.server.domain.Country;
+import br.com.danilors.country.server.domain.CountryChangeLog;
+import br.com.danilors.country.server.domain.CountryNamesConverter;
+import br.com.danilors.country.server.repository.CountryChangeLogRepository;
 import br.com.danilors.country.server.repository.CountryRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
-import java.util.stream.Collectors;
 
 @Service
 public class CountryService {
 
+    // A row gets a new version only when it is inserted or one of its fields changes
+    private static final String MERGE_COUNTRY = """
+            MERGE INTO country c
+            USING (VALUES (CAST(? AS VARCHAR), CAST(? AS VARCHAR), CAST(? AS VARCHAR), CAST(? AS VARCHAR),
+                           CAST(? AS VARCHAR), CAST(? AS VARCHAR), CAST(? AS VARCHAR), CAST(? AS VARCHAR)))
+                AS u (code, description, alpha3, numeric_code, region, currency, calling_code, names)
+                ON c.code = u.code
+            WHEN MATCHED AND (c.description IS DISTINCT FROM u.description
+                    OR c.alpha3 IS DISTINCT FROM u.alpha3
+                    OR c.numeric_code IS DISTINCT FROM u.numeric_code
+                    OR c.region IS DISTINCT FROM u.region
+                    OR c.currency IS DISTINCT FROM u.currency
+                    OR c.calling_code IS DISTINCT FROM u.calling_code
+                    OR c.names IS DISTINCT FROM u.names) THEN
+                UPDATE SET description = u.description, alpha3 = u.alpha3, numeric_code = u.numeric_code,
+                    region = u.region, currency = u.currency, calling_code = u.calling_code, names = u.names,
+                    version = NEXT VALUE FOR country_version_seq
+            WHEN NOT MATCHED THEN
+                INSERT (code, description, alpha3, numeric_code, region, currency, calling_code, names, version)
+                VALUES (u.code, u.description, u.alpha3, u.numeric_code, u.region, u.currency, u.calling_code, u.names,
+                    NEXT VALUE FOR country_version_seq)""";
+    // Logs the rows the merges above versioned, through the index on country.version
+    private static final String LOG_UPSERTS = """
+            INSERT INTO country_change_log (version, code, type, changed_at)
+            SELECT version, code, 'UPSERT', ? FROM country WHERE version > ? ORDER BY version""";
+    // Seed rows are unversioned, as those of data.sql
+    private static final String INSERT_SEED = """
+            INSERT INTO country (code, description, alpha3, numeric_code, region, currency, calling_code, names, version)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0)""";
+
     private final CountryRepository countryRepository;
+    private final CountryChangeLogRepository changeLogRepository;
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate writeTransaction;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Writes commit one at a time, so a reader never sees version n committed before n - 1
+    private final ReentrantLock writeLock = new ReentrantLock();
 
-    public CountryService(CountryRepository countryRepository) {
+    public CountryService(CountryRepository countryRepository,
+                          CountryChangeLogRepository changeLogRepository,
+                          EntityManager entityManager,
+                          JdbcTemplate jdbcTemplate,
+                          PlatformTransactionManager transactionManager,
+                          ApplicationEventPublisher eventPublisher) {
         this.countryRepository = countryRepository;
+        this.changeLogRepository = changeLogRepository;
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.eventPublisher = eventPublisher;
     }
 
     @Cacheable("countries")
@@ -25,8 +93,185 @@ public class CountryService {
         return countryRepository.findById(code);
     }
 
+    /**
+     * Walks the country table through a database cursor, handing each row to {@code action} and
+     * detaching it right after, so memory stays flat regardless of table size.
+     */
     @Transactional(readOnly = true)
-    public List<Country> streamAll() {
-        return countryRepository.streamAll().toList();
+    public void streamAll(Consumer<Country> action) {
+        try (Stream<Country> countries = countryRepository.streamAll()) {
+            countries.forEach(country -> {
+                action.accept(country);
+                entityManager.detach(country);
+            });
+        }
+    }
+
+    /**
+     * Version of the latest committed write, or {@code 0} when the table only holds seed data.
+     * Every row read after this call reflects at least the writes up to that version.
+     */
+    public long currentVersion() {
+        return changeLogRepository.findLatestVersion();
+    }
+
+    /**
+     * Writes logged after version {@code after} and up to {@code upTo}, oldest first.
+     */
+    public List<CountryChangeLog> changesBetween(long after, long upTo) {
+        return changeLogRepository.findChanges(after, upTo);
+    }
+
+    /**
+     * Applies a batch of upserts in one transaction: one JDBC batch of merges for the rows and a
+     * single statement for their change-log entries, instead of a query and a save per row. The
+     * last record for a code wins, and records that match the stored row are skipped. Every
+     * changed code gets its own version, so {@code listCountriesSince} sees the batch like single
+     * upserts.
+     * <p>
+     * The batch is committed but not published: callers loading many batches call
+     * {@link #publish(long)} once at the end. Any refresh of the snapshot still reads the committed
+     * batches, so such callers also hold refreshes until then, as {@link CountryIngest} does.
+     *
+     * @throws IllegalArgumentException if a code is not two letters; nothing is written then
+     */
+    @CacheEvict(cacheNames = "countries", allEntries = true)
+    public BatchResult upsertAll(List<Upsert> upserts) {
+        Map<String, Upsert> latest = new LinkedHashMap<>();
+        for (Upsert upsert : upserts) {
+            String code = CountryCodes.requireNormalized(upsert.code());
+            // Re-insert, so the code is ordered by its last record
+            latest.remove(code);
+            latest.put(code, upsert);
+        }
+        List<Object[]> rows = new ArrayList<>(latest.size());
+        latest.forEach((code, upsert) -> rows.add(upsert.row(code)));
+        writeLock.lock();
+        try {
+            return writeTransaction.execute(status -> {
+                long before = currentVersion();
+                int applied = 0;
+                for (int count : jdbcTemplate.batchUpdate(MERGE_COUNTRY, rows)) {
+                    applied += count;
+                }
+                if (applied == 0) {
+                    return new BatchResult(upserts.size(), 0, before);
+                }
+                jdbcTemplate.update(LOG_UPSERTS, Timestamp.from(Instant.now()), before);
+                return new BatchResult(upserts.size(), applied, currentVersion());
+            });
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Inserts seed rows as they are, without logging them, if the table is empty. They end up as
+     * if {@code data.sql} had inserted them.
+     *
+     * @return whether the table was empty and got seeded
+     */
+    public boolean seed(List<Upsert> rows) {
+        List<Object[]> args = new ArrayList<>(rows.size());
+        for (Upsert row : rows) {
+            args.add(row.row(row.code()));
+        }
+        writeLock.lock();
+        try {
+            return Boolean.TRUE.equals(writeTransaction.execute(status -> {
+                if (jdbcTemplate.queryForObject("SELECT COUNT(*) FROM country", Long.class) > 0) {
+                    return false;
+                }
+                jdbcTemplate.batchUpdate(INSERT_SEED, args);
+                return true;
+            }));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Logs changes made directly in the database, which bypassed the change log, one new version
+     * per code in the given order, so that they move the data version, and the ETags derived from
+     * it, like any other write. Nothing is logged when a write went through this service after
+     * {@code readVersion}: the rows the changes were found in may miss it, so the caller has to
+     * read them again.
+     *
+     * @param readVersion version read before the rows the changes were found in
+     * @return the data version after logging the changes, or empty when there was such a write
+     */
+    @CacheEvict(cacheNames = "countries", allEntries = true)
+    public OptionalLong logExternalChanges(long readVersion, Map<String, CountryChangeLog.Type> changes) {
+        writeLock.lock();
+        try {
+            return writeTransaction.execute(status -> {
+                if (currentVersion() != readVersion) {
+                    return OptionalLong.empty();
+                }
+                long version = readVersion;
+                for (Map.Entry<String, CountryChangeLog.Type> change : changes.entrySet()) {
+                    version = log(change.getKey(), change.getValue());
+                }
+                return OptionalLong.of(version);
+            });
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Makes writes up to {@code version} visible to readers, for writes that do not publish
+     * themselves ({@link #upsertAll}).
+     */
+    public void publish(long version) {
+        eventPublisher.publishEvent(new CountriesChangedEvent(version));
+    }
+
+    private long log(String code, CountryChangeLog.Type type) {
+        return changeLogRepository.save(new CountryChangeLog(code, type, Instant.now())).getVersion();
+    }
+
+    /**
+     * One record of {@link #upsertAll}, with every column of the row.
+     *
+     * @param names short names by language tag
+     */
+    public record Upsert(String code,
+                         String description,
+                         String alpha3,
+                         String numericCode,
+                         String region,
+                         String currency,
+                         String callingCode,
+                         Map<String, String> names) {
+
+        /**
+         * A record with a description only, the other columns empty.
+         */
+        public Upsert(String code, String description) {
+            this(code, description, "", "", "", "", "", Map.of());
+        }
+
+        public static Upsert from(CountryResponse country) {
+            return new Upsert(country.getCode(), country.getDescription(), country.getAlpha3(),
+                    country.getNumericCode(), country.getRegion(), country.getCurrency(), country.getCallingCode(),
+                    country.getNamesMap());
+        }
+
+        // Arguments of MERGE_COUNTRY and INSERT_SEED
+        private Object[] row(String code) {
+            return new Object[]{code, description, alpha3, numericCode, region, currency, callingCode,
+                    CountryNamesConverter.toJson(names)};
+        }
+    }
+
+    /**
+     * Outcome of {@link #upsertAll}.
+     *
+     * @param received records in the batch
+     * @param applied  codes whose row changed
+     * @param version  data version after the batch
+     */
+    public record BatchResult(int received, int applied, long version) {
     }
 }
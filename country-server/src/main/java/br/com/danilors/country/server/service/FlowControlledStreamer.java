@@ -0,0 +1,65 @@
+package br.com.danilors.country.server.service;
+
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * Writes a list of messages to a server stream only while the transport is writable. Writing
+ * resumes from the call's onReady callback, and stops for good as soon as the client cancels, so a
+ * slow consumer never makes grpc-java buffer the remainder of the listing.
+ */
+final class FlowControlledStreamer<T> {
+
+    private static final Logger log = LoggerFactory.getLogger(FlowControlledStreamer.class);
+
+    private final List<T> messages;
+    private final ServerCallStreamObserver<T> responseObserver;
+
+    private int next;
+    private volatile boolean done;
+
+    private FlowControlledStreamer(List<T> messages, ServerCallStreamObserver<T> responseObserver) {
+        this.messages = messages;
+        this.responseObserver = responseObserver;
+    }
+
+    static <T> void start(List<T> messages, ServerCallStreamObserver<T> responseObserver) {
+        FlowControlledStreamer<T> streamer = new FlowControlledStreamer<>(messages, responseObserver);
+        responseObserver.setOnCancelHandler(streamer::cancel);
+        responseObserver.setOnReadyHandler(streamer::drain);
+        // Handlers run serialized on the call executor, so draining here cannot race with onReady.
+        streamer.drain();
+    }
+
+    private void drain() {
+        if (done) {
+            return;
+        }
+        try {
+            while (next < messages.size() && responseObserver.isReady() && !done) {
+                responseObserver.onNext(messages.get(next++));
+            }
+            if (next == messages.size() && !done) {
+                done = true;
+                responseObserver.onCompleted();
+                log.debug("Successfully streamed {} messages", next);
+            }
+        } catch (RuntimeException e) {
+            done = true;
+            log.error("Error streaming countries", e);
+            responseObserver.onError(Status.INTERNAL
+                    .withDescription("An error occurred while fetching countries.")
+                    .withCause(e)
+                    .asRuntimeException());
+        }
+    }
+
+    private void cancel() {
+        done = true;
+        log.debug("Stream cancelled by client after {} of {} messages", next, messages.size());
+    }
+}
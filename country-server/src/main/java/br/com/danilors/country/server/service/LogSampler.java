@@ -0,0 +1,26 @@
+package br.com.danilors.country.server.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lets one in every {@code every} occurrences of a hot-path event through to the log, so a burst
+ * of identical events costs a counter increment instead of a log line each.
+ */
+final class LogSampler {
+
+    private final long every;
+    private final AtomicLong events = new AtomicLong();
+
+    LogSampler(long every) {
+        this.every = every;
+    }
+
+    /**
+     * Counts an event and returns how many have been seen so far if this one should be logged,
+     * or {@code 0} if it should be skipped.
+     */
+    long sample() {
+        long count = events.incrementAndGet();
+        return (count - 1) % every == 0 ? count : 0;
+    }
+}
@@ -0,0 +1,52 @@
+package br.com.danilors.country.server.service;
+
+import io.grpc.Drainable;
+import io.grpc.KnownLength;
+import io.grpc.MethodDescriptor;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Marshaller for messages that are already serialized. Writing a frame copies the cached bytes
+ * straight into the transport buffer instead of walking a protobuf message.
+ */
+final class PreEncodedMarshaller implements MethodDescriptor.Marshaller<byte[]> {
+
+    static final PreEncodedMarshaller INSTANCE = new PreEncodedMarshaller();
+
+    private PreEncodedMarshaller() {
+    }
+
+    @Override
+    public InputStream stream(byte[] value) {
+        return new FrameInputStream(value);
+    }
+
+    @Override
+    public byte[] parse(InputStream stream) {
+        try {
+            return stream.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static final class FrameInputStream extends ByteArrayInputStream implements KnownLength, Drainable {
+
+        FrameInputStream(byte[] frame) {
+            super(frame);
+        }
+
+        @Override
+        public int drainTo(OutputStream target) throws IOException {
+            int length = count - pos;
+            target.write(buf, pos, length);
+            pos = count;
+            return length;
+        }
+    }
+}
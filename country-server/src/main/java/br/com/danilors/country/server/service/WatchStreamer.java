@@ -0,0 +1,123 @@
+package br.com.danilors.country.server.service;
+
+import br.com.danilors.country.CountryChange;
+import br.com.danilors.country.server.store.CountryFields;
+import io.grpc.stub.ServerCallStreamObserver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Feeds one {@code watchCountries} call from a bounded queue. Publishing only queues the changes;
+ * they are written while the transport is writable, by the publishing thread or, once the client
+ * has caught up, from the call's onReady callback, so a slow watcher never makes grpc-java buffer
+ * without limit nor holds up the refresh. A watcher that falls more than {@code capacity} changes
+ * behind has its queue dropped for a {@code RESET}, after which it resyncs from the snapshot.
+ */
+final class WatchStreamer {
+
+    private static final Logger log = LoggerFactory.getLogger(WatchStreamer.class);
+
+    private final ServerCallStreamObserver<CountryChange> responseObserver;
+    private final int fields;
+    private final int capacity;
+    private final LongSupplier snapshotVersion;
+
+    // Guarded by itself; held only to queue and take changes, never while writing.
+    private final ArrayDeque<CountryChange> queue = new ArrayDeque<>();
+    // Drain requests; whoever raises it from 0 writes, until no request is left.
+    private final AtomicInteger drainRequests = new AtomicInteger();
+    private volatile boolean done;
+
+    WatchStreamer(ServerCallStreamObserver<CountryChange> responseObserver, int fields, int capacity,
+                  LongSupplier snapshotVersion) {
+        this.responseObserver = responseObserver;
+        this.fields = fields;
+        this.capacity = capacity;
+        this.snapshotVersion = snapshotVersion;
+    }
+
+    /**
+     * Queues the first {@code RESET}, then starts writing. {@code watch} registers the streamer with
+     * the snapshot store while the queue is locked, so no change can be queued ahead of the
+     * {@code RESET}; it returns the handle that unregisters it, run when the call is cancelled.
+     */
+    void start(Function<WatchStreamer, Runnable> watch) {
+        Runnable unwatch;
+        synchronized (queue) {
+            unwatch = watch.apply(this);
+            queue.add(reset());
+        }
+        responseObserver.setOnCancelHandler(() -> {
+            done = true;
+            unwatch.run();
+            synchronized (queue) {
+                queue.clear();
+            }
+            log.debug("watchCountries call cancelled by client");
+        });
+        responseObserver.setOnReadyHandler(this::drain);
+        drain();
+    }
+
+    /**
+     * Queues published changes, cut down to the requested fields, and writes what the transport
+     * accepts right away.
+     */
+    void publish(List<CountryChange> changes) {
+        if (done) {
+            return;
+        }
+        synchronized (queue) {
+            if (queue.size() + changes.size() > capacity) {
+                log.info("Watcher fell more than {} changes behind, resetting it", capacity);
+                queue.clear();
+                queue.add(reset());
+            } else {
+                for (CountryChange change : changes) {
+                    queue.add(change.hasCountry() && fields != CountryFields.ALL
+                            ? change.toBuilder().setCountry(CountryFields.project(change.getCountry(), fields)).build()
+                            : change);
+                }
+            }
+        }
+        drain();
+    }
+
+    private CountryChange reset() {
+        // The snapshot already holds every dropped change, and the watcher re-reads from it
+        return CountryChange.newBuilder()
+                .setType(CountryChange.Type.RESET)
+                .setVersion(snapshotVersion.getAsLong())
+                .build();
+    }
+
+    private void drain() {
+        if (drainRequests.getAndIncrement() != 0) {
+            return;
+        }
+        do {
+            try {
+                while (!done && responseObserver.isReady()) {
+                    CountryChange next;
+                    synchronized (queue) {
+                        next = queue.poll();
+                    }
+                    if (next == null) {
+                        break;
+                    }
+                    responseObserver.onNext(next);
+                }
+            } catch (RuntimeException e) {
+                // The call was closed under us; the cancel handler cleans up
+                done = true;
+                log.debug("Stopped writing to a closed watchCountries call", e);
+            }
+        } while (drainRequests.decrementAndGet() != 0);
+    }
+}
@@ -0,0 +1,53 @@
+package br.com.danilors.country.server.store;
+
+import br.com.danilors.country.CountryResponse;
+import br.com.danilors.country.common.code.CountryCodes;
+
+import java.util.Collection;
+
+/**
+ * Direct-indexed lookup table for 2-letter ISO country codes. A code is packed by
+ * {@link CountryCodes#slot(CharSequence)}, a perfect hash over the 676 possible codes, so a lookup
+ * is two char reads and one array load: no {@code String} hashing, no equality check and no
+ * allocation. Letters are matched case-insensitively; anything else is rejected before the table
+ * is touched.
+ */
+public final class CountryCodeIndex {
+
+    public static final CountryCodeIndex EMPTY = new CountryCodeIndex(new CountryResponse[CountryCodes.SLOTS]);
+
+    private final CountryResponse[] slots;
+
+    private CountryCodeIndex(CountryResponse[] slots) {
+        this.slots = slots;
+    }
+
+    /**
+     * Builds an index over the given responses, keyed by their code.
+     *
+     * @throws IllegalArgumentException if a code is not two ASCII letters or appears twice
+     */
+    public static CountryCodeIndex of(Collection<CountryResponse> responses) {
+        CountryResponse[] slots = new CountryResponse[CountryCodes.SLOTS];
+        for (CountryResponse response : responses) {
+            int slot = CountryCodes.slot(response.getCode());
+            if (slot < 0) {
+                throw new IllegalArgumentException("Invalid country code: " + response.getCode());
+            }
+            if (slots[slot] != null) {
+                throw new IllegalArgumentException("Duplicate country code: " + response.getCode());
+            }
+            slots[slot] = response;
+        }
+        return new CountryCodeIndex(slots);
+    }
+
+    /**
+     * Returns the response for the given code in any case, or {@code null} when it is unknown or
+     * malformed.
+     */
+    public CountryResponse find(CharSequence code) {
+        int slot = CountryCodes.slot(code);
+        return slot < 0 ? null : slots[slot];
+    }
+}
@@ -0,0 +1,90 @@
+package br.com.danilors.country.server.store;
+
+import br.com.danilors.country.CountryResponse;
+import com.google.protobuf.FieldMask;
+
+/**
+ * The {@link CountryResponse} fields selected by a request's {@link FieldMask}, as a bit set with
+ * one bit per optional field. The code is always selected, so it has no bit; an empty mask selects
+ * {@link #DEFAULT}, the code and description, and {@code "*"} selects {@link #ALL}.
+ */
+public final class CountryFields {
+
+    public static final int DESCRIPTION = 1;
+    public static final int ALPHA3 = 1 << 1;
+    public static final int NUMERIC_CODE = 1 << 2;
+    public static final int REGION = 1 << 3;
+    public static final int CURRENCY = 1 << 4;
+    public static final int CALLING_CODE = 1 << 5;
+    public static final int NAMES = 1 << 6;
+
+    public static final int DEFAULT = DESCRIPTION;
+    public static final int ALL = (1 << 7) - 1;
+
+    /**
+     * Number of distinct selections, every value from {@code 0} to {@link #ALL}.
+     */
+    public static final int COUNT = ALL + 1;
+
+    private CountryFields() {
+    }
+
+    /**
+     * Returns the fields named by the mask's paths, in proto field names.
+     *
+     * @throws IllegalArgumentException if a path does not name a field of {@link CountryResponse}
+     */
+    public static int of(FieldMask mask) {
+        if (mask.getPathsCount() == 0) {
+            return DEFAULT;
+        }
+        int fields = 0;
+        for (String path : mask.getPathsList()) {
+            fields |= switch (path) {
+                case "code" -> 0;
+                case "description" -> DESCRIPTION;
+                case "alpha3" -> ALPHA3;
+                case "numeric_code" -> NUMERIC_CODE;
+                case "region" -> REGION;
+                case "currency" -> CURRENCY;
+                case "calling_code" -> CALLING_CODE;
+                case "names" -> NAMES;
+                case "*" -> ALL;
+                default -> throw new IllegalArgumentException("Unknown country field: '" + path + "'");
+            };
+        }
+        return fields;
+    }
+
+    /**
+     * Copies the code and the selected fields of a country into a new response.
+     */
+    public static CountryResponse project(CountryResponse country, int fields) {
+        if (fields == ALL) {
+            return country;
+        }
+        CountryResponse.Builder projected = CountryResponse.newBuilder().setCode(country.getCode());
+        if ((fields & DESCRIPTION) != 0) {
+            projected.setDescription(country.getDescription());
+        }
+        if ((fields & ALPHA3) != 0) {
+            projected.setAlpha3(country.getAlpha3());
+        }
+        if ((fields & NUMERIC_CODE) != 0) {
+            projected.setNumericCode(country.getNumericCode());
+        }
+        if ((fields & REGION) != 0) {
+            projected.setRegion(country.getRegion());
+        }
+        if ((fields & CURRENCY) != 0) {
+            projected.setCurrency(country.getCurrency());
+        }
+        if ((fields & CALLING_CODE) != 0) {
+            projected.setCallingCode(country.getCallingCode());
+        }
+        if ((fields & NAMES) != 0) {
+            projected.putAllNames(country.getNamesMap());
+        }
+        return projected.build();
+    }
+}
@@ -0,0 +1,36 @@
+package br.com.danilors.country.server.store;
+
+import br.com.danilors.country.CountryResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The countries of a snapshot cut down to a selection of {@link CountryFields}: the responses, their
+ * serialized form in the same order, and a code index over them. Requests with the same field mask
+ * share one projection, so a response is built and encoded once per snapshot, not once per call.
+ */
+public record CountryProjection(int fields,
+                                List<CountryResponse> all,
+                                List<byte[]> encoded,
+                                CountryCodeIndex byCode) {
+
+    static CountryProjection of(List<CountryResponse> countries, int fields) {
+        List<CountryResponse> all = new ArrayList<>(countries.size());
+        List<byte[]> encoded = new ArrayList<>(countries.size());
+        for (CountryResponse country : countries) {
+            CountryResponse projected = CountryFields.project(country, fields);
+            all.add(projected);
+            encoded.add(projected.toByteArray());
+        }
+        return new CountryProjection(fields, List.copyOf(all), List.copyOf(encoded), CountryCodeIndex.of(all));
+    }
+
+    /**
+     * Returns the projected response for the given code in any case, or {@code null} when it is
+     * unknown or malformed.
+     */
+    public CountryResponse find(String code) {
+        return byCode.find(code);
+    }
+}
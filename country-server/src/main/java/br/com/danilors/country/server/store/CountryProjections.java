@@ -0,0 +1,47 @@
+package br.com.danilors.country.server.store;
+
+import br.com.danilors.country.CountryResponse;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The {@link CountryProjection}s of one snapshot, one slot per selection of {@link CountryFields}.
+ * The default and full projections are built with the snapshot; any other is built by the first
+ * request that asks for it and kept until the snapshot is replaced.
+ */
+public final class CountryProjections {
+
+    public static final CountryProjections EMPTY = of(List.of());
+
+    private final List<CountryResponse> all;
+    private final AtomicReferenceArray<CountryProjection> projections =
+            new AtomicReferenceArray<>(CountryFields.COUNT);
+
+    private CountryProjections(List<CountryResponse> all) {
+        this.all = List.copyOf(all);
+    }
+
+    /**
+     * @param all the countries with every field set
+     */
+    public static CountryProjections of(List<CountryResponse> all) {
+        CountryProjections projections = new CountryProjections(all);
+        projections.get(CountryFields.DEFAULT);
+        projections.get(CountryFields.ALL);
+        return projections;
+    }
+
+    /**
+     * @param fields a selection of {@link CountryFields}
+     */
+    public CountryProjection get(int fields) {
+        CountryProjection projection = projections.get(fields);
+        if (projection == null) {
+            // Concurrent first requests build equal projections; every caller gets the one published
+            projections.compareAndSet(fields, null, CountryProjection.of(all, fields));
+            projection = projections.get(fields);
+        }
+        return projection;
+    }
+}
@@ -0,0 +1,246 @@
+package br.com.danilors.country.server.store;
+
+import br.com.danilors.country.CountryResponse;
+import br.com.danilors.country.common.code.CountryCodes;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable type-ahead index over country descriptions. Text is folded to lower case without
+ * accents or punctuation ({@code "Côte d'Ivoire"} becomes {@code "cote d ivoire"}), and a query
+ * is matched in three ways, best first:
+ * <ol>
+ *     <li>the country code, for two-letter queries</li>
+ *     <li>a prefix of the description, then a prefix starting at any later word: a binary search
+ *     over the sorted word suffixes of every description</li>
+ *     <li>trigram overlap, for typos and partial words: the share of the query's trigrams found in
+ *     the description, through a sorted trigram table with posting lists</li>
+ * </ol>
+ * Ties go to the shorter description. An index is rebuilt from the previous one on every snapshot
+ * refresh; entries whose description did not change are reused, so only changed rows are folded
+ * and split into trigrams again.
+ */
+public final class CountrySearchIndex {
+
+    private static final int CODE_MATCH = 1000;
+    private static final int PREFIX_MATCH = 900;
+    private static final int WORD_PREFIX_MATCH = 800;
+    private static final int TRIGRAM_MATCH = 700;
+    private static final double MIN_TRIGRAM_SHARE = 0.6;
+
+    private static final Comparator<Match> RANKING = Comparator.comparingInt(Match::score).reversed()
+            .thenComparingInt(match -> match.entry().text().length())
+            .thenComparing(match -> match.entry().text());
+
+    public static final CountrySearchIndex EMPTY = new CountrySearchIndex(new Entry[0]);
+
+    private final Entry[] entries;
+    private final int[] codeSlots = new int[26 * 26];
+    // Every description suffix that starts at a word, sorted, with the entry and word position it came from
+    private final String[] suffixes;
+    private final int[] suffixEntries;
+    private final boolean[] suffixAtStart;
+    // Distinct trigrams of all descriptions, sorted, with the entries containing each one
+    private final long[] trigrams;
+    private final int[][] postings;
+
+    private CountrySearchIndex(Entry[] entries) {
+        this.entries = entries;
+        Arrays.fill(codeSlots, -1);
+
+        List<Suffix> allSuffixes = new ArrayList<>();
+        TreeMap<Long, List<Integer>> trigramEntries = new TreeMap<>();
+        for (int i = 0; i < entries.length; i++) {
+            Entry entry = entries[i];
+            int slot = CountryCodes.slot(entry.response().getCode());
+            if (slot >= 0) {
+                codeSlots[slot] = i;
+            }
+            String text = entry.text();
+            int start = text.isEmpty() ? -1 : 0;
+            while (start >= 0) {
+                allSuffixes.add(new Suffix(text.substring(start), i, start == 0));
+                int space = text.indexOf(' ', start);
+                start = space < 0 ? -1 : space + 1;
+            }
+            for (long trigram : entry.trigrams()) {
+                trigramEntries.computeIfAbsent(trigram, key -> new ArrayList<>()).add(i);
+            }
+        }
+
+        allSuffixes.sort(Comparator.comparing(Suffix::text));
+        suffixes = new String[allSuffixes.size()];
+        suffixEntries = new int[allSuffixes.size()];
+        suffixAtStart = new boolean[allSuffixes.size()];
+        for (int i = 0; i < suffixes.length; i++) {
+            Suffix suffix = allSuffixes.get(i);
+            suffixes[i] = suffix.text();
+            suffixEntries[i] = suffix.entry();
+            suffixAtStart[i] = suffix.atStart();
+        }
+
+        trigrams = new long[trigramEntries.size()];
+        postings = new int[trigramEntries.size()][];
+        int t = 0;
+        for (Map.Entry<Long, List<Integer>> posting : trigramEntries.entrySet()) {
+            trigrams[t] = posting.getKey();
+            postings[t++] = posting.getValue().stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    /**
+     * Builds an index over the given responses, reusing the folded text and trigrams of every
+     * response this index already holds unchanged.
+     */
+    public CountrySearchIndex rebuild(List<CountryResponse> responses) {
+        Map<String, Entry> previous = new HashMap<>(entries.length * 2);
+        for (Entry entry : entries) {
+            previous.put(entry.response().getCode(), entry);
+        }
+        Entry[] next = new Entry[responses.size()];
+        for (int i = 0; i < next.length; i++) {
+            CountryResponse response = responses.get(i);
+            Entry entry = previous.get(response.getCode());
+            next[i] = entry != null && entry.response().equals(response) ? entry : Entry.of(response);
+        }
+        return new CountrySearchIndex(next);
+    }
+
+    public static CountrySearchIndex of(List<CountryResponse> responses) {
+        return EMPTY.rebuild(responses);
+    }
+
+    /**
+     * Returns up to {@code limit} countries matching the query, best match first. A query that is
+     * blank once folded matches nothing.
+     */
+    public List<CountryResponse> search(String query, int limit) {
+        String folded = fold(query);
+        if (folded.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        int[] scores = new int[entries.length];
+
+        if (folded.length() == 2) {
+            int slot = CountryCodes.slot(folded);
+            if (slot >= 0 && codeSlots[slot] >= 0) {
+                scores[codeSlots[slot]] = CODE_MATCH;
+            }
+        }
+
+        for (int i = lowerBound(suffixes, folded); i < suffixes.length && suffixes[i].startsWith(folded); i++) {
+            int score = suffixAtStart[i] ? PREFIX_MATCH : WORD_PREFIX_MATCH;
+            scores[suffixEntries[i]] = Math.max(scores[suffixEntries[i]], score);
+        }
+
+        long[] queryTrigrams = trigrams(" " + folded);
+        if (folded.length() >= 3 && queryTrigrams.length > 0) {
+            int[] shared = new int[entries.length];
+            for (long trigram : queryTrigrams) {
+                int t = Arrays.binarySearch(trigrams, trigram);
+                if (t >= 0) {
+                    for (int entry : postings[t]) {
+                        shared[entry]++;
+                    }
+                }
+            }
+            for (int i = 0; i < shared.length; i++) {
+                double share = (double) shared[i] / queryTrigrams.length;
+                if (share >= MIN_TRIGRAM_SHARE) {
+                    scores[i] = Math.max(scores[i], (int) (TRIGRAM_MATCH * share));
+                }
+            }
+        }
+
+        List<Match> matches = new ArrayList<>();
+        for (int i = 0; i < scores.length; i++) {
+            if (scores[i] > 0) {
+                matches.add(new Match(entries[i], scores[i]));
+            }
+        }
+        matches.sort(RANKING);
+        return matches.stream()
+                .limit(limit)
+                .map(match -> match.entry().response())
+                .toList();
+    }
+
+    public int size() {
+        return entries.length;
+    }
+
+    /**
+     * Lower case, without diacritics, with every run of non-alphanumeric characters collapsed into
+     * a single space and no leading or trailing space.
+     */
+    static String fold(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder folded = new StringBuilder(decomposed.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                if (pendingSpace && !folded.isEmpty()) {
+                    folded.append(' ');
+                }
+                folded.append(Character.toLowerCase(c));
+                pendingSpace = false;
+            } else {
+                pendingSpace = true;
+            }
+        }
+        return folded.toString();
+    }
+
+    /**
+     * Distinct trigrams of the text, sorted, each packed as three 16-bit chars.
+     */
+    private static long[] trigrams(String text) {
+        if (text.length() < 3) {
+            return new long[0];
+        }
+        long[] packed = new long[text.length() - 2];
+        for (int i = 0; i < packed.length; i++) {
+            packed[i] = ((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2);
+        }
+        return Arrays.stream(packed).sorted().distinct().toArray();
+    }
+
+    private static int lowerBound(String[] sorted, String key) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private record Entry(CountryResponse response, String text, long[] trigrams) {
+
+        static Entry of(CountryResponse response) {
+            String text = fold(response.getDescription());
+            return new Entry(response, text, CountrySearchIndex.trigrams(" " + text + " "));
+        }
+    }
+
+    private record Suffix(String text, int entry, boolean atStart) {
+    }
+
+    private record Match(Entry entry, int score) {
+    }
+}
@@ -0,0 +1,100 @@
+package br.com.danilors.country.server.store;
+
+import br.com.danilors.country.CountryResponse;
+import br.com.danilors.country.server.domain.CountryNamesConverter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The seed countries as a binary snapshot: length-delimited {@link CountryResponse} messages in
+ * {@code data.sql} order. It is precomputed from {@code data.sql} during Spring AOT processing
+ * ({@link CountrySeedAotProcessor}), so a fast-startup server reads its seed data without running
+ * SQL through the database.
+ */
+public final class CountrySeed {
+
+    /**
+     * Classpath location of the precomputed snapshot.
+     */
+    public static final String SNAPSHOT = "seed/countries.bin";
+
+    /**
+     * Classpath location of the seed script the snapshot is computed from.
+     */
+    public static final String SQL = "data.sql";
+
+    // The column list of the INSERT in data.sql, its tuples of string literals, and each literal of
+    // a tuple; quotes are doubled inside strings
+    private static final Pattern COLUMNS =
+            Pattern.compile("INSERT\\s+INTO\\s+country\\s*\\(([^)]*)\\)\\s*VALUES", Pattern.CASE_INSENSITIVE);
+    private static final Pattern ROW = Pattern.compile("\\(\\s*'(?:[^']|'')*'(?:\\s*,\\s*'(?:[^']|'')*')*\\s*\\)");
+    private static final Pattern VALUE = Pattern.compile("'((?:[^']|'')*)'");
+
+    private CountrySeed() {
+    }
+
+    public static List<CountryResponse> read(InputStream in) throws IOException {
+        List<CountryResponse> countries = new ArrayList<>();
+        CountryResponse country;
+        while ((country = CountryResponse.parseDelimitedFrom(in)) != null) {
+            countries.add(country);
+        }
+        return countries;
+    }
+
+    public static void write(List<CountryResponse> countries, OutputStream out) throws IOException {
+        for (CountryResponse country : countries) {
+            country.writeDelimitedTo(out);
+        }
+    }
+
+    /**
+     * Extracts the rows of the {@code INSERT INTO country (code, description, ...) VALUES ...}
+     * statement of {@code data.sql}, mapping values by the statement's column list.
+     *
+     * @throws IllegalArgumentException if there is no such statement or it names an unknown column
+     */
+    public static List<CountryResponse> parseSql(String sql) {
+        Matcher header = COLUMNS.matcher(sql);
+        if (!header.find()) {
+            throw new IllegalArgumentException("No INSERT INTO country statement found");
+        }
+        List<String> columns = Arrays.stream(header.group(1).split(",")).map(String::strip).toList();
+        List<CountryResponse> countries = new ArrayList<>();
+        Matcher row = ROW.matcher(sql);
+        row.region(header.end(), sql.length());
+        while (row.find()) {
+            CountryResponse.Builder country = CountryResponse.newBuilder();
+            Matcher value = VALUE.matcher(row.group());
+            for (String column : columns) {
+                if (!value.find()) {
+                    throw new IllegalArgumentException("Row has fewer values than columns: " + row.group());
+                }
+                set(country, column, value.group(1).replace("''", "'"));
+            }
+            countries.add(country.build());
+        }
+        return countries;
+    }
+
+    private static void set(CountryResponse.Builder country, String column, String value) {
+        switch (column) {
+            case "code" -> country.setCode(value);
+            case "description" -> country.setDescription(value);
+            case "alpha3" -> country.setAlpha3(value);
+            case "numeric_code" -> country.setNumericCode(value);
+            case "region" -> country.setRegion(value);
+            case "currency" -> country.setCurrency(value);
+            case "calling_code" -> country.setCallingCode(value);
+            case "names" -> country.putAllNames(CountryNamesConverter.fromJson(value));
+            default -> throw new IllegalArgumentException("Unknown country column: " + column);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package br.com.danilors.country.server.store;
+
+import br.com.danilors.country.CountryResponse;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotContribution;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Precomputes {@link CountrySeed#SNAPSHOT} from {@code data.sql} while the application is processed
+ * ahead of time ({@code -Pfast-startup}), next to the generated bean definitions.
+ */
+class CountrySeedAotProcessor implements BeanFactoryInitializationAotProcessor {
+
+    @Override
+    public BeanFactoryInitializationAotContribution processAheadOfTime(ConfigurableListableBeanFactory beanFactory) {
+        ClassPathResource sql = new ClassPathResource(CountrySeed.SQL, beanFactory.getBeanClassLoader());
+        if (!sql.exists()) {
+            return null;
+        }
+        byte[] snapshot;
+        try {
+            List<CountryResponse> countries = CountrySeed.parseSql(sql.getContentAsString(StandardCharsets.UTF_8));
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            CountrySeed.write(countries, out);
+            snapshot = out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not precompute the seed snapshot from " + CountrySeed.SQL, e);
+        }
+        return (generationContext, code) -> generationContext.getGeneratedFiles()
+                .addResourceFile(CountrySeed.SNAPSHOT, new ByteArrayResource(snapshot));
+    }
+}
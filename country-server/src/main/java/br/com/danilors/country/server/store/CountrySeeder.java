@@ -0,0 +1,69 @@
+package br.com.danilors.country.server.store;
+
+import br.com.danilors.country.CountryResponse;
+import br.com.danilors.country.server.service.CountryService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Seeds the country table from the precomputed {@link CountrySeed#SNAPSHOT} instead of running
+ * {@code data.sql} ({@code country.seed.source=snapshot}, with {@code spring.sql.init.mode=never}).
+ * The rows go in as one JDBC batch, and {@link CountrySnapshotStore} builds its first snapshot
+ * from the same records rather than reading them back through JPA.
+ * <p>
+ * Without the snapshot, for a build that skipped AOT processing, the records are parsed from
+ * {@code data.sql} instead.
+ */
+@Component
+@ConditionalOnProperty(name = "country.seed.source", havingValue = "snapshot")
+public class CountrySeeder {
+
+    private static final Logger log = LoggerFactory.getLogger(CountrySeeder.class);
+
+    private final CountryService countryService;
+
+    public CountrySeeder(CountryService countryService) {
+        this.countryService = countryService;
+    }
+
+    /**
+     * Inserts the seed records if the table is empty.
+     *
+     * @return the records inserted, or {@code null} if the table already had rows
+     */
+    public List<CountryResponse> seed() {
+        long start = System.nanoTime();
+        List<CountryResponse> countries = load();
+        boolean seeded = countryService.seed(countries.stream().map(CountryService.Upsert::from).toList());
+        if (!seeded) {
+            log.info("Country table already has rows, not seeding it");
+            return null;
+        }
+        log.info("Seeded {} countries in {} ms", countries.size(), (System.nanoTime() - start) / 1_000_000);
+        return countries;
+    }
+
+    private static List<CountryResponse> load() {
+        ClassPathResource snapshot = new ClassPathResource(CountrySeed.SNAPSHOT);
+        try {
+            if (snapshot.exists()) {
+                try (InputStream in = snapshot.getInputStream()) {
+                    return CountrySeed.read(in);
+                }
+            }
+            log.warn("No precomputed {} (build with -Pfast-startup), parsing {}", CountrySeed.SNAPSHOT, CountrySeed.SQL);
+            return CountrySeed.parseSql(new ClassPathResource(CountrySeed.SQL).getContentAsString(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read the seed countries", e);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package br.com.danilors.country.server.store;
+
+import br.com.danilors.country.CountryResponse;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Immutable, read-optimized view of the country table. Responses are built once at load time so
+ * lookups never touch JPA and never allocate; {@code byCode} resolves a code with a single array
+ * load, and {@code search} serves type-ahead queries. {@code all} holds every field of every
+ * country; responses cut down to the fields a request selects, and their serialized form for
+ * listings to be written without re-encoding, come from {@link #projection(int)}.
+ * <p>
+ * {@code version} counts refreshes and orders the events of {@code watchCountries};
+ * {@code dataVersion} is the change-log version the table was read at, the one clients sync
+ * against with {@code listCountriesSince}. The rows may already include later writes.
+ */
+public record CountrySnapshot(long version,
+                              long dataVersion,
+                              CountryCodeIndex byCode,
+                              CountrySearchIndex search,
+                              List<CountryResponse> all,
+                              CountryProjections projections,
+                              Instant loadedAt,
+                              Duration loadDuration) {
+
+    public static final CountrySnapshot EMPTY =
+            new CountrySnapshot(0L, 0L, CountryCodeIndex.EMPTY, CountrySearchIndex.EMPTY, List.of(),
+                    CountryProjections.EMPTY, Instant.EPOCH, Duration.ZERO);
+
+    /**
+     * Returns the prebuilt response for the given code in any case, or {@code null} when it is
+     * unknown or malformed.
+     */
+    public CountryResponse find(String code) {
+        return byCode.find(code);
+    }
+
+    /**
+     * Returns the countries cut down to the given selection of {@link CountryFields}.
+     */
+    public CountryProjection projection(int fields) {
+        return projections.get(fields);
+    }
+
+    public int size() {
+        return all.size();
+    }
+}
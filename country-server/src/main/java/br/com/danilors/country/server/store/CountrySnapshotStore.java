@@ -0,0 +1,418 @@
+package br.com.danilors.country.server.store;
+
+import br.com.danilors.country.CountryChange;
+import br.com.danilors.country.CountryResponse;
+import br.com.danilors.country.common.code.CountryCodes;
+import br.com.danilors.country.server.domain.Country;
+import br.com.danilors.country.server.domain.CountryChangeLog;
+import br.com.danilors.country.server.service.CountriesChangedEvent;
+import br.com.danilors.country.server.service.CountryService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Holds the current {@link CountrySnapshot}. Readers get a consistent snapshot through a single
+ * volatile read; {@link #refresh()} builds a new one from the database and swaps it atomically.
+ * After every swap the differences to the previous snapshot are published to the watchers
+ * registered through {@link #watch(Consumer)}.
+ * <p>
+ * Concurrent refreshes are coalesced: callers that arrive while a reload is running share the
+ * next one, so at most one reload runs and one waits, however many callers there are.
+ * <p>
+ * Writes that span several transactions, such as an ingest, hold refreshes through
+ * {@link #holdRefreshes()} so that no reload shows part of them; refreshes asked for in between,
+ * scheduled or triggered by single writes, are deferred to the release of the last hold.
+ * <p>
+ * When a {@link CountrySeeder} fills the empty table at startup, the first snapshot is built from
+ * the seed records it inserted instead of being read back from the database.
+ */
+@Component
+public class CountrySnapshotStore implements SmartInitializingSingleton, MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(CountrySnapshotStore.class);
+
+    private final CountryService countryService;
+    private final CountrySeeder seeder;
+
+    private final Set<Consumer<List<CountryChange>>> watchers = new CopyOnWriteArraySet<>();
+
+    private final Object reloadLock = new Object();
+    private final LongAdder refreshLeaders = new LongAdder();
+    private final LongAdder refreshFollowers = new LongAdder();
+
+    private volatile CountrySnapshot snapshot = CountrySnapshot.EMPTY;
+    // Reload not yet started, shared by every caller that asks for a refresh before it starts.
+    private CompletableFuture<CountrySnapshot> queuedRefresh;
+    // Open holds, and whether a refresh was skipped because of them; guarded by reloadLock.
+    private int refreshHolds;
+    private boolean refreshDeferred;
+
+    public CountrySnapshotStore(CountryService countryService) {
+        this(countryService, null);
+    }
+
+    @Autowired
+    public CountrySnapshotStore(CountryService countryService, @Nullable CountrySeeder seeder) {
+        this.countryService = countryService;
+        this.seeder = seeder;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        // Runs after the datasource has been seeded but before the gRPC server starts accepting calls.
+        List<CountryResponse> seeded = seeder != null ? seeder.seed() : null;
+        if (seeded == null) {
+            refresh();
+            return;
+        }
+        // The table holds exactly the seed, at data version 0: no need to read it back
+        synchronized (reloadLock) {
+            install(0L, seeded, System.nanoTime(), "seed");
+        }
+    }
+
+    /**
+     * Reloads the table periodically so that changes made directly in the database reach the
+     * snapshot and its watchers. Such changes are logged on the way, so they get a data version
+     * of their own, as writes through {@link CountryService} do.
+     */
+    @Scheduled(initialDelayString = "${country.snapshot.refresh-interval:5m}",
+            fixedDelayString = "${country.snapshot.refresh-interval:5m}")
+    public void scheduledRefresh() {
+        refresh();
+    }
+
+    /**
+     * Makes writes made through {@link CountryService} visible as soon as they are committed.
+     */
+    @EventListener
+    public void onCountriesChanged(CountriesChangedEvent event) {
+        if (snapshot.dataVersion() < event.version()) {
+            refresh();
+        }
+    }
+
+    public CountrySnapshot current() {
+        return snapshot;
+    }
+
+    /**
+     * Returns the prebuilt response for the given code in any case, or {@code null} when it is
+     * unknown or malformed.
+     */
+    public CountryResponse findByCode(String code) {
+        return snapshot.find(code);
+    }
+
+    /**
+     * Like {@link #findByCode(String)}, with the response cut down to a selection of
+     * {@link CountryFields}.
+     */
+    public CountryResponse findByCode(String code, int fields) {
+        return snapshot.projection(fields).find(code);
+    }
+
+    /**
+     * Changes that bring a client at data version {@code version} in sync with the current
+     * snapshot, with upserted countries cut down to a selection of {@link CountryFields}.
+     * Afterwards the client is at the highest version in the list:
+     * <ul>
+     *     <li>nothing when the client is up to date, without touching the database</li>
+     *     <li>the latest upsert or delete of every code written since, from the change log</li>
+     *     <li>a {@code RESET} and every country when {@code version} is negative or newer than the
+     *     snapshot, for example after the server lost its history</li>
+     * </ul>
+     */
+    public List<CountryChange> changesSince(long version, int fields) {
+        CountrySnapshot current = snapshot;
+        CountryProjection projection = current.projection(fields);
+        if (version == current.dataVersion()) {
+            return List.of();
+        }
+        if (version < 0 || version > current.dataVersion()) {
+            List<CountryChange> changes = new ArrayList<>(current.size() + 1);
+            changes.add(CountryChange.newBuilder()
+                    .setType(CountryChange.Type.RESET)
+                    .setVersion(current.dataVersion())
+                    .build());
+            for (CountryResponse country : projection.all()) {
+                changes.add(upsert(current.dataVersion(), country));
+            }
+            return changes;
+        }
+
+        Map<String, Long> latest = new LinkedHashMap<>();
+        for (CountryChangeLog entry : countryService.changesBetween(version, current.dataVersion())) {
+            // Keep one change per code, ordered by its latest version
+            latest.remove(entry.getCode());
+            latest.put(entry.getCode(), entry.getVersion());
+        }
+        List<CountryChange> changes = new ArrayList<>(latest.size());
+        latest.forEach((code, changeVersion) -> {
+            CountryResponse country = projection.find(code);
+            changes.add(country != null
+                    ? upsert(changeVersion, country)
+                    : CountryChange.newBuilder()
+                            .setType(CountryChange.Type.DELETE)
+                            .setVersion(changeVersion)
+                            .setCode(code)
+                            .build());
+        });
+        return changes;
+    }
+
+    private static CountryChange upsert(long version, CountryResponse country) {
+        return CountryChange.newBuilder()
+                .setType(CountryChange.Type.UPSERT)
+                .setVersion(version)
+                .setCode(country.getCode())
+                .setCountry(country)
+                .build();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("country.single-flight.calls", refreshLeaders, LongAdder::sum)
+                .tags("name", "snapshotRefresh", "role", "leader")
+                .register(registry);
+        FunctionCounter.builder("country.single-flight.calls", refreshFollowers, LongAdder::sum)
+                .tags("name", "snapshotRefresh", "role", "follower")
+                .register(registry);
+    }
+
+    /**
+     * Reloads the snapshot from the database. The returned snapshot always reflects writes that
+     * completed before the call: callers either start a new reload or join one that has not read
+     * the table yet. While refreshes are held, it returns the current snapshot and the reload
+     * happens when the last hold is released.
+     */
+    public CountrySnapshot refresh() {
+        CompletableFuture<CountrySnapshot> refresh;
+        boolean leader = false;
+        synchronized (this) {
+            if (queuedRefresh == null) {
+                queuedRefresh = new CompletableFuture<>();
+                leader = true;
+            }
+            refresh = queuedRefresh;
+        }
+        if (!leader) {
+            refreshFollowers.increment();
+            try {
+                return refresh.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+
+        refreshLeaders.increment();
+        synchronized (reloadLock) {
+            synchronized (this) {
+                // From here on the table is read, so later callers must queue a new reload
+                queuedRefresh = null;
+            }
+            if (refreshHolds > 0) {
+                refreshDeferred = true;
+                refresh.complete(snapshot);
+                return snapshot;
+            }
+            try {
+                CountrySnapshot next = reload();
+                refresh.complete(next);
+                return next;
+            } catch (RuntimeException e) {
+                refresh.completeExceptionally(e);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Keeps the snapshot as it is until the returned handle is run, so that writes committed in
+     * several transactions become visible together. Waits for a reload in progress, so none reads
+     * the table after this returns. Releasing the last hold runs the refreshes deferred meanwhile,
+     * as one reload; the handle can be run more than once.
+     */
+    public Runnable holdRefreshes() {
+        synchronized (reloadLock) {
+            refreshHolds++;
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        return () -> {
+            if (!released.compareAndSet(false, true)) {
+                return;
+            }
+            boolean deferred;
+            synchronized (reloadLock) {
+                deferred = --refreshHolds == 0 && refreshDeferred;
+                if (deferred) {
+                    refreshDeferred = false;
+                }
+            }
+            if (deferred) {
+                refresh();
+            }
+        };
+    }
+
+    private CountrySnapshot reload() {
+        long start = System.nanoTime();
+        CountrySnapshot previous = snapshot;
+        while (true) {
+            // Read before the rows, so the rows hold at least every change up to this version
+            long dataVersion = countryService.currentVersion();
+            List<CountryResponse> rows = new ArrayList<>();
+            countryService.streamAll(country -> rows.add(toResponse(country)));
+            Map<String, CountryChangeLog.Type> external = previous == CountrySnapshot.EMPTY
+                    ? Map.of()
+                    : externalChanges(previous, dataVersion, rows);
+            if (external.isEmpty()) {
+                return install(dataVersion, rows, start, "database");
+            }
+            OptionalLong logged = countryService.logExternalChanges(dataVersion, external);
+            if (logged.isPresent()) {
+                log.info("Logged {} countries changed directly in the database", external.size());
+                return install(logged.getAsLong(), rows, start, "database");
+            }
+            // A write went through CountryService meanwhile and may be missing from the rows
+        }
+    }
+
+    /**
+     * Codes whose row differs from the previous snapshot with no write logged for them since:
+     * they were edited directly in the database, and the data version alone would not show it.
+     */
+    private Map<String, CountryChangeLog.Type> externalChanges(CountrySnapshot previous, long dataVersion,
+                                                             List<CountryResponse> rows) {
+        Set<String> logged = new HashSet<>();
+        for (CountryChangeLog entry : countryService.changesBetween(previous.dataVersion(), dataVersion)) {
+            logged.add(entry.getCode());
+        }
+        Map<String, CountryChangeLog.Type> changes = new LinkedHashMap<>();
+        Set<String> present = new HashSet<>();
+        for (CountryResponse country : rows) {
+            String code = CountryCodes.normalize(country.getCode());
+            if (code == null) {
+                continue;
+            }
+            present.add(code);
+            if (!logged.contains(code) && !country.equals(previous.find(code))) {
+                changes.put(code, CountryChangeLog.Type.UPSERT);
+            }
+        }
+        for (CountryResponse country : previous.all()) {
+            String code = CountryCodes.normalize(country.getCode());
+            if (!present.contains(code) && !logged.contains(code)) {
+                changes.put(code, CountryChangeLog.Type.DELETE);
+            }
+        }
+        return changes;
+    }
+
+    private static CountryResponse toResponse(Country country) {
+        return CountryResponse.newBuilder()
+                .setCode(country.getCode())
+                .setDescription(Objects.requireNonNullElse(country.getDescription(), ""))
+                .setAlpha3(Objects.requireNonNullElse(country.getAlpha3(), ""))
+                .setNumericCode(Objects.requireNonNullElse(country.getNumericCode(), ""))
+                .setRegion(Objects.requireNonNullElse(country.getRegion(), ""))
+                .setCurrency(Objects.requireNonNullElse(country.getCurrency(), ""))
+                .setCallingCode(Objects.requireNonNullElse(country.getCallingCode(), ""))
+                .putAllNames(Objects.requireNonNullElse(country.getNames(), Map.of()))
+                .build();
+    }
+
+    private CountrySnapshot install(long dataVersion, List<CountryResponse> rows, long start, String source) {
+        List<CountryResponse> all = new ArrayList<>(rows.size());
+        for (CountryResponse country : rows) {
+            if (!CountryCodes.isValid(country.getCode())) {
+                log.warn("Skipping country with malformed code '{}'", country.getCode());
+                continue;
+            }
+            all.add(country);
+        }
+
+        CountrySnapshot previous = snapshot;
+        CountrySnapshot next = new CountrySnapshot(previous.version() + 1,
+                dataVersion,
+                CountryCodeIndex.of(all),
+                previous.search().rebuild(all),
+                List.copyOf(all),
+                CountryProjections.of(all),
+                Instant.now(),
+                Duration.ofNanos(System.nanoTime() - start));
+        snapshot = next;
+        log.info("Loaded country snapshot v{} (data version {}) with {} entries from the {} in {} ms",
+                next.version(), next.dataVersion(), next.size(), source, next.loadDuration().toMillis());
+        publish(diff(previous, next));
+        return next;
+    }
+
+    /**
+     * Registers a listener for the changes published by every later {@link #refresh()}. Listeners
+     * run on the refreshing thread and must not block. The returned handle unregisters it.
+     */
+    public Runnable watch(Consumer<List<CountryChange>> watcher) {
+        watchers.add(watcher);
+        return () -> watchers.remove(watcher);
+    }
+
+    private void publish(List<CountryChange> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        log.info("Publishing {} country changes to {} watchers", changes.size(), watchers.size());
+        for (Consumer<List<CountryChange>> watcher : watchers) {
+            try {
+                watcher.accept(changes);
+            } catch (RuntimeException e) {
+                log.warn("Country change watcher failed", e);
+            }
+        }
+    }
+
+    private static List<CountryChange> diff(CountrySnapshot previous, CountrySnapshot next) {
+        List<CountryChange> changes = new ArrayList<>();
+        for (CountryResponse country : next.all()) {
+            if (!country.equals(previous.find(country.getCode()))) {
+                changes.add(upsert(next.version(), country));
+            }
+        }
+        for (CountryResponse country : previous.all()) {
+            if (next.find(country.getCode()) == null) {
+                changes.add(CountryChange.newBuilder()
+                        .setType(CountryChange.Type.DELETE)
+                        .setVersion(next.version())
+                        .setCode(country.getCode())
+                        .build());
+            }
+        }
+        return changes;
+    }
+}
@@ -1,244 +1,244 @@
-INSERT INTO country (code, description) VALUES
-('AF', 'Afghanistan'),
-('AL', 'Albania'),
-('DZ', 'Algeria'),
-('AS', 'American Samoa'),
-('AD', 'Andorra'),
-('AO', 'Angola'),
-('AI', 'Anguilla'),
-('AQ', 'Antarctica'),
-('AG', 'Antigua and Barbuda'),
-('AR', 'Argentina'),
-('AM', 'Armenia'),
-('AW', 'Aruba'),
-('AU', 'Australia'),
-('AT', 'Austria'),
-('AZ', 'Azerbaijan'),
-('BS', 'Bahamas'),
-('BH', 'Bahrain'),
-('BD', 'Bangladesh'),
-('BB', 'Barbados'),
-('BY', 'Belarus'),
-('BE', 'Belgium'),
-('BZ', 'Belize'),
-('BJ', 'Benin'),
-('BM', 'Bermuda'),
-('BT', 'Bhutan'),
-('BO', 'Bolivia'),
-('BA', 'Bosnia and Herzegovina'),
-('BW', 'Botswana'),
-('BR', 'Brazil'),
-('IO', 'British Indian Ocean Territory'),
-('VG', 'British Virgin Islands'),
-('BN', 'Brunei'),
-('BG', 'Bulgaria'),
-('BF', 'Burkina Faso'),
-('BI', 'Burundi'),
-('KH', 'Cambodia'),
-('CM', 'Cameroon'),
-('CA', 'Canada'),
-('CV', 'Cape Verde'),
-('KY', 'Cayman Islands'),
-('CF', 'Central African Republic'),
-('TD', 'Chad'),
-('CL', 'Chile'),
-('CN', 'China'),
-('CX', 'Christmas Island'),
-('CC', 'Cocos Islands'),
-('CO', 'Colombia'),
-('KM', 'Comoros'),
-('CK', 'Cook Islands'),
-('CR', 'Costa Rica'),
-('HR', 'Croatia'),
-('CU', 'Cuba'),
-('CW', 'Curacao'),
-('CY', 'Cyprus'),
-('CZ', 'Czech Republic'),
-('CD', 'Democratic Republic of the Congo'),
-('DK', 'Denmark'),
-('DJ', 'Djibouti'),
-('DM', 'Dominica'),
-('DO', 'Dominican Republic'),
-('TL', 'East Timor'),
-('EC', 'Ecuador'),
-('EG', 'Egypt'),
-('SV', 'El Salvador'),
-('GQ', 'Equatorial Guinea'),
-('ER', 'Eritrea'),
-('EE', 'Estonia'),
-('ET', 'Ethiopia'),
-('FK', 'Falkland Islands'),
-('FO', 'Faroe Islands'),
-('FJ', 'Fiji'),
-('FI', 'Finland'),
-('FR', 'France'),
-('GF', 'French Guiana'),
-('PF', 'French Polynesia'),
-('GA', 'Gabon'),
-('GM', 'Gambia'),
-('GE', 'Georgia'),
-('DE', 'Germany'),
-('GH', 'Ghana'),
-('GI', 'Gibraltar'),
-('GR', 'Greece'),
-('GL', 'Greenland'),
-('GD', 'Grenada'),
-('GP', 'Guadeloupe'),
-('GU', 'Guam'),
-('GT', 'Guatemala'),
-('GG', 'Guernsey'),
-('GN', 'Guinea'),
-('GW', 'Guinea-Bissau'),
-('GY', 'Guyana'),
-('HT', 'Haiti'),
-('HN', 'Honduras'),
-('HK', 'Hong Kong'),
-('HU', 'Hungary'),
-('IS', 'Iceland'),
-('IN', 'India'),
-('ID', 'Indonesia'),
-('IR', 'Iran'),
-('IQ', 'Iraq'),
-('IE', 'Ireland'),
-('IM', 'Isle of Man'),
-('IL', 'Israel'),
-('IT', 'Italy'),
-('CI', 'Ivory Coast'),
-('JM', 'Jamaica'),
-('JP', 'Japan'),
-('JE', 'Jersey'),
-('JO', 'Jordan'),
-('KZ', 'Kazakhstan'),
-('KE', 'Kenya'),
-('KI', 'Kiribati'),
-('XK', 'Kosovo'),
-('KW', 'Kuwait'),
-('KG', 'Kyrgyzstan'),
-('LA', 'Laos'),
-('LV', 'Latvia'),
-('LB', 'Lebanon'),
-('LS', 'Lesotho'),
-('LR', 'Liberia'),
-('LY', 'Libya'),
-('LI', 'Liechtenstein'),
-('LT', 'Lithuania'),
-('LU', 'Luxembourg'),
-('MO', 'Macau'),
-('MK', 'Macedonia'),
-('MG', 'Madagascar'),
-('MW', 'Malawi'),
-('MY', 'Malaysia'),
-('MV', 'Maldives'),
-('ML', 'Mali'),
-('MT', 'Malta'),
-('MH', 'Marshall Islands'),
-('MQ', 'Martinique'),
-('MR', 'Mauritania'),
-('MU', 'Mauritius'),
-('YT', 'Mayotte'),
-('MX', 'Mexico'),
-('FM', 'Micronesia'),
-('MD', 'Moldova'),
-('MC', 'Monaco'),
-('MN', 'Mongolia'),
-('ME', 'Montenegro'),
-('MS', 'Montserrat'),
-('MA', 'Morocco'),
-('MZ', 'Mozambique'),
-('MM', 'Myanmar'),
-('NA', 'Namibia'),
-('NR', 'Nauru'),
-('NP', 'Nepal'),
-('NL', 'Netherlands'),
-('NC', 'New Caledonia'),
-('NZ', 'New Zealand'),
-('NI', 'Nicaragua'),
-('NE', 'Niger'),
-('NG', 'Nigeria'),
-('NU', 'Niue'),
-('NF', 'Norfolk Island'),
-('KP', 'North Korea'),
-('MP', 'Northern Mariana Islands'),
-('NO', 'Norway'),
-('OM', 'Oman'),
-('PK', 'Pakistan'),
-('PW', 'Palau'),
-('PS', 'Palestine'),
-('PA', 'Panama'),
-('PG', 'Papua New Guinea'),
-('PY', 'Paraguay'),
-('PE', 'Peru'),
-('PH', 'Philippines'),
-('PN', 'Pitcairn'),
-('PL', 'Poland'),
-('PT', 'Portugal'),
-('PR', 'Puerto Rico'),
-('QA', 'Qatar'),
-('CG', 'Republic of the Congo'),
-('RE', 'Reunion'),
-('RO', 'Romania'),
-('RU', 'Russia'),
-('RW', 'Rwanda'),
-('BL', 'Saint Barthelemy'),
-('SH', 'Saint Helena'),
-('KN', 'Saint Kitts and Nevis'),
-('LC', 'Saint Lucia'),
-('MF', 'Saint Martin'),
-('PM', 'Saint Pierre and Miquelon'),
-('VC', 'Saint Vincent and the Grenadines'),
-('WS', 'Samoa'),
-('SM', 'San Marino'),
-('ST', 'Sao Tome and Principe'),
-('SA', 'Saudi Arabia'),
-('SN', 'Senegal'),
-('RS', 'Serbia'),
-('SC', 'Seychelles'),
-('SL', 'Sierra Leone'),
-('SG', 'Singapore'),
-('SX', 'Sint Maarten'),
-('SK', 'Slovakia'),
-('SI', 'Slovenia'),
-('SB', 'Solomon Islands'),
-('SO', 'Somalia'),
-('ZA', 'South Africa'),
-('KR', 'South Korea'),
-('SS', 'South Sudan'),
-('ES', 'Spain'),
-('LK', 'Sri Lanka'),
-('SD', 'Sudan'),
-('SR', 'Suriname'),
-('SJ', 'Svalbard and Jan Mayen'),
-('SZ', 'Swaziland'),
-('SE', 'Sweden'),
-('CH', 'Switzerland'),
-('SY', 'Syria'),
-('TW', 'Taiwan'),
-('TJ', 'Tajikistan'),
-('TZ', 'Tanzania'),
-('TH', 'Thailand'),
-('TG', 'Togo'),
-('TK', 'Tokelau'),
-('TO', 'Tonga'),
-('TT', 'Trinidad and Tobago'),
-('TN', 'Tunisia'),
-('TR', 'Turkey'),
-('TM', 'Turkmenistan'),
-('TC', 'Turks and Caicos Islands'),
-('TV', 'Tuvalu'),
-('VI', 'U.S. Virgin Islands'),
-('UG', 'Uganda'),
-('UA', 'Ukraine'),
-('AE', 'United Arab Emirates'),
-('GB', 'United Kingdom'),
-('US', 'United States'),
-('UY', 'Uruguay'),
-('UZ', 'Uzbekistan'),
-('VU', 'Vanuatu'),
-('VA', 'Vatican'),
-('VE', 'Venezuela'),
-('VN', 'Vietnam'),
-('WF', 'Wallis and Futuna'),
-('EH', 'Western Sahara'),
-('YE', 'Yemen'),
-('ZM', 'Zambia'),
-('ZW', 'Zimbabwe');
+INSERT INTO country (code, description, alpha3, numeric_code, region, currency, calling_code, names) VALUES
+('AF', 'Afghanistan', 'AFG', '004', 'Asia', 'AFN', '+93', '{"de":"Afghanistan","en":"Afghanistan","es":"Afganistán","fr":"Afghanistan","it":"Afghanistan","pt":"Afeganistão"}'),
+('AL', 'Albania', 'ALB', '008', 'Europe', 'ALL', '+355', '{"de":"Albanien","en":"Albania","es":"Albania","fr":"Albanie","it":"Albania","pt":"Albânia"}'),
+('DZ', 'Algeria', 'DZA', '012', 'Africa', 'DZD', '+213', '{"de":"Algerien","en":"Algeria","es":"Argelia","fr":"Algérie","it":"Algeria","pt":"Argélia"}'),
+('AS', 'American Samoa', 'ASM', '016', 'Oceania', 'USD', '+1 684', '{"de":"Amerikanisch-Samoa","en":"American Samoa","es":"Samoa Americana","fr":"Samoa américaines","it":"Samoa americane","pt":"Samoa Americana"}'),
+('AD', 'Andorra', 'AND', '020', 'Europe', 'EUR', '+376', '{"de":"Andorra","en":"Andorra","es":"Andorra","fr":"Andorre","it":"Andorra","pt":"Andorra"}'),
+('AO', 'Angola', 'AGO', '024', 'Africa', 'AOA', '+244', '{"de":"Angola","en":"Angola","es":"Angola","fr":"Angola","it":"Angola","pt":"Angola"}'),
+('AI', 'Anguilla', 'AIA', '660', 'Americas', 'XCD', '+1 264', '{"de":"Anguilla","en":"Anguilla","es":"Anguila","fr":"Anguilla","it":"Anguilla","pt":"Anguila"}'),
+('AQ', 'Antarctica', 'ATA', '010', 'Antarctica', '', '+672', '{"de":"Antarktis","en":"Antarctica","es":"Antártida","fr":"Antarctique","it":"Antartide","pt":"Antártida"}'),
+('AG', 'Antigua and Barbuda', 'ATG', '028', 'Americas', 'XCD', '+1 268', '{"de":"Antigua und Barbuda","en":"Antigua & Barbuda","es":"Antigua y Barbuda","fr":"Antigua-et-Barbuda","it":"Antigua e Barbuda","pt":"Antígua e Barbuda"}'),
+('AR', 'Argentina', 'ARG', '032', 'Americas', 'ARS', '+54', '{"de":"Argentinien","en":"Argentina","es":"Argentina","fr":"Argentine","it":"Argentina","pt":"Argentina"}'),
+('AM', 'Armenia', 'ARM', '051', 'Asia', 'AMD', '+374', '{"de":"Armenien","en":"Armenia","es":"Armenia","fr":"Arménie","it":"Armenia","pt":"Armênia"}'),
+('AW', 'Aruba', 'ABW', '533', 'Americas', 'AWG', '+297', '{"de":"Aruba","en":"Aruba","es":"Aruba","fr":"Aruba","it":"Aruba","pt":"Aruba"}'),
+('AU', 'Australia', 'AUS', '036', 'Oceania', 'AUD', '+61', '{"de":"Australien","en":"Australia","es":"Australia","fr":"Australie","it":"Australia","pt":"Austrália"}'),
+('AT', 'Austria', 'AUT', '040', 'Europe', 'EUR', '+43', '{"de":"Österreich","en":"Austria","es":"Austria","fr":"Autriche","it":"Austria","pt":"Áustria"}'),
+('AZ', 'Azerbaijan', 'AZE', '031', 'Asia', 'AZN', '+994', '{"de":"Aserbaidschan","en":"Azerbaijan","es":"Azerbaiyán","fr":"Azerbaïdjan","it":"Azerbaigian","pt":"Azerbaijão"}'),
+('BS', 'Bahamas', 'BHS', '044', 'Americas', 'BSD', '+1 242', '{"de":"Bahamas","en":"Bahamas","es":"Bahamas","fr":"Bahamas","it":"Bahamas","pt":"Bahamas"}'),
+('BH', 'Bahrain', 'BHR', '048', 'Asia', 'BHD', '+973', '{"de":"Bahrain","en":"Bahrain","es":"Baréin","fr":"Bahreïn","it":"Bahrein","pt":"Barein"}'),
+('BD', 'Bangladesh', 'BGD', '050', 'Asia', 'BDT', '+880', '{"de":"Bangladesch","en":"Bangladesh","es":"Bangladés","fr":"Bangladesh","it":"Bangladesh","pt":"Bangladesh"}'),
+('BB', 'Barbados', 'BRB', '052', 'Americas', 'BBD', '+1 246', '{"de":"Barbados","en":"Barbados","es":"Barbados","fr":"Barbade","it":"Barbados","pt":"Barbados"}'),
+('BY', 'Belarus', 'BLR', '112', 'Europe', 'BYN', '+375', '{"de":"Belarus","en":"Belarus","es":"Bielorrusia","fr":"Biélorussie","it":"Bielorussia","pt":"Bielorrússia"}'),
+('BE', 'Belgium', 'BEL', '056', 'Europe', 'EUR', '+32', '{"de":"Belgien","en":"Belgium","es":"Bélgica","fr":"Belgique","it":"Belgio","pt":"Bélgica"}'),
+('BZ', 'Belize', 'BLZ', '084', 'Americas', 'BZD', '+501', '{"de":"Belize","en":"Belize","es":"Belice","fr":"Belize","it":"Belize","pt":"Belize"}'),
+('BJ', 'Benin', 'BEN', '204', 'Africa', 'XOF', '+229', '{"de":"Benin","en":"Benin","es":"Benín","fr":"Bénin","it":"Benin","pt":"Benin"}'),
+('BM', 'Bermuda', 'BMU', '060', 'Americas', 'BMD', '+1 441', '{"de":"Bermuda","en":"Bermuda","es":"Bermudas","fr":"Bermudes","it":"Bermuda","pt":"Bermudas"}'),
+('BT', 'Bhutan', 'BTN', '064', 'Asia', 'BTN', '+975', '{"de":"Bhutan","en":"Bhutan","es":"Bután","fr":"Bhoutan","it":"Bhutan","pt":"Butão"}'),
+('BO', 'Bolivia', 'BOL', '068', 'Americas', 'BOB', '+591', '{"de":"Bolivien","en":"Bolivia","es":"Bolivia","fr":"Bolivie","it":"Bolivia","pt":"Bolívia"}'),
+('BA', 'Bosnia and Herzegovina', 'BIH', '070', 'Europe', 'BAM', '+387', '{"de":"Bosnien und Herzegowina","en":"Bosnia & Herzegovina","es":"Bosnia y Herzegovina","fr":"Bosnie-Herzégovine","it":"Bosnia ed Erzegovina","pt":"Bósnia e Herzegovina"}'),
+('BW', 'Botswana', 'BWA', '072', 'Africa', 'BWP', '+267', '{"de":"Botsuana","en":"Botswana","es":"Botsuana","fr":"Botswana","it":"Botswana","pt":"Botsuana"}'),
+('BR', 'Brazil', 'BRA', '076', 'Americas', 'BRL', '+55', '{"de":"Brasilien","en":"Brazil","es":"Brasil","fr":"Brésil","it":"Brasile","pt":"Brasil"}'),
+('IO', 'British Indian Ocean Territory', 'IOT', '086', 'Africa', 'USD', '+246', '{"de":"Britisches Territorium im Indischen Ozean","en":"British Indian Ocean Territory","es":"Territorio Británico del Océano Índico","fr":"Territoire britannique de l’océan Indien","it":"Territorio britannico dell’Oceano Indiano","pt":"Território Britânico do Oceano Índico"}'),
+('VG', 'British Virgin Islands', 'VGB', '092', 'Americas', 'USD', '+1 284', '{"de":"Britische Jungferninseln","en":"British Virgin Islands","es":"Islas Vírgenes Británicas","fr":"Îles Vierges britanniques","it":"Isole Vergini Britanniche","pt":"Ilhas Virgens Britânicas"}'),
+('BN', 'Brunei', 'BRN', '096', 'Asia', 'BND', '+673', '{"de":"Brunei Darussalam","en":"Brunei","es":"Brunéi","fr":"Brunei","it":"Brunei","pt":"Brunei"}'),
+('BG', 'Bulgaria', 'BGR', '100', 'Europe', 'EUR', '+359', '{"de":"Bulgarien","en":"Bulgaria","es":"Bulgaria","fr":"Bulgarie","it":"Bulgaria","pt":"Bulgária"}'),
+('BF', 'Burkina Faso', 'BFA', '854', 'Africa', 'XOF', '+226', '{"de":"Burkina Faso","en":"Burkina Faso","es":"Burkina Faso","fr":"Burkina Faso","it":"Burkina Faso","pt":"Burquina Faso"}'),
+('BI', 'Burundi', 'BDI', '108', 'Africa', 'BIF', '+257', '{"de":"Burundi","en":"Burundi","es":"Burundi","fr":"Burundi","it":"Burundi","pt":"Burundi"}'),
+('KH', 'Cambodia', 'KHM', '116', 'Asia', 'KHR', '+855', '{"de":"Kambodscha","en":"Cambodia","es":"Camboya","fr":"Cambodge","it":"Cambogia","pt":"Camboja"}'),
+('CM', 'Cameroon', 'CMR', '120', 'Africa', 'XAF', '+237', '{"de":"Kamerun","en":"Cameroon","es":"Camerún","fr":"Cameroun","it":"Camerun","pt":"Camarões"}'),
+('CA', 'Canada', 'CAN', '124', 'Americas', 'CAD', '+1', '{"de":"Kanada","en":"Canada","es":"Canadá","fr":"Canada","it":"Canada","pt":"Canadá"}'),
+('CV', 'Cape Verde', 'CPV', '132', 'Africa', 'CVE', '+238', '{"de":"Cabo Verde","en":"Cape Verde","es":"Cabo Verde","fr":"Cap-Vert","it":"Capo Verde","pt":"Cabo Verde"}'),
+('KY', 'Cayman Islands', 'CYM', '136', 'Americas', 'KYD', '+1 345', '{"de":"Kaimaninseln","en":"Cayman Islands","es":"Islas Caimán","fr":"Îles Caïmans","it":"Isole Cayman","pt":"Ilhas Cayman"}'),
+('CF', 'Central African Republic', 'CAF', '140', 'Africa', 'XAF', '+236', '{"de":"Zentralafrikanische Republik","en":"Central African Republic","es":"República Centroafricana","fr":"République centrafricaine","it":"Repubblica Centrafricana","pt":"República Centro-Africana"}'),
+('TD', 'Chad', 'TCD', '148', 'Africa', 'XAF', '+235', '{"de":"Tschad","en":"Chad","es":"Chad","fr":"Tchad","it":"Ciad","pt":"Chade"}'),
+('CL', 'Chile', 'CHL', '152', 'Americas', 'CLP', '+56', '{"de":"Chile","en":"Chile","es":"Chile","fr":"Chili","it":"Cile","pt":"Chile"}'),
+('CN', 'China', 'CHN', '156', 'Asia', 'CNY', '+86', '{"de":"China","en":"China","es":"China","fr":"Chine","it":"Cina","pt":"China"}'),
+('CX', 'Christmas Island', 'CXR', '162', 'Oceania', 'AUD', '+61', '{"de":"Weihnachtsinsel","en":"Christmas Island","es":"Isla de Navidad","fr":"Île Christmas","it":"Isola Christmas","pt":"Ilha Christmas"}'),
+('CC', 'Cocos Islands', 'CCK', '166', 'Oceania', 'AUD', '+61', '{"de":"Kokosinseln","en":"Cocos (Keeling) Islands","es":"Islas Cocos","fr":"Îles Cocos","it":"Isole Cocos (Keeling)","pt":"Ilhas Cocos (Keeling)"}'),
+('CO', 'Colombia', 'COL', '170', 'Americas', 'COP', '+57', '{"de":"Kolumbien","en":"Colombia","es":"Colombia","fr":"Colombie","it":"Colombia","pt":"Colômbia"}'),
+('KM', 'Comoros', 'COM', '174', 'Africa', 'KMF', '+269', '{"de":"Komoren","en":"Comoros","es":"Comoras","fr":"Comores","it":"Comore","pt":"Comores"}'),
+('CK', 'Cook Islands', 'COK', '184', 'Oceania', 'NZD', '+682', '{"de":"Cookinseln","en":"Cook Islands","es":"Islas Cook","fr":"Îles Cook","it":"Isole Cook","pt":"Ilhas Cook"}'),
+('CR', 'Costa Rica', 'CRI', '188', 'Americas', 'CRC', '+506', '{"de":"Costa Rica","en":"Costa Rica","es":"Costa Rica","fr":"Costa Rica","it":"Costa Rica","pt":"Costa Rica"}'),
+('HR', 'Croatia', 'HRV', '191', 'Europe', 'EUR', '+385', '{"de":"Kroatien","en":"Croatia","es":"Croacia","fr":"Croatie","it":"Croazia","pt":"Croácia"}'),
+('CU', 'Cuba', 'CUB', '192', 'Americas', 'CUP', '+53', '{"de":"Kuba","en":"Cuba","es":"Cuba","fr":"Cuba","it":"Cuba","pt":"Cuba"}'),
+('CW', 'Curacao', 'CUW', '531', 'Americas', 'XCG', '+599', '{"de":"Curaçao","en":"Curaçao","es":"Curazao","fr":"Curaçao","it":"Curaçao","pt":"Curaçao"}'),
+('CY', 'Cyprus', 'CYP', '196', 'Asia', 'EUR', '+357', '{"de":"Zypern","en":"Cyprus","es":"Chipre","fr":"Chypre","it":"Cipro","pt":"Chipre"}'),
+('CZ', 'Czech Republic', 'CZE', '203', 'Europe', 'CZK', '+420', '{"de":"Tschechien","en":"Czechia","es":"Chequia","fr":"Tchéquie","it":"Cechia","pt":"Tchéquia"}'),
+('CD', 'Democratic Republic of the Congo', 'COD', '180', 'Africa', 'CDF', '+243', '{"de":"Kongo-Kinshasa","en":"Congo - Kinshasa","es":"República Democrática del Congo","fr":"Congo-Kinshasa","it":"Congo - Kinshasa","pt":"Congo - Kinshasa"}'),
+('DK', 'Denmark', 'DNK', '208', 'Europe', 'DKK', '+45', '{"de":"Dänemark","en":"Denmark","es":"Dinamarca","fr":"Danemark","it":"Danimarca","pt":"Dinamarca"}'),
+('DJ', 'Djibouti', 'DJI', '262', 'Africa', 'DJF', '+253', '{"de":"Dschibuti","en":"Djibouti","es":"Yibuti","fr":"Djibouti","it":"Gibuti","pt":"Djibuti"}'),
+('DM', 'Dominica', 'DMA', '212', 'Americas', 'XCD', '+1 767', '{"de":"Dominica","en":"Dominica","es":"Dominica","fr":"Dominique","it":"Dominica","pt":"Dominica"}'),
+('DO', 'Dominican Republic', 'DOM', '214', 'Americas', 'DOP', '+1 809', '{"de":"Dominikanische Republik","en":"Dominican Republic","es":"República Dominicana","fr":"République dominicaine","it":"Repubblica Dominicana","pt":"República Dominicana"}'),
+('TL', 'East Timor', 'TLS', '626', 'Asia', 'USD', '+670', '{"de":"Timor-Leste","en":"Timor-Leste","es":"Timor-Leste","fr":"Timor oriental","it":"Timor Est","pt":"Timor-Leste"}'),
+('EC', 'Ecuador', 'ECU', '218', 'Americas', 'USD', '+593', '{"de":"Ecuador","en":"Ecuador","es":"Ecuador","fr":"Équateur","it":"Ecuador","pt":"Equador"}'),
+('EG', 'Egypt', 'EGY', '818', 'Africa', 'EGP', '+20', '{"de":"Ägypten","en":"Egypt","es":"Egipto","fr":"Égypte","it":"Egitto","pt":"Egito"}'),
+('SV', 'El Salvador', 'SLV', '222', 'Americas', 'SVC', '+503', '{"de":"El Salvador","en":"El Salvador","es":"El Salvador","fr":"Salvador","it":"El Salvador","pt":"El Salvador"}'),
+('GQ', 'Equatorial Guinea', 'GNQ', '226', 'Africa', 'XAF', '+240', '{"de":"Äquatorialguinea","en":"Equatorial Guinea","es":"Guinea Ecuatorial","fr":"Guinée équatoriale","it":"Guinea Equatoriale","pt":"Guiné Equatorial"}'),
+('ER', 'Eritrea', 'ERI', '232', 'Africa', 'ERN', '+291', '{"de":"Eritrea","en":"Eritrea","es":"Eritrea","fr":"Érythrée","it":"Eritrea","pt":"Eritreia"}'),
+('EE', 'Estonia', 'EST', '233', 'Europe', 'EUR', '+372', '{"de":"Estland","en":"Estonia","es":"Estonia","fr":"Estonie","it":"Estonia","pt":"Estônia"}'),
+('ET', 'Ethiopia', 'ETH', '231', 'Africa', 'ETB', '+251', '{"de":"Äthiopien","en":"Ethiopia","es":"Etiopía","fr":"Éthiopie","it":"Etiopia","pt":"Etiópia"}'),
+('FK', 'Falkland Islands', 'FLK', '238', 'Americas', 'FKP', '+500', '{"de":"Falklandinseln","en":"Falkland Islands","es":"Islas Malvinas","fr":"Îles Malouines","it":"Isole Falkland","pt":"Ilhas Malvinas"}'),
+('FO', 'Faroe Islands', 'FRO', '234', 'Europe', 'DKK', '+298', '{"de":"Färöer","en":"Faroe Islands","es":"Islas Feroe","fr":"Îles Féroé","it":"Isole Fær Øer","pt":"Ilhas Faroé"}'),
+('FJ', 'Fiji', 'FJI', '242', 'Oceania', 'FJD', '+679', '{"de":"Fidschi","en":"Fiji","es":"Fiyi","fr":"Fidji","it":"Figi","pt":"Fiji"}'),
+('FI', 'Finland', 'FIN', '246', 'Europe', 'EUR', '+358', '{"de":"Finnland","en":"Finland","es":"Finlandia","fr":"Finlande","it":"Finlandia","pt":"Finlândia"}'),
+('FR', 'France', 'FRA', '250', 'Europe', 'EUR', '+33', '{"de":"Frankreich","en":"France","es":"Francia","fr":"France","it":"Francia","pt":"França"}'),
+('GF', 'French Guiana', 'GUF', '254', 'Americas', 'EUR', '+594', '{"de":"Französisch-Guayana","en":"French Guiana","es":"Guayana Francesa","fr":"Guyane française","it":"Guyana Francese","pt":"Guiana Francesa"}'),
+('PF', 'French Polynesia', 'PYF', '258', 'Oceania', 'XPF', '+689', '{"de":"Französisch-Polynesien","en":"French Polynesia","es":"Polinesia Francesa","fr":"Polynésie française","it":"Polinesia francese","pt":"Polinésia Francesa"}'),
+('GA', 'Gabon', 'GAB', '266', 'Africa', 'XAF', '+241', '{"de":"Gabun","en":"Gabon","es":"Gabón","fr":"Gabon","it":"Gabon","pt":"Gabão"}'),
+('GM', 'Gambia', 'GMB', '270', 'Africa', 'GMD', '+220', '{"de":"Gambia","en":"Gambia","es":"Gambia","fr":"Gambie","it":"Gambia","pt":"Gâmbia"}'),
+('GE', 'Georgia', 'GEO', '268', 'Asia', 'GEL', '+995', '{"de":"Georgien","en":"Georgia","es":"Georgia","fr":"Géorgie","it":"Georgia","pt":"Geórgia"}'),
+('DE', 'Germany', 'DEU', '276', 'Europe', 'EUR', '+49', '{"de":"Deutschland","en":"Germany","es":"Alemania","fr":"Allemagne","it":"Germania","pt":"Alemanha"}'),
+('GH', 'Ghana', 'GHA', '288', 'Africa', 'GHS', '+233', '{"de":"Ghana","en":"Ghana","es":"Ghana","fr":"Ghana","it":"Ghana","pt":"Gana"}'),
+('GI', 'Gibraltar', 'GIB', '292', 'Europe', 'GIP', '+350', '{"de":"Gibraltar","en":"Gibraltar","es":"Gibraltar","fr":"Gibraltar","it":"Gibilterra","pt":"Gibraltar"}'),
+('GR', 'Greece', 'GRC', '300', 'Europe', 'EUR', '+30', '{"de":"Griechenland","en":"Greece","es":"Grecia","fr":"Grèce","it":"Grecia","pt":"Grécia"}'),
+('GL', 'Greenland', 'GRL', '304', 'Americas', 'DKK', '+299', '{"de":"Grönland","en":"Greenland","es":"Groenlandia","fr":"Groenland","it":"Groenlandia","pt":"Groenlândia"}'),
+('GD', 'Grenada', 'GRD', '308', 'Americas', 'XCD', '+1 473', '{"de":"Grenada","en":"Grenada","es":"Granada","fr":"Grenade","it":"Grenada","pt":"Granada"}'),
+('GP', 'Guadeloupe', 'GLP', '312', 'Americas', 'EUR', '+590', '{"de":"Guadeloupe","en":"Guadeloupe","es":"Guadalupe","fr":"Guadeloupe","it":"Guadalupa","pt":"Guadalupe"}'),
+('GU', 'Guam', 'GUM', '316', 'Oceania', 'USD', '+1 671', '{"de":"Guam","en":"Guam","es":"Guam","fr":"Guam","it":"Guam","pt":"Guam"}'),
+('GT', 'Guatemala', 'GTM', '320', 'Americas', 'GTQ', '+502', '{"de":"Guatemala","en":"Guatemala","es":"Guatemala","fr":"Guatemala","it":"Guatemala","pt":"Guatemala"}'),
+('GG', 'Guernsey', 'GGY', '831', 'Europe', 'GBP', '+44', '{"de":"Guernsey","en":"Guernsey","es":"Guernesey","fr":"Guernesey","it":"Guernsey","pt":"Guernsey"}'),
+('GN', 'Guinea', 'GIN', '324', 'Africa', 'GNF', '+224', '{"de":"Guinea","en":"Guinea","es":"Guinea","fr":"Guinée","it":"Guinea","pt":"Guiné"}'),
+('GW', 'Guinea-Bissau', 'GNB', '624', 'Africa', 'XOF', '+245', '{"de":"Guinea-Bissau","en":"Guinea-Bissau","es":"Guinea-Bisáu","fr":"Guinée-Bissau","it":"Guinea-Bissau","pt":"Guiné-Bissau"}'),
+('GY', 'Guyana', 'GUY', '328', 'Americas', 'GYD', '+592', '{"de":"Guyana","en":"Guyana","es":"Guyana","fr":"Guyana","it":"Guyana","pt":"Guiana"}'),
+('HT', 'Haiti', 'HTI', '332', 'Americas', 'HTG', '+509', '{"de":"Haiti","en":"Haiti","es":"Haití","fr":"Haïti","it":"Haiti","pt":"Haiti"}'),
+('HN', 'Honduras', 'HND', '340', 'Americas', 'HNL', '+504', '{"de":"Honduras","en":"Honduras","es":"Honduras","fr":"Honduras","it":"Honduras","pt":"Honduras"}'),
+('HK', 'Hong Kong', 'HKG', '344', 'Asia', 'HKD', '+852', '{"de":"Sonderverwaltungsregion Hongkong","en":"Hong Kong SAR China","es":"RAE de Hong Kong (China)","fr":"R.A.S. chinoise de Hong Kong","it":"RAS di Hong Kong","pt":"Hong Kong, RAE da China"}'),
+('HU', 'Hungary', 'HUN', '348', 'Europe', 'HUF', '+36', '{"de":"Ungarn","en":"Hungary","es":"Hungría","fr":"Hongrie","it":"Ungheria","pt":"Hungria"}'),
+('IS', 'Iceland', 'ISL', '352', 'Europe', 'ISK', '+354', '{"de":"Island","en":"Iceland","es":"Islandia","fr":"Islande","it":"Islanda","pt":"Islândia"}'),
+('IN', 'India', 'IND', '356', 'Asia', 'INR', '+91', '{"de":"Indien","en":"India","es":"India","fr":"Inde","it":"India","pt":"Índia"}'),
+('ID', 'Indonesia', 'IDN', '360', 'Asia', 'IDR', '+62', '{"de":"Indonesien","en":"Indonesia","es":"Indonesia","fr":"Indonésie","it":"Indonesia","pt":"Indonésia"}'),
+('IR', 'Iran', 'IRN', '364', 'Asia', 'IRR', '+98', '{"de":"Iran","en":"Iran","es":"Irán","fr":"Iran","it":"Iran","pt":"Irã"}'),
+('IQ', 'Iraq', 'IRQ', '368', 'Asia', 'IQD', '+964', '{"de":"Irak","en":"Iraq","es":"Irak","fr":"Irak","it":"Iraq","pt":"Iraque"}'),
+('IE', 'Ireland', 'IRL', '372', 'Europe', 'EUR', '+353', '{"de":"Irland","en":"Ireland","es":"Irlanda","fr":"Irlande","it":"Irlanda","pt":"Irlanda"}'),
+('IM', 'Isle of Man', 'IMN', '833', 'Europe', 'GBP', '+44', '{"de":"Isle of Man","en":"Isle of Man","es":"Isla de Man","fr":"Île de Man","it":"Isola di Man","pt":"Ilha de Man"}'),
+('IL', 'Israel', 'ISR', '376', 'Asia', 'ILS', '+972', '{"de":"Israel","en":"Israel","es":"Israel","fr":"Israël","it":"Israele","pt":"Israel"}'),
+('IT', 'Italy', 'ITA', '380', 'Europe', 'EUR', '+39', '{"de":"Italien","en":"Italy","es":"Italia","fr":"Italie","it":"Italia","pt":"Itália"}'),
+('CI', 'Ivory Coast', 'CIV', '384', 'Africa', 'XOF', '+225', '{"de":"Côte d’Ivoire","en":"Côte d’Ivoire","es":"Côte d’Ivoire","fr":"Côte d’Ivoire","it":"Costa d’Avorio","pt":"Costa do Marfim"}'),
+('JM', 'Jamaica', 'JAM', '388', 'Americas', 'JMD', '+1 876', '{"de":"Jamaika","en":"Jamaica","es":"Jamaica","fr":"Jamaïque","it":"Giamaica","pt":"Jamaica"}'),
+('JP', 'Japan', 'JPN', '392', 'Asia', 'JPY', '+81', '{"de":"Japan","en":"Japan","es":"Japón","fr":"Japon","it":"Giappone","pt":"Japão"}'),
+('JE', 'Jersey', 'JEY', '832', 'Europe', 'GBP', '+44', '{"de":"Jersey","en":"Jersey","es":"Jersey","fr":"Jersey","it":"Jersey","pt":"Jersey"}'),
+('JO', 'Jordan', 'JOR', '400', 'Asia', 'JOD', '+962', '{"de":"Jordanien","en":"Jordan","es":"Jordania","fr":"Jordanie","it":"Giordania","pt":"Jordânia"}'),
+('KZ', 'Kazakhstan', 'KAZ', '398', 'Asia', 'KZT', '+7', '{"de":"Kasachstan","en":"Kazakhstan","es":"Kazajistán","fr":"Kazakhstan","it":"Kazakistan","pt":"Cazaquistão"}'),
+('KE', 'Kenya', 'KEN', '404', 'Africa', 'KES', '+254', '{"de":"Kenia","en":"Kenya","es":"Kenia","fr":"Kenya","it":"Kenya","pt":"Quênia"}'),
+('KI', 'Kiribati', 'KIR', '296', 'Oceania', 'AUD', '+686', '{"de":"Kiribati","en":"Kiribati","es":"Kiribati","fr":"Kiribati","it":"Kiribati","pt":"Quiribati"}'),
+('XK', 'Kosovo', 'XKX', '', 'Europe', 'EUR', '+383', '{"de":"Kosovo","en":"Kosovo","es":"Kosovo","fr":"Kosovo","it":"Kosovo","pt":"Kosovo"}'),
+('KW', 'Kuwait', 'KWT', '414', 'Asia', 'KWD', '+965', '{"de":"Kuwait","en":"Kuwait","es":"Kuwait","fr":"Koweït","it":"Kuwait","pt":"Kuwait"}'),
+('KG', 'Kyrgyzstan', 'KGZ', '417', 'Asia', 'KGS', '+996', '{"de":"Kirgisistan","en":"Kyrgyzstan","es":"Kirguistán","fr":"Kirghizstan","it":"Kirghizistan","pt":"Quirguistão"}'),
+('LA', 'Laos', 'LAO', '418', 'Asia', 'LAK', '+856', '{"de":"Laos","en":"Laos","es":"Laos","fr":"Laos","it":"Laos","pt":"Laos"}'),
+('LV', 'Latvia', 'LVA', '428', 'Europe', 'EUR', '+371', '{"de":"Lettland","en":"Latvia","es":"Letonia","fr":"Lettonie","it":"Lettonia","pt":"Letônia"}'),
+('LB', 'Lebanon', 'LBN', '422', 'Asia', 'LBP', '+961', '{"de":"Libanon","en":"Lebanon","es":"Líbano","fr":"Liban","it":"Libano","pt":"Líbano"}'),
+('LS', 'Lesotho', 'LSO', '426', 'Africa', 'LSL', '+266', '{"de":"Lesotho","en":"Lesotho","es":"Lesoto","fr":"Lesotho","it":"Lesotho","pt":"Lesoto"}'),
+('LR', 'Liberia', 'LBR', '430', 'Africa', 'LRD', '+231', '{"de":"Liberia","en":"Liberia","es":"Liberia","fr":"Liberia","it":"Liberia","pt":"Libéria"}'),
+('LY', 'Libya', 'LBY', '434', 'Africa', 'LYD', '+218', '{"de":"Libyen","en":"Libya","es":"Libia","fr":"Libye","it":"Libia","pt":"Líbia"}'),
+('LI', 'Liechtenstein', 'LIE', '438', 'Europe', 'CHF', '+423', '{"de":"Liechtenstein","en":"Liechtenstein","es":"Liechtenstein","fr":"Liechtenstein","it":"Liechtenstein","pt":"Liechtenstein"}'),
+('LT', 'Lithuania', 'LTU', '440', 'Europe', 'EUR', '+370', '{"de":"Litauen","en":"Lithuania","es":"Lituania","fr":"Lituanie","it":"Lituania","pt":"Lituânia"}'),
+('LU', 'Luxembourg', 'LUX', '442', 'Europe', 'EUR', '+352', '{"de":"Luxemburg","en":"Luxembourg","es":"Luxemburgo","fr":"Luxembourg","it":"Lussemburgo","pt":"Luxemburgo"}'),
+('MO', 'Macau', 'MAC', '446', 'Asia', 'MOP', '+853', '{"de":"Sonderverwaltungsregion Macau","en":"Macao SAR China","es":"RAE de Macao (China)","fr":"R.A.S. chinoise de Macao","it":"RAS di Macao","pt":"Macau, RAE da China"}'),
+('MK', 'Macedonia', 'MKD', '807', 'Europe', 'MKD', '+389', '{"de":"Nordmazedonien","en":"North Macedonia","es":"Macedonia del Norte","fr":"Macédoine du Nord","it":"Macedonia del Nord","pt":"Macedônia do Norte"}'),
+('MG', 'Madagascar', 'MDG', '450', 'Africa', 'MGA', '+261', '{"de":"Madagaskar","en":"Madagascar","es":"Madagascar","fr":"Madagascar","it":"Madagascar","pt":"Madagascar"}'),
+('MW', 'Malawi', 'MWI', '454', 'Africa', 'MWK', '+265', '{"de":"Malawi","en":"Malawi","es":"Malaui","fr":"Malawi","it":"Malawi","pt":"Malaui"}'),
+('MY', 'Malaysia', 'MYS', '458', 'Asia', 'MYR', '+60', '{"de":"Malaysia","en":"Malaysia","es":"Malasia","fr":"Malaisie","it":"Malaysia","pt":"Malásia"}'),
+('MV', 'Maldives', 'MDV', '462', 'Asia', 'MVR', '+960', '{"de":"Malediven","en":"Maldives","es":"Maldivas","fr":"Maldives","it":"Maldive","pt":"Maldivas"}'),
+('ML', 'Mali', 'MLI', '466', 'Africa', 'XOF', '+223', '{"de":"Mali","en":"Mali","es":"Mali","fr":"Mali","it":"Mali","pt":"Mali"}'),
+('MT', 'Malta', 'MLT', '470', 'Europe', 'EUR', '+356', '{"de":"Malta","en":"Malta","es":"Malta","fr":"Malte","it":"Malta","pt":"Malta"}'),
+('MH', 'Marshall Islands', 'MHL', '584', 'Oceania', 'USD', '+692', '{"de":"Marshallinseln","en":"Marshall Islands","es":"Islas Marshall","fr":"Îles Marshall","it":"Isole Marshall","pt":"Ilhas Marshall"}'),
+('MQ', 'Martinique', 'MTQ', '474', 'Americas', 'EUR', '+596', '{"de":"Martinique","en":"Martinique","es":"Martinica","fr":"Martinique","it":"Martinica","pt":"Martinica"}'),
+('MR', 'Mauritania', 'MRT', '478', 'Africa', 'MRU', '+222', '{"de":"Mauretanien","en":"Mauritania","es":"Mauritania","fr":"Mauritanie","it":"Mauritania","pt":"Mauritânia"}'),
+('MU', 'Mauritius', 'MUS', '480', 'Africa', 'MUR', '+230', '{"de":"Mauritius","en":"Mauritius","es":"Mauricio","fr":"Maurice","it":"Mauritius","pt":"Maurício"}'),
+('YT', 'Mayotte', 'MYT', '175', 'Africa', 'EUR', '+262', '{"de":"Mayotte","en":"Mayotte","es":"Mayotte","fr":"Mayotte","it":"Mayotte","pt":"Mayotte"}'),
+('MX', 'Mexico', 'MEX', '484', 'Americas', 'MXN', '+52', '{"de":"Mexiko","en":"Mexico","es":"México","fr":"Mexique","it":"Messico","pt":"México"}'),
+('FM', 'Micronesia', 'FSM', '583', 'Oceania', 'USD', '+691', '{"de":"Mikronesien","en":"Micronesia","es":"Micronesia","fr":"Micronésie","it":"Micronesia","pt":"Micronésia"}'),
+('MD', 'Moldova', 'MDA', '498', 'Europe', 'MDL', '+373', '{"de":"Republik Moldau","en":"Moldova","es":"Moldavia","fr":"Moldavie","it":"Moldavia","pt":"Moldávia"}'),
+('MC', 'Monaco', 'MCO', '492', 'Europe', 'EUR', '+377', '{"de":"Monaco","en":"Monaco","es":"Mónaco","fr":"Monaco","it":"Monaco","pt":"Mônaco"}'),
+('MN', 'Mongolia', 'MNG', '496', 'Asia', 'MNT', '+976', '{"de":"Mongolei","en":"Mongolia","es":"Mongolia","fr":"Mongolie","it":"Mongolia","pt":"Mongólia"}'),
+('ME', 'Montenegro', 'MNE', '499', 'Europe', 'EUR', '+382', '{"de":"Montenegro","en":"Montenegro","es":"Montenegro","fr":"Monténégro","it":"Montenegro","pt":"Montenegro"}'),
+('MS', 'Montserrat', 'MSR', '500', 'Americas', 'XCD', '+1 664', '{"de":"Montserrat","en":"Montserrat","es":"Montserrat","fr":"Montserrat","it":"Montserrat","pt":"Montserrat"}'),
+('MA', 'Morocco', 'MAR', '504', 'Africa', 'MAD', '+212', '{"de":"Marokko","en":"Morocco","es":"Marruecos","fr":"Maroc","it":"Marocco","pt":"Marrocos"}'),
+('MZ', 'Mozambique', 'MOZ', '508', 'Africa', 'MZN', '+258', '{"de":"Mosambik","en":"Mozambique","es":"Mozambique","fr":"Mozambique","it":"Mozambico","pt":"Moçambique"}'),
+('MM', 'Myanmar', 'MMR', '104', 'Asia', 'MMK', '+95', '{"de":"Myanmar","en":"Myanmar (Burma)","es":"Myanmar (Birmania)","fr":"Myanmar (Birmanie)","it":"Myanmar (Birmania)","pt":"Mianmar (Birmânia)"}'),
+('NA', 'Namibia', 'NAM', '516', 'Africa', 'NAD', '+264', '{"de":"Namibia","en":"Namibia","es":"Namibia","fr":"Namibie","it":"Namibia","pt":"Namíbia"}'),
+('NR', 'Nauru', 'NRU', '520', 'Oceania', 'AUD', '+674', '{"de":"Nauru","en":"Nauru","es":"Nauru","fr":"Nauru","it":"Nauru","pt":"Nauru"}'),
+('NP', 'Nepal', 'NPL', '524', 'Asia', 'NPR', '+977', '{"de":"Nepal","en":"Nepal","es":"Nepal","fr":"Népal","it":"Nepal","pt":"Nepal"}'),
+('NL', 'Netherlands', 'NLD', '528', 'Europe', 'EUR', '+31', '{"de":"Niederlande","en":"Netherlands","es":"Países Bajos","fr":"Pays-Bas","it":"Paesi Bassi","pt":"Países Baixos"}'),
+('NC', 'New Caledonia', 'NCL', '540', 'Oceania', 'XPF', '+687', '{"de":"Neukaledonien","en":"New Caledonia","es":"Nueva Caledonia","fr":"Nouvelle-Calédonie","it":"Nuova Caledonia","pt":"Nova Caledônia"}'),
+('NZ', 'New Zealand', 'NZL', '554', 'Oceania', 'NZD', '+64', '{"de":"Neuseeland","en":"New Zealand","es":"Nueva Zelanda","fr":"Nouvelle-Zélande","it":"Nuova Zelanda","pt":"Nova Zelândia"}'),
+('NI', 'Nicaragua', 'NIC', '558', 'Americas', 'NIO', '+505', '{"de":"Nicaragua","en":"Nicaragua","es":"Nicaragua","fr":"Nicaragua","it":"Nicaragua","pt":"Nicarágua"}'),
+('NE', 'Niger', 'NER', '562', 'Africa', 'XOF', '+227', '{"de":"Niger","en":"Niger","es":"Níger","fr":"Niger","it":"Niger","pt":"Níger"}'),
+('NG', 'Nigeria', 'NGA', '566', 'Africa', 'NGN', '+234', '{"de":"Nigeria","en":"Nigeria","es":"Nigeria","fr":"Nigeria","it":"Nigeria","pt":"Nigéria"}'),
+('NU', 'Niue', 'NIU', '570', 'Oceania', 'NZD', '+683', '{"de":"Niue","en":"Niue","es":"Niue","fr":"Niue","it":"Niue","pt":"Niue"}'),
+('NF', 'Norfolk Island', 'NFK', '574', 'Oceania', 'AUD', '+672', '{"de":"Norfolkinsel","en":"Norfolk Island","es":"Isla Norfolk","fr":"Île Norfolk","it":"Isola Norfolk","pt":"Ilha Norfolk"}'),
+('KP', 'North Korea', 'PRK', '408', 'Asia', 'KPW', '+850', '{"de":"Nordkorea","en":"North Korea","es":"Corea del Norte","fr":"Corée du Nord","it":"Corea del Nord","pt":"Coreia do Norte"}'),
+('MP', 'Northern Mariana Islands', 'MNP', '580', 'Oceania', 'USD', '+1 670', '{"de":"Nördliche Marianen","en":"Northern Mariana Islands","es":"Islas Marianas del Norte","fr":"Îles Mariannes du Nord","it":"Isole Marianne settentrionali","pt":"Ilhas Marianas do Norte"}'),
+('NO', 'Norway', 'NOR', '578', 'Europe', 'NOK', '+47', '{"de":"Norwegen","en":"Norway","es":"Noruega","fr":"Norvège","it":"Norvegia","pt":"Noruega"}'),
+('OM', 'Oman', 'OMN', '512', 'Asia', 'OMR', '+968', '{"de":"Oman","en":"Oman","es":"Omán","fr":"Oman","it":"Oman","pt":"Omã"}'),
+('PK', 'Pakistan', 'PAK', '586', 'Asia', 'PKR', '+92', '{"de":"Pakistan","en":"Pakistan","es":"Pakistán","fr":"Pakistan","it":"Pakistan","pt":"Paquistão"}'),
+('PW', 'Palau', 'PLW', '585', 'Oceania', 'USD', '+680', '{"de":"Palau","en":"Palau","es":"Palaos","fr":"Palaos","it":"Palau","pt":"Palau"}'),
+('PS', 'Palestine', 'PSE', '275', 'Asia', 'ILS', '+970', '{"de":"Palästinensische Autonomiegebiete","en":"Palestinian Territories","es":"Territorios Palestinos","fr":"Territoires palestiniens","it":"Territori palestinesi","pt":"Territórios palestinos"}'),
+('PA', 'Panama', 'PAN', '591', 'Americas', 'PAB', '+507', '{"de":"Panama","en":"Panama","es":"Panamá","fr":"Panama","it":"Panama","pt":"Panamá"}'),
+('PG', 'Papua New Guinea', 'PNG', '598', 'Oceania', 'PGK', '+675', '{"de":"Papua-Neuguinea","en":"Papua New Guinea","es":"Papúa Nueva Guinea","fr":"Papouasie-Nouvelle-Guinée","it":"Papua Nuova Guinea","pt":"Papua-Nova Guiné"}'),
+('PY', 'Paraguay', 'PRY', '600', 'Americas', 'PYG', '+595', '{"de":"Paraguay","en":"Paraguay","es":"Paraguay","fr":"Paraguay","it":"Paraguay","pt":"Paraguai"}'),
+('PE', 'Peru', 'PER', '604', 'Americas', 'PEN', '+51', '{"de":"Peru","en":"Peru","es":"Perú","fr":"Pérou","it":"Perù","pt":"Peru"}'),
+('PH', 'Philippines', 'PHL', '608', 'Asia', 'PHP', '+63', '{"de":"Philippinen","en":"Philippines","es":"Filipinas","fr":"Philippines","it":"Filippine","pt":"Filipinas"}'),
+('PN', 'Pitcairn', 'PCN', '612', 'Oceania', 'NZD', '+64', '{"de":"Pitcairninseln","en":"Pitcairn Islands","es":"Islas Pitcairn","fr":"Îles Pitcairn","it":"Isole Pitcairn","pt":"Ilhas Pitcairn"}'),
+('PL', 'Poland', 'POL', '616', 'Europe', 'PLN', '+48', '{"de":"Polen","en":"Poland","es":"Polonia","fr":"Pologne","it":"Polonia","pt":"Polônia"}'),
+('PT', 'Portugal', 'PRT', '620', 'Europe', 'EUR', '+351', '{"de":"Portugal","en":"Portugal","es":"Portugal","fr":"Portugal","it":"Portogallo","pt":"Portugal"}'),
+('PR', 'Puerto Rico', 'PRI', '630', 'Americas', 'USD', '+1 787', '{"de":"Puerto Rico","en":"Puerto Rico","es":"Puerto Rico","fr":"Porto Rico","it":"Portorico","pt":"Porto Rico"}'),
+('QA', 'Qatar', 'QAT', '634', 'Asia', 'QAR', '+974', '{"de":"Katar","en":"Qatar","es":"Catar","fr":"Qatar","it":"Qatar","pt":"Catar"}'),
+('CG', 'Republic of the Congo', 'COG', '178', 'Africa', 'XAF', '+242', '{"de":"Kongo-Brazzaville","en":"Congo - Brazzaville","es":"Congo","fr":"Congo-Brazzaville","it":"Congo-Brazzaville","pt":"República do Congo"}'),
+('RE', 'Reunion', 'REU', '638', 'Africa', 'EUR', '+262', '{"de":"Réunion","en":"Réunion","es":"Reunión","fr":"La Réunion","it":"Riunione","pt":"Reunião"}'),
+('RO', 'Romania', 'ROU', '642', 'Europe', 'RON', '+40', '{"de":"Rumänien","en":"Romania","es":"Rumanía","fr":"Roumanie","it":"Romania","pt":"Romênia"}'),
+('RU', 'Russia', 'RUS', '643', 'Europe', 'RUB', '+7', '{"de":"Russland","en":"Russia","es":"Rusia","fr":"Russie","it":"Russia","pt":"Rússia"}'),
+('RW', 'Rwanda', 'RWA', '646', 'Africa', 'RWF', '+250', '{"de":"Ruanda","en":"Rwanda","es":"Ruanda","fr":"Rwanda","it":"Ruanda","pt":"Ruanda"}'),
+('BL', 'Saint Barthelemy', 'BLM', '652', 'Americas', 'EUR', '+590', '{"de":"St. Barthélemy","en":"St. Barthélemy","es":"San Bartolomé","fr":"Saint-Barthélemy","it":"Saint-Barthélemy","pt":"São Bartolomeu"}'),
+('SH', 'Saint Helena', 'SHN', '654', 'Africa', 'SHP', '+290', '{"de":"St. Helena","en":"St. Helena","es":"Santa Elena","fr":"Sainte-Hélène","it":"Sant’Elena","pt":"Santa Helena"}'),
+('KN', 'Saint Kitts and Nevis', 'KNA', '659', 'Americas', 'XCD', '+1 869', '{"de":"St. Kitts und Nevis","en":"St. Kitts & Nevis","es":"San Cristóbal y Nieves","fr":"Saint-Christophe-et-Niévès","it":"Saint Kitts e Nevis","pt":"São Cristóvão e Névis"}'),
+('LC', 'Saint Lucia', 'LCA', '662', 'Americas', 'XCD', '+1 758', '{"de":"St. Lucia","en":"St. Lucia","es":"Santa Lucía","fr":"Sainte-Lucie","it":"Saint Lucia","pt":"Santa Lúcia"}'),
+('MF', 'Saint Martin', 'MAF', '663', 'Americas', 'EUR', '+590', '{"de":"St. Martin","en":"St. Martin","es":"San Martín","fr":"Saint-Martin","it":"Saint Martin","pt":"São Martinho"}'),
+('PM', 'Saint Pierre and Miquelon', 'SPM', '666', 'Americas', 'EUR', '+508', '{"de":"St. Pierre und Miquelon","en":"St. Pierre & Miquelon","es":"San Pedro y Miquelón","fr":"Saint-Pierre-et-Miquelon","it":"Saint-Pierre e Miquelon","pt":"São Pedro e Miquelão"}'),
+('VC', 'Saint Vincent and the Grenadines', 'VCT', '670', 'Americas', 'XCD', '+1 784', '{"de":"St. Vincent und die Grenadinen","en":"St. Vincent & Grenadines","es":"San Vicente y las Granadinas","fr":"Saint-Vincent-et-les Grenadines","it":"Saint Vincent e Grenadine","pt":"São Vicente e Granadinas"}'),
+('WS', 'Samoa', 'WSM', '882', 'Oceania', 'WST', '+685', '{"de":"Samoa","en":"Samoa","es":"Samoa","fr":"Samoa","it":"Samoa","pt":"Samoa"}'),
+('SM', 'San Marino', 'SMR', '674', 'Europe', 'EUR', '+378', '{"de":"San Marino","en":"San Marino","es":"San Marino","fr":"Saint-Marin","it":"San Marino","pt":"San Marino"}'),
+('ST', 'Sao Tome and Principe', 'STP', '678', 'Africa', 'STN', '+239', '{"de":"São Tomé und Príncipe","en":"São Tomé & Príncipe","es":"Santo Tomé y Príncipe","fr":"Sao Tomé-et-Principe","it":"São Tomé e Príncipe","pt":"São Tomé e Príncipe"}'),
+('SA', 'Saudi Arabia', 'SAU', '682', 'Asia', 'SAR', '+966', '{"de":"Saudi-Arabien","en":"Saudi Arabia","es":"Arabia Saudí","fr":"Arabie saoudite","it":"Arabia Saudita","pt":"Arábia Saudita"}'),
+('SN', 'Senegal', 'SEN', '686', 'Africa', 'XOF', '+221', '{"de":"Senegal","en":"Senegal","es":"Senegal","fr":"Sénégal","it":"Senegal","pt":"Senegal"}'),
+('RS', 'Serbia', 'SRB', '688', 'Europe', 'RSD', '+381', '{"de":"Serbien","en":"Serbia","es":"Serbia","fr":"Serbie","it":"Serbia","pt":"Sérvia"}'),
+('SC', 'Seychelles', 'SYC', '690', 'Africa', 'SCR', '+248', '{"de":"Seychellen","en":"Seychelles","es":"Seychelles","fr":"Seychelles","it":"Seychelles","pt":"Seicheles"}'),
+('SL', 'Sierra Leone', 'SLE', '694', 'Africa', 'SLE', '+232', '{"de":"Sierra Leone","en":"Sierra Leone","es":"Sierra Leona","fr":"Sierra Leone","it":"Sierra Leone","pt":"Serra Leoa"}'),
+('SG', 'Singapore', 'SGP', '702', 'Asia', 'SGD', '+65', '{"de":"Singapur","en":"Singapore","es":"Singapur","fr":"Singapour","it":"Singapore","pt":"Singapura"}'),
+('SX', 'Sint Maarten', 'SXM', '534', 'Americas', 'XCG', '+1 721', '{"de":"Sint Maarten","en":"Sint Maarten","es":"Sint Maarten","fr":"Saint-Martin (partie néerlandaise)","it":"Sint Maarten","pt":"Sint Maarten"}'),
+('SK', 'Slovakia', 'SVK', '703', 'Europe', 'EUR', '+421', '{"de":"Slowakei","en":"Slovakia","es":"Eslovaquia","fr":"Slovaquie","it":"Slovacchia","pt":"Eslováquia"}'),
+('SI', 'Slovenia', 'SVN', '705', 'Europe', 'EUR', '+386', '{"de":"Slowenien","en":"Slovenia","es":"Eslovenia","fr":"Slovénie","it":"Slovenia","pt":"Eslovênia"}'),
+('SB', 'Solomon Islands', 'SLB', '090', 'Oceania', 'SBD', '+677', '{"de":"Salomonen","en":"Solomon Islands","es":"Islas Salomón","fr":"Îles Salomon","it":"Isole Salomone","pt":"Ilhas Salomão"}'),
+('SO', 'Somalia', 'SOM', '706', 'Africa', 'SOS', '+252', '{"de":"Somalia","en":"Somalia","es":"Somalia","fr":"Somalie","it":"Somalia","pt":"Somália"}'),
+('ZA', 'South Africa', 'ZAF', '710', 'Africa', 'ZAR', '+27', '{"de":"Südafrika","en":"South Africa","es":"Sudáfrica","fr":"Afrique du Sud","it":"Sudafrica","pt":"África do Sul"}'),
+('KR', 'South Korea', 'KOR', '410', 'Asia', 'KRW', '+82', '{"de":"Südkorea","en":"South Korea","es":"Corea del Sur","fr":"Corée du Sud","it":"Corea del Sud","pt":"Coreia do Sul"}'),
+('SS', 'South Sudan', 'SSD', '728', 'Africa', 'SSP', '+211', '{"de":"Südsudan","en":"South Sudan","es":"Sudán del Sur","fr":"Soudan du Sud","it":"Sud Sudan","pt":"Sudão do Sul"}'),
+('ES', 'Spain', 'ESP', '724', 'Europe', 'EUR', '+34', '{"de":"Spanien","en":"Spain","es":"España","fr":"Espagne","it":"Spagna","pt":"Espanha"}'),
+('LK', 'Sri Lanka', 'LKA', '144', 'Asia', 'LKR', '+94', '{"de":"Sri Lanka","en":"Sri Lanka","es":"Sri Lanka","fr":"Sri Lanka","it":"Sri Lanka","pt":"Sri Lanka"}'),
+('SD', 'Sudan', 'SDN', '729', 'Africa', 'SDG', '+249', '{"de":"Sudan","en":"Sudan","es":"Sudán","fr":"Soudan","it":"Sudan","pt":"Sudão"}'),
+('SR', 'Suriname', 'SUR', '740', 'Americas', 'SRD', '+597', '{"de":"Suriname","en":"Suriname","es":"Surinam","fr":"Suriname","it":"Suriname","pt":"Suriname"}'),
+('SJ', 'Svalbard and Jan Mayen', 'SJM', '744', 'Europe', 'NOK', '+47', '{"de":"Spitzbergen und Jan Mayen","en":"Svalbard & Jan Mayen","es":"Svalbard y Jan Mayen","fr":"Svalbard et Jan Mayen","it":"Svalbard e Jan Mayen","pt":"Svalbard e Jan Mayen"}'),
+('SZ', 'Swaziland', 'SWZ', '748', 'Africa', 'SZL', '+268', '{"de":"Eswatini","en":"Eswatini","es":"Esuatini","fr":"Eswatini","it":"eSwatini","pt":"Essuatíni"}'),
+('SE', 'Sweden', 'SWE', '752', 'Europe', 'SEK', '+46', '{"de":"Schweden","en":"Sweden","es":"Suecia","fr":"Suède","it":"Svezia","pt":"Suécia"}'),
+('CH', 'Switzerland', 'CHE', '756', 'Europe', 'CHF', '+41', '{"de":"Schweiz","en":"Switzerland","es":"Suiza","fr":"Suisse","it":"Svizzera","pt":"Suíça"}'),
+('SY', 'Syria', 'SYR', '760', 'Asia', 'SYP', '+963', '{"de":"Syrien","en":"Syria","es":"Siria","fr":"Syrie","it":"Siria","pt":"Síria"}'),
+('TW', 'Taiwan', 'TWN', '158', 'Asia', 'TWD', '+886', '{"de":"Taiwan","en":"Taiwan","es":"Taiwán","fr":"Taïwan","it":"Taiwan","pt":"Taiwan"}'),
+('TJ', 'Tajikistan', 'TJK', '762', 'Asia', 'TJS', '+992', '{"de":"Tadschikistan","en":"Tajikistan","es":"Tayikistán","fr":"Tadjikistan","it":"Tagikistan","pt":"Tadjiquistão"}'),
+('TZ', 'Tanzania', 'TZA', '834', 'Africa', 'TZS', '+255', '{"de":"Tansania","en":"Tanzania","es":"Tanzania","fr":"Tanzanie","it":"Tanzania","pt":"Tanzânia"}'),
+('TH', 'Thailand', 'THA', '764', 'Asia', 'THB', '+66', '{"de":"Thailand","en":"Thailand","es":"Tailandia","fr":"Thaïlande","it":"Thailandia","pt":"Tailândia"}'),
+('TG', 'Togo', 'TGO', '768', 'Africa', 'XOF', '+228', '{"de":"Togo","en":"Togo","es":"Togo","fr":"Togo","it":"Togo","pt":"Togo"}'),
+('TK', 'Tokelau', 'TKL', '772', 'Oceania', 'NZD', '+690', '{"de":"Tokelau","en":"Tokelau","es":"Tokelau","fr":"Tokelau","it":"Tokelau","pt":"Tokelau"}'),
+('TO', 'Tonga', 'TON', '776', 'Oceania', 'TOP', '+676', '{"de":"Tonga","en":"Tonga","es":"Tonga","fr":"Tonga","it":"Tonga","pt":"Tonga"}'),
+('TT', 'Trinidad and Tobago', 'TTO', '780', 'Americas', 'TTD', '+1 868', '{"de":"Trinidad und Tobago","en":"Trinidad & Tobago","es":"Trinidad y Tobago","fr":"Trinité-et-Tobago","it":"Trinidad e Tobago","pt":"Trinidad e Tobago"}'),
+('TN', 'Tunisia', 'TUN', '788', 'Africa', 'TND', '+216', '{"de":"Tunesien","en":"Tunisia","es":"Túnez","fr":"Tunisie","it":"Tunisia","pt":"Tunísia"}'),
+('TR', 'Turkey', 'TUR', '792', 'Asia', 'TRY', '+90', '{"de":"Türkei","en":"Türkiye","es":"Turquía","fr":"Turquie","it":"Turchia","pt":"Turquia"}'),
+('TM', 'Turkmenistan', 'TKM', '795', 'Asia', 'TMT', '+993', '{"de":"Turkmenistan","en":"Turkmenistan","es":"Turkmenistán","fr":"Turkménistan","it":"Turkmenistan","pt":"Turcomenistão"}'),
+('TC', 'Turks and Caicos Islands', 'TCA', '796', 'Americas', 'USD', '+1 649', '{"de":"Turks- und Caicosinseln","en":"Turks & Caicos Islands","es":"Islas Turcas y Caicos","fr":"Îles Turques-et-Caïques","it":"Isole Turks e Caicos","pt":"Ilhas Turcas e Caicos"}'),
+('TV', 'Tuvalu', 'TUV', '798', 'Oceania', 'AUD', '+688', '{"de":"Tuvalu","en":"Tuvalu","es":"Tuvalu","fr":"Tuvalu","it":"Tuvalu","pt":"Tuvalu"}'),
+('VI', 'U.S. Virgin Islands', 'VIR', '850', 'Americas', 'USD', '+1 340', '{"de":"Amerikanische Jungferninseln","en":"U.S. Virgin Islands","es":"Islas Vírgenes de EE. UU.","fr":"Îles Vierges des États-Unis","it":"Isole Vergini Americane","pt":"Ilhas Virgens Americanas"}'),
+('UG', 'Uganda', 'UGA', '800', 'Africa', 'UGX', '+256', '{"de":"Uganda","en":"Uganda","es":"Uganda","fr":"Ouganda","it":"Uganda","pt":"Uganda"}'),
+('UA', 'Ukraine', 'UKR', '804', 'Europe', 'UAH', '+380', '{"de":"Ukraine","en":"Ukraine","es":"Ucrania","fr":"Ukraine","it":"Ucraina","pt":"Ucrânia"}'),
+('AE', 'United Arab Emirates', 'ARE', '784', 'Asia', 'AED', '+971', '{"de":"Vereinigte Arabische Emirate","en":"United Arab Emirates","es":"Emiratos Árabes Unidos","fr":"Émirats arabes unis","it":"Emirati Arabi Uniti","pt":"Emirados Árabes Unidos"}'),
+('GB', 'United Kingdom', 'GBR', '826', 'Europe', 'GBP', '+44', '{"de":"Vereinigtes Königreich","en":"United Kingdom","es":"Reino Unido","fr":"Royaume-Uni","it":"Regno Unito","pt":"Reino Unido"}'),
+('US', 'United States', 'USA', '840', 'Americas', 'USD', '+1', '{"de":"Vereinigte Staaten","en":"United States","es":"Estados Unidos","fr":"États-Unis","it":"Stati Uniti","pt":"Estados Unidos"}'),
+('UY', 'Uruguay', 'URY', '858', 'Americas', 'UYU', '+598', '{"de":"Uruguay","en":"Uruguay","es":"Uruguay","fr":"Uruguay","it":"Uruguay","pt":"Uruguai"}'),
+('UZ', 'Uzbekistan', 'UZB', '860', 'Asia', 'UZS', '+998', '{"de":"Usbekistan","en":"Uzbekistan","es":"Uzbekistán","fr":"Ouzbékistan","it":"Uzbekistan","pt":"Uzbequistão"}'),
+('VU', 'Vanuatu', 'VUT', '548', 'Oceania', 'VUV', '+678', '{"de":"Vanuatu","en":"Vanuatu","es":"Vanuatu","fr":"Vanuatu","it":"Vanuatu","pt":"Vanuatu"}'),
+('VA', 'Vatican', 'VAT', '336', 'Europe', 'EUR', '+39', '{"de":"Vatikanstadt","en":"Vatican City","es":"Ciudad del Vaticano","fr":"État de la Cité du Vatican","it":"Città del Vaticano","pt":"Cidade do Vaticano"}'),
+('VE', 'Venezuela', 'VEN', '862', 'Americas', 'VES', '+58', '{"de":"Venezuela","en":"Venezuela","es":"Venezuela","fr":"Venezuela","it":"Venezuela","pt":"Venezuela"}'),
+('VN', 'Vietnam', 'VNM', '704', 'Asia', 'VND', '+84', '{"de":"Vietnam","en":"Vietnam","es":"Vietnam","fr":"Viêt Nam","it":"Vietnam","pt":"Vietnã"}'),
+('WF', 'Wallis and Futuna', 'WLF', '876', 'Oceania', 'XPF', '+681', '{"de":"Wallis und Futuna","en":"Wallis & Futuna","es":"Wallis y Futuna","fr":"Wallis-et-Futuna","it":"Wallis e Futuna","pt":"Wallis e Futuna"}'),
+('EH', 'Western Sahara', 'ESH', '732', 'Africa', 'MAD', '+212', '{"de":"Westsahara","en":"Western Sahara","es":"Sáhara Occidental","fr":"Sahara occidental","it":"Sahara occidentale","pt":"Saara Ocidental"}'),
+('YE', 'Yemen', 'YEM', '887', 'Asia', 'YER', '+967', '{"de":"Jemen","en":"Yemen","es":"Yemen","fr":"Yémen","it":"Yemen","pt":"Iêmen"}'),
+('ZM', 'Zambia', 'ZMB', '894', 'Africa', 'ZMW', '+260', '{"de":"Sambia","en":"Zambia","es":"Zambia","fr":"Zambie","it":"Zambia","pt":"Zâmbia"}'),
+('ZW', 'Zimbabwe', 'ZWE', '716', 'Africa', 'ZWG', '+263', '{"de":"Simbabwe","en":"Zimbabwe","es":"Zimbabue","fr":"Zimbabwe","it":"Zimbabwe","pt":"Zimbábue"}');
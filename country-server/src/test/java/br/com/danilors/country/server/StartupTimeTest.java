@@ -0,0 +1,182 @@
+package br.com.danilors.country.server;
+
+import br.com.danilors.country.CountryRequest;
+import br.com.danilors.country.CountryResponse;
+import br.com.danilors.country.CountryServiceGrpc;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.health.v1.HealthCheckRequest;
+import io.grpc.health.v1.HealthCheckResponse;
+import io.grpc.health.v1.HealthGrpc;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Cold-starts the server in a new JVM, as an autoscaler does, and measures how long it takes to
+ * report itself started, to answer its first {@code getCountry} and, once warmed up, to report
+ * {@code SERVING} to health checks. Each must take at most {@code startup.max-time} (an ISO-8601
+ * duration, {@code PT60S} by default). The AOT-processed context only exists after a
+ * {@code -Pfast-startup} build; to measure it as well, run this test after one with
+ * {@code -Dstartup.jvm-options=-Dspring.aot.enabled=true}.
+ * <p>
+ * Starting two JVMs takes about a minute, so the test only runs with {@code -Pstartup-time}.
+ */
+@Tag("startup-time")
+class StartupTimeTest {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupTimeTest.class);
+
+    private static final Duration TIMEOUT = Duration.ofMinutes(2);
+    private static final Duration MAX_TIME = Duration.parse(System.getProperty("startup.max-time", "PT60S"));
+
+    @Test
+    @DisplayName("Should answer the first call after a cold start, with and without the fast-startup profile")
+    void coldStart_shouldServeFirstCall() throws Exception {
+        Startup standard = start("default", List.of());
+        Startup fast = start("fast-startup",
+                Arrays.stream(System.getProperty("startup.jvm-options", "").split("\\s+"))
+                        .filter(option -> !option.isBlank())
+                        .toList());
+
+        for (Startup startup : List.of(standard, fast)) {
+            log.info("{} profile: started in {} ms, first call answered after {} ms, SERVING after {} ms",
+                    startup.profile(), startup.started().toMillis(), startup.firstCall().toMillis(),
+                    startup.serving().toMillis());
+            assertTrue(startup.firstCall().compareTo(MAX_TIME) <= 0,
+                    startup.profile() + ": first call answered after " + startup.firstCall().toMillis() + " ms");
+            assertTrue(startup.serving().compareTo(MAX_TIME) <= 0,
+                    startup.profile() + ": SERVING after " + startup.serving().toMillis() + " ms");
+        }
+        assertTrue(standard.log().stream().anyMatch(line -> line.contains("from the database")));
+        assertTrue(fast.log().stream().anyMatch(line -> line.contains("from the seed")),
+                "The fast-startup server loads its first snapshot from the seed");
+    }
+
+    /**
+     * Launches the server with the given profile and polls {@code getCountry("BR")} until it
+     * succeeds. Times are measured from the launch of the JVM.
+     */
+    private static Startup start(String profile, List<String> jvmOptions) throws Exception {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmOptions);
+        command.addAll(List.of("-cp", System.getProperty("java.class.path"),
+                CountryServerApplication.class.getName(),
+                "--spring.profiles.active=" + profile,
+                "--spring.main.banner-mode=off",
+                "--server.port=0",
+                "--spring.grpc.server.port=" + port,
+                "--country.logging.mode=sync",
+                "--country.drain.delay=0s"));
+
+        long launched = System.nanoTime();
+        Process server = new ProcessBuilder(command).redirectErrorStream(true).start();
+        List<String> log = new CopyOnWriteArrayList<>();
+        AtomicLong started = new AtomicLong();
+        Thread.ofPlatform().daemon().start(() -> {
+            try (BufferedReader lines = new BufferedReader(
+                    new InputStreamReader(server.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = lines.readLine()) != null) {
+                    if (line.contains("Started " + CountryServerApplication.class.getSimpleName())) {
+                        started.set(System.nanoTime());
+                    }
+                    log.add(line);
+                }
+            } catch (IOException e) {
+                // The server was stopped
+            }
+        });
+
+        ManagedChannel channel = ManagedChannelBuilder.forAddress("localhost", port).usePlaintext().build();
+        try {
+            CountryResponse response = firstCall(channel, server, log);
+            long answered = System.nanoTime();
+            assertEquals("Brazil", response.getDescription());
+            long serving = servingAt(channel, server, log);
+            // The gRPC server starts accepting calls a little before the context reports itself started
+            for (int i = 0; i < 1000 && started.get() == 0 && server.isAlive(); i++) {
+                Thread.sleep(10);
+            }
+            return new Startup(profile, Duration.ofNanos(started.get() - launched),
+                    Duration.ofNanos(answered - launched), Duration.ofNanos(serving - launched), log);
+        } finally {
+            channel.shutdownNow();
+            server.destroy();
+            server.waitFor(30, TimeUnit.SECONDS);
+        }
+    }
+
+    private static CountryResponse firstCall(ManagedChannel channel, Process server, List<String> log)
+            throws InterruptedException {
+        CountryServiceGrpc.CountryServiceBlockingStub stub = CountryServiceGrpc.newBlockingStub(channel);
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (true) {
+            try {
+                return stub.withDeadlineAfter(1, TimeUnit.SECONDS)
+                        .getCountry(CountryRequest.newBuilder().setCode("BR").build());
+            } catch (StatusRuntimeException e) {
+                Status.Code code = e.getStatus().getCode();
+                if ((code != Status.Code.UNAVAILABLE && code != Status.Code.DEADLINE_EXCEEDED)
+                        || !server.isAlive() || System.nanoTime() - deadline > 0) {
+                    throw new AssertionError("No answer from the server:\n" + String.join("\n", log), e);
+                }
+            }
+            // Retry right away rather than after the channel's reconnect backoff
+            channel.resetConnectBackoff();
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Polls the health service until the server reports {@code SERVING}, after its warm-up.
+     */
+    private static long servingAt(ManagedChannel channel, Process server, List<String> log)
+            throws InterruptedException {
+        HealthGrpc.HealthBlockingStub health = HealthGrpc.newBlockingStub(channel);
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (health.withDeadlineAfter(1, TimeUnit.SECONDS)
+                .check(HealthCheckRequest.getDefaultInstance())
+                .getStatus() != HealthCheckResponse.ServingStatus.SERVING) {
+            if (!server.isAlive() || System.nanoTime() - deadline > 0) {
+                throw new AssertionError("The server never reported SERVING:\n" + String.join("\n", log));
+            }
+            Thread.sleep(10);
+        }
+        return System.nanoTime();
+    }
+
+    /**
+     * @param started   from the launch to the "Started" log line
+     * @param firstCall from the launch to the first successful call
+     * @param serving   from the launch to the first {@code SERVING} health check
+     */
+    private record Startup(String profile, Duration started, Duration firstCall, Duration serving, List<String> log) {
+    }
+}
@@ -0,0 +1,179 @@
+package br.com.danilors.country.server.admission;
+
+import br.com.danilors.country.AllCountriesRequest;
+import br.com.danilors.country.CountryRequest;
+import br.com.danilors.country.CountryResponse;
+import br.com.danilors.country.CountryServiceGrpc;
+import br.com.danilors.country.WatchCountriesRequest;
+import br.com.danilors.country.CountryChange;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.ServerInterceptors;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConcurrencyLimitingInterceptorTest {
+
+    private static final String LIST_ALL = "country.CountryService/listAllCountries";
+    private static final String WATCH = "country.CountryService/watchCountries";
+
+    private static final CountryResponse BRAZIL = CountryResponse.newBuilder().setCode("BR").setDescription("Brazil").build();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<StreamObserver<CountryResponse>> openListings = new ArrayList<>();
+
+    private Server server;
+    private ManagedChannel channel;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ConcurrencyLimitingInterceptor interceptor = new ConcurrencyLimitingInterceptor(meterRegistry, true,
+                Set.of(WATCH), 100, 10, 1000, 2, 2, 4);
+        String serverName = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(serverName).directExecutor()
+                .addService(ServerInterceptors.intercept(new FakeCountryService(), interceptor))
+                .build()
+                .start();
+        channel = InProcessChannelBuilder.forName(serverName).directExecutor().build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.shutdownNow();
+        server.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("interceptCall: Should shed streams over their budget while point lookups keep going")
+    void interceptCall_overStreamingBudget_shouldRejectOnlyThatMethod() {
+        CountryServiceGrpc.CountryServiceBlockingStub stub = CountryServiceGrpc.newBlockingStub(channel);
+        List<Iterator<CountryResponse>> listings = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            Iterator<CountryResponse> listing = stub.listAllCountries(AllCountriesRequest.getDefaultInstance());
+            listing.next();
+            listings.add(listing);
+        }
+
+        StatusRuntimeException rejected = assertThrows(StatusRuntimeException.class,
+                () -> stub.listAllCountries(AllCountriesRequest.getDefaultInstance()).next());
+        assertEquals(Status.Code.RESOURCE_EXHAUSTED, rejected.getStatus().getCode());
+        assertNotNull(rejected.getTrailers());
+        assertTrue(Long.parseLong(rejected.getTrailers().get(ConcurrencyLimitingInterceptor.RETRY_PUSHBACK_MS)) >= 1);
+        assertEquals("Brazil", stub.getCountry(CountryRequest.newBuilder().setCode("BR").build()).getDescription());
+
+        assertEquals(1, meterRegistry.get("country.admission.rejections").tag("method", LIST_ALL).counter().count());
+        assertEquals(2, meterRegistry.get("country.admission.inflight").tag("method", LIST_ALL).gauge().value());
+        assertEquals(2, meterRegistry.get("country.admission.limit").tag("method", LIST_ALL).gauge().value());
+
+        // Finished streams give their slots back
+        openListings.forEach(StreamObserver::onCompleted);
+        listings.forEach(listing -> listing.forEachRemaining(response -> { }));
+        assertEquals(0, meterRegistry.get("country.admission.inflight").tag("method", LIST_ALL).gauge().value());
+        assertEquals(BRAZIL, stub.listAllCountries(AllCountriesRequest.getDefaultInstance()).next());
+    }
+
+    @Test
+    @DisplayName("interceptCall: Should not limit excluded methods")
+    void interceptCall_excludedMethod_shouldPassThrough() {
+        CountryServiceGrpc.CountryServiceBlockingStub stub = CountryServiceGrpc.newBlockingStub(channel);
+        for (int i = 0; i < 5; i++) {
+            assertEquals(CountryChange.Type.RESET, stub.watchCountries(WatchCountriesRequest.getDefaultInstance()).next().getType());
+        }
+        assertTrue(meterRegistry.find("country.admission.limit").tag("method", WATCH).gauges().isEmpty());
+    }
+
+    @Test
+    @DisplayName("AdaptiveConcurrencyLimit: Should grow at steady latency, shrink when calls slow down or drop")
+    void adaptiveLimit_shouldFollowLatency() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 2, 100);
+        long fast = TimeUnit.MILLISECONDS.toNanos(1);
+
+        saturate(limit, fast, 50);
+        int grown = limit.limit();
+        assertTrue(grown > 10, "limit after steady latency: " + grown);
+
+        saturate(limit, fast * 10, 20);
+        int shrunk = limit.limit();
+        assertTrue(shrunk < grown, "limit after slowdown: " + shrunk + " vs " + grown);
+
+        assertTrue(limit.tryAcquire());
+        limit.release(fast, true);
+        assertEquals((int) (shrunk * 0.9), limit.limit(), 1);
+        assertEquals(0, limit.inflight());
+    }
+
+    @Test
+    @DisplayName("AdaptiveConcurrencyLimit: Should not grow while mostly idle, and never pass its bounds")
+    void adaptiveLimit_shouldRespectBounds() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 2, 12);
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limit.tryAcquire());
+            limit.release(TimeUnit.MILLISECONDS.toNanos(1), false);
+        }
+        assertEquals(10, limit.limit());
+
+        saturate(limit, TimeUnit.MILLISECONDS.toNanos(1), 50);
+        assertEquals(12, limit.limit());
+        for (int i = 0; i < 50; i++) {
+            limit.tryAcquire();
+            limit.release(1, true);
+        }
+        assertEquals(2, limit.limit());
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimit(1, 2, 3));
+    }
+
+    /**
+     * Fills the limit, then releases every call with the given latency, {@code rounds} times.
+     */
+    private static void saturate(AdaptiveConcurrencyLimit limit, long rttNanos, int rounds) {
+        for (int round = 0; round < rounds; round++) {
+            int acquired = 0;
+            while (limit.tryAcquire()) {
+                acquired++;
+            }
+            for (int i = 0; i < acquired; i++) {
+                limit.release(rttNanos, false);
+            }
+        }
+    }
+
+    private class FakeCountryService extends CountryServiceGrpc.CountryServiceImplBase {
+
+        @Override
+        public void getCountry(CountryRequest request, StreamObserver<CountryResponse> responseObserver) {
+            responseObserver.onNext(BRAZIL);
+            responseObserver.onCompleted();
+        }
+
+        @Override
+        public void listAllCountries(AllCountriesRequest request, StreamObserver<CountryResponse> responseObserver) {
+            // Sends one country and stays open until the test completes it
+            responseObserver.onNext(BRAZIL);
+            openListings.add(responseObserver);
+        }
+
+        @Override
+        public void watchCountries(WatchCountriesRequest request, StreamObserver<CountryChange> responseObserver) {
+            responseObserver.onNext(CountryChange.newBuilder().setType(CountryChange.Type.RESET).build());
+        }
+    }
+}
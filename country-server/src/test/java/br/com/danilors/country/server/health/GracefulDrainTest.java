@@ -0,0 +1,37 @@
+package br.com.danilors.country.server.health;
+
+import io.grpc.protobuf.services.HealthStatusManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class GracefulDrainTest {
+
+    @Test
+    @DisplayName("onShutdown: Should report NOT_SERVING for good, then hold the shutdown for the drain delay, once")
+    void onShutdown_shouldStopServingThenWait() {
+        HealthStatusManager health = mock(HealthStatusManager.class);
+        GracefulDrain drain = new GracefulDrain(health, Duration.ofMillis(200));
+        assertFalse(drain.isDraining());
+
+        long start = System.nanoTime();
+        drain.onShutdown(null);
+        long firstMillis = (System.nanoTime() - start) / 1_000_000;
+        start = System.nanoTime();
+        drain.onShutdown(null);
+        long secondMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(drain.isDraining());
+        verify(health, times(1)).enterTerminalState();
+        assertTrue(firstMillis >= 200, "Waited " + firstMillis + " ms");
+        // A second server shutting down (the in-process one, when configured) does not wait again
+        assertTrue(secondMillis < 200, "Waited " + secondMillis + " ms");
+    }
+}
@@ -0,0 +1,147 @@
+package br.com.danilors.country.server.health;
+
+import br.com.danilors.country.CountryServiceGrpc;
+import br.com.danilors.country.server.config.HealthConfiguration;
+import br.com.danilors.country.server.domain.Country;
+import br.com.danilors.country.server.service.CountryGrpcService;
+import br.com.danilors.country.server.service.CountryService;
+import br.com.danilors.country.server.store.CountrySnapshotStore;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.health.v1.HealthCheckRequest;
+import io.grpc.health.v1.HealthCheckResponse.ServingStatus;
+import io.grpc.health.v1.HealthGrpc;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.protobuf.services.HealthStatusManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.DefaultApplicationArguments;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class WarmUpRunnerTest {
+
+    @Mock
+    private CountryService countryService;
+
+    private CountrySnapshotStore store;
+    private HealthStatusManager health;
+    private Server healthServer;
+    private ManagedChannel healthChannel;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        store = new CountrySnapshotStore(countryService);
+        health = new HealthConfiguration().healthStatusManager();
+        String name = InProcessServerBuilder.generateName();
+        healthServer = InProcessServerBuilder.forName(name).directExecutor()
+                .addService(health.getHealthService()).build().start();
+        healthChannel = InProcessChannelBuilder.forName(name).directExecutor().build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        healthChannel.shutdownNow();
+        healthServer.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("run: Should report NOT_SERVING until the warm-up calls are done, then SERVING")
+    void run_shouldServeAfterWarmUp() {
+        loadCountries();
+        WarmUpRunner runner = runner(true, 120, Duration.ofMinutes(1));
+        assertEquals(ServingStatus.NOT_SERVING, status(""));
+        assertEquals(ServingStatus.NOT_SERVING, status(CountryServiceGrpc.SERVICE_NAME));
+
+        runner.run(new DefaultApplicationArguments());
+
+        assertEquals(120, runner.getCalls());
+        assertTrue(runner.getDuration().isPositive());
+        // A listing, and a data version query, on calls 0, 50 and 100
+        verify(countryService, times(3)).currentVersion();
+        assertEquals(ServingStatus.SERVING, status(""));
+        assertEquals(ServingStatus.SERVING, status(CountryServiceGrpc.SERVICE_NAME));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        runner.bindTo(registry);
+        assertEquals(120, registry.get("country.warm-up.calls").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("run: Should stop warming up and report SERVING once the budget runs out")
+    void run_whenBudgetRunsOut_shouldServe() {
+        loadCountries();
+        WarmUpRunner runner = runner(true, Integer.MAX_VALUE, Duration.ofMillis(200));
+
+        runner.run(new DefaultApplicationArguments());
+
+        assertTrue(runner.getCalls() > 0);
+        assertTrue(runner.getCalls() < Integer.MAX_VALUE);
+        assertEquals(ServingStatus.SERVING, status(CountryServiceGrpc.SERVICE_NAME));
+    }
+
+    @Test
+    @DisplayName("run: Should report SERVING without calls when warm-up is disabled")
+    void run_whenDisabled_shouldServeAtOnce() {
+        WarmUpRunner runner = runner(false, 120, Duration.ofMinutes(1));
+
+        runner.run(new DefaultApplicationArguments());
+
+        assertEquals(0, runner.getCalls());
+        verify(countryService, never()).currentVersion();
+        assertEquals(ServingStatus.SERVING, status(""));
+    }
+
+    @Test
+    @DisplayName("run: Should keep reporting NOT_SERVING when the server started draining during warm-up")
+    void run_whenDraining_shouldNotServe() {
+        loadCountries();
+        WarmUpRunner runner = runner(true, 10, Duration.ofMinutes(1));
+        new GracefulDrain(health, Duration.ZERO).onShutdown(null);
+
+        runner.run(new DefaultApplicationArguments());
+
+        assertEquals(ServingStatus.NOT_SERVING, status(""));
+        assertEquals(ServingStatus.NOT_SERVING, status(CountryServiceGrpc.SERVICE_NAME));
+    }
+
+    private WarmUpRunner runner(boolean enabled, int iterations, Duration budget) {
+        return new WarmUpRunner(new CountryGrpcService(store), store, countryService, health,
+                enabled, iterations, budget);
+    }
+
+    private void loadCountries() {
+        List<Country> countries = List.of(new Country("BR", "Brazil"), new Country("PT", "Portugal"));
+        doAnswer(invocation -> {
+            countries.forEach(invocation.<Consumer<Country>>getArgument(0));
+            return null;
+        }).when(countryService).streamAll(any(Consumer.class));
+        store.refresh();
+        clearInvocations(countryService);
+    }
+
+    private ServingStatus status(String service) {
+        return HealthGrpc.newBlockingStub(healthChannel)
+                .check(HealthCheckRequest.newBuilder().setService(service).build())
+                .getStatus();
+    }
+}
@@ -0,0 +1,96 @@
+package br.com.danilors.country.server.metrics;
+
+import br.com.danilors.country.AllCountriesRequest;
+import br.com.danilors.country.CountryRequest;
+import br.com.danilors.country.CountryResponse;
+import br.com.danilors.country.CountryServiceGrpc;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.ServerInterceptors;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GrpcServerMetricsInterceptorTest {
+
+    private static final String GET_COUNTRY = "country.CountryService/getCountry";
+    private static final String LIST_ALL = "country.CountryService/listAllCountries";
+
+    private static final CountryResponse BRAZIL = CountryResponse.newBuilder().setCode("BR").setDescription("Brazil").build();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private Server server;
+    private ManagedChannel channel;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String serverName = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(serverName).directExecutor()
+                .addService(ServerInterceptors.intercept(new FakeCountryService(), new GrpcServerMetricsInterceptor(meterRegistry)))
+                .build()
+                .start();
+        channel = InProcessChannelBuilder.forName(serverName).directExecutor().build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.shutdownNow();
+        server.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("interceptCall: Should record latency by status and per-call message counts and bytes")
+    void interceptCall_shouldRecordCallMetrics() {
+        CountryServiceGrpc.CountryServiceBlockingStub stub = CountryServiceGrpc.newBlockingStub(channel);
+
+        stub.getCountry(CountryRequest.newBuilder().setCode("BR").build());
+        assertThrows(StatusRuntimeException.class, () -> stub.getCountry(CountryRequest.newBuilder().setCode("XX").build()));
+        stub.listAllCountries(AllCountriesRequest.getDefaultInstance()).forEachRemaining(response -> { });
+
+        assertEquals(1, meterRegistry.get("grpc.server.calls").tag("method", GET_COUNTRY).tag("status", "OK").timer().count());
+        assertEquals(1, meterRegistry.get("grpc.server.calls").tag("method", GET_COUNTRY).tag("status", "NOT_FOUND").timer().count());
+        assertEquals(0, meterRegistry.get("grpc.server.calls.active").tag("method", GET_COUNTRY).gauge().value());
+
+        DistributionSummary listedMessages = meterRegistry.get("grpc.server.stream.messages")
+                .tag("method", LIST_ALL).tag("direction", "sent").summary();
+        DistributionSummary listedBytes = meterRegistry.get("grpc.server.stream.bytes")
+                .tag("method", LIST_ALL).tag("direction", "sent").summary();
+        assertEquals(3, listedMessages.totalAmount());
+        assertEquals(3L * BRAZIL.getSerializedSize(), (long) listedBytes.totalAmount());
+        assertEquals(1, meterRegistry.get("grpc.server.stream.messages")
+                .tag("method", LIST_ALL).tag("direction", "received").summary().totalAmount());
+    }
+
+    private static class FakeCountryService extends CountryServiceGrpc.CountryServiceImplBase {
+
+        @Override
+        public void getCountry(CountryRequest request, StreamObserver<CountryResponse> responseObserver) {
+            if (!request.getCode().equals("BR")) {
+                responseObserver.onError(Status.NOT_FOUND.asRuntimeException());
+                return;
+            }
+            responseObserver.onNext(BRAZIL);
+            responseObserver.onCompleted();
+        }
+
+        @Override
+        public void listAllCountries(AllCountriesRequest request, StreamObserver<CountryResponse> responseObserver) {
+            for (int i = 0; i < 3; i++) {
+                responseObserver.onNext(BRAZIL);
+            }
+            responseObserver.onCompleted();
+        }
+    }
+}
@@ -1,11 +1,40 @@
 package br.com.danilors.country.server.service;
 
+import br.com.danilors.country.AllCountriesBatchedRequest;
 import br.com.danilors.country.AllCountriesRequest;
+import br.com.danilors.country.CountriesRequest;
+import br.com.danilors.country.CountriesResponse;
+import br.com.danilors.country.CountryBatch;
+import br.com.danilors.country.CountryChange;
 import br.com.danilors.country.CountryRequest;
 import br.com.danilors.country.CountryResponse;
-import br.com.danilors.country.server.domain.Country;
+import br.com.danilors.country.CountryServiceGrpc;
+import br.com.danilors.country.SearchCountriesRequest;
+import br.com.danilors.country.SearchCountriesResponse;
+import br.com.danilors.country.UpsertCountriesRequest;
+import br.com.danilors.country.UpsertCountriesResponse;
+import br.com.danilors.country.WatchCountriesRequest;
+import br.com.danilors.country.common.compression.ZstdCodec;
+import br.com.danilors.country.server.compression.ResponseCompressionInterceptor;
+import br.com.danilors.country.server.store.CountryCodeIndex;
+import br.com.danilors.country.server.store.CountryFields;
+import br.com.danilors.country.server.store.CountryProjections;
+import br.com.danilors.country.server.store.CountrySearchIndex;
+import br.com.danilors.country.server.store.CountrySnapshot;
+import br.com.danilors.country.server.store.CountrySnapshotStore;
+import com.google.protobuf.FieldMask;
+import io.grpc.CompressorRegistry;
+import io.grpc.DecompressorRegistry;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.Server;
+import io.grpc.ServerInterceptors;
 import io.grpc.Status;
 import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.MetadataUtils;
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -13,11 +42,19 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.TaskScheduler;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
@@ -26,23 +63,50 @@ import static org.mockito.Mockito.*;
 class CountryGrpcServiceTest {
 
     @Mock
-    private CountryService countryService; // Mock the service layer, not the repository
+    private CountrySnapshotStore countrySnapshotStore; // Mock the snapshot store, not the repository
 
     @Mock
     private StreamObserver<CountryResponse> responseObserver;
 
+    @Mock
+    private ServerCallStreamObserver<CountryResponse> serverStreamObserver;
+
     @Captor
     private ArgumentCaptor<CountryResponse> responseCaptor;
 
+    @Captor
+    private ArgumentCaptor<Runnable> onReadyCaptor;
+
+    @Captor
+    private ArgumentCaptor<Runnable> onCancelCaptor;
+
     @Captor
     private ArgumentCaptor<StatusRuntimeException> errorCaptor;
 
+    @Mock
+    private StreamObserver<CountriesResponse> countriesObserver;
+
+    @Captor
+    private ArgumentCaptor<CountriesResponse> countriesCaptor;
+
+    @Mock
+    private StreamObserver<SearchCountriesResponse> searchObserver;
+
+    @Captor
+    private ArgumentCaptor<SearchCountriesResponse> searchCaptor;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    @Mock
+    private ScheduledFuture<?> holdDeadline;
+
     private CountryGrpcService countryGrpcService;
 
     @BeforeEach
     void setUp() {
-        // Manually instantiate the gRPC service with the mocked business service
-        countryGrpcService = new CountryGrpcService(countryService);
+        // Manually instantiate the gRPC service with the mocked snapshot store
+        countryGrpcService = new CountryGrpcService(countrySnapshotStore);
     }
 
     @Test
@@ -50,8 +114,8 @@ class CountryGrpcServiceTest {
     void getCountry_whenCountryExists_shouldReturnCountry() {
         // Arrange
         String countryCode = "BR";
-        Country country = new Country(countryCode, "Brazil");
-        when(countryService.findById(countryCode)).thenReturn(Optional.of(country)); // Stub the service method
+        CountryResponse country = CountryResponse.newBuilder().setCode(countryCode).setDescription("Brazil").build();
+        when(countrySnapshotStore.findByCode(countryCode, CountryFields.DEFAULT)).thenReturn(country); // Stub the snapshot lookup
         CountryRequest request = CountryRequest.newBuilder().setCode(countryCode).build();
 
         // Act
@@ -72,7 +136,7 @@ class CountryGrpcServiceTest {
     void getCountry_whenCountryDoesNotExist_shouldReturnNotFound() {
         // Arrange
         String countryCode = "XX";
-        when(countryService.findById(countryCode)).thenReturn(Optional.empty()); // Stub the service method
+        when(countrySnapshotStore.findByCode(countryCode, CountryFields.DEFAULT)).thenReturn(null); // Stub the snapshot lookup
         CountryRequest request = CountryRequest.newBuilder().setCode(countryCode).build();
 
         // Act
@@ -87,21 +151,76 @@ class CountryGrpcServiceTest {
         assertEquals(Status.NOT_FOUND.getCode(), exception.getStatus().getCode());
     }
 
+    @Test
+    @DisplayName("getCountry: Should return INVALID_ARGUMENT without a lookup when the code is malformed")
+    void getCountry_whenCodeIsMalformed_shouldReturnInvalidArgument() {
+        // Arrange
+        CountryRequest request = CountryRequest.newBuilder().setCode("B1").build();
+
+        // Act
+        countryGrpcService.getCountry(request, responseObserver);
+
+        // Assert
+        verify(responseObserver).onError(errorCaptor.capture());
+        verify(responseObserver, never()).onNext(any());
+        verify(countrySnapshotStore, never()).findByCode(any(), anyInt());
+        assertEquals(Status.INVALID_ARGUMENT.getCode(), errorCaptor.getValue().getStatus().getCode());
+    }
+
+    @Test
+    @DisplayName("getCountry: Should return only the code and the fields named by the mask")
+    void getCountry_withFieldMask_shouldReturnRequestedFields() {
+        // Arrange
+        when(countrySnapshotStore.findByCode("BR", CountryFields.ALPHA3 | CountryFields.CURRENCY))
+                .thenReturn(CountryFields.project(brazil(), CountryFields.ALPHA3 | CountryFields.CURRENCY));
+        CountryRequest request = CountryRequest.newBuilder()
+                .setCode("BR")
+                .setFields(FieldMask.newBuilder().addPaths("alpha3").addPaths("currency"))
+                .build();
+
+        // Act
+        countryGrpcService.getCountry(request, responseObserver);
+
+        // Assert
+        verify(responseObserver).onNext(responseCaptor.capture());
+        assertEquals(CountryResponse.newBuilder().setCode("BR").setAlpha3("BRA").setCurrency("BRL").build(),
+                responseCaptor.getValue());
+    }
+
+    @Test
+    @DisplayName("getCountry: Should return INVALID_ARGUMENT when the mask names an unknown field")
+    void getCountry_withUnknownField_shouldReturnInvalidArgument() {
+        // Arrange
+        CountryRequest request = CountryRequest.newBuilder()
+                .setCode("BR")
+                .setFields(FieldMask.newBuilder().addPaths("capital"))
+                .build();
+
+        // Act
+        countryGrpcService.getCountry(request, responseObserver);
+
+        // Assert
+        verify(responseObserver).onError(errorCaptor.capture());
+        verify(responseObserver, never()).onNext(any());
+        assertEquals(Status.INVALID_ARGUMENT.getCode(), errorCaptor.getValue().getStatus().getCode());
+        assertEquals("Unknown country field: 'capital'.", errorCaptor.getValue().getStatus().getDescription());
+    }
+
     @Test
     @DisplayName("listAllCountries: Should stream all countries successfully")
     void listAllCountries_whenCountriesExist_shouldStreamAll() {
         // Arrange
-        List<Country> countries = List.of(new Country("BR", "Brazil"), new Country("US", "United States"));
-        when(countryService.streamAll()).thenReturn(countries); // Stub the service method
+        when(countrySnapshotStore.current()).thenReturn(snapshotOf("BR", "Brazil", "US", "United States"));
+        when(serverStreamObserver.isReady()).thenReturn(true);
         AllCountriesRequest request = AllCountriesRequest.getDefaultInstance();
 
         // Act
-        countryGrpcService.listAllCountries(request, responseObserver);
+        countryGrpcService.listAllCountries(request, serverStreamObserver);
 
         // Assert
-        verify(responseObserver, times(2)).onNext(responseCaptor.capture());
-        verify(responseObserver).onCompleted();
-        verify(responseObserver, never()).onError(any());
+        verify(serverStreamObserver, times(2)).onNext(responseCaptor.capture());
+        verify(serverStreamObserver).onCompleted();
+        verify(serverStreamObserver, never()).onError(any());
 
         List<CountryResponse> responses = responseCaptor.getAllValues();
         assertEquals(2, responses.size());
@@ -110,10 +229,10 @@ class CountryGrpcServiceTest {
     }
 
     @Test
-    @DisplayName("listAllCountries: Should return INTERNAL error when service throws an exception")
-    void listAllCountries_whenServiceThrowsException_shouldReturnInternalError() {
+    @DisplayName("listAllCountries: Should return INTERNAL error when the snapshot cannot be read")
+    void listAllCountries_whenStoreThrowsException_shouldReturnInternalError() {
         // Arrange
-        when(countryService.streamAll()).thenThrow(new RuntimeException("Service layer error")); // Stub the service method
+        when(countrySnapshotStore.current()).thenThrow(new RuntimeException("Store error")); // Stub the store
         AllCountriesRequest request = AllCountriesRequest.getDefaultInstance();
 
         // Act
@@ -128,4 +247,533 @@ class CountryGrpcServiceTest {
         assertEquals(Status.INTERNAL.getCode(), exception.getStatus().getCode());
         assertEquals("An error occurred while fetching countries.", exception.getStatus().getDescription());
     }
+
+    @Test
+    @DisplayName("listAllCountries: Should only write while the transport is ready and resume on onReady")
+    void listAllCountries_whenTransportNotReady_shouldWaitForOnReady() {
+        // Arrange
+        when(countrySnapshotStore.current()).thenReturn(snapshotOf("BR", "Brazil", "US", "United States"));
+        when(serverStreamObserver.isReady()).thenReturn(false, true, false, true, true);
+
+        // Act
+        countryGrpcService.listAllCountries(AllCountriesRequest.getDefaultInstance(), serverStreamObserver);
+
+        // Assert: nothing written until the transport signals readiness
+        verify(serverStreamObserver).setOnReadyHandler(onReadyCaptor.capture());
+        verify(serverStreamObserver, never()).onNext(any());
+
+        onReadyCaptor.getValue().run();
+        verify(serverStreamObserver, times(1)).onNext(any());
+        verify(serverStreamObserver, never()).onCompleted();
+
+        onReadyCaptor.getValue().run();
+        verify(serverStreamObserver, times(2)).onNext(any());
+        verify(serverStreamObserver).onCompleted();
+    }
+
+    @Test
+    @DisplayName("listAllCountries: Should stop writing once the client cancels")
+    void listAllCountries_whenClientCancels_shouldStopStreaming() {
+        // Arrange
+        when(countrySnapshotStore.current()).thenReturn(snapshotOf("BR", "Brazil", "US", "United States"));
+        when(serverStreamObserver.isReady()).thenReturn(true, false);
+
+        // Act
+        countryGrpcService.listAllCountries(AllCountriesRequest.getDefaultInstance(), serverStreamObserver);
+        verify(serverStreamObserver).setOnCancelHandler(onCancelCaptor.capture());
+        verify(serverStreamObserver).setOnReadyHandler(onReadyCaptor.capture());
+        onCancelCaptor.getValue().run();
+        onReadyCaptor.getValue().run();
+
+        // Assert
+        verify(serverStreamObserver, times(1)).onNext(any());
+        verify(serverStreamObserver, never()).onCompleted();
+        verify(serverStreamObserver, never()).onError(any());
+    }
+
+    @Test
+    @DisplayName("listAllCountries: Should stream pre-encoded frames that decode as CountryResponse on the wire")
+    void listAllCountries_overTheWire_shouldDecodePreEncodedFrames() throws Exception {
+        // Arrange
+        when(countrySnapshotStore.current()).thenReturn(snapshotOf("BR", "Brazil", "US", "United States"));
+        String serverName = InProcessServerBuilder.generateName();
+        Server server = InProcessServerBuilder.forName(serverName).directExecutor()
+                .addService(countryGrpcService).build().start();
+        ManagedChannel channel = InProcessChannelBuilder.forName(serverName).directExecutor().build();
+
+        try {
+            // Act
+            List<CountryResponse> responses = new ArrayList<>();
+            CountryServiceGrpc.newBlockingStub(channel)
+                    .listAllCountries(AllCountriesRequest.getDefaultInstance())
+                    .forEachRemaining(responses::add);
+
+            // Assert
+            assertEquals(2, responses.size());
+            assertEquals("Brazil", responses.get(0).getDescription());
+            assertEquals("United States", responses.get(1).getDescription());
+        } finally {
+            channel.shutdownNow();
+            server.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("listAllCountries: Should stream the frames of the requested fields, the code and description by default")
+    void listAllCountries_withFieldMask_shouldStreamProjectedFrames() throws Exception {
+        // Arrange
+        when(countrySnapshotStore.current()).thenReturn(snapshotOf(List.of(brazil())));
+        String serverName = InProcessServerBuilder.generateName();
+        Server server = InProcessServerBuilder.forName(serverName).directExecutor()
+                .addService(countryGrpcService).build().start();
+        ManagedChannel channel = InProcessChannelBuilder.forName(serverName).directExecutor().build();
+
+        try {
+            // Act
+            CountryServiceGrpc.CountryServiceBlockingStub stub = CountryServiceGrpc.newBlockingStub(channel);
+            CountryResponse standard = stub.listAllCountries(AllCountriesRequest.getDefaultInstance()).next();
+            CountryResponse names = stub.listAllCountries(AllCountriesRequest.newBuilder()
+                    .setFields(FieldMask.newBuilder().addPaths("names"))
+                    .build()).next();
+            CountryResponse all = stub.listAllCountries(AllCountriesRequest.newBuilder()
+                    .setFields(FieldMask.newBuilder().addPaths("*"))
+                    .build()).next();
+
+            // Assert
+            assertEquals(CountryResponse.newBuilder().setCode("BR").setDescription("Brazil").build(), standard);
+            assertEquals(CountryResponse.newBuilder().setCode("BR").putAllNames(brazil().getNamesMap()).build(), names);
+            assertEquals(brazil(), all);
+        } finally {
+            channel.shutdownNow();
+            server.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("listAllCountriesBatched: Should stream zstd-compressed batches that decode as CountryBatch on the wire")
+    void listAllCountriesBatched_overTheWire_shouldDecodeCompressedBatches() throws Exception {
+        // Arrange
+        when(countrySnapshotStore.current())
+                .thenReturn(snapshotOf("BR", "Brazil", "US", "United States", "AR", "Argentina"));
+        ResponseCompressionInterceptor compression = new ResponseCompressionInterceptor(true,
+                Set.of(CountryServiceGrpc.getListAllCountriesBatchedMethod().getFullMethodName()), List.of("zstd", "gzip"));
+        String serverName = InProcessServerBuilder.generateName();
+        Server server = InProcessServerBuilder.forName(serverName).directExecutor()
+                .addService(ServerInterceptors.intercept(countryGrpcService, compression))
+                .decompressorRegistry(DecompressorRegistry.getDefaultInstance().with(new ZstdCodec(), true))
+                .compressorRegistry(zstdCompressors())
+                .build().start();
+        ManagedChannel channel = InProcessChannelBuilder.forName(serverName).directExecutor()
+                .decompressorRegistry(DecompressorRegistry.getDefaultInstance().with(new ZstdCodec(), true))
+                .build();
+        AtomicReference<Metadata> responseHeaders = new AtomicReference<>();
+        AtomicReference<Metadata> unusedTrailers = new AtomicReference<>();
+
+        try {
+            // Act
+            List<CountryBatch> batches = new ArrayList<>();
+            CountryServiceGrpc.newBlockingStub(channel)
+                    .withInterceptors(MetadataUtils.newCaptureMetadataInterceptor(responseHeaders, unusedTrailers))
+                    .listAllCountriesBatched(AllCountriesBatchedRequest.newBuilder().setBatchSize(2).build())
+                    .forEachRemaining(batches::add);
+
+            // Assert
+            assertEquals(List.of(2, 1), batches.stream().map(CountryBatch::getCountriesCount).toList());
+            assertEquals(List.of("Brazil", "United States", "Argentina"), batches.stream()
+                    .flatMap(batch -> batch.getCountriesList().stream())
+                    .map(CountryResponse::getDescription)
+                    .toList());
+            assertEquals("zstd", responseHeaders.get().get(Metadata.Key.of("grpc-encoding", Metadata.ASCII_STRING_MARSHALLER)));
+        } finally {
+            channel.shutdownNow();
+            server.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("listAllCountriesBatched: Should tag every batch with the data version and send nothing when it is unchanged")
+    void listAllCountriesBatched_withUnlessVersion_shouldOnlyListChangedTable() throws Exception {
+        // Arrange
+        List<CountryResponse> all = snapshotOf("BR", "Brazil", "US", "United States", "AR", "Argentina").all();
+        CountrySnapshot snapshot = new CountrySnapshot(1L, 7L, CountryCodeIndex.of(all), CountrySearchIndex.of(all), all,
+                CountryProjections.of(all), Instant.now(), Duration.ZERO);
+        when(countrySnapshotStore.current()).thenReturn(snapshot, snapshot,
+                new CountrySnapshot(2L, 8L, CountryCodeIndex.EMPTY, CountrySearchIndex.EMPTY, List.of(),
+                        CountryProjections.EMPTY, Instant.now(), Duration.ZERO));
+        String serverName = InProcessServerBuilder.generateName();
+        Server server = InProcessServerBuilder.forName(serverName).directExecutor()
+                .addService(countryGrpcService)
+                .build().start();
+        ManagedChannel channel = InProcessChannelBuilder.forName(serverName).directExecutor().build();
+        CountryServiceGrpc.CountryServiceBlockingStub stub = CountryServiceGrpc.newBlockingStub(channel);
+
+        try {
+            // Act
+            List<CountryBatch> unchanged = new ArrayList<>();
+            stub.listAllCountriesBatched(AllCountriesBatchedRequest.newBuilder().setBatchSize(2).setUnlessVersion(7).build())
+                    .forEachRemaining(unchanged::add);
+            List<CountryBatch> changed = new ArrayList<>();
+            stub.listAllCountriesBatched(AllCountriesBatchedRequest.newBuilder().setBatchSize(2).setUnlessVersion(6).build())
+                    .forEachRemaining(changed::add);
+            List<CountryBatch> empty = new ArrayList<>();
+            stub.listAllCountriesBatched(AllCountriesBatchedRequest.newBuilder().setBatchSize(2).build())
+                    .forEachRemaining(empty::add);
+
+            // Assert
+            assertEquals(List.of(), unchanged);
+            assertEquals(List.of(2, 1), changed.stream().map(CountryBatch::getCountriesCount).toList());
+            assertEquals(List.of(7L, 7L), changed.stream().map(CountryBatch::getDataVersion).toList());
+            // An empty table is one empty batch, so the version still reaches the caller
+            assertEquals(List.of(CountryBatch.newBuilder().setDataVersion(8).build()), empty);
+        } finally {
+            channel.shutdownNow();
+            server.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("listAllCountriesBatched: Should return INVALID_ARGUMENT for a negative batch size")
+    void listAllCountriesBatched_withNegativeBatchSize_shouldReturnInvalidArgument() {
+        // Arrange
+        @SuppressWarnings("unchecked")
+        StreamObserver<byte[]> batchObserver = mock(StreamObserver.class);
+
+        // Act
+        countryGrpcService.listAllCountriesBatchedEncoded(
+                AllCountriesBatchedRequest.newBuilder().setBatchSize(-1).build(), batchObserver);
+
+        // Assert
+        verify(batchObserver).onError(errorCaptor.capture());
+        verify(batchObserver, never()).onNext(any());
+        assertEquals(Status.Code.INVALID_ARGUMENT, errorCaptor.getValue().getStatus().getCode());
+        verifyNoInteractions(countrySnapshotStore);
+    }
+
+    @Test
+    @DisplayName("getCountries: Should split a batch into found countries and missing codes")
+    void getCountries_shouldReturnFoundAndMissing() {
+        // Arrange
+        when(countrySnapshotStore.current()).thenReturn(snapshotOf("BR", "Brazil", "US", "United States"));
+        CountriesRequest request = CountriesRequest.newBuilder().addCodes("US").addCodes("XX").addCodes("BR").build();
+
+        // Act
+        countryGrpcService.getCountries(request, countriesObserver);
+
+        // Assert
+        verify(countriesObserver).onNext(countriesCaptor.capture());
+        verify(countriesObserver).onCompleted();
+        verify(countriesObserver, never()).onError(any());
+
+        CountriesResponse response = countriesCaptor.getValue();
+        assertEquals(List.of("US", "BR"), response.getCountriesList().stream().map(CountryResponse::getCode).toList());
+        assertEquals(List.of("XX"), response.getMissingCodesList());
+    }
+
+    @Test
+    @DisplayName("streamCountries: Should answer every batch on the same stream and complete with the client")
+    void streamCountries_shouldAnswerEachBatch() {
+        // Arrange
+        when(countrySnapshotStore.current()).thenReturn(snapshotOf("BR", "Brazil", "US", "United States"));
+
+        // Act
+        StreamObserver<CountriesRequest> requests = countryGrpcService.streamCountries(countriesObserver);
+        requests.onNext(CountriesRequest.newBuilder().addCodes("BR").build());
+        requests.onNext(CountriesRequest.newBuilder().addCodes("US").addCodes("ZZ").build());
+        requests.onCompleted();
+
+        // Assert
+        verify(countriesObserver, times(2)).onNext(countriesCaptor.capture());
+        verify(countriesObserver).onCompleted();
+
+        List<CountriesResponse> responses = countriesCaptor.getAllValues();
+        assertEquals("Brazil", responses.get(0).getCountries(0).getDescription());
+        assertEquals("United States", responses.get(1).getCountries(0).getDescription());
+        assertEquals(List.of("ZZ"), responses.get(1).getMissingCodesList());
+    }
+
+    @Test
+    @DisplayName("watchCountries: Should send a RESET with the current version, then pushed changes, until cancelled")
+    @SuppressWarnings("unchecked")
+    void watchCountries_shouldSendResetThenChanges() {
+        // Arrange
+        ServerCallStreamObserver<CountryChange> changeObserver = mock(ServerCallStreamObserver.class);
+        ArgumentCaptor<Consumer<List<CountryChange>>> watcherCaptor = ArgumentCaptor.forClass(Consumer.class);
+        Runnable unwatch = mock(Runnable.class);
+        when(countrySnapshotStore.watch(watcherCaptor.capture())).thenReturn(unwatch);
+        when(countrySnapshotStore.current()).thenReturn(snapshotOf("BR", "Brazil"));
+        when(changeObserver.isReady()).thenReturn(true);
+        CountryChange upsert = CountryChange.newBuilder()
+                .setType(CountryChange.Type.UPSERT).setVersion(2).setCode("PT")
+                .setCountry(CountryResponse.newBuilder().setCode("PT").setDescription("Portugal"))
+                .build();
+
+        // Act
+        countryGrpcService.watchCountries(WatchCountriesRequest.getDefaultInstance(), changeObserver);
+        watcherCaptor.getValue().accept(List.of(upsert));
+        verify(changeObserver).setOnCancelHandler(onCancelCaptor.capture());
+        onCancelCaptor.getValue().run();
+
+        // Assert
+        ArgumentCaptor<CountryChange> changeCaptor = ArgumentCaptor.forClass(CountryChange.class);
+        verify(changeObserver, times(2)).onNext(changeCaptor.capture());
+        assertEquals(CountryChange.Type.RESET, changeCaptor.getAllValues().get(0).getType());
+        assertEquals(1, changeCaptor.getAllValues().get(0).getVersion());
+        assertEquals(upsert, changeCaptor.getAllValues().get(1));
+        verify(changeObserver, never()).onCompleted();
+        verify(unwatch).run();
+    }
+
+    @Test
+    @DisplayName("watchCountries: Should hold changes while the client is not ready, and send a RESET instead once it falls too far behind")
+    @SuppressWarnings("unchecked")
+    void watchCountries_withSlowClient_shouldResetInsteadOfBuffering() {
+        // Arrange
+        ServerCallStreamObserver<CountryChange> changeObserver = mock(ServerCallStreamObserver.class);
+        ArgumentCaptor<Consumer<List<CountryChange>>> watcherCaptor = ArgumentCaptor.forClass(Consumer.class);
+        when(countrySnapshotStore.watch(watcherCaptor.capture())).thenReturn(mock(Runnable.class));
+        when(countrySnapshotStore.current()).thenReturn(snapshotOf("BR", "Brazil"));
+        List<CountryChange> upserts = new ArrayList<>();
+        for (int i = 0; i < CountryGrpcService.MAX_WATCH_BACKLOG - 1; i++) {
+            upserts.add(CountryChange.newBuilder().setType(CountryChange.Type.UPSERT).setVersion(2).setCode("PT").build());
+        }
+
+        // Act
+        countryGrpcService.watchCountries(WatchCountriesRequest.getDefaultInstance(), changeObserver);
+        watcherCaptor.getValue().accept(upserts);
+        verify(changeObserver, never()).onNext(any());
+        watcherCaptor.getValue().accept(List.of(upserts.getFirst()));
+        verify(changeObserver, never()).onNext(any());
+        watcherCaptor.getValue().accept(List.of(upserts.getFirst()));
+        when(changeObserver.isReady()).thenReturn(true);
+        verify(changeObserver).setOnReadyHandler(onReadyCaptor.capture());
+        onReadyCaptor.getValue().run();
+
+        // Assert
+        // The backlog was dropped for a RESET; what was published after it still follows
+        ArgumentCaptor<CountryChange> changeCaptor = ArgumentCaptor.forClass(CountryChange.class);
+        verify(changeObserver, times(2)).onNext(changeCaptor.capture());
+        assertEquals(CountryChange.Type.RESET, changeCaptor.getAllValues().get(0).getType());
+        assertEquals(1, changeCaptor.getAllValues().get(0).getVersion());
+        assertEquals(upserts.getFirst(), changeCaptor.getAllValues().get(1));
+    }
+
+    @Test
+    @DisplayName("searchCountries: Should return ranked matches capped at the requested limit")
+    void searchCountries_shouldReturnRankedMatches() {
+        // Arrange
+        when(countrySnapshotStore.current()).thenReturn(snapshotOf(
+                "US", "United States", "GB", "United Kingdom", "AE", "United Arab Emirates", "BR", "Brazil"));
+        SearchCountriesRequest request = SearchCountriesRequest.newBuilder().setQuery("unit").setLimit(2).build();
+
+        // Act
+        countryGrpcService.searchCountries(request, searchObserver);
+
+        // Assert
+        verify(searchObserver).onNext(searchCaptor.capture());
+        verify(searchObserver).onCompleted();
+        List<String> codes = searchCaptor.getValue().getCountriesList().stream().map(CountryResponse::getCode).toList();
+        assertEquals(List.of("US", "GB"), codes);
+    }
+
+    @Test
+    @DisplayName("searchCountries: Should return INVALID_ARGUMENT for an overlong query or a negative limit")
+    void searchCountries_whenRequestIsInvalid_shouldReturnInvalidArgument() {
+        // Act
+        countryGrpcService.searchCountries(SearchCountriesRequest.newBuilder().setQuery("a".repeat(101)).build(), searchObserver);
+        countryGrpcService.searchCountries(SearchCountriesRequest.newBuilder().setQuery("a").setLimit(-1).build(), searchObserver);
+
+        // Assert
+        verify(searchObserver, times(2)).onError(errorCaptor.capture());
+        verify(searchObserver, never()).onNext(any());
+        errorCaptor.getAllValues().forEach(error -> assertEquals(Status.INVALID_ARGUMENT.getCode(), error.getStatus().getCode()));
+    }
+
+    @Test
+    @DisplayName("upsertCountries: Should apply records in batches across messages, acknowledge each and publish once at the end")
+    void upsertCountries_shouldAcknowledgeEveryBatchAndPublishOnce() {
+        // Arrange
+        CountryService countryService = mock(CountryService.class);
+        when(countryService.upsertAll(any()))
+                .thenReturn(new CountryService.BatchResult(2, 2, 11L))
+                .thenReturn(new CountryService.BatchResult(2, 0, 11L))
+                .thenReturn(new CountryService.BatchResult(1, 1, 12L));
+        Runnable refreshHold = mock(Runnable.class);
+        when(countrySnapshotStore.holdRefreshes()).thenReturn(refreshHold);
+        doReturn(holdDeadline).when(taskScheduler).schedule(any(Runnable.class), any(Instant.class));
+        @SuppressWarnings("unchecked")
+        StreamObserver<UpsertCountriesResponse> ackObserver = mock(StreamObserver.class);
+        countryGrpcService = new CountryGrpcService(countrySnapshotStore, ingest(countryService));
+
+        // Act
+        StreamObserver<UpsertCountriesRequest> records = countryGrpcService.upsertCountries(ackObserver);
+        records.onNext(upsertRequest("AA", "AB", "AC"));
+        records.onNext(upsertRequest("AD", "AE"));
+        verify(countryService, never()).publish(anyLong());
+        records.onCompleted();
+
+        // Assert
+        verify(countryService).upsertAll(List.of(
+                new CountryService.Upsert("AA", "Country AA"), new CountryService.Upsert("AB", "Country AB")));
+        verify(countryService).upsertAll(List.of(new CountryService.Upsert("AE", "Country AE")));
+        // Refreshes are held from the first batch on, and released just before the publish
+        InOrder order = inOrder(countrySnapshotStore, countryService, refreshHold);
+        order.verify(countrySnapshotStore).holdRefreshes();
+        order.verify(countryService, times(3)).upsertAll(any());
+        order.verify(refreshHold).run();
+        order.verify(countryService).publish(12L);
+        verify(countrySnapshotStore, times(1)).holdRefreshes();
+        verify(holdDeadline).cancel(false);
+        ArgumentCaptor<UpsertCountriesResponse> acks = ArgumentCaptor.forClass(UpsertCountriesResponse.class);
+        verify(ackObserver, times(3)).onNext(acks.capture());
+        verify(ackObserver).onCompleted();
+        assertEquals(List.of(1L, 2L, 3L), acks.getAllValues().stream().map(UpsertCountriesResponse::getBatch).toList());
+        assertEquals(List.of(2, 0, 1), acks.getAllValues().stream().map(UpsertCountriesResponse::getApplied).toList());
+        assertEquals(12L, acks.getAllValues().getLast().getVersion());
+    }
+
+    @Test
+    @DisplayName("upsertCountries: Should stop at a malformed code and publish the batches committed before it")
+    void upsertCountries_withMalformedCode_shouldFailAndKeepCommittedBatches() {
+        // Arrange
+        CountryService countryService = mock(CountryService.class);
+        when(countryService.upsertAll(any())).thenReturn(new CountryService.BatchResult(2, 2, 11L));
+        Runnable refreshHold = mock(Runnable.class);
+        when(countrySnapshotStore.holdRefreshes()).thenReturn(refreshHold);
+        doReturn(holdDeadline).when(taskScheduler).schedule(any(Runnable.class), any(Instant.class));
+        @SuppressWarnings("unchecked")
+        StreamObserver<UpsertCountriesResponse> ackObserver = mock(StreamObserver.class);
+        countryGrpcService = new CountryGrpcService(countrySnapshotStore, ingest(countryService));
+
+        // Act
+        StreamObserver<UpsertCountriesRequest> records = countryGrpcService.upsertCountries(ackObserver);
+        records.onNext(upsertRequest("AA", "AB", "AC", "ABC", "AD"));
+        records.onNext(upsertRequest("AE"));
+
+        // Assert
+        verify(countryService, times(1)).upsertAll(any());
+        verify(refreshHold).run();
+        verify(countryService).publish(11L);
+        verify(ackObserver, times(1)).onNext(any());
+        verify(ackObserver).onError(errorCaptor.capture());
+        assertEquals(Status.Code.INVALID_ARGUMENT, errorCaptor.getValue().getStatus().getCode());
+        assertEquals("Record 4: country code must be two letters: 'ABC'.", errorCaptor.getValue().getStatus().getDescription());
+    }
+
+    @Test
+    @DisplayName("upsertCountries: Should fail a stalled load once the hold times out and publish the batches committed before it")
+    void upsertCountries_whenClientStalls_shouldReleaseTheHoldAtTheTimeout() {
+        // Arrange
+        CountryService countryService = mock(CountryService.class);
+        when(countryService.upsertAll(any())).thenReturn(new CountryService.BatchResult(2, 2, 11L));
+        Runnable refreshHold = mock(Runnable.class);
+        when(countrySnapshotStore.holdRefreshes()).thenReturn(refreshHold);
+        ArgumentCaptor<Runnable> timeout = ArgumentCaptor.forClass(Runnable.class);
+        doReturn(holdDeadline).when(taskScheduler).schedule(timeout.capture(), any(Instant.class));
+        @SuppressWarnings("unchecked")
+        StreamObserver<UpsertCountriesResponse> ackObserver = mock(StreamObserver.class);
+        countryGrpcService = new CountryGrpcService(countrySnapshotStore, ingest(countryService));
+
+        // Act: one batch, then the client goes quiet until the hold times out
+        StreamObserver<UpsertCountriesRequest> records = countryGrpcService.upsertCountries(ackObserver);
+        records.onNext(upsertRequest("AA", "AB", "AC"));
+        verify(refreshHold, never()).run();
+        timeout.getValue().run();
+        records.onNext(upsertRequest("AD"));
+        records.onCompleted();
+
+        // Assert
+        verify(countryService, times(1)).upsertAll(any());
+        verify(refreshHold).run();
+        verify(countryService).publish(11L);
+        verify(ackObserver, times(1)).onNext(any());
+        verify(ackObserver, never()).onCompleted();
+        verify(ackObserver).onError(errorCaptor.capture());
+        assertEquals(Status.Code.DEADLINE_EXCEEDED, errorCaptor.getValue().getStatus().getCode());
+    }
+
+    @Test
+    @DisplayName("upsertCountries: Should release the hold as soon as the call is cancelled")
+    void upsertCountries_whenCancelled_shouldReleaseTheHold() {
+        // Arrange
+        CountryService countryService = mock(CountryService.class);
+        when(countryService.upsertAll(any())).thenReturn(new CountryService.BatchResult(2, 2, 11L));
+        Runnable refreshHold = mock(Runnable.class);
+        when(countrySnapshotStore.holdRefreshes()).thenReturn(refreshHold);
+        doReturn(holdDeadline).when(taskScheduler).schedule(any(Runnable.class), any(Instant.class));
+        @SuppressWarnings("unchecked")
+        ServerCallStreamObserver<UpsertCountriesResponse> ackObserver = mock(ServerCallStreamObserver.class);
+        countryGrpcService = new CountryGrpcService(countrySnapshotStore, ingest(countryService));
+
+        // Act
+        StreamObserver<UpsertCountriesRequest> records = countryGrpcService.upsertCountries(ackObserver);
+        verify(ackObserver).setOnCancelHandler(onCancelCaptor.capture());
+        records.onNext(upsertRequest("AA", "AB"));
+        onCancelCaptor.getValue().run();
+        records.onError(Status.CANCELLED.asRuntimeException());
+
+        // Assert
+        verify(refreshHold, times(1)).run();
+        verify(holdDeadline).cancel(false);
+        verify(countryService, times(1)).publish(11L);
+        verify(ackObserver, never()).onError(any());
+    }
+
+    @Test
+    @DisplayName("upsertCountries: Should return UNIMPLEMENTED when ingest is disabled")
+    void upsertCountries_whenDisabled_shouldReturnUnimplemented() {
+        // Arrange
+        @SuppressWarnings("unchecked")
+        StreamObserver<UpsertCountriesResponse> ackObserver = mock(StreamObserver.class);
+
+        // Act
+        StreamObserver<UpsertCountriesRequest> records = countryGrpcService.upsertCountries(ackObserver);
+        records.onNext(upsertRequest("AA"));
+        records.onCompleted();
+
+        // Assert
+        verify(ackObserver).onError(errorCaptor.capture());
+        verify(ackObserver, never()).onNext(any());
+        assertEquals(Status.Code.UNIMPLEMENTED, errorCaptor.getValue().getStatus().getCode());
+    }
+
+    private CountryIngest ingest(CountryService countryService) {
+        return new CountryIngest(countryService, countrySnapshotStore, taskScheduler, 2, Duration.ofMinutes(1));
+    }
+
+    private static UpsertCountriesRequest upsertRequest(String... codes) {
+        UpsertCountriesRequest.Builder request = UpsertCountriesRequest.newBuilder();
+        for (String code : codes) {
+            request.addCountries(CountryResponse.newBuilder().setCode(code).setDescription("Country " + code));
+        }
+        return request.build();
+    }
+
+    private static CompressorRegistry zstdCompressors() {
+        CompressorRegistry compressors = CompressorRegistry.newEmptyInstance();
+        compressors.register(new ZstdCodec());
+        return compressors;
+    }
+
+    private static CountrySnapshot snapshotOf(String... codesAndDescriptions) {
+        List<CountryResponse> all = new ArrayList<>();
+        for (int i = 0; i < codesAndDescriptions.length; i += 2) {
+            all.add(CountryResponse.newBuilder()
+                    .setCode(codesAndDescriptions[i])
+                    .setDescription(codesAndDescriptions[i + 1])
+                    .build());
+        }
+        return snapshotOf(all);
+    }
+
+    private static CountrySnapshot snapshotOf(List<CountryResponse> all) {
+        return new CountrySnapshot(1L, 0L, CountryCodeIndex.of(all), CountrySearchIndex.of(all), all,
+                CountryProjections.of(all), Instant.now(), Duration.ZERO);
+    }
+
+    private static CountryResponse brazil() {
+        return CountryResponse.newBuilder()
+                .setCode("BR").setDescription("Brazil").setAlpha3("BRA").setNumericCode("076").setRegion("Americas")
+                .setCurrency("BRL").setCallingCode("+55").putNames("en", "Brazil").putNames("pt", "Brasil")
+                .build();
+    }
 }
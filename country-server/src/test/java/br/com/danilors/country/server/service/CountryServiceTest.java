@@ -0,0 +1,99 @@
+package br.com.danilors.country.server.service;
+
+import br.com.danilors.country.CountryChange;
+import br.com.danilors.country.server.store.CountryFields;
+import br.com.danilors.country.server.store.CountrySnapshot;
+import br.com.danilors.country.server.store.CountrySnapshotStore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "spring.grpc.server.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:country-service-test",
+        "spring.jpa.show-sql=false"})
+class CountryServiceTest {
+
+    @Autowired
+    private CountryService countryService;
+
+    @Autowired
+    private CountrySnapshotStore countrySnapshotStore;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("refresh: Should log rows edited directly in the database, so their changes get a version")
+    void refresh_whenRowsEditedDirectly_shouldVersionThem() {
+        long start = countryService.currentVersion();
+        countrySnapshotStore.refresh();
+
+        jdbcTemplate.update("UPDATE country SET description = 'Brasil' WHERE code = 'BR'");
+        jdbcTemplate.update("DELETE FROM country WHERE code = 'ZW'");
+        CountrySnapshot edited = countrySnapshotStore.refresh();
+
+        assertEquals(start + 2, countryService.currentVersion());
+        assertEquals(start + 2, edited.dataVersion());
+        assertEquals("Brasil", countrySnapshotStore.findByCode("BR").getDescription());
+        assertNull(countrySnapshotStore.findByCode("ZW"));
+        assertEquals("Brasil", countryService.findById("BR").orElseThrow().getDescription());
+
+        List<CountryChange> changes = countrySnapshotStore.changesSince(start, CountryFields.ALL);
+        assertEquals(List.of("BR", "ZW"), changes.stream().map(CountryChange::getCode).toList());
+        assertEquals(List.of(CountryChange.Type.UPSERT, CountryChange.Type.DELETE),
+                changes.stream().map(CountryChange::getType).toList());
+
+        // Unchanged rows are not logged again
+        assertEquals(start + 2, countrySnapshotStore.refresh().dataVersion());
+        assertTrue(countrySnapshotStore.changesSince(start + 2, CountryFields.ALL).isEmpty());
+    }
+
+    @Test
+    @DisplayName("upsertAll: Should apply the last record per code, skip unchanged rows and publish on request")
+    void upsertAll_shouldBatchWritesAndPublishOnce() {
+        long start = countryService.currentVersion();
+        CountryService.Upsert afghanistan = CountryService.Upsert.from(countrySnapshotStore.findByCode("AF"));
+        CountryService.Upsert zexland = new CountryService.Upsert("ZX", "Zexland", "ZXL", "999", "Europe", "EUR", "+999",
+                Map.of("pt", "Zexlândia", "en", "Zexland"));
+
+        CountryService.BatchResult result = countryService.upsertAll(List.of(
+                new CountryService.Upsert("zy", "Zyland"),
+                afghanistan,
+                zexland,
+                new CountryService.Upsert("ZY", "Zyland Republic")));
+        CountryService.BatchResult repeated = countryService.upsertAll(List.of(zexland));
+
+        assertEquals(new CountryService.BatchResult(4, 2, start + 2), result);
+        assertEquals(new CountryService.BatchResult(1, 0, start + 2), repeated);
+        assertEquals(start + 2, countryService.currentVersion());
+        assertEquals("Zyland Republic", countryService.findById("ZY").orElseThrow().getDescription());
+        assertEquals(start + 2, countryService.findById("ZY").orElseThrow().getVersion());
+        // Committed, but readers only see it once published
+        assertNull(countrySnapshotStore.findByCode("ZY"));
+
+        countryService.publish(result.version());
+
+        assertEquals(start + 2, countrySnapshotStore.current().dataVersion());
+        assertEquals("Zyland Republic", countrySnapshotStore.findByCode("ZY").getDescription());
+        assertEquals(zexland, CountryService.Upsert.from(countrySnapshotStore.findByCode("ZX")));
+        List<CountryChange> changes = countrySnapshotStore.changesSince(start, CountryFields.ALL);
+        assertEquals(List.of("ZX", "ZY"), changes.stream().map(CountryChange::getCode).toList());
+        assertEquals(List.of(start + 1, start + 2), changes.stream().map(CountryChange::getVersion).toList());
+
+        assertThrows(IllegalArgumentException.class, () -> countryService.upsertAll(List.of(
+                new CountryService.Upsert("QQ", "Qland"),
+                new CountryService.Upsert("QQQ", "Qland"))));
+        assertTrue(countryService.findById("QQ").isEmpty());
+    }
+}
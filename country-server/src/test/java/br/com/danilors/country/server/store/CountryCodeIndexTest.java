@@ -0,0 +1,52 @@
+package br.com.danilors.country.server.store;
+
+import br.com.danilors.country.CountryResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CountryCodeIndexTest {
+
+    private static final CountryResponse BRAZIL = CountryResponse.newBuilder().setCode("BR").setDescription("Brazil").build();
+    private static final CountryResponse ZIMBABWE = CountryResponse.newBuilder().setCode("ZW").setDescription("Zimbabwe").build();
+
+    @Test
+    @DisplayName("find: Should resolve codes case-insensitively, including the first and last slots")
+    void find_shouldResolveCodesInAnyCase() {
+        CountryResponse aa = CountryResponse.newBuilder().setCode("AA").build();
+        CountryResponse zz = CountryResponse.newBuilder().setCode("ZZ").build();
+        CountryCodeIndex index = CountryCodeIndex.of(List.of(BRAZIL, ZIMBABWE, aa, zz));
+
+        assertSame(BRAZIL, index.find("BR"));
+        assertSame(BRAZIL, index.find("br"));
+        assertSame(BRAZIL, index.find("bR"));
+        assertSame(ZIMBABWE, index.find("zw"));
+        assertSame(aa, index.find("aa"));
+        assertSame(zz, index.find("ZZ"));
+        assertNull(index.find("US"));
+    }
+
+    @Test
+    @DisplayName("find: Should return null for anything that is not exactly two ASCII letters")
+    void find_shouldRejectMalformedCodes() {
+        CountryCodeIndex index = CountryCodeIndex.of(List.of(BRAZIL, ZIMBABWE));
+        for (String code : new String[]{null, "", "B", "BRA", "B1", "@A", "[A", "`A", "{A", "B ", "ÁB", "BŔ"}) {
+            assertNull(index.find(code), "code: " + code);
+        }
+    }
+
+    @Test
+    @DisplayName("of: Should reject malformed and duplicate codes")
+    void of_shouldRejectInvalidEntries() {
+        CountryResponse malformed = CountryResponse.newBuilder().setCode("BRA").build();
+        CountryResponse lowerCaseBrazil = CountryResponse.newBuilder().setCode("br").build();
+
+        assertThrows(IllegalArgumentException.class, () -> CountryCodeIndex.of(List.of(malformed)));
+        assertThrows(IllegalArgumentException.class, () -> CountryCodeIndex.of(List.of(BRAZIL, lowerCaseBrazil)));
+    }
+}
@@ -0,0 +1,53 @@
+package br.com.danilors.country.server.store;
+
+import br.com.danilors.country.CountryResponse;
+import com.google.protobuf.FieldMask;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CountryFieldsTest {
+
+    private static final CountryResponse PORTUGAL = CountryResponse.newBuilder()
+            .setCode("PT").setDescription("Portugal").setAlpha3("PRT").setNumericCode("620").setRegion("Europe")
+            .setCurrency("EUR").setCallingCode("+351").putNames("pt", "Portugal").putNames("fr", "Portugal")
+            .build();
+
+    @Test
+    @DisplayName("of: Should select the code and description without a mask, and every field for '*'")
+    void of_shouldMapPaths() {
+        assertEquals(CountryFields.DEFAULT, CountryFields.of(FieldMask.getDefaultInstance()));
+        assertEquals(CountryFields.ALL, CountryFields.of(FieldMask.newBuilder().addPaths("*").build()));
+        assertEquals(CountryFields.NUMERIC_CODE | CountryFields.CALLING_CODE,
+                CountryFields.of(FieldMask.newBuilder().addPaths("code").addPaths("numeric_code").addPaths("calling_code").build()));
+        assertThrows(IllegalArgumentException.class,
+                () -> CountryFields.of(FieldMask.newBuilder().addPaths("numericCode").build()));
+    }
+
+    @Test
+    @DisplayName("project: Should copy the code and the selected fields only")
+    void project_shouldCopySelectedFields() {
+        assertEquals(CountryResponse.newBuilder().setCode("PT").setRegion("Europe").putAllNames(PORTUGAL.getNamesMap()).build(),
+                CountryFields.project(PORTUGAL, CountryFields.REGION | CountryFields.NAMES));
+        assertEquals(CountryResponse.newBuilder().setCode("PT").build(), CountryFields.project(PORTUGAL, 0));
+        assertSame(PORTUGAL, CountryFields.project(PORTUGAL, CountryFields.ALL));
+    }
+
+    @Test
+    @DisplayName("CountryProjections.get: Should build a projection once and encode it in listing order")
+    void projections_shouldBeBuiltOnce() throws Exception {
+        CountryProjections projections = CountryProjections.of(List.of(PORTUGAL));
+
+        CountryProjection currency = projections.get(CountryFields.CURRENCY);
+
+        assertSame(currency, projections.get(CountryFields.CURRENCY));
+        assertEquals(List.of(CountryResponse.newBuilder().setCode("PT").setCurrency("EUR").build()), currency.all());
+        assertEquals(currency.all().getFirst(), CountryResponse.parseFrom(currency.encoded().getFirst()));
+        assertSame(currency.all().getFirst(), currency.find("pt"));
+    }
+}
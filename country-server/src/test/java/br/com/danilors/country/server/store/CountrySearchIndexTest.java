@@ -0,0 +1,82 @@
+package br.com.danilors.country.server.store;
+
+import br.com.danilors.country.CountryResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CountrySearchIndexTest {
+
+    private static final List<CountryResponse> COUNTRIES = List.of(
+            country("BR", "Brazil"),
+            country("BN", "Brunei Darussalam"),
+            country("CI", "Côte d'Ivoire"),
+            country("AX", "Åland Islands"),
+            country("GB", "United Kingdom"),
+            country("US", "United States"),
+            country("UM", "United States Minor Outlying Islands"),
+            country("IS", "Iceland"));
+
+    private final CountrySearchIndex index = CountrySearchIndex.of(COUNTRIES);
+
+    @Test
+    @DisplayName("search: Should rank code, description prefix and word prefix matches in that order")
+    void search_shouldRankByMatchKind() {
+        assertEquals(List.of("IS", "AX", "UM"), codes(index.search("is", 10)));
+        assertEquals(List.of("US", "UM"), codes(index.search("united st", 2)));
+        assertEquals(List.of("GB"), codes(index.search("king", 10)));
+    }
+
+    @Test
+    @DisplayName("search: Should ignore case, accents and punctuation")
+    void search_shouldFoldQueryAndDescriptions() {
+        assertEquals(List.of("CI"), codes(index.search("COTE D IVOIRE", 10)));
+        assertEquals(List.of("CI"), codes(index.search("côte d'iv", 10)));
+        assertEquals(List.of("AX"), codes(index.search("aland", 10)));
+    }
+
+    @Test
+    @DisplayName("search: Should match misspelled queries through trigram overlap")
+    void search_shouldMatchTypos() {
+        assertEquals(List.of("BR"), codes(index.search("brazl", 10)));
+        assertTrue(codes(index.search("unted kingdom", 10)).contains("GB"));
+    }
+
+    @Test
+    @DisplayName("search: Should honour the limit and return nothing for blank queries")
+    void search_shouldHonourLimit() {
+        assertEquals(List.of("US"), codes(index.search("united", 1)));
+        assertEquals(List.of(), index.search(" - ", 10));
+        assertEquals(List.of(), CountrySearchIndex.EMPTY.search("brazil", 10));
+    }
+
+    @Test
+    @DisplayName("rebuild: Should pick up changed, added and removed rows")
+    void rebuild_shouldReflectChanges() {
+        List<CountryResponse> changed = new ArrayList<>(COUNTRIES.subList(1, COUNTRIES.size()));
+        changed.add(country("BR", "Brasil"));
+        changed.add(country("PT", "Portugal"));
+
+        CountrySearchIndex rebuilt = index.rebuild(changed);
+
+        assertEquals(List.of("BR"), codes(rebuilt.search("brasil", 10)));
+        assertEquals(List.of("PT"), codes(rebuilt.search("port", 10)));
+        assertEquals(List.of("BN"), codes(rebuilt.search("brun", 10)));
+        assertSame(COUNTRIES.get(1), rebuilt.search("brun", 10).get(0));
+        assertEquals(COUNTRIES.size() + 1, rebuilt.size());
+    }
+
+    private static List<String> codes(List<CountryResponse> responses) {
+        return responses.stream().map(CountryResponse::getCode).toList();
+    }
+
+    private static CountryResponse country(String code, String description) {
+        return CountryResponse.newBuilder().setCode(code).setDescription(description).build();
+    }
+}
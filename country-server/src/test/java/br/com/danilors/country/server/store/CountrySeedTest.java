@@ -0,0 +1,59 @@
+package br.com.danilors.country.server.store;
+
+import br.com.danilors.country.CountryResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CountrySeedTest {
+
+    @Test
+    @DisplayName("parseSql: Should extract every row of data.sql in order, with every column")
+    void parseSql_shouldReadDataSql() throws Exception {
+        String sql = new ClassPathResource(CountrySeed.SQL).getContentAsString(StandardCharsets.UTF_8);
+
+        List<CountryResponse> countries = CountrySeed.parseSql(sql);
+
+        assertEquals(sql.lines().filter(line -> line.startsWith("('")).count(), countries.size());
+        assertEquals(country("AF", "Afghanistan").toBuilder()
+                .setAlpha3("AFG").setNumericCode("004").setRegion("Asia").setCurrency("AFN").setCallingCode("+93")
+                .putNames("de", "Afghanistan").putNames("en", "Afghanistan").putNames("es", "Afganistán")
+                .putNames("fr", "Afghanistan").putNames("it", "Afghanistan").putNames("pt", "Afeganistão")
+                .build(), countries.getFirst());
+        assertEquals("ZWE", countries.getLast().getAlpha3());
+    }
+
+    @Test
+    @DisplayName("parseSql: Should unescape doubled quotes")
+    void parseSql_shouldUnescapeQuotes() {
+        List<CountryResponse> countries = CountrySeed.parseSql("""
+                INSERT INTO country (code, description) VALUES
+                ('CI', 'Cote d''Ivoire'),
+                ( 'XK' ,'Kosovo' );""");
+
+        assertEquals(List.of(country("CI", "Cote d'Ivoire"), country("XK", "Kosovo")), countries);
+    }
+
+    @Test
+    @DisplayName("write/read: Should round-trip the snapshot")
+    void writeRead_shouldRoundTrip() throws Exception {
+        List<CountryResponse> countries = List.of(country("BR", "Brazil"), country("PT", "Portugal"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        CountrySeed.write(countries, out);
+
+        assertEquals(countries, CountrySeed.read(new ByteArrayInputStream(out.toByteArray())));
+        assertEquals(List.of(), CountrySeed.read(new ByteArrayInputStream(new byte[0])));
+    }
+
+    private static CountryResponse country(String code, String description) {
+        return CountryResponse.newBuilder().setCode(code).setDescription(description).build();
+    }
+}
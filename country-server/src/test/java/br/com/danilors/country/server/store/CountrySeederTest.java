@@ -0,0 +1,40 @@
+package br.com.danilors.country.server.store;
+
+import br.com.danilors.country.server.service.CountryService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+@SpringBootTest(properties = {
+        "spring.grpc.server.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:country-seeder-test",
+        "spring.jpa.show-sql=false",
+        "spring.sql.init.mode=never",
+        "country.seed.source=snapshot"})
+class CountrySeederTest {
+
+    @Autowired
+    private CountryService countryService;
+
+    @Autowired
+    private CountrySnapshotStore countrySnapshotStore;
+
+    @Test
+    @DisplayName("seed: Should build the first snapshot exactly as a reload of the seeded table would")
+    void seed_shouldMatchTheSeededTable() {
+        CountrySnapshot seeded = countrySnapshotStore.current();
+        assertEquals(0, seeded.dataVersion());
+        assertNotNull(seeded.find("BR"));
+
+        // Any difference would be taken for edits made directly in the database
+        CountrySnapshot reloaded = countrySnapshotStore.refresh();
+
+        assertEquals(0, reloaded.dataVersion());
+        assertEquals(0, countryService.currentVersion());
+        assertEquals(seeded.all(), reloaded.all());
+    }
+}
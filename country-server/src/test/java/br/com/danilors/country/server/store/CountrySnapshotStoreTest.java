@@ -0,0 +1,359 @@
+package br.com.danilors.country.server.store;
+
+import br.com.danilors.country.CountryChange;
+import br.com.danilors.country.CountryResponse;
+import br.com.danilors.country.server.domain.Country;
+import br.com.danilors.country.server.domain.CountryChangeLog;
+import br.com.danilors.country.server.service.CountriesChangedEvent;
+import br.com.danilors.country.server.service.CountryService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CountrySnapshotStoreTest {
+
+    @Mock
+    private CountryService countryService;
+
+    private CountrySnapshotStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new CountrySnapshotStore(countryService);
+        // Rows that change between reloads without a logged write count as edited in the database
+        lenient().when(countryService.logExternalChanges(anyLong(), anyMap())).thenAnswer(invocation ->
+                OptionalLong.of(invocation.<Long>getArgument(0) + invocation.<Map<?, ?>>getArgument(1).size()));
+    }
+
+    @Test
+    @DisplayName("findByCode: Should return null before the first snapshot is loaded")
+    void findByCode_beforeLoad_shouldReturnNull() {
+        assertNull(store.findByCode("BR"));
+        assertEquals(0, store.current().version());
+    }
+
+    @Test
+    @DisplayName("refresh: Should load prebuilt responses and report version and size")
+    void refresh_shouldLoadSnapshot() {
+        stubCountries(List.of(new Country("BR", "Brazil"), new Country("US", "United States")));
+
+        CountrySnapshot snapshot = store.refresh();
+
+        assertEquals(1, snapshot.version());
+        assertEquals(2, snapshot.size());
+        assertEquals("Brazil", store.findByCode("BR").getDescription());
+        assertNull(store.findByCode("XX"));
+    }
+
+    @Test
+    @DisplayName("refresh: Should load every column and cut responses down to the requested fields, once per snapshot")
+    void refresh_shouldServeProjections() {
+        Country brazil = new Country("BR", "Brazil");
+        brazil.setAlpha3("BRA");
+        brazil.setCurrency("BRL");
+        brazil.setNames(Map.of("pt", "Brasil"));
+        stubCountries(List.of(brazil));
+
+        store.refresh();
+
+        CountryResponse full = store.findByCode("BR");
+        assertEquals("BRA", full.getAlpha3());
+        assertEquals("", full.getRegion());
+        assertEquals(Map.of("pt", "Brasil"), full.getNamesMap());
+        assertEquals(CountryResponse.newBuilder().setCode("BR").setDescription("Brazil").build(),
+                store.findByCode("br", CountryFields.DEFAULT));
+        CountryResponse currency = store.findByCode("BR", CountryFields.CURRENCY);
+        assertEquals(CountryResponse.newBuilder().setCode("BR").setCurrency("BRL").build(), currency);
+        assertSame(currency, store.findByCode("BR", CountryFields.CURRENCY));
+        assertSame(full, store.findByCode("BR", CountryFields.ALL));
+    }
+
+    @Test
+    @DisplayName("afterSingletonsInstantiated: Should build the first snapshot from the seed it inserted, without reading the table")
+    void afterSingletonsInstantiated_whenSeeded_shouldLoadSeed() {
+        CountrySeeder seeder = mock(CountrySeeder.class);
+        when(seeder.seed()).thenReturn(List.of(
+                CountryResponse.newBuilder().setCode("BR").setDescription("Brazil").build(),
+                CountryResponse.newBuilder().setCode("B1").setDescription("Malformed").build()));
+        store = new CountrySnapshotStore(countryService, seeder);
+
+        store.afterSingletonsInstantiated();
+
+        assertEquals(1, store.current().version());
+        assertEquals(0, store.current().dataVersion());
+        assertEquals(1, store.current().size());
+        assertEquals("Brazil", store.findByCode("br").getDescription());
+        verify(countryService, never()).streamAll(any());
+        verify(countryService, never()).currentVersion();
+    }
+
+    @Test
+    @DisplayName("afterSingletonsInstantiated: Should read the table when it already had rows")
+    void afterSingletonsInstantiated_whenNotSeeded_shouldRefresh() {
+        CountrySeeder seeder = mock(CountrySeeder.class);
+        when(seeder.seed()).thenReturn(null);
+        stubCountries(List.of(new Country("PT", "Portugal")));
+        store = new CountrySnapshotStore(countryService, seeder);
+
+        store.afterSingletonsInstantiated();
+
+        assertEquals("Portugal", store.findByCode("PT").getDescription());
+        verify(countryService).streamAll(any());
+    }
+
+    @Test
+    @DisplayName("refresh: Should swap in a new snapshot without mutating the previous one")
+    void refresh_shouldSwapSnapshot() {
+        stubCountries(List.of(new Country("BR", "Brazil")));
+        CountrySnapshot first = store.refresh();
+        CountryResponse cached = store.findByCode("BR");
+        assertSame(cached, store.findByCode("BR"));
+
+        stubCountries(List.of(new Country("BR", "Brasil"), new Country("PT", "Portugal")));
+        CountrySnapshot second = store.refresh();
+
+        assertNotSame(first, second);
+        assertEquals(2, second.version());
+        assertEquals("Brazil", first.find("BR").getDescription());
+        assertEquals("Brasil", store.findByCode("BR").getDescription());
+        assertEquals(1, first.size());
+        assertEquals(2, store.current().size());
+    }
+
+    @Test
+    @DisplayName("holdRefreshes: Should defer scheduled and triggered refreshes to the release of the last hold, as one reload")
+    void holdRefreshes_shouldDeferRefreshesUntilReleased() {
+        stubCountries(List.of(new Country("BR", "Brazil")));
+        store.refresh();
+        Runnable first = store.holdRefreshes();
+        Runnable second = store.holdRefreshes();
+
+        // Batches of a load committed one by one are not visible while the load is open
+        stubCountries(List.of(new Country("BR", "Brasil"), new Country("PT", "Portugal")));
+        store.scheduledRefresh();
+        store.onCountriesChanged(new CountriesChangedEvent(5L));
+        assertEquals(1, store.current().version());
+        assertEquals("Brazil", store.findByCode("BR").getDescription());
+
+        first.run();
+        first.run();
+        assertEquals(1, store.current().version());
+        second.run();
+
+        assertEquals(2, store.current().version());
+        assertEquals(2, store.current().size());
+        verify(countryService, times(2)).streamAll(any());
+        // Once released, refreshes run right away again
+        store.scheduledRefresh();
+        assertEquals(3, store.current().version());
+    }
+
+    @Test
+    @DisplayName("refresh: Should publish upserts and deletes against the previous snapshot to watchers")
+    void refresh_shouldPublishChangesToWatchers() {
+        stubCountries(List.of(new Country("BR", "Brazil"), new Country("PT", "Portugal"), new Country("US", "United States")));
+        store.refresh();
+        List<List<CountryChange>> published = new ArrayList<>();
+        Runnable unwatch = store.watch(published::add);
+
+        stubCountries(List.of(new Country("BR", "Brasil"), new Country("US", "United States"), new Country("UY", "Uruguay")));
+        store.refresh();
+
+        assertEquals(1, published.size());
+        List<CountryChange> changes = published.get(0);
+        assertEquals(List.of("BR", "UY", "PT"), changes.stream().map(CountryChange::getCode).toList());
+        assertEquals(List.of(CountryChange.Type.UPSERT, CountryChange.Type.UPSERT, CountryChange.Type.DELETE),
+                changes.stream().map(CountryChange::getType).toList());
+        assertEquals("Brasil", changes.get(0).getCountry().getDescription());
+        changes.forEach(change -> assertEquals(2, change.getVersion()));
+
+        // Unchanged reloads publish nothing, and unregistered watchers hear nothing
+        store.refresh();
+        unwatch.run();
+        stubCountries(List.of(new Country("BR", "Brazil")));
+        store.refresh();
+        assertEquals(1, published.size());
+    }
+
+    @Test
+    @DisplayName("refresh: Should coalesce callers that arrive during a reload into one follow-up reload")
+    @SuppressWarnings("unchecked")
+    void refresh_whenCalledConcurrently_shouldCoalesce() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        store.bindTo(meterRegistry);
+        CountDownLatch firstReloadStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstReload = new CountDownLatch(1);
+        AtomicInteger reloads = new AtomicInteger();
+        doAnswer(invocation -> {
+            if (reloads.incrementAndGet() == 1) {
+                firstReloadStarted.countDown();
+                releaseFirstReload.await();
+            }
+            invocation.<Consumer<Country>>getArgument(0).accept(new Country("BR", "Brazil"));
+            return null;
+        }).when(countryService).streamAll(any(Consumer.class));
+
+        ExecutorService executor = Executors.newFixedThreadPool(6);
+        try {
+            Future<CountrySnapshot> first = executor.submit(store::refresh);
+            firstReloadStarted.await();
+            List<Future<CountrySnapshot>> waiting = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                waiting.add(executor.submit(store::refresh));
+            }
+            // All five are queued behind the running reload
+            while (meterRegistry.get("country.single-flight.calls").tag("role", "follower").functionCounter().count()
+                    + meterRegistry.get("country.single-flight.calls").tag("role", "leader").functionCounter().count() < 6) {
+                Thread.sleep(5);
+            }
+            releaseFirstReload.countDown();
+
+            assertEquals(1, first.get(5, TimeUnit.SECONDS).version());
+            for (Future<CountrySnapshot> refresh : waiting) {
+                assertEquals(2, refresh.get(5, TimeUnit.SECONDS).version());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(countryService, times(2)).streamAll(any(Consumer.class));
+        assertEquals(2, meterRegistry.get("country.single-flight.calls").tag("role", "leader").functionCounter().count());
+        assertEquals(4, meterRegistry.get("country.single-flight.calls").tag("role", "follower").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("refresh: Should log rows changed directly in the database under new versions")
+    void refresh_whenRowsChangedOutsideTheLog_shouldLogThem() {
+        when(countryService.currentVersion()).thenReturn(4L);
+        stubCountries(List.of(new Country("BR", "Brazil"), new Country("PT", "Portugal")));
+        store.refresh();
+
+        // US was written through CountryService, BR and PT were edited in the database
+        when(countryService.currentVersion()).thenReturn(5L);
+        CountryChangeLog us = mock(CountryChangeLog.class);
+        when(us.getCode()).thenReturn("US");
+        when(countryService.changesBetween(4, 5)).thenReturn(List.of(us));
+        stubCountries(List.of(new Country("BR", "Brasil"), new Country("US", "United States")));
+        store.refresh();
+
+        verify(countryService).logExternalChanges(5L, Map.of("BR", CountryChangeLog.Type.UPSERT,
+                "PT", CountryChangeLog.Type.DELETE));
+        assertEquals(7, store.current().dataVersion());
+        assertEquals("Brasil", store.findByCode("BR").getDescription());
+
+        // Once logged, the same rows are not logged again
+        when(countryService.currentVersion()).thenReturn(7L);
+        store.refresh();
+        verify(countryService, times(1)).logExternalChanges(anyLong(), anyMap());
+        assertEquals(7, store.current().dataVersion());
+    }
+
+    @Test
+    @DisplayName("refresh: Should read the table again when a write lands before edits in the database get logged")
+    void refresh_whenWrittenBeforeLoggingExternalChanges_shouldReadAgain() {
+        stubCountries(List.of(new Country("BR", "Brazil")));
+        store.refresh();
+        stubCountries(List.of(new Country("BR", "Brasil")));
+        when(countryService.logExternalChanges(0L, Map.of("BR", CountryChangeLog.Type.UPSERT)))
+                .thenReturn(OptionalLong.empty(), OptionalLong.of(1L));
+
+        store.refresh();
+
+        verify(countryService, times(3)).streamAll(any());
+        assertEquals(1, store.current().dataVersion());
+        assertEquals("Brasil", store.findByCode("BR").getDescription());
+    }
+
+    @Test
+    @DisplayName("changesSince: Should return nothing for a client at the current version without reading the log")
+    void changesSince_whenUpToDate_shouldReturnNothing() {
+        when(countryService.currentVersion()).thenReturn(7L);
+        stubCountries(List.of(new Country("BR", "Brazil")));
+        store.refresh();
+
+        assertEquals(List.of(), store.changesSince(7, CountryFields.ALL));
+        verify(countryService, never()).changesBetween(anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("changesSince: Should return the latest change per code written after the version")
+    void changesSince_shouldCollapseLoggedChanges() {
+        when(countryService.currentVersion()).thenReturn(9L);
+        stubCountries(List.of(new Country("BR", "Brasil"), new Country("UY", "Uruguay")));
+        store.refresh();
+        List<CountryChangeLog> log = List.of(logged(6, "BR"), logged(7, "PT"), logged(8, "UY"), logged(9, "BR"));
+        when(countryService.changesBetween(5, 9)).thenReturn(log);
+
+        List<CountryChange> changes = store.changesSince(5, CountryFields.ALL);
+
+        assertEquals(List.of("PT", "UY", "BR"), changes.stream().map(CountryChange::getCode).toList());
+        assertEquals(List.of(7L, 8L, 9L), changes.stream().map(CountryChange::getVersion).toList());
+        assertEquals(CountryChange.Type.DELETE, changes.get(0).getType());
+        assertEquals("Brasil", changes.get(2).getCountry().getDescription());
+    }
+
+    @Test
+    @DisplayName("changesSince: Should reset clients without a version or with one the server does not know")
+    void changesSince_whenVersionUnknown_shouldReset() {
+        when(countryService.currentVersion()).thenReturn(3L);
+        stubCountries(List.of(new Country("BR", "Brazil"), new Country("US", "United States")));
+        store.refresh();
+
+        for (long version : new long[] {-1, 4}) {
+            List<CountryChange> changes = store.changesSince(version, CountryFields.ALL);
+
+            assertEquals(List.of(CountryChange.Type.RESET, CountryChange.Type.UPSERT, CountryChange.Type.UPSERT),
+                    changes.stream().map(CountryChange::getType).toList());
+            changes.forEach(change -> assertEquals(3, change.getVersion()));
+        }
+        verify(countryService, never()).changesBetween(anyLong(), anyLong());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubCountries(List<Country> countries) {
+        doAnswer(invocation -> {
+            countries.forEach(invocation.<Consumer<Country>>getArgument(0));
+            return null;
+        }).when(countryService).streamAll(any(Consumer.class));
+    }
+
+    // Whether a logged change is an upsert or a delete is decided by the snapshot, not the log
+    private static CountryChangeLog logged(long version, String code) {
+        CountryChangeLog entry = mock(CountryChangeLog.class);
+        when(entry.getVersion()).thenReturn(version);
+        when(entry.getCode()).thenReturn(code);
+        return entry;
+    }
+}